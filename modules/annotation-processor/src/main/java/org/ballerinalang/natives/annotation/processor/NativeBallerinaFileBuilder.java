@@ -18,11 +18,13 @@
 package org.ballerinalang.natives.annotation.processor;
 
 import org.ballerinalang.natives.annotation.processor.holders.PackageHolder;
+import org.ballerinalang.util.repository.BuiltinPackageRepository;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -32,8 +34,10 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Builder class to generate ballerina files for the native APIs.
@@ -41,6 +45,7 @@ import java.util.stream.Collectors;
 public class NativeBallerinaFileBuilder {
 
     private static final PrintStream ERROR = System.err;
+    private static final String BAL_FILE_EXT = ".bal";
     private Map<String, PackageHolder> nativePackages;
     private String targetDirectory;
     private String balSourceDir;
@@ -87,6 +92,26 @@ public class NativeBallerinaFileBuilder {
         } catch (IOException e) {
             ERROR.println("failed to move native ballerina files. cause: " + e);
         }
+
+        writePackageIndex();
+    }
+
+    /**
+     * Write the index of all the ballerina files in the target directory, so that the built-in package repository
+     * can find the files of a package without scanning the natives jar.
+     */
+    private void writePackageIndex() {
+        Path target = Paths.get(targetDirectory);
+        try (Stream<Path> files = Files.walk(target)) {
+            List<String> filePaths = files
+                    .filter(file -> file.toString().endsWith(BAL_FILE_EXT))
+                    .map(file -> target.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+            Files.write(target.resolve(BuiltinPackageRepository.PACKAGE_INDEX), filePaths, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ERROR.println("failed to write the built-in package index. cause: " + e);
+        }
     }
 
     /**
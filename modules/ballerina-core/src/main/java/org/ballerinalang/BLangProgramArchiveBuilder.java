@@ -19,11 +19,18 @@ package org.ballerinalang;
 
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.model.builder.RecordingModelBuilder;
+import org.ballerinalang.util.program.BLangFiles;
 import org.ballerinalang.util.program.BLangPackages;
 import org.ballerinalang.util.repository.BLangProgramArchive;
 import org.ballerinalang.util.repository.PackageRepository;
+import org.ballerinalang.util.repository.ProgramImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -35,6 +42,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -44,6 +52,8 @@ import java.util.Map;
  */
 public class BLangProgramArchiveBuilder {
 
+    private static final Logger log = LoggerFactory.getLogger(BLangProgramArchiveBuilder.class);
+
     public void build(BLangProgram bLangProgram) {
         String outFileName;
         String extension = bLangProgram.getProgramCategory().getExtension();
@@ -91,42 +101,97 @@ public class BLangProgramArchiveBuilder {
 
         URI zipFileURI = URI.create("jar:file:" + Paths.get(outFileName).toUri().getPath());
         try (FileSystem zipFS = FileSystems.newFileSystem(zipFileURI, zipFSEnv)) {
-            addProgramToArchive(bLangProgram, zipFS);
+            Map<String, ProgramImage.Entry> imageEntries = new LinkedHashMap<>();
+            addProgramToArchive(bLangProgram, zipFS, imageEntries);
             addBallerinaConfFile(zipFS, bLangProgram);
+            addProgramImage(zipFS, imageEntries);
         } catch (IOException e) {
             throw new RuntimeException("error in creating program archive '" +
                     bLangProgram.getProgramFilePath() + "': " + e.getMessage());
         }
     }
 
-    private void addProgramToArchive(BLangProgram bLangProgram, FileSystem zipFS) throws IOException {
+    private void addProgramToArchive(BLangProgram bLangProgram, FileSystem zipFS,
+                                     Map<String, ProgramImage.Entry> imageEntries) throws IOException {
 
         for (BLangPackage bLangPackage : bLangProgram.getPackages()) {
             if (bLangPackage.getPackagePath().equals(".")) {
                 PackageRepository.PackageSource packageSource =
                         bLangPackage.getPackageRepository().loadFile(bLangProgram.getProgramFilePath());
-                addPackageSourceToArchive(packageSource, Paths.get("."), zipFS);
+                addPackageSourceToArchive(bLangProgram, bLangPackage, packageSource, Paths.get("."), zipFS,
+                        imageEntries);
                 continue;
             }
 
             Path packagePath = BLangPackages.getPathFromPackagePath(bLangPackage.getPackagePath());
             PackageRepository.PackageSource packageSource =
                     bLangPackage.getPackageRepository().loadPackage(packagePath);
-            addPackageSourceToArchive(packageSource, packagePath, zipFS);
+            addPackageSourceToArchive(bLangProgram, bLangPackage, packageSource, packagePath, zipFS, imageEntries);
         }
     }
 
-    private void addPackageSourceToArchive(PackageRepository.PackageSource packageSource,
+    private void addPackageSourceToArchive(BLangProgram bLangProgram,
+                                           BLangPackage bLangPackage,
+                                           PackageRepository.PackageSource packageSource,
                                            Path packagePath,
-                                           FileSystem zipFS) throws IOException {
+                                           FileSystem zipFS,
+                                           Map<String, ProgramImage.Entry> imageEntries) throws IOException {
+
+        // The sources are parsed again into a detached package, so that recording does not change the program
+        BLangPackage.PackageBuilder packageBuilder = new BLangPackage.PackageBuilder(bLangPackage.getPackagePath(),
+                bLangPackage.getPackageRepository(), new BLangProgram((GlobalScope) bLangProgram.getEnclosingScope(),
+                bLangProgram.getProgramCategory()));
 
         for (Map.Entry<String, InputStream> mapEntry : packageSource.getSourceFileStreamMap().entrySet()) {
             Path root = zipFS.getPath("/");
             Path dest = zipFS.getPath(root.toString(),
                     packagePath.resolve(mapEntry.getKey()).toString());
 
-            copyFileToZip(mapEntry.getValue(), dest);
+            byte[] source;
+            try (InputStream inputStream = mapEntry.getValue()) {
+                source = readAllBytes(inputStream);
+            }
+            copyFileToZip(new ByteArrayInputStream(source), dest);
+            addImageEntry(mapEntry.getKey(), packagePath, source, packageBuilder, imageEntries);
+        }
+    }
+
+    private void addImageEntry(String fileName, Path packagePath, byte[] source,
+                               BLangPackage.PackageBuilder packageBuilder,
+                               Map<String, ProgramImage.Entry> imageEntries) {
+        if (!RecordingModelBuilder.isComplete()) {
+            return;
+        }
+
+        try {
+            imageEntries.put(ProgramImage.getKey(packagePath, fileName),
+                    BLangFiles.recordFile(fileName, packagePath, source, packageBuilder));
+        } catch (RuntimeException e) {
+            // A file which can not be recorded is parsed from its source when the archive is loaded
+            log.warn("error recording '" + fileName + "' for the program image, it will be parsed on load: " +
+                    e.getMessage(), e);
+        }
+    }
+
+    private void addProgramImage(FileSystem zipFS, Map<String, ProgramImage.Entry> imageEntries) throws IOException {
+        if (imageEntries.isEmpty()) {
+            return;
+        }
+
+        final Path rootPath = zipFS.getPath("/");
+        final Path destPath = zipFS.getPath(rootPath.toString(), BLangProgramArchive.BAL_INF_DIR_NAME,
+                ProgramImage.PROGRAM_IMAGE);
+        copyFileToZip(new ByteArrayInputStream(ProgramImage.write(imageEntries)), destPath);
+    }
+
+    private byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
         }
+        return outputStream.toByteArray();
     }
 
     private void copyFileToZip(InputStream srcInputStream, Path destPath) throws IOException {
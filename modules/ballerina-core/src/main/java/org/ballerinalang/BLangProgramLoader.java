@@ -151,12 +151,12 @@ public class BLangProgramLoader {
         PackageRepository packageRepository = new FileSystemPackageRepository(programDirPath);
         if (Files.isDirectory(sourcePath, LinkOption.NOFOLLOW_LINKS)) {
             Path packagePath = programDirPath.relativize(sourcePath);
-            BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, packageRepository, bLangProgram);
+            BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, packageRepository, bLangProgram, true);
             bLangProgram.addEntryPoint(packagePath.toString());
             return new BLangPackage[]{bLangPackage};
 
         } else if (sourcePath.toString().endsWith(BLangPrograms.BSOURCE_FILE_EXT)) {
-            BLangPackage bLangPackage = BLangPackages.loadFile(sourcePath, packageRepository, bLangProgram);
+            BLangPackage bLangPackage = BLangPackages.loadFile(sourcePath, packageRepository, bLangProgram, true);
             bLangProgram.addEntryPoint(sourcePath.getFileName().toString());
             return new BLangPackage[]{bLangPackage};
         } else {
@@ -180,12 +180,13 @@ public class BLangProgramLoader {
             for (String entryPoint : entryPoints) {
                 if (entryPoint.endsWith(".bal")) {
                     Path filePath = Paths.get(entryPoint);
-                    BLangPackage bLangPackage = BLangPackages.loadFile(filePath, programArchive, bLangProgram);
+                    BLangPackage bLangPackage = BLangPackages.loadFile(filePath, programArchive, bLangProgram, true);
                     bLangPackageList.add(bLangPackage);
                     bLangProgram.addEntryPoint(filePath.getFileName().toString());
                 } else {
                     Path packagePath = Paths.get(entryPoint);
-                    BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, programArchive, bLangProgram);
+                    BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, programArchive, bLangProgram,
+                            true);
                     bLangPackageList.add(bLangPackage);
                     bLangProgram.addEntryPoint(packagePath.toString());
                 }
@@ -30,7 +30,6 @@ import org.ballerinalang.model.Resource;
 import org.ballerinalang.model.StructDef;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.model.TypeMapper;
-import org.ballerinalang.model.VariableDef;
 import org.ballerinalang.model.Worker;
 import org.ballerinalang.model.expressions.ActionInvocationExpr;
 import org.ballerinalang.model.expressions.ArrayInitExpr;
@@ -57,6 +56,7 @@ import org.ballerinalang.model.statements.ActionInvocationStmt;
 import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -69,7 +69,6 @@ import org.ballerinalang.model.statements.VariableDefStmt;
 import org.ballerinalang.model.statements.WhileStmt;
 import org.ballerinalang.model.statements.WorkerInvocationStmt;
 import org.ballerinalang.model.statements.WorkerReplyStmt;
-import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.BValueUtils;
@@ -88,6 +87,7 @@ import org.ballerinalang.model.values.BValueType;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.AbstractNativeTypeMapper;
+import org.ballerinalang.natives.LoggingFunction;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
 import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
@@ -100,9 +100,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -123,6 +125,12 @@ public class BLangExecutor implements NodeExecutor {
     private boolean isBreakCalled;
     private ExecutorService executor;
 
+    // Whether a function call in a return statement can be made after the current function has returned, instead of
+    // while it is executing. This is not the case in actions, resources and try blocks.
+    private boolean tailCallAllowed;
+    private FunctionInvocationExpr tailCallExpr;
+    private BValue[] tailCallLocalVals;
+
     public BLangExecutor(RuntimeEnvironment runtimeEnv, Context bContext) {
         this.runtimeEnv = runtimeEnv;
         this.bContext = bContext;
@@ -132,11 +140,18 @@ public class BLangExecutor implements NodeExecutor {
     @Override
     public void visit(BlockStmt blockStmt) {
         Statement[] stmts = blockStmt.getStatements();
-        for (Statement stmt : stmts) {
+        int[] parallelActionGroups = ParallelActions.isEnabled() ? ParallelActions.getGroups(blockStmt) : null;
+        for (int i = 0; i < stmts.length; i++) {
             if (returnedOrReplied || isBreakCalled) {
                 break;
             }
-            stmt.execute(this);
+            if (parallelActionGroups != null && i < parallelActionGroups.length && parallelActionGroups[i] > 0 &&
+                    !bContext.isSequentialActions()) {
+                executeActionsConcurrently(stmts, i, parallelActionGroups[i]);
+                i = parallelActionGroups[i] - 1;
+                continue;
+            }
+            stmts[i].execute(this);
         }
     }
 
@@ -239,6 +254,61 @@ public class BLangExecutor implements NodeExecutor {
         isBreakCalled = false;
     }
 
+    @Override
+    public void visit(ForeachStmt foreachStmt) {
+        BValue collection = foreachStmt.getCollection().execute(this);
+        ForeachIterator iterator = ForeachIterator.create(collection);
+        if (collection instanceof BArray) {
+            BValue[] values = ((ForeachIterator.ValueIterator) iterator).getValues();
+            if (ParallelForeach.isParallel(foreachStmt, values.length)) {
+                executeForeachConcurrently(foreachStmt, values);
+                return;
+            }
+        }
+
+        VariableRefExpr loopVarRef = foreachStmt.getLoopVarRef();
+        while (iterator.hasNext()) {
+            assignValueToVarRefExpr(iterator.next(), loopVarRef);
+            // Interpret the statements in the foreach body.
+            foreachStmt.getBody().execute(this);
+            if (returnedOrReplied || isBreakCalled) {
+                break;
+            }
+        }
+        isBreakCalled = false;
+    }
+
+    /**
+     * Execute the iterations of a foreach statement over an array in chunks on the fork-join pool. Each chunk has an
+     * executor and a copy of the current stack frame of its own, so the variables of the body are not shared.
+     *
+     * @param foreachStmt foreach statement
+     * @param values      elements of the array
+     */
+    private void executeForeachConcurrently(ForeachStmt foreachStmt, BValue[] values) {
+        StackFrame currentFrame = controlStack.getCurrentFrame();
+        int chunkSize = ParallelForeach.getChunkSize(values.length);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.length; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, values.length);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                Context chunkContext = new Context(bContext.getCarbonMessage());
+                chunkContext.getControlStack().pushFrame(new StackFrame(currentFrame.values.clone(),
+                        currentFrame.returnValues, currentFrame.getNodeInfo()));
+                BLangExecutor chunkExecutor = new BLangExecutor(runtimeEnv, chunkContext);
+                for (int i = from; i < to; i++) {
+                    chunkExecutor.assignValueToVarRefExpr(values[i], foreachStmt.getLoopVarRef());
+                    foreachStmt.getBody().execute(chunkExecutor);
+                }
+            }, ForkJoinPool.commonPool()));
+        }
+
+        for (CompletableFuture<Void> chunk : chunks) {
+            ParallelActions.join(chunk);
+        }
+    }
+
     @Override
     public void visit(BreakStmt breakStmt) {
         isBreakCalled = true;
@@ -249,9 +319,14 @@ public class BLangExecutor implements NodeExecutor {
         // Note: This logic is based on Java exception and hence not recommended.
         // This is added only to make it work with blocking executor. and will be removed in a future release.
         StackFrame current = bContext.getControlStack().getCurrentFrame();
+        // A call made after the function has returned would not be covered by this try block
+        boolean outerTailCallAllowed = tailCallAllowed;
+        tailCallAllowed = false;
         try {
             tryCatchStmt.getTryBlock().execute(this);
+            tailCallAllowed = outerTailCallAllowed;
         } catch (BallerinaException be) {
+            tailCallAllowed = outerTailCallAllowed;
             BException exception;
             if (be.getBException() != null) {
                 exception = be.getBException();
@@ -380,6 +455,17 @@ public class BLangExecutor implements NodeExecutor {
     public void visit(ReturnStmt returnStmt) {
         Expression[] exprs = returnStmt.getExprs();
 
+        // Check whether this returns the values of a Ballerina function call, which then is a call in tail position.
+        // Its arguments are evaluated here, but the call is made by the invocation of the current function, after
+        // the current function has returned. Hence tail calls do not use the Java stack.
+        if (tailCallAllowed && exprs.length == 1 && exprs[0] instanceof FunctionInvocationExpr &&
+                ((FunctionInvocationExpr) exprs[0]).getCallableUnit() instanceof BallerinaFunction) {
+            tailCallExpr = (FunctionInvocationExpr) exprs[0];
+            tailCallLocalVals = createLocalValues(tailCallExpr);
+            returnedOrReplied = true;
+            return;
+        }
+
         // Check whether the first argument is a multi-return function
         if (exprs.length == 1 && exprs[0] instanceof FunctionInvocationExpr) {
             FunctionInvocationExpr funcIExpr = (FunctionInvocationExpr) exprs[0];
@@ -568,9 +654,75 @@ public class BLangExecutor implements NodeExecutor {
 
     @Override
     public BValue[] visit(FunctionInvocationExpr funcIExpr) {
+        // Skip a log invocation before evaluating the logged value, if its log level is disabled
+        if (funcIExpr.isLogInvocation() && !isLogLevelEnabled(funcIExpr)) {
+            return AbstractNativeFunction.VOID_RETURN;
+        }
 
         // Create the Stack frame
         Function function = funcIExpr.getCallableUnit();
+        BValue[] localVals = createLocalValues(funcIExpr);
+        BValue[] returnVals;
+
+        boolean outerTailCallAllowed = tailCallAllowed;
+        try {
+            while (true) {
+                // Create an arrays in the stack frame to hold return values. Natives return their own array.
+                boolean isNative = !(function instanceof BallerinaFunction);
+                returnVals = isNative ? AbstractNativeFunction.VOID_RETURN :
+                        new BValue[function.getReturnParamTypes().length];
+
+                // Create a new stack frame with memory locations to hold parameters, local values, temp expression
+                // value, return values and function invocation location;
+                CallableUnitInfo functionInfo = new CallableUnitInfo(function.getName(), function.getPackagePath(),
+                        funcIExpr.getNodeLocation());
+
+                StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
+                controlStack.pushFrame(stackFrame);
+
+                // Check whether we are invoking a native function or not.
+                if (isNative) {
+                    AbstractNativeFunction nativeFunction = (AbstractNativeFunction) function;
+                    returnVals = nativeFunction.invokeNative(bContext);
+                } else {
+                    BallerinaFunction bFunction = (BallerinaFunction) function;
+                    tailCallAllowed = true;
+                    bFunction.getCallableUnitBody().execute(this);
+                }
+
+                controlStack.popFrame();
+                if (tailCallExpr == null) {
+                    break;
+                }
+
+                // The function returned with a call in tail position. Make the call in place of the returned
+                // function, so that the values it returns are the values of this invocation.
+                funcIExpr = tailCallExpr;
+                function = funcIExpr.getCallableUnit();
+                localVals = tailCallLocalVals;
+                tailCallExpr = null;
+                tailCallLocalVals = null;
+                returnedOrReplied = false;
+            }
+        } catch (StackOverflowError e) {
+            // Fail the invocation instead of the thread executing it
+            throw new BallerinaException("stack overflow in function '" + function.getName() + "'", e);
+        } finally {
+            tailCallAllowed = outerTailCallAllowed;
+        }
+
+        // Setting return values to function invocation expression
+        returnedOrReplied = false;
+        return returnVals;
+    }
+
+    private boolean isLogLevelEnabled(FunctionInvocationExpr funcIExpr) {
+        BValue logLevel = funcIExpr.getArgExprs()[0].execute(this);
+        return ((LoggingFunction) funcIExpr.getCallableUnit()).isLogLevelEnabled(((BInteger) logLevel).intValue());
+    }
+
+    private BValue[] createLocalValues(FunctionInvocationExpr funcIExpr) {
+        Function function = funcIExpr.getCallableUnit();
 
         int sizeOfValueArray = function.getStackFrameSize();
         BValue[] localVals = new BValue[sizeOfValueArray];
@@ -588,25 +740,27 @@ public class BLangExecutor implements NodeExecutor {
             localVals[valueCounter] = returnParam.getType().getDefaultValue();
             valueCounter++;
         }
+        return localVals;
+    }
 
-        // Create an arrays in the stack frame to hold return values;
-        BValue[] returnVals = new BValue[function.getReturnParamTypes().length];
-
-        // Create a new stack frame with memory locations to hold parameters, local values, temp expression value,
-        // return values and function invocation location;
-        CallableUnitInfo functionInfo = new CallableUnitInfo(function.getName(), function.getPackagePath(),
-                funcIExpr.getNodeLocation());
-
-        StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
+    @Override
+    public BValue[] visit(ActionInvocationExpr actionIExpr) {
+        // Create the Stack frame
+        Action action = actionIExpr.getCallableUnit();
+        StackFrame stackFrame = createActionStackFrame(actionIExpr);
+        BValue[] returnVals = stackFrame.returnValues;
         controlStack.pushFrame(stackFrame);
 
-        // Check whether we are invoking a native function or not.
-        if (function instanceof BallerinaFunction) {
-            BallerinaFunction bFunction = (BallerinaFunction) function;
-            bFunction.getCallableUnitBody().execute(this);
+        // Check whether we are invoking a native action or not.
+        if (action instanceof BallerinaAction) {
+            BallerinaAction bAction = (BallerinaAction) action;
+            boolean outerTailCallAllowed = tailCallAllowed;
+            tailCallAllowed = false;
+            bAction.getCallableUnitBody().execute(this);
+            tailCallAllowed = outerTailCallAllowed;
         } else {
-            AbstractNativeFunction nativeFunction = (AbstractNativeFunction) function;
-            nativeFunction.executeNative(bContext);
+            AbstractNativeAction nativeAction = (AbstractNativeAction) action;
+            nativeAction.execute(bContext);
         }
 
         controlStack.popFrame();
@@ -616,9 +770,7 @@ public class BLangExecutor implements NodeExecutor {
         return returnVals;
     }
 
-    @Override
-    public BValue[] visit(ActionInvocationExpr actionIExpr) {
-        // Create the Stack frame
+    private StackFrame createActionStackFrame(ActionInvocationExpr actionIExpr) {
         Action action = actionIExpr.getCallableUnit();
 
         BValue[] localVals = new BValue[action.getStackFrameSize()];
@@ -644,23 +796,38 @@ public class BLangExecutor implements NodeExecutor {
         // return values;
         CallableUnitInfo actionInfo = new CallableUnitInfo(action.getName(), action.getPackagePath(),
                 actionIExpr.getNodeLocation());
-        StackFrame stackFrame = new StackFrame(localVals, returnVals, actionInfo);
-        controlStack.pushFrame(stackFrame);
+        return new StackFrame(localVals, returnVals, actionInfo);
+    }
 
-        // Check whether we are invoking a native action or not.
-        if (action instanceof BallerinaAction) {
-            BallerinaAction bAction = (BallerinaAction) action;
-            bAction.getCallableUnitBody().execute(this);
-        } else {
-            AbstractNativeAction nativeAction = (AbstractNativeAction) action;
-            nativeAction.execute(bContext);
+    /**
+     * Invoke a group of independent native actions concurrently, and assign their results in the order of the
+     * statements once all of them are completed. The arguments are evaluated in order on the executing thread.
+     *
+     * @param stmts statements of a block
+     * @param start index of the first statement of the group
+     * @param end   index of the statement after the group
+     */
+    private void executeActionsConcurrently(Statement[] stmts, int start, int end) {
+        List<CompletableFuture<BValue[]>> results = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            ActionInvocationExpr actionIExpr = ParallelActions.getActionInvocationExpr(stmts[i]);
+            AbstractNativeAction nativeAction = (AbstractNativeAction) actionIExpr.getCallableUnit();
+            StackFrame stackFrame = createActionStackFrame(actionIExpr);
+            ParallelActions.ActionContext actionContext = new ParallelActions.ActionContext(bContext);
+            actionContext.getControlStack().pushFrame(stackFrame);
+            results.add(ParallelActions.invoke(() -> {
+                nativeAction.execute(actionContext);
+                return stackFrame.returnValues;
+            }));
         }
 
-        controlStack.popFrame();
-
-        // Setting return values to function invocation expression
-        returnedOrReplied = false;
-        return returnVals;
+        List<BValue[]> returnVals = ParallelActions.joinAll(results);
+        for (int i = start; i < end; i++) {
+            VariableRefExpr varRefExpr = ParallelActions.getAssignedVarRef(stmts[i]);
+            if (varRefExpr != null) {
+                assignValueToVarRefExpr(returnVals.get(i - start)[0], varRefExpr);
+            }
+        }
     }
 
     // TODO Check the possibility of removing this from the executor since this is not part of the executor.
@@ -911,7 +1078,10 @@ public class BLangExecutor implements NodeExecutor {
             // Check whether we are invoking a native function or not.
             if (typeMapper instanceof BTypeMapper) {
                 BTypeMapper bTypeMapper = (BTypeMapper) typeMapper;
+                boolean outerTailCallAllowed = tailCallAllowed;
+                tailCallAllowed = false;
                 bTypeMapper.getCallableUnitBody().execute(this);
+                tailCallAllowed = outerTailCallAllowed;
             } else {
                 AbstractNativeTypeMapper nativeTypeMapper = (AbstractNativeTypeMapper) typeMapper;
                 nativeTypeMapper.convertNative(bContext);
@@ -1056,29 +1226,20 @@ public class BLangExecutor implements NodeExecutor {
     @Override
     public BValue visit(StructInitExpr structInitExpr) {
         StructDef structDef = (StructDef) structInitExpr.getType();
-        BValue[] structMemBlock;
-        int offset = 0;
-        structMemBlock = new BValue[structDef.getStructMemorySize()];
 
-        Expression[] argExprs = structInitExpr.getArgExprs();
-
-
-        // create a memory block to hold field of the struct, and populate it with default values
-        VariableDef[] fields = structDef.getFields();
-        for (VariableDef field : fields) {
-            structMemBlock[offset] = field.getType().getDefaultValue();
-            offset++;
-        }
+        // create a struct with the default values of the fields
+        BStruct bStruct = new BStruct(structDef);
 
-        // iterate through initialized values and re-populate the memory block
+        // iterate through initialized values and re-populate the struct
+        Expression[] argExprs = structInitExpr.getArgExprs();
         for (int i = 0; i < argExprs.length; i++) {
             MapStructInitKeyValueExpr expr = (MapStructInitKeyValueExpr) argExprs[i];
             VariableRefExpr varRefExpr = (VariableRefExpr) expr.getKeyExpr();
             StructVarLocation structVarLoc = (StructVarLocation) (varRefExpr).getVariableDef().getMemoryLocation();
-            structMemBlock[structVarLoc.getStructMemAddrOffset()] = expr.getValueExpr().execute(this);
+            bStruct.setValue(structVarLoc.getStructMemAddrOffset(), expr.getValueExpr().execute(this));
         }
 
-        return new BStruct(structDef, structMemBlock);
+        return bStruct;
     }
 
     /**
@@ -1086,9 +1247,7 @@ public class BLangExecutor implements NodeExecutor {
      */
     @Override
     public BValue visit(StructFieldAccessExpr structFieldAccessExpr) {
-        Expression varRef = structFieldAccessExpr.getVarRef();
-        BValue value = varRef.execute(this);
-        return getFieldExprValue(structFieldAccessExpr, value);
+        return getFieldValue(structFieldAccessExpr, structFieldAccessExpr.getFieldOffsets().length);
     }
 
     @Override
@@ -1104,183 +1263,61 @@ public class BLangExecutor implements NodeExecutor {
      * @param lExpr  {@link StructFieldAccessExpr} which represents the field of the struct
      */
     private void assignValueToStructFieldAccessExpr(BValue rValue, StructFieldAccessExpr lExpr) {
-        Expression lExprVarRef = lExpr.getVarRef();
-        BValue value = lExprVarRef.execute(this);
-        setFieldValue(rValue, lExpr, value);
-    }
+        int lastStep = lExpr.getFieldOffsets().length - 1;
+        BValue value = getFieldValue(lExpr, lastStep);
 
-    /**
-     * Recursively traverse and set the value of the access expression of a field of a struct.
-     *
-     * @param rValue     Value to be set
-     * @param expr       StructFieldAccessExpr of the current field
-     * @param currentVal Value of the expression evaluated so far.
-     */
-    private void setFieldValue(BValue rValue, StructFieldAccessExpr expr, BValue currentVal) {
-        // currentVal is a BStruct or arrays/map of BStruct. hence get the element value of it.
-        BStruct currentStructVal = (BStruct) getUnitValue(currentVal, expr);
-
-        StructFieldAccessExpr fieldExpr = expr.getFieldExpr();
-        int fieldLocation = ((StructVarLocation) getMemoryLocation(fieldExpr)).getStructMemAddrOffset();
-
-        if (fieldExpr.getFieldExpr() == null) {
-            setUnitValue(rValue, currentStructVal, fieldLocation, fieldExpr);
+        int fieldOffset = lExpr.getFieldOffsets()[lastStep];
+        if (fieldOffset >= 0) {
+            ((BStruct) value).setValue(fieldOffset, rValue);
             return;
         }
 
-        // At this point, field of the field is not null. Means current element,
-        // and its field are both struct types.
-        // get the unit value of the struct field,
-        BValue value = currentStructVal.getValue(fieldLocation);
-
-        setFieldValue(rValue, fieldExpr, value);
-    }
-
-    /**
-     * Get the memory location for a expression.
-     *
-     * @param expression Expression to get the memory location
-     * @return Memory location of the expression
-     */
-    private MemoryLocation getMemoryLocation(Expression expression) {
-        // If the expression is an arrays-map expression, then get the location of the variable-reference-expression
-        // of the arrays-map-access-expression.
-        if (expression instanceof ArrayMapAccessExpr) {
-            return getMemoryLocation(((ArrayMapAccessExpr) expression).getRExpr());
-        }
-
-        // If the expression is a struct-field-access-expression, then get the memory location of the variable
-        // referenced by the struct-field-access-expression
-        if (expression instanceof StructFieldAccessExpr) {
-            return getMemoryLocation(((StructFieldAccessExpr) expression).getVarRef());
-        }
-
-        // Set the memory location of the variable-reference-expression
-        return ((VariableRefExpr) expression).getMemoryLocation();
-    }
-
-    /**
-     * Set the unit value of the current value.
-     * <br/>
-     * i.e: Value represented by a field-access-expression can be one of:
-     * <ul>
-     * <li>A variable</li>
-     * <li>An element of an arrays/map variable.</li>
-     * </ul>
-     * But the value get after evaluating the field-access-expression (<b>lExprValue</b>) contains the whole
-     * variable. This methods set the unit value (either the complete arrays/map or the referenced element of an
-     * arrays/map), using the index expression of the 'fieldExpr'.
-     *
-     * @param rValue         Value to be set
-     * @param lExprValue     Value of the field access expression evaluated so far. This is always of struct
-     *                       type.
-     * @param memoryLocation Location of the field to be set, in the struct 'lExprValue'
-     * @param fieldExpr      Field Access Expression of the current field
-     */
-    private void setUnitValue(BValue rValue, BStruct lExprValue, int memoryLocation,
-                              StructFieldAccessExpr fieldExpr) {
-
-        Expression indexExpr;
-        if (fieldExpr.getVarRef() instanceof ArrayMapAccessExpr) {
-            indexExpr = ((ArrayMapAccessExpr) fieldExpr.getVarRef()).getIndexExpr();
-        } else {
-            // If the lExprValue value is not a struct arrays/map, then set the value to the struct
-            lExprValue.setValue(memoryLocation, rValue);
-            return;
-        }
-
-        // Evaluate the index expression and get the value.
-        BValue indexValue = indexExpr.execute(this);
-
-        // Get the arrays/map value from the mermory location
-        BValue arrayMapValue = lExprValue.getValue(memoryLocation);
-
-        // Set the value to arrays/map's index location
-        if (fieldExpr.getRefVarType() instanceof BMapType) {
-            ((BMap) arrayMapValue).put(indexValue, rValue);
+        BValue indexValue = lExpr.getIndexExprs()[lastStep].execute(this);
+        if (fieldOffset == StructFieldAccessExpr.MAP_INDEX) {
+            ((BMap) value).put(indexValue, rValue);
         } else {
-            ((BArray) arrayMapValue).add(((BInteger) indexValue).intValue(), rValue);
+            ((BArray) value).add(((BInteger) indexValue).intValue(), rValue);
         }
     }
 
     /**
-     * Recursively traverse and get the value of the access expression of a field of a struct.
+     * Evaluate the variable of a struct field access expression, and follow the given number of steps of its field
+     * offset chain from the value of the variable.
      *
-     * @param expr       StructFieldAccessExpr of the current field
-     * @param currentVal Value of the expression evaluated so far.
-     * @return Value of the expression after evaluating the current field.
+     * @param expr  Root of the struct field access chain
+     * @param steps Number of steps of the field offset chain to follow
+     * @return Value after following the steps
      */
-    private BValue getFieldExprValue(StructFieldAccessExpr expr, BValue currentVal) {
-        // currentVal is a BStruct or arrays/map of BStruct. hence get the element value of it.
-        BStruct currentStructVal = (BStruct) getUnitValue(currentVal, expr);
-
-        StructFieldAccessExpr fieldExpr = expr.getFieldExpr();
-        int fieldLocation = ((StructVarLocation) getMemoryLocation(fieldExpr)).getStructMemAddrOffset();
-
-        // If this is the last field, return the value from memory location
-        if (fieldExpr.getFieldExpr() == null) {
-            // Value stored in the struct can be also an arrays. Hence if its an arrray access,
-            // get the aray element value
-            return getUnitValue(currentStructVal.getValue(fieldLocation), fieldExpr);
+    private BValue getFieldValue(StructFieldAccessExpr expr, int steps) {
+        BValue value = expr.getVarRef().execute(this);
+        if (value == null) {
+            throw new BallerinaException("field '" + expr.getVarRef().getVarName() + "' is null");
         }
 
-        BValue value = currentStructVal.getValue(fieldLocation);
-
-        // Recursively travel through the struct and get the value
-        return getFieldExprValue(fieldExpr, value);
-    }
-
-    /**
-     * Get the unit value of the current value.
-     * <br/>
-     * i.e: Value represented by a field-access-expression can be one of:
-     * <ul>
-     * <li>A variable</li>
-     * <li>An element of an arrays/map variable.</li>
-     * </ul>
-     * But the value stored in memory (<b>currentVal</b>) contains the entire variable. This methods
-     * retrieves the unit value (either the complete arrays/map or the referenced element of an arrays/map),
-     * using the index expression of the 'fieldExpr'.
-     *
-     * @param currentVal Value of the field expression evaluated so far
-     * @param fieldExpr  Field access expression for the current value
-     * @return Unit value of the current value
-     */
-    private BValue getUnitValue(BValue currentVal, StructFieldAccessExpr fieldExpr) {
-        ReferenceExpr currentVarRefExpr = fieldExpr.getVarRef();
-        if (currentVal == null) {
-            throw new BallerinaException("field '" + currentVarRefExpr.getVarName() + "' is null");
-        }
-
-        if (!(currentVal instanceof BArray || currentVal instanceof BMap<?, ?>)) {
-            return currentVal;
-        }
-
-        // If the lExprValue value is not a struct arrays/map, then the unit value is same as the struct
-        Expression indexExpr;
-        if (currentVarRefExpr instanceof ArrayMapAccessExpr) {
-            indexExpr = ((ArrayMapAccessExpr) currentVarRefExpr).getIndexExpr();
-        } else {
-            return currentVal;
-        }
-
-        // Evaluate the index expression and get the value
-        BValue indexValue = indexExpr.execute(this);
-
-        BValue unitVal;
-        // Get the value from arrays/map's index location
-        if (fieldExpr.getRefVarType() instanceof BMapType) {
-            unitVal = ((BMap) currentVal).get(indexValue);
-        } else {
-            unitVal = ((BArray) currentVal).get(((BInteger) indexValue).intValue());
-        }
+        int[] fieldOffsets = expr.getFieldOffsets();
+        Expression[] indexExprs = expr.getIndexExprs();
+        for (int i = 0; i < steps; i++) {
+            int fieldOffset = fieldOffsets[i];
+            if (fieldOffset >= 0) {
+                value = ((BStruct) value).getValue(fieldOffset);
+                if (value == null) {
+                    throw new BallerinaException("field '" + expr.getFieldName(i) + "' is null");
+                }
+                continue;
+            }
 
-        if (unitVal == null) {
-            throw new BallerinaException("field '" + currentVarRefExpr.getSymbolName().getName() + "[" +
-                    indexValue.stringValue() + "]' is null");
+            BValue indexValue = indexExprs[i].execute(this);
+            if (fieldOffset == StructFieldAccessExpr.MAP_INDEX) {
+                value = ((BMap) value).get(indexValue);
+            } else {
+                value = ((BArray) value).get(((BInteger) indexValue).intValue());
+            }
+            if (value == null) {
+                throw new BallerinaException("field '" + expr.getFieldName(i) + "[" + indexValue.stringValue() +
+                        "]' is null");
+            }
         }
-
-        return unitVal;
+        return value;
     }
 
     private void invokeConnectorInitFunction(BallerinaConnectorDef connectorDef, BConnector bConnector) {
@@ -1299,7 +1336,10 @@ public class BLangExecutor implements NodeExecutor {
 
         StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
         controlStack.pushFrame(stackFrame);
+        boolean outerTailCallAllowed = tailCallAllowed;
+        tailCallAllowed = false;
         initFunction.getCallableUnitBody().execute(this);
+        tailCallAllowed = outerTailCallAllowed;
         controlStack.popFrame();
     }
 }
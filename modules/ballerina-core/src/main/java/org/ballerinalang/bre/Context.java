@@ -19,9 +19,14 @@ package org.ballerinalang.bre;
 
 import org.ballerinalang.bre.nonblocking.BLangExecutionVisitor;
 import org.ballerinalang.runtime.BalCallback;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonMessage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +36,8 @@ import java.util.Map;
  */
 public class Context {
 
+    private static final Logger log = LoggerFactory.getLogger(Context.class);
+
     //TODO: Rename this into BContext and move this to runtime package
     private ControlStack controlStack;
     private CarbonMessage cMsg;
@@ -39,6 +46,9 @@ public class Context {
     private CallableUnitInfo serviceInfo;
     private BLangExecutionVisitor executor;
     private Object serverConnectorProtocol;
+    private List<Runnable> completionTasks;
+    private boolean sequentialActions;
+    private Bulkhead bulkhead;
 
     public Context() {
         this.controlStack = new ControlStack();
@@ -100,4 +110,70 @@ public class Context {
     public void setServerConnectorProtocol(Object serverConnectorProtocol) {
         this.serverConnectorProtocol = serverConnectorProtocol;
     }
+
+    /**
+     * @return true, if the actions of this context must be invoked one after the other
+     */
+    public boolean isSequentialActions() {
+        return sequentialActions;
+    }
+
+    /**
+     * Require the actions of this context to be invoked one after the other, e.g. because they share a resource
+     * which can not be used concurrently, such as the connections of a transaction.
+     *
+     * @param sequentialActions true, if the actions must be invoked one after the other
+     */
+    public void setSequentialActions(boolean sequentialActions) {
+        this.sequentialActions = sequentialActions;
+    }
+
+    /**
+     * @return the bulkhead which executes this context, or null if it is executed on the shared worker pool.
+     */
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * Bind this context to the bulkhead of its service, so that non-blocking execution resumes on the threads of
+     * the bulkhead after an action completes.
+     *
+     * @param bulkhead bulkhead of the service.
+     */
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Register a task to be run when the execution bound to this context is completed. Native constructs use this
+     * to release resources which are held on behalf of the current resource invocation.
+     *
+     * @param task task to run on completion.
+     */
+    public void addCompletionTask(Runnable task) {
+        if (completionTasks == null) {
+            completionTasks = new ArrayList<>();
+        }
+        completionTasks.add(task);
+    }
+
+    /**
+     * Run and clear all the registered completion tasks. A failure in one task does not prevent the others from
+     * running.
+     */
+    public void runCompletionTasks() {
+        if (completionTasks == null) {
+            return;
+        }
+        List<Runnable> tasks = completionTasks;
+        completionTasks = null;
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("error while running completion task: " + e.getMessage(), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre;
+
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BDataTable;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code ForeachIterator} iterates over the elements of an array, the keys of a map or the rows of a datatable in a
+ * foreach statement.
+ * <p>
+ * The elements of an array and the keys of a map are copied once when the iteration starts, so each step is an index
+ * into a plain array and the body of the loop may change the collection. A datatable is iterated by moving its cursor,
+ * and each row is the datatable itself.
+ * <p>
+ * An iterator is a {@link BValue}, so that the non-blocking executor can keep it in the temporary values of a stack
+ * frame while the body of the loop is executed.
+ *
+ * @since 0.8.2
+ */
+public abstract class ForeachIterator implements BValue {
+
+    /**
+     * Create an iterator over a collection.
+     *
+     * @param collection array, map or datatable
+     * @return iterator
+     */
+    public static ForeachIterator create(BValue collection) {
+        if (collection instanceof BArray) {
+            return new ValueIterator(((BArray) collection).values());
+        } else if (collection instanceof BMap) {
+            return new ValueIterator(((BMap) collection).keys());
+        } else if (collection instanceof BDataTable) {
+            return new DataTableIterator((BDataTable) collection);
+        } else if (collection == null) {
+            throw new BallerinaException("cannot iterate over a null value");
+        }
+        throw new BallerinaException("cannot iterate over a value of type '" + collection.getClass().getSimpleName() +
+                "'");
+    }
+
+    /**
+     * @return true, if the iteration has more values
+     */
+    public abstract boolean hasNext();
+
+    /**
+     * @return next value of the iteration
+     */
+    public abstract BValue next();
+
+    @Override
+    public String stringValue() {
+        return null;
+    }
+
+    /**
+     * Iterates over a copy of the elements of an array or the keys of a map.
+     */
+    static class ValueIterator extends ForeachIterator {
+
+        private final BValue[] values;
+        private int index;
+
+        ValueIterator(BValue[] values) {
+            this.values = values;
+        }
+
+        BValue[] getValues() {
+            return values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public BValue next() {
+            return values[index++];
+        }
+    }
+
+    /**
+     * Iterates over the rows of a datatable.
+     */
+    private static class DataTableIterator extends ForeachIterator {
+
+        private final BDataTable dataTable;
+        private boolean moved;
+        private boolean hasRow;
+
+        DataTableIterator(BDataTable dataTable) {
+            this.dataTable = dataTable;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!moved) {
+                hasRow = dataTable.next();
+                moved = true;
+            }
+            return hasRow;
+        }
+
+        @Override
+        public BValue next() {
+            hasNext();
+            moved = false;
+            return dataTable;
+        }
+    }
+}
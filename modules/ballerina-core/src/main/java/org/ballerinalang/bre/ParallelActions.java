@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre;
+
+import org.ballerinalang.model.Action;
+import org.ballerinalang.model.BallerinaConnectorDef;
+import org.ballerinalang.model.VariableDef;
+import org.ballerinalang.model.expressions.ActionInvocationExpr;
+import org.ballerinalang.model.expressions.BasicLiteral;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.VariableRefExpr;
+import org.ballerinalang.model.statements.ActionInvocationStmt;
+import org.ballerinalang.model.statements.AssignStmt;
+import org.ballerinalang.model.statements.BlockStmt;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.model.statements.VariableDefStmt;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.ballerinalang.natives.connectors.AbstractNativeConnector;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code ParallelActions} finds the native action invocations of a block which do not depend on each other, so that
+ * the executor can invoke them concurrently.
+ * <p>
+ * A group of independent actions is a sequence of two or more statements of a block, each of which invokes a
+ * native action that may be invoked concurrently, either as a statement or as the only value assigned to a variable.
+ * The arguments of the actions are variables or literals, so evaluating them has no side effects. An action of a
+ * group does not read a variable assigned by a previous action of the group, no two actions assign the same
+ * variable, and no two actions get the same message, struct, map, array or json value, which actions may change.
+ * Connectors may be shared.
+ * <p>
+ * The analysis is enabled with the {@value Constants#SYS_PROP_PARALLEL_ACTIONS} system property, and is done once
+ * per block, when the block is executed for the first time.
+ *
+ * @since 0.8.2
+ */
+class ParallelActions {
+
+    private static final int[] NO_GROUPS = new int[0];
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    // The actions block on I/O, so there are as many threads as workers. When all of them are busy, the actions of a
+    // group are invoked by the executing thread.
+    private static final ThreadPoolExecutor executor;
+
+    private static boolean enabled = Boolean.getBoolean(Constants.SYS_PROP_PARALLEL_ACTIONS);
+
+    static {
+        int poolSize = ThreadPoolFactory.getInstance().getWorkerCount();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new BLangThreadFactory("BLangParallelAction"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private ParallelActions() {
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        // Testing purpose only.
+        ParallelActions.enabled = enabled;
+    }
+
+    /**
+     * Get the groups of independent actions of a block.
+     *
+     * @param blockStmt block statement
+     * @return for each statement which starts a group, the index of the statement after the group. Zero for the
+     * other statements
+     */
+    static int[] getGroups(BlockStmt blockStmt) {
+        int[] groups = blockStmt.getParallelActionGroups();
+        if (groups == null) {
+            groups = findGroups(blockStmt.getStatements());
+            blockStmt.setParallelActionGroups(groups);
+        }
+        return groups;
+    }
+
+    private static int[] findGroups(Statement[] stmts) {
+        int[] groups = NO_GROUPS;
+        int start = 0;
+        while (start < stmts.length) {
+            int end = findGroupEnd(stmts, start);
+            if (end - start > 1) {
+                if (groups == NO_GROUPS) {
+                    groups = new int[stmts.length];
+                }
+                groups[start] = end;
+                start = end;
+            } else {
+                start++;
+            }
+        }
+        return groups;
+    }
+
+    private static int findGroupEnd(Statement[] stmts, int start) {
+        Set<VariableDef> assignedVars = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<VariableDef> mutableArgs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        int end = start;
+        while (end < stmts.length) {
+            ActionInvocationExpr actionIExpr = getActionInvocationExpr(stmts[end]);
+            if (actionIExpr == null || !isParallelAction(actionIExpr.getCallableUnit())) {
+                break;
+            }
+
+            boolean independent = true;
+            for (Expression argExpr : actionIExpr.getArgExprs()) {
+                if (argExpr instanceof BasicLiteral) {
+                    continue;
+                }
+                VariableDef argVar = argExpr instanceof VariableRefExpr ?
+                        ((VariableRefExpr) argExpr).getVariableDef() : null;
+                if (argVar == null || assignedVars.contains(argVar) ||
+                        (isMutable(argVar.getType()) && !mutableArgs.add(argVar))) {
+                    independent = false;
+                    break;
+                }
+            }
+
+            VariableRefExpr assignedVarRef = getAssignedVarRef(stmts[end]);
+            if (assignedVarRef != null && (assignedVarRef.getVariableDef() == null ||
+                    !assignedVars.add(assignedVarRef.getVariableDef()))) {
+                independent = false;
+            }
+
+            if (!independent) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isParallelAction(Action action) {
+        return action instanceof AbstractNativeAction && ((AbstractNativeAction) action).isParallelAction();
+    }
+
+    private static boolean isMutable(BType type) {
+        return !BTypes.isValueType(type) && !(type instanceof AbstractNativeConnector) &&
+                !(type instanceof BallerinaConnectorDef);
+    }
+
+    /**
+     * Get the action invocation of a statement, if the statement is an action invocation statement or assigns the
+     * value of an action invocation to a variable.
+     *
+     * @param stmt statement
+     * @return action invocation, or null
+     */
+    static ActionInvocationExpr getActionInvocationExpr(Statement stmt) {
+        if (stmt instanceof ActionInvocationStmt) {
+            return ((ActionInvocationStmt) stmt).getActionInvocationExpr();
+        }
+
+        Expression rExpr = null;
+        if (stmt instanceof VariableDefStmt && ((VariableDefStmt) stmt).getLExpr() instanceof VariableRefExpr) {
+            rExpr = ((VariableDefStmt) stmt).getRExpr();
+        } else if (stmt instanceof AssignStmt && ((AssignStmt) stmt).getLExprs().length == 1 &&
+                ((AssignStmt) stmt).getLExprs()[0] instanceof VariableRefExpr) {
+            rExpr = ((AssignStmt) stmt).getRExpr();
+        }
+        return rExpr instanceof ActionInvocationExpr ? (ActionInvocationExpr) rExpr : null;
+    }
+
+    /**
+     * Get the variable a statement of a group assigns the value of its action to.
+     *
+     * @param stmt statement of a group
+     * @return variable reference, or null if the statement is an action invocation statement
+     */
+    static VariableRefExpr getAssignedVarRef(Statement stmt) {
+        if (stmt instanceof VariableDefStmt) {
+            return (VariableRefExpr) ((VariableDefStmt) stmt).getLExpr();
+        } else if (stmt instanceof AssignStmt) {
+            return (VariableRefExpr) ((AssignStmt) stmt).getLExprs()[0];
+        }
+        return null;
+    }
+
+    /**
+     * Invoke an action of a group on a thread of its own, or on the executing thread if all the threads are busy.
+     *
+     * @param action action invocation, which returns the return values of the action
+     * @return return values of the action
+     */
+    static CompletableFuture<BValue[]> invoke(Supplier<BValue[]> action) {
+        try {
+            return CompletableFuture.supplyAsync(action, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<BValue[]> result = new CompletableFuture<>();
+            try {
+                result.complete(action.get());
+            } catch (RuntimeException | Error error) {
+                result.completeExceptionally(error);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Wait for all the actions of a group to complete. None of them is still running when an error is thrown, as
+     * the statements after the group may use the values the actions get.
+     *
+     * @param results results of the actions, in the order of the statements
+     * @return return values of the actions, in the order of the statements
+     */
+    static List<BValue[]> joinAll(List<CompletableFuture<BValue[]>> results) {
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[results.size()])).join();
+        } catch (CompletionException ignore) {
+            // The error of the first failed statement is rethrown below
+        }
+
+        List<BValue[]> returnVals = new ArrayList<>(results.size());
+        for (CompletableFuture<BValue[]> result : results) {
+            returnVals.add(join(result));
+        }
+        return returnVals;
+    }
+
+    /**
+     * Wait for a task which runs concurrently with the executing thread to complete.
+     *
+     * @param result result of the task
+     * @param <T>    type of the result
+     * @return result of the task
+     */
+    static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Rethrow the error of the task as it is, as if the task was run by the executing thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@code ActionContext} is the context of an action of a group. It has the message, callback and properties of
+     * the context of the invocation, but a control stack of its own. Completion tasks are added to the context of
+     * the invocation.
+     */
+    static class ActionContext extends Context {
+
+        private final Context parentContext;
+
+        ActionContext(Context parentContext) {
+            super(parentContext.getCarbonMessage());
+            this.parentContext = parentContext;
+            this.properties = new HashMap<>(parentContext.getProperties());
+            setBalCallback(parentContext.getBalCallback());
+            setServiceInfo(parentContext.getServiceInfo());
+            setExecutor(parentContext.getExecutor());
+            setServerConnectorProtocol(parentContext.getServerConnectorProtocol());
+        }
+
+        @Override
+        public void setSequentialActions(boolean sequentialActions) {
+            parentContext.setSequentialActions(sequentialActions);
+        }
+
+        @Override
+        public void addCompletionTask(Runnable task) {
+            // The actions of a group complete concurrently, while the thread of the parent context waits for them
+            synchronized (parentContext) {
+                parentContext.addCompletionTask(task);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre;
+
+import org.ballerinalang.model.VariableDef;
+import org.ballerinalang.model.expressions.ArrayMapAccessExpr;
+import org.ballerinalang.model.expressions.BasicLiteral;
+import org.ballerinalang.model.expressions.BinaryExpression;
+import org.ballerinalang.model.expressions.ConnectorInitExpr;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.MapStructInitKeyValueExpr;
+import org.ballerinalang.model.expressions.RefTypeInitExpr;
+import org.ballerinalang.model.expressions.StructFieldAccessExpr;
+import org.ballerinalang.model.expressions.TypeCastExpression;
+import org.ballerinalang.model.expressions.UnaryExpression;
+import org.ballerinalang.model.expressions.VariableRefExpr;
+import org.ballerinalang.model.statements.AssignStmt;
+import org.ballerinalang.model.statements.BlockStmt;
+import org.ballerinalang.model.statements.BreakStmt;
+import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
+import org.ballerinalang.model.statements.IfElseStmt;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.model.statements.VariableDefStmt;
+import org.ballerinalang.model.statements.WhileStmt;
+import org.ballerinalang.natives.AbstractNativeTypeMapper;
+import org.ballerinalang.runtime.Constants;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ParallelForeach} decides whether the iterations of a foreach statement over an array can be executed
+ * concurrently, each chunk of the array with a copy of the stack frame of its own.
+ * <p>
+ * The iterations are independent if the body of the loop only assigns its own variables and the fields and elements
+ * of the loop variable, does not invoke functions or actions, and does not break out of the loop, return or reply.
+ * Variables of the enclosing blocks may be read, since no iteration changes them.
+ * <p>
+ * Parallel iteration is enabled with the {@value Constants#SYS_PROP_PARALLEL_FOREACH} system property, for arrays of
+ * at least {@value #MIN_PARALLEL_ITERATIONS} elements. The analysis is done once per statement, when it is executed
+ * for the first time.
+ *
+ * @since 0.8.2
+ */
+class ParallelForeach {
+
+    static final int MIN_PARALLEL_ITERATIONS = 1024;
+
+    private static boolean enabled = Boolean.getBoolean(Constants.SYS_PROP_PARALLEL_FOREACH);
+
+    private ParallelForeach() {
+    }
+
+    static void setEnabled(boolean enabled) {
+        // Testing purpose only.
+        ParallelForeach.enabled = enabled;
+    }
+
+    /**
+     * Check whether the iterations of a foreach statement over an array can be executed concurrently.
+     *
+     * @param foreachStmt foreach statement
+     * @param size        size of the array
+     * @return true, if the iterations can be executed concurrently
+     */
+    static boolean isParallel(ForeachStmt foreachStmt, int size) {
+        if (!enabled || size < MIN_PARALLEL_ITERATIONS) {
+            return false;
+        }
+        Boolean parallel = foreachStmt.getParallel();
+        if (parallel == null) {
+            parallel = new IsolationChecker(foreachStmt.getLoopVarRef().getVariableDef())
+                    .isIsolated(foreachStmt.getBody());
+            foreachStmt.setParallel(parallel);
+        }
+        return parallel;
+    }
+
+    /**
+     * Get the number of iterations executed by one task.
+     *
+     * @param size size of the array
+     * @return number of iterations of a chunk
+     */
+    static int getChunkSize(int size) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return (size + parallelism - 1) / parallelism;
+    }
+
+    /**
+     * Checks that the statements of a loop body do not depend on the other iterations of the loop.
+     */
+    private static class IsolationChecker {
+
+        private final VariableDef loopVarDef;
+        private final Set<VariableDef> localVarDefs = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int loopDepth;
+
+        IsolationChecker(VariableDef loopVarDef) {
+            this.loopVarDef = loopVarDef;
+        }
+
+        boolean isIsolated(Statement stmt) {
+            if (stmt instanceof BlockStmt) {
+                for (Statement blockStmt : ((BlockStmt) stmt).getStatements()) {
+                    if (!isIsolated(blockStmt)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (stmt instanceof CommentStmt) {
+                return true;
+            } else if (stmt instanceof BreakStmt) {
+                // Breaking out of a nested loop does not end the other iterations
+                return loopDepth > 0;
+            } else if (stmt instanceof VariableDefStmt) {
+                VariableDefStmt varDefStmt = (VariableDefStmt) stmt;
+                localVarDefs.add(varDefStmt.getVariableDef());
+                return varDefStmt.getRExpr() == null || isIsolated(varDefStmt.getRExpr());
+            } else if (stmt instanceof AssignStmt) {
+                AssignStmt assignStmt = (AssignStmt) stmt;
+                for (Expression lExpr : assignStmt.getLExprs()) {
+                    if (!isAssignable(lExpr)) {
+                        return false;
+                    }
+                }
+                return isIsolated(assignStmt.getRExpr());
+            } else if (stmt instanceof IfElseStmt) {
+                IfElseStmt ifElseStmt = (IfElseStmt) stmt;
+                if (!isIsolated(ifElseStmt.getCondition()) || !isIsolated(ifElseStmt.getThenBody())) {
+                    return false;
+                }
+                for (IfElseStmt.ElseIfBlock elseIfBlock : ifElseStmt.getElseIfBlocks()) {
+                    if (!isIsolated(elseIfBlock.getElseIfCondition()) || !isIsolated(elseIfBlock.getElseIfBody())) {
+                        return false;
+                    }
+                }
+                return ifElseStmt.getElseBody() == null || isIsolated(ifElseStmt.getElseBody());
+            } else if (stmt instanceof WhileStmt) {
+                WhileStmt whileStmt = (WhileStmt) stmt;
+                return isIsolated(whileStmt.getCondition()) && isIsolatedLoopBody(whileStmt.getBody());
+            } else if (stmt instanceof ForeachStmt) {
+                ForeachStmt foreachStmt = (ForeachStmt) stmt;
+                localVarDefs.add(foreachStmt.getLoopVarRef().getVariableDef());
+                return isIsolated(foreachStmt.getCollection()) && isIsolatedLoopBody(foreachStmt.getBody());
+            }
+            // Invocations, replies, returns, throws and workers
+            return false;
+        }
+
+        private boolean isIsolatedLoopBody(BlockStmt body) {
+            loopDepth++;
+            try {
+                return isIsolated(body);
+            } finally {
+                loopDepth--;
+            }
+        }
+
+        private boolean isIsolated(Expression expr) {
+            if (expr == null || expr instanceof BasicLiteral || expr instanceof VariableRefExpr) {
+                return true;
+            } else if (expr instanceof BinaryExpression) {
+                BinaryExpression binaryExpr = (BinaryExpression) expr;
+                return isIsolated(binaryExpr.getLExpr()) && isIsolated(binaryExpr.getRExpr());
+            } else if (expr instanceof ArrayMapAccessExpr) {
+                ArrayMapAccessExpr accessExpr = (ArrayMapAccessExpr) expr;
+                return isIsolated(accessExpr.getRExpr()) && isIsolated(accessExpr.getIndexExpr());
+            } else if (expr instanceof StructFieldAccessExpr) {
+                StructFieldAccessExpr fieldAccessExpr = (StructFieldAccessExpr) expr;
+                return isIsolated((Expression) fieldAccessExpr.getVarRef()) &&
+                        isIsolated(fieldAccessExpr.getFieldExpr());
+            } else if (expr instanceof UnaryExpression) {
+                return isIsolated(((UnaryExpression) expr).getRExpr());
+            } else if (expr instanceof TypeCastExpression) {
+                // Type mappers written in Ballerina may invoke functions
+                TypeCastExpression castExpr = (TypeCastExpression) expr;
+                return (castExpr.getCallableUnit() == null ||
+                        castExpr.getCallableUnit() instanceof AbstractNativeTypeMapper) &&
+                        isIsolated(castExpr.getRExpr());
+            } else if (expr instanceof RefTypeInitExpr && !(expr instanceof ConnectorInitExpr)) {
+                Expression[] argExprs = ((RefTypeInitExpr) expr).getArgExprs();
+                if (argExprs != null) {
+                    for (Expression argExpr : argExprs) {
+                        if (!isIsolated(argExpr)) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            } else if (expr instanceof MapStructInitKeyValueExpr) {
+                MapStructInitKeyValueExpr keyValueExpr = (MapStructInitKeyValueExpr) expr;
+                return isIsolated(keyValueExpr.getKeyExpr()) && isIsolated(keyValueExpr.getValueExpr());
+            }
+            // Invocations and connector initializers
+            return false;
+        }
+
+        private boolean isAssignable(Expression lExpr) {
+            if (lExpr instanceof VariableRefExpr) {
+                return localVarDefs.contains(((VariableRefExpr) lExpr).getVariableDef());
+            }
+            // Elements and fields may only be assigned through the loop variable, since the values of the other
+            // variables may be shared by the iterations
+            return isIsolated(lExpr) && getRootVarDef(lExpr) == loopVarDef;
+        }
+
+        private VariableDef getRootVarDef(Expression expr) {
+            if (expr instanceof VariableRefExpr) {
+                return ((VariableRefExpr) expr).getVariableDef();
+            } else if (expr instanceof ArrayMapAccessExpr) {
+                return getRootVarDef(((ArrayMapAccessExpr) expr).getRExpr());
+            } else if (expr instanceof StructFieldAccessExpr) {
+                return getRootVarDef((Expression) ((StructFieldAccessExpr) expr).getVarRef());
+            }
+            return null;
+        }
+    }
+}
@@ -24,6 +24,9 @@ import org.ballerinalang.model.ConstDef;
 import org.ballerinalang.model.Function;
 import org.ballerinalang.model.Service;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.SharedValues;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * {@code RuntimeEnvironment} represents the runtime environment of a Ballerina application.
@@ -102,24 +105,28 @@ public class RuntimeEnvironment {
     }
 
     /**
-     * {@code StaticMemory} represents an statically allocated block of memory which is used to store data
-     * which does not change when the program executes.
+     * {@code StaticMemory} represents an statically allocated block of memory which is used to store constants and
+     * service level variables.
+     * <p>
+     * Service level variables are shared by all the requests to a service, so each slot is an atomic reference and the
+     * maps and arrays stored in a slot are switched to their thread safe representation.
      *
      * @since 0.8.0
      */
     public static class StaticMemory {
-        BValue[] memSlots;
+        AtomicReferenceArray<BValue> memSlots;
 
         StaticMemory(int sizeofStaticMemory) {
-            memSlots = new BValue[sizeofStaticMemory];
+            memSlots = new AtomicReferenceArray<>(sizeofStaticMemory);
         }
 
         public void setValue(int address, BValue bValue) {
-            memSlots[address] = bValue;
+            SharedValues.share(bValue);
+            memSlots.set(address, bValue);
         }
 
         public BValue getValue(int address) {
-            return memSlots[address];
+            return memSlots.get(address);
         }
     }
 }
@@ -23,6 +23,7 @@ import org.ballerinalang.bre.ConnectorVarLocation;
 import org.ballerinalang.bre.ConstantLocation;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.ControlStack;
+import org.ballerinalang.bre.ForeachIterator;
 import org.ballerinalang.bre.MemoryLocation;
 import org.ballerinalang.bre.RuntimeEnvironment;
 import org.ballerinalang.bre.ServiceVarLocation;
@@ -42,7 +43,6 @@ import org.ballerinalang.model.Resource;
 import org.ballerinalang.model.StructDef;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.model.TypeMapper;
-import org.ballerinalang.model.VariableDef;
 import org.ballerinalang.model.Worker;
 import org.ballerinalang.model.expressions.ActionInvocationExpr;
 import org.ballerinalang.model.expressions.ArrayInitExpr;
@@ -86,6 +86,8 @@ import org.ballerinalang.model.nodes.fragments.expressions.StructInitExprEndNode
 import org.ballerinalang.model.nodes.fragments.expressions.TypeCastExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.expressions.UnaryExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.AssignStmtEndNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtNextNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ForkJoinStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReplyStmtEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReturnStmtEndNode;
@@ -220,6 +222,9 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
 
     @Override
     public void visit(ForeachStmt foreachStmt) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing ForeachStmt {}", getNodeLocation(foreachStmt.getNodeLocation()));
+        }
         next = foreachStmt.next;
     }
 
@@ -630,6 +635,7 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         }
         completed = true;
         next = null;
+        bContext.runCompletionTasks();
     }
 
     @Override
@@ -690,6 +696,33 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         }
     }
 
+    @Override
+    public void visit(ForeachStmtStartNode foreachStmtStartNode) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing ForeachStmt StartNode");
+        }
+        next = foreachStmtStartNode.next;
+        ForeachStmt foreachStmt = foreachStmtStartNode.getStatement();
+        BValue collection = getTempValue(foreachStmt.getCollection());
+        setTempValue(foreachStmt.getIteratorTempOffset(), ForeachIterator.create(collection));
+    }
+
+    @Override
+    public void visit(ForeachStmtNextNode foreachStmtNextNode) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing ForeachStmt NextNode");
+        }
+        ForeachStmt foreachStmt = foreachStmtNextNode.getStatement();
+        ForeachIterator iterator = (ForeachIterator) getTempValue(foreachStmt.getIteratorTempOffset());
+        if (iterator.hasNext()) {
+            assignValueToVarRefExpr(iterator.next(), foreachStmt.getLoopVarRef());
+            next = foreachStmtNextNode.next;
+        } else {
+            setTempValue(foreachStmt.getIteratorTempOffset(), null);
+            next = foreachStmtNextNode.nextAfterLoop();
+        }
+    }
+
     @Override
     public void visit(ForkJoinStartNode forkJoinStartNode) {
         forkJoinInvocationStatus = new ForkJoinInvocationStatus();
@@ -1112,9 +1145,8 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         }
         next = structFieldAccessExprEndNode.next;
         StructFieldAccessExpr structFieldAccessExpr = structFieldAccessExprEndNode.getExpression();
-        Expression varRef = structFieldAccessExpr.getVarRef();
-        BValue value = getTempValue(varRef);
-        setTempValue(structFieldAccessExpr.getTempOffset(), getFieldExprValue(structFieldAccessExpr, value));
+        setTempValue(structFieldAccessExpr.getTempOffset(),
+                getFieldValue(structFieldAccessExpr, structFieldAccessExpr.getFieldOffsets().length));
     }
 
     @Override
@@ -1125,27 +1157,19 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         next = structInitExprEndNode.next;
         StructInitExpr structInitExpr = structInitExprEndNode.getExpression();
         StructDef structDef = (StructDef) structInitExpr.getType();
-        BValue[] structMemBlock;
-        int offset = 0;
-        structMemBlock = new BValue[structDef.getStructMemorySize()];
-
-        Expression[] argExprs = structInitExpr.getArgExprs();
 
-        // create a memory block to hold field of the struct, and populate it with default values
-        VariableDef[] fields = structDef.getFields();
-        for (VariableDef field : fields) {
-            structMemBlock[offset] = field.getType().getDefaultValue();
-            offset++;
-        }
+        // create a struct with the default values of the fields
+        BStruct bStruct = new BStruct(structDef);
 
-        // iterate through initialized values and re-populate the memory block
+        // iterate through initialized values and re-populate the struct
+        Expression[] argExprs = structInitExpr.getArgExprs();
         for (int i = 0; i < argExprs.length; i++) {
             MapStructInitKeyValueExpr expr = (MapStructInitKeyValueExpr) argExprs[i];
             VariableRefExpr varRefExpr = (VariableRefExpr) expr.getKeyExpr();
             StructVarLocation structVarLoc = (StructVarLocation) (varRefExpr).getVariableDef().getMemoryLocation();
-            structMemBlock[structVarLoc.getStructMemAddrOffset()] = getTempValue(expr.getValueExpr());
+            bStruct.setValue(structVarLoc.getStructMemAddrOffset(), getTempValue(expr.getValueExpr()));
         }
-        setTempValue(structInitExpr.getTempOffset(), new BStruct(structDef, structMemBlock));
+        setTempValue(structInitExpr.getTempOffset(), bStruct);
     }
 
     @Override
@@ -1314,9 +1338,10 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         try {
             if (invokeNativeActionNode.getCallableUnit().isNonBlockingAction()) {
                 BalConnectorCallback connectorCallback = new BalConnectorCallback(bContext, invokeNativeActionNode);
-                invokeNativeActionNode.getCallableUnit().execute(bContext, connectorCallback);
-                // Release current thread.
+                // Release current thread. This is done before the action is invoked, since the action may complete,
+                // and its continuation may set the next node, before the invocation returns.
                 next = null;
+                invokeNativeActionNode.getCallableUnit().execute(bContext, connectorCallback);
             } else {
                 invokeNativeActionNode.getCallableUnit().execute(bContext);
                 next = invokeNativeActionNode.next;
@@ -1496,148 +1521,59 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
      * @param lExpr  {@link StructFieldAccessExpr} which represents the field of the struct
      */
     private void assignValueToStructFieldAccessExpr(BValue rValue, StructFieldAccessExpr lExpr) {
-        Expression lExprVarRef = lExpr.getVarRef();
-        BValue value = getTempValue(lExprVarRef);
-        setFieldValue(rValue, lExpr, value);
-    }
-
-    /**
-     * Recursively traverse and set the value of the access expression of a field of a struct.
-     *
-     * @param rValue     Value to be set
-     * @param expr       StructFieldAccessExpr of the current field
-     * @param currentVal Value of the expression evaluated so far.
-     */
-    private void setFieldValue(BValue rValue, StructFieldAccessExpr expr, BValue currentVal) {
-        // currentVal is a BStruct or arrays/map of BStruct. hence get the element value of it.
-        BStruct currentStructVal = (BStruct) getUnitValue(currentVal, expr);
-
-        StructFieldAccessExpr fieldExpr = expr.getFieldExpr();
-        int fieldLocation = ((StructVarLocation) getMemoryLocation(fieldExpr)).getStructMemAddrOffset();
+        int lastStep = lExpr.getFieldOffsets().length - 1;
+        BValue value = getFieldValue(lExpr, lastStep);
 
-        if (fieldExpr.getFieldExpr() == null) {
-            if (currentStructVal.value() == null) {
-                throw new BallerinaException("cannot set field '" + fieldExpr.getSymbolName().getName() +
-                        "' of non-initialized variable '" + fieldExpr.getParent().getSymbolName().getName() + "'.");
-            }
-            setUnitValue(rValue, currentStructVal, fieldLocation, fieldExpr);
+        int fieldOffset = lExpr.getFieldOffsets()[lastStep];
+        if (fieldOffset >= 0) {
+            ((BStruct) value).setValue(fieldOffset, rValue);
             return;
         }
 
-        // At this point, field of the field is not null. Means current element,
-        // and its field are both struct types.
-
-        if (currentStructVal.value() == null) {
-            throw new BallerinaException("cannot set field '" + fieldExpr.getSymbolName().getName() +
-                    "' of non-initialized variable '" + fieldExpr.getParent().getSymbolName().getName() + "'.");
-        }
-
-        // get the unit value of the struct field,
-        BValue value = currentStructVal.getValue(fieldLocation);
-
-        setFieldValue(rValue, fieldExpr, value);
-    }
-
-    /**
-     * Get the memory location for a expression.
-     *
-     * @param expression Expression to get the memory location
-     * @return Memory location of the expression
-     */
-    private MemoryLocation getMemoryLocation(Expression expression) {
-        // If the expression is an arrays-map expression, then get the location of the variable-reference-expression
-        // of the arrays-map-access-expression.
-        if (expression instanceof ArrayMapAccessExpr) {
-            return getMemoryLocation(((ArrayMapAccessExpr) expression).getRExpr());
-        }
-
-        // If the expression is a struct-field-access-expression, then get the memory location of the variable
-        // referenced by the struct-field-access-expression
-        if (expression instanceof StructFieldAccessExpr) {
-            return getMemoryLocation(((StructFieldAccessExpr) expression).getVarRef());
-        }
-
-        // Set the memory location of the variable-reference-expression
-        return ((VariableRefExpr) expression).getMemoryLocation();
-    }
-
-    /**
-     * Set the unit value of the current value.
-     * <br/>
-     * i.e: Value represented by a field-access-expression can be one of:
-     * <ul>
-     * <li>A variable</li>
-     * <li>An element of an arrays/map variable.</li>
-     * </ul>
-     * But the value get after evaluating the field-access-expression (<b>lExprValue</b>) contains the whole
-     * variable. This methods set the unit value (either the complete arrays/map or the referenced element of an
-     * arrays/map), using the index expression of the 'fieldExpr'.
-     *
-     * @param rValue         Value to be set
-     * @param lExprValue     Value of the field access expression evaluated so far. This is always of struct
-     *                       type.
-     * @param memoryLocation Location of the field to be set, in the struct 'lExprValue'
-     * @param fieldExpr      Field Access Expression of the current field
-     */
-    private void setUnitValue(BValue rValue, BStruct lExprValue, int memoryLocation,
-                              StructFieldAccessExpr fieldExpr) {
-
-        Expression indexExpr;
-        if (fieldExpr.getVarRef() instanceof ArrayMapAccessExpr) {
-            indexExpr = ((ArrayMapAccessExpr) fieldExpr.getVarRef()).getIndexExpr();
-        } else {
-            // If the lExprValue value is not a struct arrays/map, then set the value to the struct
-            lExprValue.setValue(memoryLocation, rValue);
-            return;
-        }
-
-        // Evaluate the index expression and get the value.
-        BValue indexValue = getTempValue(indexExpr);
-
-        // Get the arrays/map value from the mermory location
-        BValue arrayMapValue = lExprValue.getValue(memoryLocation);
-
-        // Set the value to arrays/map's index location
-        if (fieldExpr.getRefVarType() instanceof BMapType) {
-            ((BMap) arrayMapValue).put(indexValue, rValue);
+        BValue indexValue = getTempValue(lExpr.getIndexExprs()[lastStep]);
+        if (fieldOffset == StructFieldAccessExpr.MAP_INDEX) {
+            ((BMap) value).put(indexValue, rValue);
         } else {
-            ((BArray) arrayMapValue).add(((BInteger) indexValue).intValue(), rValue);
+            ((BArray) value).add(((BInteger) indexValue).intValue(), rValue);
         }
     }
 
     /**
-     * Recursively traverse and get the value of the access expression of a field of a struct.
+     * Get the value of the variable of a struct field access expression, and follow the given number of steps of
+     * its field offset chain from that value. The execution flow evaluates the index expressions of the chain
+     * before the chain is followed, so their values are read from the temporary values.
      *
-     * @param expr       StructFieldAccessExpr of the current field
-     * @param currentVal Value of the expression evaluated so far.
-     * @return Value of the expression after evaluating the current field.
+     * @param expr  Root of the struct field access chain
+     * @param steps Number of steps of the field offset chain to follow
+     * @return Value after following the steps
      */
-    private BValue getFieldExprValue(StructFieldAccessExpr expr, BValue currentVal) {
-        // currentVal is a BStruct or arrays/map of BStruct. hence get the element value of it.
-        BStruct currentStructVal = (BStruct) getUnitValue(currentVal, expr);
-
-        StructFieldAccessExpr fieldExpr = expr.getFieldExpr();
-        int fieldLocation = ((StructVarLocation) getMemoryLocation(fieldExpr)).getStructMemAddrOffset();
-
-        // If this is the last field, return the value from memory location
-        if (fieldExpr.getFieldExpr() == null) {
-            if (currentStructVal.value() == null) {
-                throw new BallerinaException("cannot access field '" + fieldExpr.getSymbolName().getName() +
-                        "' of non-initialized variable '" + fieldExpr.getParent().getSymbolName().getName() + "'.");
+    private BValue getFieldValue(StructFieldAccessExpr expr, int steps) {
+        BValue value = getUnitValue(getTempValue(expr.getVarRef()), expr);
+
+        int[] fieldOffsets = expr.getFieldOffsets();
+        Expression[] indexExprs = expr.getIndexExprs();
+        for (int i = 0; i < steps; i++) {
+            int fieldOffset = fieldOffsets[i];
+            if (fieldOffset >= 0) {
+                value = ((BStruct) value).getValue(fieldOffset);
+                if (value == null) {
+                    throw new BallerinaException("field '" + expr.getFieldName(i) + "' is null");
+                }
+                continue;
             }
-            // Value stored in the struct can be also an arrays. Hence if its an arrray access,
-            // get the aray element value
-            return getUnitValue(currentStructVal.getValue(fieldLocation), fieldExpr);
-        }
 
-        if (currentStructVal.value() == null) {
-            throw new BallerinaException("cannot access field '" + fieldExpr.getSymbolName().getName() +
-                    "' of non-initialized variable '" + fieldExpr.getParent().getSymbolName().getName() + "'.");
+            BValue indexValue = getTempValue(indexExprs[i]);
+            if (fieldOffset == StructFieldAccessExpr.MAP_INDEX) {
+                value = ((BMap) value).get(indexValue);
+            } else {
+                value = ((BArray) value).get(((BInteger) indexValue).intValue());
+            }
+            if (value == null) {
+                throw new BallerinaException("field '" + expr.getFieldName(i) + "[" + indexValue.stringValue() +
+                        "]' is null");
+            }
         }
-        BValue value = currentStructVal.getValue(fieldLocation);
-
-        // Recursively travel through the struct and get the value
-        return getFieldExprValue(fieldExpr, value);
+        return value;
     }
 
     /**
@@ -26,6 +26,10 @@ import org.ballerinalang.model.values.BException;
 
 /**
  * {@link BLangNonBlockingExecutor} is a non-blocking and self driven Ballerina Executor.
+ * <p>
+ * The executor is driven by one thread at a time, while holding the lock of the executor. A non-blocking action may
+ * complete before the thread invoking it has left the executor, so the thread resuming the execution waits until
+ * then.
  *
  * @since 0.8.0
  */
@@ -43,7 +47,7 @@ public class BLangNonBlockingExecutor extends BLangAbstractExecutionVisitor {
         continueExecution(functionInvocationExpr);
     }
 
-    public void continueExecution(LinkedNode linkedNode) {
+    public synchronized void continueExecution(LinkedNode linkedNode) {
         linkedNode.accept(this);
         while (next != null) {
             try {
@@ -54,7 +58,7 @@ public class BLangNonBlockingExecutor extends BLangAbstractExecutionVisitor {
         }
     }
 
-    public void continueExecution() {
+    public synchronized void continueExecution() {
         while (next != null) {
             try {
                 next.accept(this);
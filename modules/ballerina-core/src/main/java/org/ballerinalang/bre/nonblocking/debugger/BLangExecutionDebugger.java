@@ -45,6 +45,7 @@ import org.ballerinalang.model.nodes.fragments.statements.VariableDefStmtEndNode
 import org.ballerinalang.model.statements.AbstractStatement;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
 import org.ballerinalang.model.statements.Statement;
 import org.ballerinalang.model.statements.WhileStmt;
@@ -130,8 +131,8 @@ public class BLangExecutionDebugger extends BLangAbstractExecutionVisitor {
         } else {
             LinkedNode current = currentHaltNode;
             currentHaltNode = null;
-            if (current instanceof IfElseStmt || current instanceof WhileStmt) {
-                // Step Over has to goto into IfElseStmt/WhileStmt body.
+            if (current instanceof IfElseStmt || current instanceof WhileStmt || current instanceof ForeachStmt) {
+                // Step Over has to goto into IfElseStmt/WhileStmt/ForeachStmt body.
                 stepInToStatement = true;
             } else {
                 // Currently we are stepping though statements, But this has to stop at current statement's next
@@ -287,7 +288,7 @@ public class BLangExecutionDebugger extends BLangAbstractExecutionVisitor {
         continueExecution(functionInvocationExpr);
     }
 
-    public void continueExecution(LinkedNode linkedNode) {
+    public synchronized void continueExecution(LinkedNode linkedNode) {
         linkedNode.accept(this);
         while (next != null) {
             try {
@@ -303,7 +304,7 @@ public class BLangExecutionDebugger extends BLangAbstractExecutionVisitor {
     }
 
     @Override
-    public void continueExecution() {
+    public synchronized void continueExecution() {
         while (next != null) {
             try {
                 if (next instanceof AbstractStatement && !(next instanceof BlockStmt)) {
@@ -318,8 +318,32 @@ public class BLangPackage implements SymbolScope, BLangSymbol, Node {
             this.structDefList.add(structDef);
         }
 
+        /**
+         * Add a source file of this package, together with its import packages and compilation units.
+         *
+         * @param bFile model of the source file
+         */
         public void addBallerinaFile(BallerinaFile bFile) {
             this.ballerinaFileList.add(bFile);
+            for (ImportPackage importPkg : bFile.getImportPackages()) {
+                addImportPackage(importPkg);
+            }
+
+            for (CompilationUnit compilationUnit : bFile.getCompilationUnits()) {
+                if (compilationUnit instanceof BallerinaFunction) {
+                    addFunction((BallerinaFunction) compilationUnit);
+                } else if (compilationUnit instanceof Service) {
+                    addService((Service) compilationUnit);
+                } else if (compilationUnit instanceof BallerinaConnectorDef) {
+                    addConnector((BallerinaConnectorDef) compilationUnit);
+                } else if (compilationUnit instanceof ConstDef) {
+                    addConst((ConstDef) compilationUnit);
+                } else if (compilationUnit instanceof BTypeMapper) {
+                    addTypeMapper((BTypeMapper) compilationUnit);
+                } else if (compilationUnit instanceof StructDef) {
+                    addStruct((StructDef) compilationUnit);
+                }
+            }
         }
 
         public void setBallerinaFileList(List<BallerinaFile> ballerinaFileList) {
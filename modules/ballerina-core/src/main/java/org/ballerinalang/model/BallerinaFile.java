@@ -162,13 +162,11 @@ public class BallerinaFile implements Node {
         private String pkgName = ".";
         private String bFileName;
 
-        private BLangPackage.PackageBuilder packageBuilder;
         private List<ImportPackage> importPkgList = new ArrayList<>();
         private List<CompilationUnit> compilationUnitList = new ArrayList<>();
 
-        public BFileBuilder(String bFileName, BLangPackage.PackageBuilder packageBuilder) {
+        public BFileBuilder(String bFileName) {
             this.bFileName = bFileName;
-            this.packageBuilder = packageBuilder;
         }
 
         public void setPackagePath(String pkgName) {
@@ -177,32 +175,26 @@ public class BallerinaFile implements Node {
 
         public void addFunction(BallerinaFunction function) {
             this.compilationUnitList.add(function);
-            this.packageBuilder.addFunction(function);
         }
 
         public void addService(Service service) {
             this.compilationUnitList.add(service);
-            this.packageBuilder.addService(service);
         }
 
         public void addConnector(BallerinaConnectorDef connector) {
             this.compilationUnitList.add(connector);
-            this.packageBuilder.addConnector(connector);
         }
 
         public void addImportPackage(ImportPackage importPkg) {
             this.importPkgList.add(importPkg);
-            this.packageBuilder.addImportPackage(importPkg);
         }
 
         public void addConst(ConstDef constant) {
             this.compilationUnitList.add((constant));
-            this.packageBuilder.addConst(constant);
         }
 
         public void addTypeMapper(TypeMapper typeMapper) {
             this.compilationUnitList.add((BTypeMapper) typeMapper);
-            this.packageBuilder.addTypeMapper(typeMapper);
         }
 
         /**
@@ -212,7 +204,6 @@ public class BallerinaFile implements Node {
          */
         public void addStruct(StructDef structDef) {
             this.compilationUnitList.add(structDef);
-            this.packageBuilder.addStruct(structDef);
         }
 
         public BallerinaFile build() {
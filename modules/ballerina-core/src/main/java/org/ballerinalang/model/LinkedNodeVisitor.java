@@ -57,6 +57,8 @@ import org.ballerinalang.model.nodes.fragments.expressions.StructInitExprEndNode
 import org.ballerinalang.model.nodes.fragments.expressions.TypeCastExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.expressions.UnaryExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.AssignStmtEndNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtNextNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ForkJoinStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReplyStmtEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReturnStmtEndNode;
@@ -165,6 +167,10 @@ public interface LinkedNodeVisitor extends NodeVisitor {
 
     void visit(AssignStmtEndNode assignStmtEndNode);
 
+    void visit(ForeachStmtNextNode foreachStmtNextNode);
+
+    void visit(ForeachStmtStartNode foreachStmtStartNode);
+
     void visit(ForkJoinStartNode forkJoinStartNode);
 
     void visit(ThrowStmtEndNode throwStmtEndNode);
@@ -44,6 +44,7 @@ import org.ballerinalang.model.statements.ActionInvocationStmt;
 import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -74,6 +75,8 @@ public interface NodeExecutor {
 
     void visit(WhileStmt whileStmt);
 
+    void visit(ForeachStmt foreachStmt);
+
     void visit(BreakStmt breakStmt);
 
     void visit(TryCatchStmt tryCatchStmt);
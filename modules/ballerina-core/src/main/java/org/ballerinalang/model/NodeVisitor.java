@@ -59,6 +59,7 @@ import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
 import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -129,6 +130,8 @@ public interface NodeVisitor {
 
     void visit(WhileStmt whileStmt);
 
+    void visit(ForeachStmt foreachStmt);
+
     void visit(BreakStmt breakStmt);
 
     void visit(TryCatchStmt tryCatchStmt);
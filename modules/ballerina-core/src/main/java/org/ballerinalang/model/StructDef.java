@@ -20,6 +20,7 @@ package org.ballerinalang.model;
 
 import org.ballerinalang.model.symbols.BLangSymbol;
 import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 
@@ -35,10 +36,26 @@ import java.util.Map;
  * @since 0.8.0
  */
 public class StructDef extends BType implements CompilationUnit, SymbolScope {
+
+    /**
+     * Kinds of the storage of a field in a {@link BStruct}. Fields of the int, long, float, double and boolean types
+     * are stored unboxed, and fields of the other types are stored as references.
+     */
+    public static final byte INT_FIELD = 0;
+    public static final byte LONG_FIELD = 1;
+    public static final byte FLOAT_FIELD = 2;
+    public static final byte DOUBLE_FIELD = 3;
+    public static final byte BOOLEAN_FIELD = 4;
+    public static final byte REF_FIELD = 5;
+
     private NodeLocation location;
     private Annotation[] annotations;
     private VariableDef[] fields;
     private int structMemorySize;
+    private byte[] fieldKinds;
+    private int[] fieldSlots;
+    private int valueFieldCount;
+    private BType[] refFieldTypes;
 
     private SymbolName symbolName;
     private Map<SymbolName, BLangSymbol> symbolMap;
@@ -89,6 +106,75 @@ public class StructDef extends BType implements CompilationUnit, SymbolScope {
         this.structMemorySize = structMemorySize;
     }
 
+    /**
+     * Compute the layout of the values of this struct, once the types of the fields are resolved. Each field is
+     * given a slot in either the unboxed value fields or the reference fields of a {@link BStruct}.
+     */
+    public void resolveFieldLayout() {
+        fieldKinds = new byte[fields.length];
+        fieldSlots = new int[fields.length];
+        List<BType> refTypes = new ArrayList<>();
+        valueFieldCount = 0;
+        for (int i = 0; i < fields.length; i++) {
+            BType fieldType = fields[i].getType();
+            fieldKinds[i] = getFieldKind(fieldType);
+            if (fieldKinds[i] == REF_FIELD) {
+                fieldSlots[i] = refTypes.size();
+                refTypes.add(fieldType);
+            } else {
+                fieldSlots[i] = valueFieldCount++;
+            }
+        }
+        refFieldTypes = refTypes.toArray(new BType[refTypes.size()]);
+    }
+
+    private static byte getFieldKind(BType fieldType) {
+        if (fieldType == BTypes.typeInt) {
+            return INT_FIELD;
+        } else if (fieldType == BTypes.typeLong) {
+            return LONG_FIELD;
+        } else if (fieldType == BTypes.typeFloat) {
+            return FLOAT_FIELD;
+        } else if (fieldType == BTypes.typeDouble) {
+            return DOUBLE_FIELD;
+        } else if (fieldType == BTypes.typeBoolean) {
+            return BOOLEAN_FIELD;
+        }
+        return REF_FIELD;
+    }
+
+    /**
+     * Get the storage kind of each field, by the memory offset of the field.
+     *
+     * @return Storage kinds of the fields
+     */
+    public byte[] getFieldKinds() {
+        return fieldKinds;
+    }
+
+    /**
+     * Get the slot of each field in the value fields or the reference fields of a {@link BStruct}, by the memory
+     * offset of the field.
+     *
+     * @return Slots of the fields
+     */
+    public int[] getFieldSlots() {
+        return fieldSlots;
+    }
+
+    public int getValueFieldCount() {
+        return valueFieldCount;
+    }
+
+    /**
+     * Get the types of the fields stored as references, by their slots.
+     *
+     * @return Types of the reference fields
+     */
+    public BType[] getRefFieldTypes() {
+        return refFieldTypes;
+    }
+
     @Override
     public void accept(NodeVisitor visitor) {
         visitor.visit(this);
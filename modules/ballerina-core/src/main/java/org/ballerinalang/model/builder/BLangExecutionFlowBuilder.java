@@ -102,6 +102,8 @@ import org.ballerinalang.model.nodes.fragments.expressions.StructInitExprEndNode
 import org.ballerinalang.model.nodes.fragments.expressions.TypeCastExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.expressions.UnaryExpressionEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.AssignStmtEndNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtNextNode;
+import org.ballerinalang.model.nodes.fragments.statements.ForeachStmtStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ForkJoinStartNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReplyStmtEndNode;
 import org.ballerinalang.model.nodes.fragments.statements.ReturnStmtEndNode;
@@ -113,6 +115,7 @@ import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
 import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -185,7 +188,7 @@ public class BLangExecutionFlowBuilder implements NodeVisitor {
     private boolean nonblockingEnabled = false;
 
     // Iterate/While Statement stack related to break.
-    private Stack<WhileStmt> loopingStack;
+    private Stack<Statement> loopingStack;
     // Function/Action Statement stack related to break.
     private Stack<BlockStmt> returningBlockStmtStack;
     private Stack<OffSetCounter> offSetCounterStack;
@@ -554,6 +557,38 @@ public class BLangExecutionFlowBuilder implements NodeVisitor {
         loopingStack.pop();
     }
 
+    @Override
+    public void visit(ForeachStmt foreachStmt) {
+        // Foreach Stmt is modeled using a start node, which creates the iterator, and a next node, which branches to
+        // the foreach body while the iterator has values, and which is the next sibling of the body.
+        // ForeachStmt -> collection -> startNode -> nextNode (has next) -> foreachBlock -> nextNode (goes loop)
+        //                                                    (no next)  -> foreachStmt.nextSibling. -> ...
+        Expression collection = foreachStmt.getCollection();
+        foreachStmt.setNext(collection);
+        ForeachStmtStartNode startNode = new ForeachStmtStartNode(foreachStmt);
+        collection.setParent(foreachStmt);
+        collection.setNextSibling(startNode);
+
+        collection.accept(this);
+
+        // The iterator is kept as a temp value of the statement.
+        foreachStmt.setIteratorTempOffset(offSetCounterStack.peek().incrementAndGet());
+
+        ForeachStmtNextNode nextNode = new ForeachStmtNextNode(foreachStmt);
+        startNode.setNext(nextNode);
+
+        BlockStmt blockStmt = foreachStmt.getBody();
+        nextNode.setNext(blockStmt);
+        nextNode.setNextAfterLoop(findNext(foreachStmt));
+        // After Block statement, it will redirect back to the next node. Act as a loop.
+        nextNode.setNextSibling(nextNode);
+        blockStmt.setParent(nextNode);
+
+        loopingStack.push(foreachStmt);
+        blockStmt.accept(this);
+        loopingStack.pop();
+    }
+
     @Override
     public void visit(BreakStmt breakStmt) {
         // BreakStmt has to link with looping Statement's blockStmt.
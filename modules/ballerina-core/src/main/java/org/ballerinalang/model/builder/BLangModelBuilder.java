@@ -70,6 +70,7 @@ import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
 import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -169,7 +170,7 @@ public class BLangModelBuilder {
     public BLangModelBuilder(BLangPackage.PackageBuilder packageBuilder, String bFileName) {
         this.currentScope = packageBuilder.getCurrentScope();
         this.packageScope = currentScope;
-        bFileBuilder = new BallerinaFile.BFileBuilder(bFileName, packageBuilder);
+        bFileBuilder = new BallerinaFile.BFileBuilder(bFileName);
 
         // TODO Add a description why.
         startRefTypeInitExpr();
@@ -1082,6 +1083,48 @@ public class BLangModelBuilder {
         blockStmtBuilderStack.peek().addStmt(whileStmt);
     }
 
+    public void startForeachStmt(NodeLocation location) {
+        BlockStmt.BlockStmtBuilder blockStmtBuilder = new BlockStmt.BlockStmtBuilder(location, currentScope);
+        blockStmtBuilderStack.push(blockStmtBuilder);
+        currentScope = blockStmtBuilder.getCurrentScope();
+    }
+
+    public void createForeachStmt(NodeLocation location, String varName) {
+        ForeachStmt.ForeachStmtBuilder foreachStmtBuilder = new ForeachStmt.ForeachStmtBuilder();
+        foreachStmtBuilder.setNodeLocation(location);
+
+        // Get the expression at the top of the expression stack and set it as the collection to iterate
+        Expression collection = exprStack.pop();
+        checkArgExprValidity(location, collection);
+        foreachStmtBuilder.setCollection(collection);
+
+        // Get the statement block at the top of the block statement stack and set as the foreach body.
+        BlockStmt.BlockStmtBuilder blockStmtBuilder = blockStmtBuilderStack.pop();
+        BlockStmt blockStmt = blockStmtBuilder.build();
+        foreachStmtBuilder.setForEachBody(blockStmt);
+
+        // The loop variable is defined in the scope of the body
+        SimpleTypeName typeName = typeNameStack.pop();
+        if (BTypes.isBuiltInTypeName(varName)) {
+            String errMsg = BLangExceptionHelper.constructSemanticError(location,
+                    SemanticErrors.BUILT_IN_TYPE_NAMES_NOT_ALLOWED_AS_IDENTIFIER, varName);
+            errorMsgs.add(errMsg);
+        }
+        SymbolName symbolName = new SymbolName(varName);
+        VariableDef variableDef = new VariableDef(location, varName, typeName, symbolName, blockStmt);
+        VariableRefExpr variableRefExpr = new VariableRefExpr(location, varName);
+        variableRefExpr.setVariableDef(variableDef);
+        blockStmt.define(symbolName, variableDef);
+        foreachStmtBuilder.setLoopVarRef(variableRefExpr);
+
+        // Close the current scope and open the enclosing scope
+        currentScope = blockStmt.getEnclosingScope();
+
+        // Add the foreach statement to the statement block which is at the top of the stack.
+        ForeachStmt foreachStmt = foreachStmtBuilder.build();
+        blockStmtBuilderStack.peek().addStmt(foreachStmt);
+    }
+
     public void createBreakStmt(NodeLocation location) {
         BreakStmt.BreakStmtBuilder breakStmtBuilder = new BreakStmt.BreakStmtBuilder();
         breakStmtBuilder.setNodeLocation(location);
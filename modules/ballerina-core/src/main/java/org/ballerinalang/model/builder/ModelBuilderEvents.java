@@ -0,0 +1,650 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.model.builder;
+
+import org.ballerinalang.model.NodeLocation;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.parser.BallerinaParser;
+import org.ballerinalang.util.parser.antlr4.BLangAntlr4Listener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@code ModelBuilderEvents} is a compact binary encoding of the calls the parser makes on a {@link BLangModelBuilder}
+ * while it parses a source file. Replaying the recorded calls on a new model builder builds the same model as parsing
+ * the source file again, without lexing and parsing it.
+ * <p>
+ * Each event is the code of a model builder method followed by its arguments. Strings are written once per source
+ * file and referred to by their index afterwards.
+ *
+ * @see RecordingModelBuilder
+ * @since 0.8.2
+ */
+public class ModelBuilderEvents {
+
+    static final int ADD_PACKAGE_DCL = 1;
+    static final int ADD_IMPORT_PACKAGE = 2;
+    static final int ADD_SIMPLE_TYPE_NAME = 3;
+    static final int ADD_CONSTANT_DEF = 4;
+    static final int START_STRUCT_DEF = 5;
+    static final int ADD_STRUCT_FIELD = 6;
+    static final int ADD_STRUCT_DEF = 7;
+    static final int START_ANNOTATION = 8;
+    static final int CREATE_ANNOTATION_KEY_VALUE = 9;
+    static final int END_ANNOTATION = 10;
+    static final int START_TYPE_MAPPER_INPUT = 11;
+    static final int END_TYPE_MAPPER_INPUT = 12;
+    static final int START_PARAM_LIST = 13;
+    static final int END_PARAM_LIST = 14;
+    static final int ADD_PARAM = 15;
+    static final int CREATE_RETURN_TYPES = 16;
+    static final int CREATE_NAMED_RETURN_PARAM = 17;
+    static final int START_VAR_REF_LIST = 18;
+    static final int END_VAR_REF_LIST = 19;
+    static final int CREATE_VAR_REF_EXPR = 20;
+    static final int CREATE_MAP_ARRAY_VAR_REF_EXPR = 21;
+    static final int CREATE_BINARY_EXPR = 22;
+    static final int CREATE_UNARY_EXPR = 23;
+    static final int CREATE_BACKTICK_EXPR = 24;
+    static final int START_EXPR_LIST = 25;
+    static final int END_EXPR_LIST = 26;
+    static final int ADD_FUNCTION_INVOCATION_EXPR = 27;
+    static final int ADD_ACTION_INVOCATION_EXPR = 28;
+    static final int CREATE_TYPE_CAST_EXPR = 29;
+    static final int CREATE_ARRAY_INIT_EXPR = 30;
+    static final int CREATE_MAP_STRUCT_INIT_KEY_VALUE = 31;
+    static final int END_MAP_STRUCT_INIT_KEY_VALUE_LIST = 32;
+    static final int CREATE_REF_TYPE_INIT_EXPR = 33;
+    static final int CREATE_CONNECTOR_INIT_EXPR = 34;
+    static final int ADD_CALLABLE_UNIT_NAME = 35;
+    static final int START_CALLABLE_UNIT_BODY = 36;
+    static final int END_CALLABLE_UNIT_BODY = 37;
+    static final int START_FUNCTION_DEF = 38;
+    static final int START_WORKER_UNIT = 39;
+    static final int ADD_FUNCTION = 40;
+    static final int START_TYPE_MAPPER_DEF = 41;
+    static final int ADD_TYPE_MAPPER = 42;
+    static final int START_RESOURCE_DEF = 43;
+    static final int ADD_RESOURCE = 44;
+    static final int CREATE_WORKER = 45;
+    static final int START_ACTION_DEF = 46;
+    static final int ADD_ACTION = 47;
+    static final int START_SERVICE_DEF = 48;
+    static final int START_CONNECTOR_DEF = 49;
+    static final int CREATE_SERVICE = 50;
+    static final int CREATE_CONNECTOR = 51;
+    static final int ADD_VARIABLE_DEFINITION_STMT = 52;
+    static final int ADD_COMMENT_STMT = 53;
+    static final int CREATE_ASSIGNMENT_STMT = 54;
+    static final int CREATE_RETURN_STMT = 55;
+    static final int CREATE_REPLY_STMT = 56;
+    static final int START_WHILE_STMT = 57;
+    static final int CREATE_WHILE_STMT = 58;
+    static final int CREATE_BREAK_STMT = 59;
+    static final int START_IF_ELSE_STMT = 60;
+    static final int START_IF_CLAUSE = 61;
+    static final int START_ELSE_IF_CLAUSE = 62;
+    static final int ADD_IF_CLAUSE = 63;
+    static final int ADD_ELSE_IF_CLAUSE = 64;
+    static final int START_ELSE_CLAUSE = 65;
+    static final int ADD_ELSE_CLAUSE = 66;
+    static final int ADD_IF_ELSE_STMT = 67;
+    static final int START_TRY_CATCH_STMT = 68;
+    static final int START_CATCH_CLAUSE = 69;
+    static final int ADD_CATCH_CLAUSE = 70;
+    static final int ADD_TRY_CATCH_STMT = 71;
+    static final int CREATE_THROW_STMT = 72;
+    static final int START_FORK_JOIN_STMT = 73;
+    static final int START_JOIN_CLAUSE = 74;
+    static final int END_JOIN_CLAUSE = 75;
+    static final int CREATE_ANY_JOIN_CONDITION = 76;
+    static final int CREATE_ALL_JOIN_CONDITION = 77;
+    static final int CREATE_JOIN_WORKERS = 78;
+    static final int START_TIMEOUT_CLAUSE = 79;
+    static final int END_TIMEOUT_CLAUSE = 80;
+    static final int END_FORK_JOIN_STMT = 81;
+    static final int CREATE_FUNCTION_INVOCATION_STMT = 82;
+    static final int CREATE_WORKER_INVOCATION_STMT = 83;
+    static final int CREATE_WORKER_REPLY_STMT = 84;
+    static final int CREATE_ACTION_INVOCATION_STMT = 85;
+    static final int CREATE_INTEGER_LITERAL = 86;
+    static final int CREATE_LONG_LITERAL = 87;
+    static final int CREATE_FLOAT_LITERAL = 88;
+    static final int CREATE_DOUBLE_LITERAL = 89;
+    static final int CREATE_STRING_LITERAL = 90;
+    static final int CREATE_BOOLEAN_LITERAL = 91;
+    static final int CREATE_NULL_LITERAL = 92;
+    static final int CREATE_STRUCT_FIELD_REF_EXPR = 93;
+    static final int START_FOREACH_STMT = 94;
+    static final int CREATE_FOREACH_STMT = 95;
+
+    private static volatile long signature;
+
+    private ModelBuilderEvents() {
+    }
+
+    /**
+     * Get a checksum of everything which decides the events recorded for a source file: the Ballerina version, the
+     * grammar, the listener which calls the model builder and the public methods of {@link BLangModelBuilder}.
+     * Recorded events can only be replayed by a runtime with the same signature.
+     *
+     * @return signature of the model builder
+     */
+    public static long getSignature() {
+        if (signature == 0) {
+            List<String> methods = new ArrayList<>();
+            for (Method method : BLangModelBuilder.class.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && method.getReturnType() == void.class) {
+                    methods.add(method.getName() + Arrays.toString(method.getParameterTypes()));
+                }
+            }
+            methods.sort(null);
+            CRC32 crc = new CRC32();
+            crc.update(String.join(";", methods).getBytes(StandardCharsets.UTF_8));
+            crc.update(String.valueOf(getBallerinaVersion()).getBytes(StandardCharsets.UTF_8));
+            crc.update(BallerinaParser._serializedATN.getBytes(StandardCharsets.UTF_8));
+            crc.update(getClassBytes(BLangAntlr4Listener.class));
+            signature = crc.getValue() + 1;
+        }
+        return signature;
+    }
+
+    private static String getBallerinaVersion() {
+        String version = System.getProperty(Constants.BALLERINA_VERSION);
+        return version != null ? version : ModelBuilderEvents.class.getPackage().getImplementationVersion();
+    }
+
+    private static byte[] getClassBytes(Class<?> type) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            // Without its class file, the listener is covered by the version and the grammar only
+            if (in != null) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        } catch (IOException e) {
+            out.reset();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Replay the recorded events of a source file on the given model builder.
+     *
+     * @param events       recorded events
+     * @param modelBuilder model builder of the source file
+     */
+    public static void replay(byte[] events, BLangModelBuilder modelBuilder) {
+        EventReader reader = new EventReader(events);
+        while (reader.hasNext()) {
+            int event = reader.readEvent();
+            switch (event) {
+            case ADD_PACKAGE_DCL:
+                modelBuilder.addPackageDcl(reader.readString());
+                break;
+            case ADD_IMPORT_PACKAGE:
+                modelBuilder.addImportPackage(reader.readLocation(), reader.readString(), reader.readString());
+                break;
+            case ADD_SIMPLE_TYPE_NAME:
+                modelBuilder.addSimpleTypeName(reader.readLocation(), reader.readString(), reader.readString(),
+                        reader.readBoolean());
+                break;
+            case ADD_CONSTANT_DEF:
+                modelBuilder.addConstantDef(reader.readLocation(), reader.readString(), reader.readBoolean());
+                break;
+            case START_STRUCT_DEF:
+                modelBuilder.startStructDef(reader.readLocation());
+                break;
+            case ADD_STRUCT_FIELD:
+                modelBuilder.addStructField(reader.readLocation(), reader.readString());
+                break;
+            case ADD_STRUCT_DEF:
+                modelBuilder.addStructDef(reader.readLocation(), reader.readString());
+                break;
+            case START_ANNOTATION:
+                modelBuilder.startAnnotation();
+                break;
+            case CREATE_ANNOTATION_KEY_VALUE:
+                modelBuilder.createAnnotationKeyValue(reader.readString());
+                break;
+            case END_ANNOTATION:
+                modelBuilder.endAnnotation(reader.readString(), reader.readBoolean(), reader.readLocation());
+                break;
+            case START_TYPE_MAPPER_INPUT:
+                modelBuilder.startTypeMapperInput();
+                break;
+            case END_TYPE_MAPPER_INPUT:
+                modelBuilder.endTypeMapperInput();
+                break;
+            case START_PARAM_LIST:
+                modelBuilder.startParamList();
+                break;
+            case END_PARAM_LIST:
+                modelBuilder.endParamList();
+                break;
+            case ADD_PARAM:
+                modelBuilder.addParam(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_RETURN_TYPES:
+                modelBuilder.createReturnTypes(reader.readLocation());
+                break;
+            case CREATE_NAMED_RETURN_PARAM:
+                modelBuilder.createNamedReturnParam(reader.readLocation(), reader.readString());
+                break;
+            case START_VAR_REF_LIST:
+                modelBuilder.startVarRefList();
+                break;
+            case END_VAR_REF_LIST:
+                modelBuilder.endVarRefList(reader.readInt());
+                break;
+            case CREATE_VAR_REF_EXPR:
+                modelBuilder.createVarRefExpr(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_MAP_ARRAY_VAR_REF_EXPR:
+                modelBuilder.createMapArrayVarRefExpr(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_BINARY_EXPR:
+                modelBuilder.createBinaryExpr(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_UNARY_EXPR:
+                modelBuilder.createUnaryExpr(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_BACKTICK_EXPR:
+                modelBuilder.createBacktickExpr(reader.readLocation(), reader.readString());
+                break;
+            case START_EXPR_LIST:
+                modelBuilder.startExprList();
+                break;
+            case END_EXPR_LIST:
+                modelBuilder.endExprList(reader.readInt());
+                break;
+            case ADD_FUNCTION_INVOCATION_EXPR:
+                modelBuilder.addFunctionInvocationExpr(reader.readLocation());
+                break;
+            case ADD_ACTION_INVOCATION_EXPR:
+                modelBuilder.addActionInvocationExpr(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_TYPE_CAST_EXPR:
+                modelBuilder.createTypeCastExpr(reader.readLocation());
+                break;
+            case CREATE_ARRAY_INIT_EXPR:
+                modelBuilder.createArrayInitExpr(reader.readLocation(), reader.readBoolean());
+                break;
+            case CREATE_MAP_STRUCT_INIT_KEY_VALUE:
+                modelBuilder.createMapStructInitKeyValue(reader.readLocation());
+                break;
+            case END_MAP_STRUCT_INIT_KEY_VALUE_LIST:
+                modelBuilder.endMapStructInitKeyValueList(reader.readInt());
+                break;
+            case CREATE_REF_TYPE_INIT_EXPR:
+                modelBuilder.createRefTypeInitExpr(reader.readLocation());
+                break;
+            case CREATE_CONNECTOR_INIT_EXPR:
+                modelBuilder.createConnectorInitExpr(reader.readLocation());
+                break;
+            case ADD_CALLABLE_UNIT_NAME:
+                modelBuilder.addCallableUnitName(reader.readString(), reader.readString());
+                break;
+            case START_CALLABLE_UNIT_BODY:
+                modelBuilder.startCallableUnitBody(reader.readLocation());
+                break;
+            case END_CALLABLE_UNIT_BODY:
+                modelBuilder.endCallableUnitBody();
+                break;
+            case START_FUNCTION_DEF:
+                modelBuilder.startFunctionDef();
+                break;
+            case START_WORKER_UNIT:
+                modelBuilder.startWorkerUnit();
+                break;
+            case ADD_FUNCTION:
+                modelBuilder.addFunction(reader.readLocation(), reader.readString(), reader.readBoolean(),
+                        reader.readBoolean());
+                break;
+            case START_TYPE_MAPPER_DEF:
+                modelBuilder.startTypeMapperDef();
+                break;
+            case ADD_TYPE_MAPPER:
+                modelBuilder.addTypeMapper(reader.readString(), reader.readString(), reader.readString(),
+                        reader.readLocation(), reader.readBoolean(), reader.readBoolean());
+                break;
+            case START_RESOURCE_DEF:
+                modelBuilder.startResourceDef();
+                break;
+            case ADD_RESOURCE:
+                modelBuilder.addResource(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_WORKER:
+                modelBuilder.createWorker(reader.readString(), reader.readLocation());
+                break;
+            case START_ACTION_DEF:
+                modelBuilder.startActionDef();
+                break;
+            case ADD_ACTION:
+                modelBuilder.addAction(reader.readLocation(), reader.readString(), reader.readBoolean());
+                break;
+            case START_SERVICE_DEF:
+                modelBuilder.startServiceDef(reader.readLocation());
+                break;
+            case START_CONNECTOR_DEF:
+                modelBuilder.startConnectorDef(reader.readLocation());
+                break;
+            case CREATE_SERVICE:
+                modelBuilder.createService(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_CONNECTOR:
+                modelBuilder.createConnector(reader.readLocation(), reader.readString(), reader.readBoolean());
+                break;
+            case ADD_VARIABLE_DEFINITION_STMT:
+                modelBuilder.addVariableDefinitionStmt(reader.readLocation(), reader.readString(),
+                        reader.readBoolean());
+                break;
+            case ADD_COMMENT_STMT:
+                modelBuilder.addCommentStmt(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_ASSIGNMENT_STMT:
+                modelBuilder.createAssignmentStmt(reader.readLocation());
+                break;
+            case CREATE_RETURN_STMT:
+                modelBuilder.createReturnStmt(reader.readLocation());
+                break;
+            case CREATE_REPLY_STMT:
+                modelBuilder.createReplyStmt(reader.readLocation());
+                break;
+            case START_WHILE_STMT:
+                modelBuilder.startWhileStmt(reader.readLocation());
+                break;
+            case CREATE_WHILE_STMT:
+                modelBuilder.createWhileStmt(reader.readLocation());
+                break;
+            case START_FOREACH_STMT:
+                modelBuilder.startForeachStmt(reader.readLocation());
+                break;
+            case CREATE_FOREACH_STMT:
+                modelBuilder.createForeachStmt(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_BREAK_STMT:
+                modelBuilder.createBreakStmt(reader.readLocation());
+                break;
+            case START_IF_ELSE_STMT:
+                modelBuilder.startIfElseStmt(reader.readLocation());
+                break;
+            case START_IF_CLAUSE:
+                modelBuilder.startIfClause(reader.readLocation());
+                break;
+            case START_ELSE_IF_CLAUSE:
+                modelBuilder.startElseIfClause(reader.readLocation());
+                break;
+            case ADD_IF_CLAUSE:
+                modelBuilder.addIfClause();
+                break;
+            case ADD_ELSE_IF_CLAUSE:
+                modelBuilder.addElseIfClause();
+                break;
+            case START_ELSE_CLAUSE:
+                modelBuilder.startElseClause(reader.readLocation());
+                break;
+            case ADD_ELSE_CLAUSE:
+                modelBuilder.addElseClause();
+                break;
+            case ADD_IF_ELSE_STMT:
+                modelBuilder.addIfElseStmt();
+                break;
+            case START_TRY_CATCH_STMT:
+                modelBuilder.startTryCatchStmt(reader.readLocation());
+                break;
+            case START_CATCH_CLAUSE:
+                modelBuilder.startCatchClause(reader.readLocation());
+                break;
+            case ADD_CATCH_CLAUSE:
+                modelBuilder.addCatchClause(reader.readLocation(), reader.readString());
+                break;
+            case ADD_TRY_CATCH_STMT:
+                modelBuilder.addTryCatchStmt();
+                break;
+            case CREATE_THROW_STMT:
+                modelBuilder.createThrowStmt(reader.readLocation());
+                break;
+            case START_FORK_JOIN_STMT:
+                modelBuilder.startForkJoinStmt(reader.readLocation());
+                break;
+            case START_JOIN_CLAUSE:
+                modelBuilder.startJoinClause(reader.readLocation());
+                break;
+            case END_JOIN_CLAUSE:
+                modelBuilder.endJoinClause(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_ANY_JOIN_CONDITION:
+                modelBuilder.createAnyJoinCondition(reader.readString(), reader.readString(), reader.readLocation());
+                break;
+            case CREATE_ALL_JOIN_CONDITION:
+                modelBuilder.createAllJoinCondition(reader.readString());
+                break;
+            case CREATE_JOIN_WORKERS:
+                modelBuilder.createJoinWorkers(reader.readString());
+                break;
+            case START_TIMEOUT_CLAUSE:
+                modelBuilder.startTimeoutClause(reader.readLocation());
+                break;
+            case END_TIMEOUT_CLAUSE:
+                modelBuilder.endTimeoutClause(reader.readString(), reader.readLocation());
+                break;
+            case END_FORK_JOIN_STMT:
+                modelBuilder.endForkJoinStmt();
+                break;
+            case CREATE_FUNCTION_INVOCATION_STMT:
+                modelBuilder.createFunctionInvocationStmt(reader.readLocation());
+                break;
+            case CREATE_WORKER_INVOCATION_STMT:
+                modelBuilder.createWorkerInvocationStmt(reader.readString(), reader.readString(),
+                        reader.readLocation());
+                break;
+            case CREATE_WORKER_REPLY_STMT:
+                modelBuilder.createWorkerReplyStmt(reader.readString(), reader.readString(), reader.readLocation());
+                break;
+            case CREATE_ACTION_INVOCATION_STMT:
+                modelBuilder.createActionInvocationStmt(reader.readLocation(), reader.readString());
+                break;
+            case CREATE_INTEGER_LITERAL:
+                modelBuilder.createIntegerLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_LONG_LITERAL:
+                modelBuilder.createLongLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_FLOAT_LITERAL:
+                modelBuilder.createFloatLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_DOUBLE_LITERAL:
+                modelBuilder.createDoubleLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_STRING_LITERAL:
+                modelBuilder.createStringLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_BOOLEAN_LITERAL:
+                modelBuilder.createBooleanLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_NULL_LITERAL:
+                modelBuilder.createNullLiteral(reader.readString(), reader.readLocation());
+                break;
+            case CREATE_STRUCT_FIELD_REF_EXPR:
+                modelBuilder.createStructFieldRefExpr(reader.readLocation());
+                break;
+            default:
+                throw new IllegalStateException("invalid model builder event: " + event);
+            }
+        }
+    }
+
+    /**
+     * Writes the events of a source file.
+     */
+    static class EventWriter {
+
+        private final ByteArrayOutputStream bytes;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        EventWriter(boolean discard) {
+            this.bytes = discard ? null : new ByteArrayOutputStream();
+        }
+
+        EventWriter event(int event) {
+            if (bytes != null) {
+                bytes.write(event);
+            }
+            return this;
+        }
+
+        EventWriter bool(boolean value) {
+            if (bytes != null) {
+                bytes.write(value ? 1 : 0);
+            }
+            return this;
+        }
+
+        EventWriter integer(int value) {
+            if (bytes != null) {
+                writeVarInt((value << 1) ^ (value >> 31));
+            }
+            return this;
+        }
+
+        EventWriter string(String value) {
+            if (bytes == null) {
+                return this;
+            }
+            if (value == null) {
+                writeVarInt(0);
+                return this;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index * 2 + 2);
+                return this;
+            }
+            strings.put(value, strings.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+            return this;
+        }
+
+        EventWriter location(NodeLocation location) {
+            if (location == null) {
+                return bool(false);
+            }
+            return bool(true).string(location.getPackageDirPath()).string(location.getFileName())
+                    .integer(location.getLineNumber());
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                bytes.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes.write(value);
+        }
+    }
+
+    /**
+     * Reads the events written by {@link EventWriter}.
+     */
+    private static class EventReader {
+
+        private final ByteBuffer buffer;
+        private final List<String> strings = new ArrayList<>();
+
+        EventReader(byte[] events) {
+            this.buffer = ByteBuffer.wrap(events);
+        }
+
+        boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        int readEvent() {
+            return buffer.get() & 0xFF;
+        }
+
+        boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        int readInt() {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            } else if (tag != 1) {
+                return strings.get(tag / 2 - 1);
+            }
+            byte[] utf8 = new byte[readVarInt()];
+            buffer.get(utf8);
+            String value = new String(utf8, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        NodeLocation readLocation() {
+            if (!readBoolean()) {
+                return null;
+            }
+            String pkgDirPath = readString();
+            String fileName = readString();
+            int lineNumber = readInt();
+            return pkgDirPath == null ? new NodeLocation(fileName, lineNumber) :
+                    new NodeLocation(pkgDirPath, fileName, lineNumber);
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,1032 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.model.builder;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.NodeLocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@code RecordingModelBuilder} is a {@link BLangModelBuilder} which records the calls made on it by the parser as
+ * {@link ModelBuilderEvents}. Calls the model builder makes on itself are not recorded, as replaying the outer call
+ * repeats them.
+ *
+ * @since 0.8.2
+ */
+public class RecordingModelBuilder extends BLangModelBuilder {
+
+    private final ModelBuilderEvents.EventWriter events = new ModelBuilderEvents.EventWriter(false);
+    private final ModelBuilderEvents.EventWriter discardedEvents = new ModelBuilderEvents.EventWriter(true);
+    private int depth;
+
+    public RecordingModelBuilder(BLangPackage.PackageBuilder packageBuilder, String bFileName) {
+        super(packageBuilder, bFileName);
+    }
+
+    /**
+     * Check whether this class records every public method of {@link BLangModelBuilder}. A model builder method
+     * which is not recorded would be missing from the replayed model.
+     *
+     * @return true, if all the model builder methods are recorded
+     */
+    public static boolean isComplete() {
+        for (Method method : BLangModelBuilder.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getReturnType() != void.class) {
+                continue;
+            }
+            try {
+                RecordingModelBuilder.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the events recorded so far
+     */
+    public byte[] getEvents() {
+        return events.toByteArray();
+    }
+
+    private ModelBuilderEvents.EventWriter record(int event) {
+        if (depth++ > 0) {
+            return discardedEvents;
+        }
+        return events.event(event);
+    }
+
+    @Override
+    public void addPackageDcl(String pkgPath) {
+        record(ModelBuilderEvents.ADD_PACKAGE_DCL).string(pkgPath);
+        try {
+            super.addPackageDcl(pkgPath);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addImportPackage(NodeLocation location, String pkgPath, String asPkgName) {
+        record(ModelBuilderEvents.ADD_IMPORT_PACKAGE).location(location).string(pkgPath).string(asPkgName);
+        try {
+            super.addImportPackage(location, pkgPath, asPkgName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addSimpleTypeName(NodeLocation location, String name, String pkgName, boolean isArrayType) {
+        record(ModelBuilderEvents.ADD_SIMPLE_TYPE_NAME)
+                .location(location).string(name).string(pkgName).bool(isArrayType);
+        try {
+            super.addSimpleTypeName(location, name, pkgName, isArrayType);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addConstantDef(NodeLocation location, String name, boolean isPublic) {
+        record(ModelBuilderEvents.ADD_CONSTANT_DEF).location(location).string(name).bool(isPublic);
+        try {
+            super.addConstantDef(location, name, isPublic);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startStructDef(NodeLocation location) {
+        record(ModelBuilderEvents.START_STRUCT_DEF).location(location);
+        try {
+            super.startStructDef(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addStructField(NodeLocation location, String fieldName) {
+        record(ModelBuilderEvents.ADD_STRUCT_FIELD).location(location).string(fieldName);
+        try {
+            super.addStructField(location, fieldName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addStructDef(NodeLocation location, String name) {
+        record(ModelBuilderEvents.ADD_STRUCT_DEF).location(location).string(name);
+        try {
+            super.addStructDef(location, name);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startAnnotation() {
+        record(ModelBuilderEvents.START_ANNOTATION);
+        try {
+            super.startAnnotation();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createAnnotationKeyValue(String key) {
+        record(ModelBuilderEvents.CREATE_ANNOTATION_KEY_VALUE).string(key);
+        try {
+            super.createAnnotationKeyValue(key);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endAnnotation(String name, boolean valueAvailable, NodeLocation location) {
+        record(ModelBuilderEvents.END_ANNOTATION).string(name).bool(valueAvailable).location(location);
+        try {
+            super.endAnnotation(name, valueAvailable, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startTypeMapperInput() {
+        record(ModelBuilderEvents.START_TYPE_MAPPER_INPUT);
+        try {
+            super.startTypeMapperInput();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endTypeMapperInput() {
+        record(ModelBuilderEvents.END_TYPE_MAPPER_INPUT);
+        try {
+            super.endTypeMapperInput();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startParamList() {
+        record(ModelBuilderEvents.START_PARAM_LIST);
+        try {
+            super.startParamList();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endParamList() {
+        record(ModelBuilderEvents.END_PARAM_LIST);
+        try {
+            super.endParamList();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addParam(String paramName, NodeLocation location) {
+        record(ModelBuilderEvents.ADD_PARAM).string(paramName).location(location);
+        try {
+            super.addParam(paramName, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createReturnTypes(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_RETURN_TYPES).location(location);
+        try {
+            super.createReturnTypes(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createNamedReturnParam(NodeLocation location, String paramName) {
+        record(ModelBuilderEvents.CREATE_NAMED_RETURN_PARAM).location(location).string(paramName);
+        try {
+            super.createNamedReturnParam(location, paramName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startVarRefList() {
+        record(ModelBuilderEvents.START_VAR_REF_LIST);
+        try {
+            super.startVarRefList();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endVarRefList(int exprCount) {
+        record(ModelBuilderEvents.END_VAR_REF_LIST).integer(exprCount);
+        try {
+            super.endVarRefList(exprCount);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createVarRefExpr(NodeLocation location, String varName) {
+        record(ModelBuilderEvents.CREATE_VAR_REF_EXPR).location(location).string(varName);
+        try {
+            super.createVarRefExpr(location, varName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createMapArrayVarRefExpr(NodeLocation location, String varName) {
+        record(ModelBuilderEvents.CREATE_MAP_ARRAY_VAR_REF_EXPR).location(location).string(varName);
+        try {
+            super.createMapArrayVarRefExpr(location, varName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createBinaryExpr(NodeLocation location, String opStr) {
+        record(ModelBuilderEvents.CREATE_BINARY_EXPR).location(location).string(opStr);
+        try {
+            super.createBinaryExpr(location, opStr);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createUnaryExpr(NodeLocation location, String op) {
+        record(ModelBuilderEvents.CREATE_UNARY_EXPR).location(location).string(op);
+        try {
+            super.createUnaryExpr(location, op);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createBacktickExpr(NodeLocation location, String stringContent) {
+        record(ModelBuilderEvents.CREATE_BACKTICK_EXPR).location(location).string(stringContent);
+        try {
+            super.createBacktickExpr(location, stringContent);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startExprList() {
+        record(ModelBuilderEvents.START_EXPR_LIST);
+        try {
+            super.startExprList();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endExprList(int exprCount) {
+        record(ModelBuilderEvents.END_EXPR_LIST).integer(exprCount);
+        try {
+            super.endExprList(exprCount);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addFunctionInvocationExpr(NodeLocation location) {
+        record(ModelBuilderEvents.ADD_FUNCTION_INVOCATION_EXPR).location(location);
+        try {
+            super.addFunctionInvocationExpr(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addActionInvocationExpr(NodeLocation location, String actionName) {
+        record(ModelBuilderEvents.ADD_ACTION_INVOCATION_EXPR).location(location).string(actionName);
+        try {
+            super.addActionInvocationExpr(location, actionName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createTypeCastExpr(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_TYPE_CAST_EXPR).location(location);
+        try {
+            super.createTypeCastExpr(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createArrayInitExpr(NodeLocation location, boolean argsAvailable) {
+        record(ModelBuilderEvents.CREATE_ARRAY_INIT_EXPR).location(location).bool(argsAvailable);
+        try {
+            super.createArrayInitExpr(location, argsAvailable);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createMapStructInitKeyValue(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_MAP_STRUCT_INIT_KEY_VALUE).location(location);
+        try {
+            super.createMapStructInitKeyValue(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endMapStructInitKeyValueList(int exprCount) {
+        record(ModelBuilderEvents.END_MAP_STRUCT_INIT_KEY_VALUE_LIST).integer(exprCount);
+        try {
+            super.endMapStructInitKeyValueList(exprCount);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createRefTypeInitExpr(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_REF_TYPE_INIT_EXPR).location(location);
+        try {
+            super.createRefTypeInitExpr(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createConnectorInitExpr(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_CONNECTOR_INIT_EXPR).location(location);
+        try {
+            super.createConnectorInitExpr(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addCallableUnitName(String pkgName, String name) {
+        record(ModelBuilderEvents.ADD_CALLABLE_UNIT_NAME).string(pkgName).string(name);
+        try {
+            super.addCallableUnitName(pkgName, name);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startCallableUnitBody(NodeLocation location) {
+        record(ModelBuilderEvents.START_CALLABLE_UNIT_BODY).location(location);
+        try {
+            super.startCallableUnitBody(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endCallableUnitBody() {
+        record(ModelBuilderEvents.END_CALLABLE_UNIT_BODY);
+        try {
+            super.endCallableUnitBody();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startFunctionDef() {
+        record(ModelBuilderEvents.START_FUNCTION_DEF);
+        try {
+            super.startFunctionDef();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startWorkerUnit() {
+        record(ModelBuilderEvents.START_WORKER_UNIT);
+        try {
+            super.startWorkerUnit();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addFunction(NodeLocation location, String name, boolean isPublic, boolean isNative) {
+        record(ModelBuilderEvents.ADD_FUNCTION).location(location).string(name).bool(isPublic).bool(isNative);
+        try {
+            super.addFunction(location, name, isPublic, isNative);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startTypeMapperDef() {
+        record(ModelBuilderEvents.START_TYPE_MAPPER_DEF);
+        try {
+            super.startTypeMapperDef();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addTypeMapper(String source, String target, String name,
+                      NodeLocation location, boolean isPublic, boolean isNative) {
+        record(ModelBuilderEvents.ADD_TYPE_MAPPER)
+                .string(source).string(target).string(name).location(location).bool(isPublic).bool(isNative);
+        try {
+            super.addTypeMapper(source, target, name, location, isPublic, isNative);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startResourceDef() {
+        record(ModelBuilderEvents.START_RESOURCE_DEF);
+        try {
+            super.startResourceDef();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addResource(NodeLocation location, String name) {
+        record(ModelBuilderEvents.ADD_RESOURCE).location(location).string(name);
+        try {
+            super.addResource(location, name);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createWorker(String name, NodeLocation sourceLocation) {
+        record(ModelBuilderEvents.CREATE_WORKER).string(name).location(sourceLocation);
+        try {
+            super.createWorker(name, sourceLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startActionDef() {
+        record(ModelBuilderEvents.START_ACTION_DEF);
+        try {
+            super.startActionDef();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addAction(NodeLocation location, String name, boolean isNative) {
+        record(ModelBuilderEvents.ADD_ACTION).location(location).string(name).bool(isNative);
+        try {
+            super.addAction(location, name, isNative);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startServiceDef(NodeLocation location) {
+        record(ModelBuilderEvents.START_SERVICE_DEF).location(location);
+        try {
+            super.startServiceDef(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startConnectorDef(NodeLocation location) {
+        record(ModelBuilderEvents.START_CONNECTOR_DEF).location(location);
+        try {
+            super.startConnectorDef(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createService(NodeLocation location, String name) {
+        record(ModelBuilderEvents.CREATE_SERVICE).location(location).string(name);
+        try {
+            super.createService(location, name);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createConnector(NodeLocation location, String name, boolean isNative) {
+        record(ModelBuilderEvents.CREATE_CONNECTOR).location(location).string(name).bool(isNative);
+        try {
+            super.createConnector(location, name, isNative);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addVariableDefinitionStmt(NodeLocation location, String varName, boolean exprAvailable) {
+        record(ModelBuilderEvents.ADD_VARIABLE_DEFINITION_STMT).location(location).string(varName).bool(exprAvailable);
+        try {
+            super.addVariableDefinitionStmt(location, varName, exprAvailable);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addCommentStmt(NodeLocation location, String comment) {
+        record(ModelBuilderEvents.ADD_COMMENT_STMT).location(location).string(comment);
+        try {
+            super.addCommentStmt(location, comment);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createAssignmentStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_ASSIGNMENT_STMT).location(location);
+        try {
+            super.createAssignmentStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createReturnStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_RETURN_STMT).location(location);
+        try {
+            super.createReturnStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createReplyStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_REPLY_STMT).location(location);
+        try {
+            super.createReplyStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startWhileStmt(NodeLocation location) {
+        record(ModelBuilderEvents.START_WHILE_STMT).location(location);
+        try {
+            super.startWhileStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createWhileStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_WHILE_STMT).location(location);
+        try {
+            super.createWhileStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startForeachStmt(NodeLocation location) {
+        record(ModelBuilderEvents.START_FOREACH_STMT).location(location);
+        try {
+            super.startForeachStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createForeachStmt(NodeLocation location, String varName) {
+        record(ModelBuilderEvents.CREATE_FOREACH_STMT).location(location).string(varName);
+        try {
+            super.createForeachStmt(location, varName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createBreakStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_BREAK_STMT).location(location);
+        try {
+            super.createBreakStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startIfElseStmt(NodeLocation location) {
+        record(ModelBuilderEvents.START_IF_ELSE_STMT).location(location);
+        try {
+            super.startIfElseStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startIfClause(NodeLocation location) {
+        record(ModelBuilderEvents.START_IF_CLAUSE).location(location);
+        try {
+            super.startIfClause(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startElseIfClause(NodeLocation location) {
+        record(ModelBuilderEvents.START_ELSE_IF_CLAUSE).location(location);
+        try {
+            super.startElseIfClause(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addIfClause() {
+        record(ModelBuilderEvents.ADD_IF_CLAUSE);
+        try {
+            super.addIfClause();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addElseIfClause() {
+        record(ModelBuilderEvents.ADD_ELSE_IF_CLAUSE);
+        try {
+            super.addElseIfClause();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startElseClause(NodeLocation location) {
+        record(ModelBuilderEvents.START_ELSE_CLAUSE).location(location);
+        try {
+            super.startElseClause(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addElseClause() {
+        record(ModelBuilderEvents.ADD_ELSE_CLAUSE);
+        try {
+            super.addElseClause();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addIfElseStmt() {
+        record(ModelBuilderEvents.ADD_IF_ELSE_STMT);
+        try {
+            super.addIfElseStmt();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startTryCatchStmt(NodeLocation location) {
+        record(ModelBuilderEvents.START_TRY_CATCH_STMT).location(location);
+        try {
+            super.startTryCatchStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startCatchClause(NodeLocation location) {
+        record(ModelBuilderEvents.START_CATCH_CLAUSE).location(location);
+        try {
+            super.startCatchClause(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addCatchClause(NodeLocation location, String argName) {
+        record(ModelBuilderEvents.ADD_CATCH_CLAUSE).location(location).string(argName);
+        try {
+            super.addCatchClause(location, argName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addTryCatchStmt() {
+        record(ModelBuilderEvents.ADD_TRY_CATCH_STMT);
+        try {
+            super.addTryCatchStmt();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createThrowStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_THROW_STMT).location(location);
+        try {
+            super.createThrowStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startForkJoinStmt(NodeLocation nodeLocation) {
+        record(ModelBuilderEvents.START_FORK_JOIN_STMT).location(nodeLocation);
+        try {
+            super.startForkJoinStmt(nodeLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startJoinClause(NodeLocation nodeLocation) {
+        record(ModelBuilderEvents.START_JOIN_CLAUSE).location(nodeLocation);
+        try {
+            super.startJoinClause(nodeLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endJoinClause(String paramName, NodeLocation location) {
+        record(ModelBuilderEvents.END_JOIN_CLAUSE).string(paramName).location(location);
+        try {
+            super.endJoinClause(paramName, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createAnyJoinCondition(String joinType, String joinCount, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_ANY_JOIN_CONDITION).string(joinType).string(joinCount).location(location);
+        try {
+            super.createAnyJoinCondition(joinType, joinCount, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createAllJoinCondition(String joinType) {
+        record(ModelBuilderEvents.CREATE_ALL_JOIN_CONDITION).string(joinType);
+        try {
+            super.createAllJoinCondition(joinType);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createJoinWorkers(String workerName) {
+        record(ModelBuilderEvents.CREATE_JOIN_WORKERS).string(workerName);
+        try {
+            super.createJoinWorkers(workerName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void startTimeoutClause(NodeLocation nodeLocation) {
+        record(ModelBuilderEvents.START_TIMEOUT_CLAUSE).location(nodeLocation);
+        try {
+            super.startTimeoutClause(nodeLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endTimeoutClause(String paramName, NodeLocation location) {
+        record(ModelBuilderEvents.END_TIMEOUT_CLAUSE).string(paramName).location(location);
+        try {
+            super.endTimeoutClause(paramName, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void endForkJoinStmt() {
+        record(ModelBuilderEvents.END_FORK_JOIN_STMT);
+        try {
+            super.endForkJoinStmt();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createFunctionInvocationStmt(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_FUNCTION_INVOCATION_STMT).location(location);
+        try {
+            super.createFunctionInvocationStmt(location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createWorkerInvocationStmt(String receivingMsgRef, String workerName, NodeLocation sourceLocation) {
+        record(ModelBuilderEvents.CREATE_WORKER_INVOCATION_STMT)
+                .string(receivingMsgRef).string(workerName).location(sourceLocation);
+        try {
+            super.createWorkerInvocationStmt(receivingMsgRef, workerName, sourceLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createWorkerReplyStmt(String receivingMsgRef, String workerName, NodeLocation sourceLocation) {
+        record(ModelBuilderEvents.CREATE_WORKER_REPLY_STMT)
+                .string(receivingMsgRef).string(workerName).location(sourceLocation);
+        try {
+            super.createWorkerReplyStmt(receivingMsgRef, workerName, sourceLocation);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createActionInvocationStmt(NodeLocation location, String actionName) {
+        record(ModelBuilderEvents.CREATE_ACTION_INVOCATION_STMT).location(location).string(actionName);
+        try {
+            super.createActionInvocationStmt(location, actionName);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createIntegerLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_INTEGER_LITERAL).string(value).location(location);
+        try {
+            super.createIntegerLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createLongLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_LONG_LITERAL).string(value).location(location);
+        try {
+            super.createLongLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createFloatLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_FLOAT_LITERAL).string(value).location(location);
+        try {
+            super.createFloatLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createDoubleLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_DOUBLE_LITERAL).string(value).location(location);
+        try {
+            super.createDoubleLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createStringLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_STRING_LITERAL).string(value).location(location);
+        try {
+            super.createStringLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createBooleanLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_BOOLEAN_LITERAL).string(value).location(location);
+        try {
+            super.createBooleanLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createNullLiteral(String value, NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_NULL_LITERAL).string(value).location(location);
+        try {
+            super.createNullLiteral(value, location);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void createStructFieldRefExpr(NodeLocation location) {
+        record(ModelBuilderEvents.CREATE_STRUCT_FIELD_REF_EXPR).location(location);
+        try {
+            super.createStructFieldRefExpr(location);
+        } finally {
+            depth--;
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class FunctionInvocationExpr extends AbstractExpression implements Callab
     private BType[] types = new BType[0];
     private int retuningBranchID;
     private boolean hasReturningBranch;
+    private boolean isLogInvocation;
 
     public FunctionInvocationExpr(NodeLocation location,
                                   String name,
@@ -81,6 +82,20 @@ public class FunctionInvocationExpr extends AbstractExpression implements Callab
         this.calleeFunction = callableUnit;
     }
 
+    /**
+     * Check whether this is an invocation of a logging function with a constant log level, whose other arguments
+     * are only evaluated if the log level is enabled.
+     *
+     * @return true, if this is a log invocation
+     */
+    public boolean isLogInvocation() {
+        return isLogInvocation;
+    }
+
+    public void setLogInvocation(boolean isLogInvocation) {
+        this.isLogInvocation = isLogInvocation;
+    }
+
     @Override
     public BType[] getTypes() {
         return this.types;
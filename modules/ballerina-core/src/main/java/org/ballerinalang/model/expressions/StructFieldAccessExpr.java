@@ -40,6 +40,16 @@ import org.ballerinalang.model.values.BValue;
  */
 public class StructFieldAccessExpr extends UnaryExpression implements ReferenceExpr {
 
+    /**
+     * Step of a field offset chain which indexes the array value of the preceding field.
+     */
+    public static final int ARRAY_INDEX = -1;
+
+    /**
+     * Step of a field offset chain which indexes the map value of the preceding field.
+     */
+    public static final int MAP_INDEX = -2;
+
     /**
      * Name of the variable reference
      */
@@ -72,6 +82,17 @@ public class StructFieldAccessExpr extends UnaryExpression implements ReferenceE
      */
     private boolean isLHSExpr;
 
+    /**
+     * Offsets of the fields accessed after the variable of the chain, in the order they are accessed, with
+     * {@link #ARRAY_INDEX} and {@link #MAP_INDEX} steps in between. Only set for the root of the chain.
+     */
+    private int[] fieldOffsets;
+
+    /**
+     * Index expressions of the index steps of the field offset chain, at the same positions. Null for field steps.
+     */
+    private Expression[] indexExprs;
+
     /**
      * Creates a Struct field access expression.
      *
@@ -138,6 +159,54 @@ public class StructFieldAccessExpr extends UnaryExpression implements ReferenceE
         isLHSExpr = isLhsExpr;
     }
 
+    /**
+     * Get the field offset chain of this expression, which the semantic analyzer resolves for the root of a chain.
+     * A non-negative step is the offset of a field in the struct value of the previous step. An {@link #ARRAY_INDEX}
+     * or a {@link #MAP_INDEX} step indexes the value of the previous step with the index expression at the same
+     * position.
+     *
+     * @return Field offset chain of this expression
+     */
+    public int[] getFieldOffsets() {
+        return fieldOffsets;
+    }
+
+    /**
+     * Get the index expressions of the field offset chain of this expression.
+     *
+     * @return Index expressions of the index steps, and null for the field steps
+     */
+    public Expression[] getIndexExprs() {
+        return indexExprs;
+    }
+
+    /**
+     * Get the name of the field accessed at a step of the field offset chain of this expression.
+     *
+     * @param step Step of the field offset chain
+     * @return Name of the field
+     */
+    public String getFieldName(int step) {
+        StructFieldAccessExpr fieldExpr = this;
+        for (int i = 0; i <= step; i++) {
+            if (fieldOffsets[i] >= 0) {
+                fieldExpr = fieldExpr.getFieldExpr();
+            }
+        }
+        return fieldExpr.getVarRef().getVarName();
+    }
+
+    /**
+     * Set the field offset chain of this expression.
+     *
+     * @param fieldOffsets Field offsets and index steps of the chain
+     * @param indexExprs   Index expressions of the index steps
+     */
+    public void setFieldOffsets(int[] fieldOffsets, Expression[] indexExprs) {
+        this.fieldOffsets = fieldOffsets;
+        this.indexExprs = indexExprs;
+    }
+
     /**
      * Set the parent of this field expression.
      *
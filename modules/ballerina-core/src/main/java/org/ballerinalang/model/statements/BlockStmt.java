@@ -39,6 +39,7 @@ import java.util.Map;
 public class BlockStmt extends AbstractStatement implements SymbolScope {
     private Statement[] statements;
     private GotoNode gotoNode;
+    private volatile int[] parallelActionGroups;
 
     // Scope related variables
     private SymbolScope enclosingScope;
@@ -97,6 +98,14 @@ public class BlockStmt extends AbstractStatement implements SymbolScope {
         this.gotoNode = gotoNode;
     }
 
+    public int[] getParallelActionGroups() {
+        return parallelActionGroups;
+    }
+
+    public void setParallelActionGroups(int[] parallelActionGroups) {
+        this.parallelActionGroups = parallelActionGroups;
+    }
+
     /**
      * Builds a {@code BlockStmt}.
      *
@@ -21,34 +21,102 @@ import org.ballerinalang.model.NodeExecutor;
 import org.ballerinalang.model.NodeLocation;
 import org.ballerinalang.model.NodeVisitor;
 import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.VariableRefExpr;
 
 /**
- * {@code ForeachStmt} Represents a foreach statement.
+ * {@code ForeachStmt} Represents a foreach statement, which iterates over the elements of an array, the keys of a map
+ * or the rows of a datatable.
+ * <p>
+ * iterate (int i : intArray) { ... }
  *
  * @since 0.8.0
  */
 public class ForeachStmt extends AbstractStatement {
-    private Expression condition;
-    //    private IteratorType itr;
-    private Statement forEachBlock;
+    private VariableRefExpr loopVarRef;
+    private Expression collection;
+    private BlockStmt forEachBlock;
 
-    public ForeachStmt(NodeLocation location) {
+    // Temp offset of the iterator, used by the non-blocking executor
+    private int iteratorTempOffset = -1;
+
+    // Whether the iterations are independent of each other, computed on the first execution
+    private volatile Boolean parallel;
+
+    private ForeachStmt(NodeLocation location, VariableRefExpr loopVarRef, Expression collection,
+                        BlockStmt forEachBlock) {
         super(location);
+        this.loopVarRef = loopVarRef;
+        this.collection = collection;
+        this.forEachBlock = forEachBlock;
+    }
+
+    public VariableRefExpr getLoopVarRef() {
+        return loopVarRef;
+    }
+
+    public Expression getCollection() {
+        return collection;
     }
 
-//    public ForeachStmt(Expression condition, IteratorType itr, Statement forEachBlock) {
-//        this.condition = condition;
-//        this.itr = itr;
-//        this.forEachBlock = forEachBlock;
-//    }
+    public BlockStmt getBody() {
+        return forEachBlock;
+    }
+
+    public int getIteratorTempOffset() {
+        return iteratorTempOffset;
+    }
+
+    public void setIteratorTempOffset(int iteratorTempOffset) {
+        this.iteratorTempOffset = iteratorTempOffset;
+    }
+
+    public Boolean getParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
 
     @Override
     public void accept(NodeVisitor visitor) {
-//        visitor.accept(this);
+        visitor.visit(this);
     }
 
     @Override
     public void execute(NodeExecutor executor) {
+        executor.visit(this);
+    }
+
+    /**
+     * Builds a {@code ForeachStmt} statement.
+     *
+     * @since 0.8.2
+     */
+    public static class ForeachStmtBuilder {
+        private NodeLocation location;
+        private VariableRefExpr loopVarRef;
+        private Expression collection;
+        private BlockStmt forEachBlock;
+
+        public void setNodeLocation(NodeLocation location) {
+            this.location = location;
+        }
+
+        public void setLoopVarRef(VariableRefExpr loopVarRef) {
+            this.loopVarRef = loopVarRef;
+        }
+
+        public void setCollection(Expression collection) {
+            this.collection = collection;
+        }
+
+        public void setForEachBody(BlockStmt forEachBlock) {
+            this.forEachBlock = forEachBlock;
+        }
 
+        public ForeachStmt build() {
+            return new ForeachStmt(location, loopVarRef, collection, forEachBlock);
+        }
     }
 }
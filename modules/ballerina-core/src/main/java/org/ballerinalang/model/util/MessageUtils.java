@@ -20,10 +20,10 @@ package org.ballerinalang.model.util;
 
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 
 /**
  * Common Utils methods used in Message.
@@ -37,15 +37,26 @@ public class MessageUtils {
      * @return Message payload as string
      */
     public static String getStringFromInputStream(InputStream in) {
-        BufferedInputStream bis = new BufferedInputStream(in);
+        return getStringFromInputStream(in, Charset.defaultCharset());
+    }
+
+    /**
+     * Convert input stream to String, decoding it with the given charset.
+     *
+     * @param in      Message payload as an input stream
+     * @param charset Charset of the payload
+     * @return Message payload as string
+     */
+    public static String getStringFromInputStream(InputStream in, Charset charset) {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         String result;
         try {
-            int data;
-            while ((data = bis.read()) != -1) {
-                bos.write(data);
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                bos.write(buffer, 0, length);
             }
-            result = bos.toString();
+            result = new String(bos.toByteArray(), charset);
         } catch (IOException ioe) {
             throw new BallerinaException("Error occurred when reading input stream", ioe);
         } finally {
@@ -57,6 +68,30 @@ public class MessageUtils {
         return result;
     }
 
+    /**
+     * Get the charset given by the charset parameter of a Content-Type header value.
+     *
+     * @param contentType Content-Type header value, or null
+     * @return Charset of the content, or the default charset if the header does not give a supported charset
+     */
+    public static Charset getCharset(String contentType) {
+        if (contentType == null) {
+            return Charset.defaultCharset();
+        }
+        for (String parameter : contentType.split(";")) {
+            int index = parameter.indexOf('=');
+            if (index != -1 && "charset".equalsIgnoreCase(parameter.substring(0, index).trim())) {
+                try {
+                    return Charset.forName(parameter.substring(index + 1).trim().replace("\"", ""));
+                } catch (IllegalArgumentException e) {
+                    // Illegal or unsupported charset
+                    break;
+                }
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
     /**
      * This method will return new copy of BValue.
      *
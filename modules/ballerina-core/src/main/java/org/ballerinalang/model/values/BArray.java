@@ -21,9 +21,13 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@code BArray} represents an arrays in Ballerina.
+ * <p>
+ * An array which is reachable from a service level variable is shared between the requests to the service. Once it
+ * is shared with {@link #share()}, reads and writes are guarded by a read-write lock of the array.
  *
  * @param <V> Ballerina value stored in this arrays value
  * @since 0.8.0
@@ -46,11 +50,29 @@ public final class BArray<V extends BValue> implements BRefType {
     private int lastBucketIndex = -1;
     private int size = 0;
 
+    // Lock of a shared array. An array is shared before it is published to other threads, so this field does not
+    // need to be volatile.
+    private ReentrantReadWriteLock lock;
+
     public BArray(Class<V> valueClass) {
         this.valueClass = valueClass;
     }
 
     public <V extends BValue> void add(int index, V value) {
+        if (lock == null) {
+            doAdd(index, value);
+            return;
+        }
+        SharedValues.share(value);
+        lock.writeLock().lock();
+        try {
+            doAdd(index, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doAdd(int index, BValue value) {
         ensureCapacity(index);
 
         int bucketIndex = index / DEFAULT_ARRAY_SIZE;
@@ -62,8 +84,20 @@ public final class BArray<V extends BValue> implements BRefType {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public V get(int index) {
+        if (lock == null) {
+            return doGet(index);
+        }
+        lock.readLock().lock();
+        try {
+            return doGet(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V doGet(int index) {
         rangeCheck(index);
 
         int bucketIndex = index / DEFAULT_ARRAY_SIZE;
@@ -72,8 +106,64 @@ public final class BArray<V extends BValue> implements BRefType {
         return (V) arrayBucket[bucketIndex][slot];
     }
 
+    /**
+     * Copy the elements of this array. The copy can be iterated without the bucket lookups and the locking of
+     * {@link #get(int)}, and is not affected by changes to the array.
+     *
+     * @return elements of this array
+     */
+    public BValue[] values() {
+        if (lock == null) {
+            return doValues();
+        }
+        lock.readLock().lock();
+        try {
+            return doValues();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BValue[] doValues() {
+        BValue[] values = new BValue[size];
+        for (int index = 0; index < size; index += DEFAULT_ARRAY_SIZE) {
+            System.arraycopy(arrayBucket[index / DEFAULT_ARRAY_SIZE], 0, values, index,
+                    Math.min(DEFAULT_ARRAY_SIZE, size - index));
+        }
+        return values;
+    }
+
     public int size() {
-        return size;
+        if (lock == null) {
+            return size;
+        }
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Switch this array and the maps and arrays it contains to their thread safe representation. Must be called
+     * before the array is made visible to other threads.
+     */
+    public void share() {
+        if (lock != null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            SharedValues.share(arrayBucket[i / DEFAULT_ARRAY_SIZE][i % DEFAULT_ARRAY_SIZE]);
+        }
+        lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * @return true, if this array is shared between threads.
+     */
+    public boolean isShared() {
+        return lock != null;
     }
 
     @Override
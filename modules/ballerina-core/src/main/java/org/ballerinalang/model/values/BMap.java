@@ -17,30 +17,48 @@
  */
 package org.ballerinalang.model.values;
 
+import org.ballerinalang.util.exceptions.BallerinaException;
+
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * A map which is reachable from a service level variable is shared between the requests to the service. Such maps
+ * are switched to a concurrent representation with {@link #share()}, in which every operation is thread safe and
+ * {@link #increment} updates a striped counter instead of replacing the value.
+ *
  * @param <BString> Key
  * @param <V> Value
  * @since 0.8.0
  */
 public class BMap<BString, V extends BValue> implements BRefType {
 
+    private static final Object NULL_VALUE = new Object();
+
     private int size;
     private static final int INITIAL_CAPACITY = 16;
     private static final int MAX_CAPACITY = 1 << 16;
     @SuppressWarnings("unchecked")
     private MapEntry<BString, V>[] values = new MapEntry[INITIAL_CAPACITY];
 
+    // Entries of a shared map, which replace the entry array once the map is shared. A map is shared before it is
+    // published to other threads, so this field does not need to be volatile.
+    private ConcurrentHashMap<BString, Object> sharedValues;
+
     /**
      * Retrieve the value for the given key from map.
      * @param key key used to get the value
      * @return value
      */
     public V get(BString key) {
+        if (sharedValues != null) {
+            return toValue(sharedValues.get(key));
+        }
         for (int i = 0; i < size; i++) {
             if (values[i] != null) {
                 if (values[i].getKey().equals(key)) {
@@ -57,6 +75,11 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * @param value value related to the key
      */
     public void put(BString key, V value) {
+        if (sharedValues != null) {
+            SharedValues.share(value);
+            sharedValues.put(key, value == null ? NULL_VALUE : value);
+            return;
+        }
         boolean insert = true;
         for (int i = 0; i < size; i++) {
             if (values[i].getKey().equals(key)) {
@@ -86,6 +109,9 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * @return returns the size of the map
      */
     public int size() {
+        if (sharedValues != null) {
+            return sharedValues.size();
+        }
         return size;
     }
 
@@ -94,6 +120,10 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * @param key key of the item to be removed
      */
     public void remove(BString key) {
+        if (sharedValues != null) {
+            sharedValues.remove(key);
+            return;
+        }
         for (int i = 0; i < size; i++) {
             if (values[i].getKey().equals(key)) {
                 values[i] = null;
@@ -112,6 +142,9 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * @return returns the set of keys
      */
     public Set<BString> keySet() {
+        if (sharedValues != null) {
+            return new HashSet<>(sharedValues.keySet());
+        }
         Set<BString> set = new HashSet<>();
         for (int i = 0; i < size; i++) {
             set.add(values[i].getKey());
@@ -119,6 +152,23 @@ public class BMap<BString, V extends BValue> implements BRefType {
         return set;
     }
 
+    /**
+     * Retrieve the keys of this map, in insertion order unless the map is shared. The keys are copied, so the map can
+     * be changed while they are iterated.
+     *
+     * @return returns the keys
+     */
+    public BValue[] keys() {
+        if (sharedValues != null) {
+            return sharedValues.keySet().toArray(new BValue[0]);
+        }
+        BValue[] keys = new BValue[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (BValue) values[i].getKey();
+        }
+        return keys;
+    }
+
     /**Return true if this map is empty.
      * 
      * @return Flag indicating whether the map is empty or not
@@ -127,6 +177,80 @@ public class BMap<BString, V extends BValue> implements BRefType {
         return size() == 0;
     }
 
+    /**
+     * Add the given delta to the int value of a key. A missing value is treated as zero. Increments of a shared map
+     * are atomic, and concurrent increments of the same key do not contend with each other.
+     *
+     * @param key   key of the value
+     * @param delta value to add
+     */
+    @SuppressWarnings("unchecked")
+    public void increment(BString key, int delta) {
+        if (sharedValues == null) {
+            V value = get(key);
+            put(key, (V) new BInteger(getIntValue(key, value) + delta));
+            return;
+        }
+        Object counter = sharedValues.get(key);
+        if (!(counter instanceof LongAdder)) {
+            counter = sharedValues.compute(key, (k, value) -> {
+                if (value instanceof LongAdder) {
+                    return value;
+                }
+                LongAdder adder = new LongAdder();
+                adder.add(getIntValue(key, value == NULL_VALUE ? null : value));
+                return adder;
+            });
+        }
+        ((LongAdder) counter).add(delta);
+    }
+
+    private int getIntValue(BString key, Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof BInteger) {
+            return ((BInteger) value).intValue();
+        }
+        String keyName = key instanceof BValue ? ((BValue) key).stringValue() : String.valueOf(key);
+        throw new BallerinaException("cannot increment the non integer value of key : " + keyName);
+    }
+
+    /**
+     * Switch this map and the maps and arrays it contains to their thread safe representation. Must be called before
+     * the map is made visible to other threads.
+     */
+    public void share() {
+        if (sharedValues != null) {
+            return;
+        }
+        ConcurrentHashMap<BString, Object> entries = new ConcurrentHashMap<>();
+        for (int i = 0; i < size; i++) {
+            V value = values[i].getValue();
+            SharedValues.share(value);
+            entries.put(values[i].getKey(), value == null ? NULL_VALUE : value);
+        }
+        sharedValues = entries;
+        values = null;
+        size = 0;
+    }
+
+    /**
+     * @return true, if this map is shared between threads.
+     */
+    public boolean isShared() {
+        return sharedValues != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toValue(Object value) {
+        if (value == null || value == NULL_VALUE) {
+            return null;
+        } else if (value instanceof LongAdder) {
+            return (V) new BInteger((int) ((LongAdder) value).sum());
+        }
+        return (V) value;
+    }
+
     @Override
     public Object value() {
         return null;
@@ -27,6 +27,9 @@ import org.wso2.carbon.messaging.Header;
 import org.wso2.carbon.messaging.Headers;
 import org.wso2.carbon.messaging.MessageUtil;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -97,9 +100,10 @@ public final class BMessage implements BRefType<CarbonMessage> {
                 this.value.getMessageDataSource() instanceof BallerinaMessageDataSource) {
             // this means that message value has been set from within ballerina.
             return (BallerinaMessageDataSource) this.value.getMessageDataSource();
-        } else if (!(this.value.isEmpty()) && this.value.getMessageBody() != null) {
-            // value can be set from outside ballerina. Then we read the content from carbon message and return
-                return new StringDataSource(this.value.getMessageBody().toString());
+        } else if (!this.value.isEmpty()) {
+            // value can be set from outside ballerina. Then we read the content from carbon message and keep it, so
+            // the message can still be sent out after its content is accessed.
+            return buildMessageDataSource();
         } else {
             // This means an empty message and we return a message datasource with empty string
             return new StringDataSource("");
@@ -222,13 +226,60 @@ public final class BMessage implements BRefType<CarbonMessage> {
         if (this.isAlreadyRead()) {
             return this.value.getMessageDataSource().getMessageAsString();
         }
-        return MessageUtils.getStringFromInputStream(this.value.getInputStream());
+        // Decode a view of the unread content, so that the message is still sent out as it was received.
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (ByteBuffer chunk : shareUnreadContent()) {
+            byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            content.write(bytes, 0, bytes.length);
+        }
+        return new String(content.toByteArray(), getCharset());
+    }
+
+    /**
+     * Read the unread content of the carbon message and set it as the built payload of this message. Until the
+     * content is accessed, it stays as the transport delivered it, so that it is passed through as it is when the
+     * message is sent out. The content is decoded, and written out again, with the charset of the message.
+     *
+     * @return Built payload of this message
+     */
+    private BallerinaMessageDataSource buildMessageDataSource() {
+        Charset charset = getCharset();
+        StringDataSource messageDataSource = new StringDataSource(
+                MessageUtils.getStringFromInputStream(this.value.getInputStream(), charset), charset);
+        setMessageDataSource(messageDataSource);
+        return messageDataSource;
+    }
+
+    /**
+     * Get views of the unread content chunks of the carbon message, leaving the chunks in the message. Chunks are
+     * never modified once delivered by the transport, and each view has a position of its own.
+     *
+     * @return Views of the unread content chunks
+     */
+    private List<ByteBuffer> shareUnreadContent() {
+        List<ByteBuffer> views = new ArrayList<>();
+        for (ByteBuffer chunk : this.value.getFullMessageBody()) {
+            this.value.addMessageBody(chunk);
+            views.add(chunk.duplicate());
+        }
+        return views;
+    }
+
+    private Charset getCharset() {
+        return MessageUtils.getCharset(this.value.getHeader(Constants.CONTENT_TYPE_HEADER));
     }
 
     public BMessage clone() {
         BMessage clonedMessage = new BMessage();
         // Clone the carbon message
-        if (this.value != null && !this.value.isEmpty()) {
+        if (this.value != null && !this.isAlreadyRead() && !this.value.isEmpty()) {
+            // Share the unread content chunks instead of copying them.
+            CarbonMessage clonedValue = MessageUtil.cloneCarbonMessageWithOutData(this.value);
+            shareUnreadContent().forEach(clonedValue::addMessageBody);
+            clonedValue.setEndOfMsgAdded(true);
+            clonedMessage.value = clonedValue;
+        } else if (this.value != null && !this.value.isEmpty()) {
             clonedMessage.value = MessageUtil.cloneCarbonMessageWithData(this.value());
         } else {
             clonedMessage.setValue(MessageUtil.cloneCarbonMessageWithOutData(this.value()));
@@ -17,33 +17,57 @@
 package org.ballerinalang.model.values;
 
 import org.ballerinalang.model.StructDef;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
 /**
- * The {@code BStruct} represents athe value of a user defined struct in Ballerina
+ * The {@code BStruct} represents the value of a user defined struct in Ballerina.
+ * <p>
+ * Fields of the int, long, float, double and boolean types are stored unboxed, in the slots given by the layout of
+ * the {@link StructDef}. Their default values are the zero values of the slots, so creating a struct allocates
+ * default values only for the fields of the mutable reference types.
  *
  * @since 1.0.0
  */
 public final class BStruct implements BRefType<StructDef> {
 
+    private static final long[] NO_VALUE_FIELDS = new long[0];
+    private static final BValue[] NO_REF_FIELDS = new BValue[0];
+    private static final BString EMPTY_STRING = new BString("");
+
     private StructDef structDef;
-    private BValue[] structMemBlock;
+    private long[] valueFields;
+    private BValue[] refFields;
 
     /**
      * Creates a struct with a single memory block
      */
     public BStruct() {
-        this(null, new BValue[0]);
+        this.valueFields = NO_VALUE_FIELDS;
+        this.refFields = NO_REF_FIELDS;
     }
 
     /**
-     * Creates a struct with the given size of memory block.
-     * 
-     * @param structDef            {@link StructDef} who's values will be stored by this {@code BStruct}
-     * @param structMemBlock    Array of memory blocks to store values.
+     * Creates a struct with the default values of the fields of the given struct definition.
+     *
+     * @param structDef {@link StructDef} who's values will be stored by this {@code BStruct}
      */
-    public BStruct(StructDef structDef, BValue[] structMemBlock) {
+    public BStruct(StructDef structDef) {
         this.structDef = structDef;
-        this.structMemBlock = structMemBlock;
+        int valueFieldCount = structDef.getValueFieldCount();
+        this.valueFields = valueFieldCount == 0 ? NO_VALUE_FIELDS : new long[valueFieldCount];
+
+        BType[] refFieldTypes = structDef.getRefFieldTypes();
+        if (refFieldTypes.length == 0) {
+            this.refFields = NO_REF_FIELDS;
+            return;
+        }
+        this.refFields = new BValue[refFieldTypes.length];
+        for (int i = 0; i < refFieldTypes.length; i++) {
+            BType fieldType = refFieldTypes[i];
+            refFields[i] = fieldType == BTypes.typeString ? EMPTY_STRING : fieldType.getDefaultValue();
+        }
     }
 
     /**
@@ -53,7 +77,21 @@ public final class BStruct implements BRefType<StructDef> {
      * @return          Value stored in the given memory location of this struct.
      */
     public BValue getValue(int offset) {
-        return structMemBlock[offset];
+        int slot = getSlot(offset);
+        switch (structDef.getFieldKinds()[offset]) {
+            case StructDef.INT_FIELD:
+                return new BInteger((int) valueFields[slot]);
+            case StructDef.LONG_FIELD:
+                return new BLong(valueFields[slot]);
+            case StructDef.FLOAT_FIELD:
+                return new BFloat(Float.intBitsToFloat((int) valueFields[slot]));
+            case StructDef.DOUBLE_FIELD:
+                return new BDouble(Double.longBitsToDouble(valueFields[slot]));
+            case StructDef.BOOLEAN_FIELD:
+                return valueFields[slot] != 0 ? BBoolean.TRUE : BBoolean.FALSE;
+            default:
+                return refFields[slot];
+        }
     }
 
     /**
@@ -63,7 +101,33 @@ public final class BStruct implements BRefType<StructDef> {
      * @param bValue    Value to be stored in the given memory location of this struct.
      */
     public void setValue(int offset, BValue bValue) {
-        this.structMemBlock[offset] = bValue;
+        int slot = getSlot(offset);
+        switch (structDef.getFieldKinds()[offset]) {
+            case StructDef.INT_FIELD:
+                valueFields[slot] = ((BValueType) bValue).intValue();
+                break;
+            case StructDef.LONG_FIELD:
+                valueFields[slot] = ((BValueType) bValue).longValue();
+                break;
+            case StructDef.FLOAT_FIELD:
+                valueFields[slot] = Float.floatToRawIntBits(((BValueType) bValue).floatValue());
+                break;
+            case StructDef.DOUBLE_FIELD:
+                valueFields[slot] = Double.doubleToRawLongBits(((BValueType) bValue).doubleValue());
+                break;
+            case StructDef.BOOLEAN_FIELD:
+                valueFields[slot] = ((BValueType) bValue).booleanValue() ? 1 : 0;
+                break;
+            default:
+                refFields[slot] = bValue;
+        }
+    }
+
+    private int getSlot(int offset) {
+        if (structDef == null) {
+            throw new BallerinaException("cannot access a field of a non-initialized struct");
+        }
+        return structDef.getFieldSlots()[offset];
     }
 
     /**
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.model.values;
+
+/**
+ * {@code SharedValues} switches values which are shared between threads, such as the values of service level
+ * variables, to their thread safe representation.
+ *
+ * @since 0.8.2
+ */
+public class SharedValues {
+
+    private SharedValues() {
+    }
+
+    /**
+     * Make the given value safe to be accessed by multiple threads. Values other than maps and arrays are either
+     * immutable or are not made thread safe, and are left as they are.
+     *
+     * @param value value to share.
+     */
+    public static void share(BValue value) {
+        if (value instanceof BMap) {
+            ((BMap) value).share();
+        } else if (value instanceof BArray) {
+            ((BArray) value).share();
+        }
+    }
+}
@@ -33,13 +33,11 @@ import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.SimpleTypeName;
 import org.ballerinalang.model.values.BException;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BValueType;
 import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.FlowBuilderException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * {@code {@link AbstractNativeFunction}} represents a Abstract implementation of Native Ballerina Function.
  *
@@ -58,9 +56,11 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
     protected boolean isPublic = true;
     protected SymbolName symbolName;
 
-    private List<Annotation> annotations;
-    private List<ParameterDef> parameterDefs;
-    private List<ParameterDef> returnParams;
+    // Natives do not have annotations or parameter definitions, so these are frozen when the native is loaded
+    private final Annotation[] annotations = new Annotation[0];
+    private final ParameterDef[] parameterDefs = new ParameterDef[0];
+    private final ParameterDef[] returnParams = new ParameterDef[0];
+    private final VariableDef[] variableDefs = new VariableDef[0];
     private int stackFrameSize;
 
     private BType[] returnParamTypes;
@@ -74,9 +74,6 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      * Initialize a native function
      */
     public AbstractNativeFunction() {
-        parameterDefs = new ArrayList<>();
-        returnParams = new ArrayList<>();
-        annotations = new ArrayList<>();
     }
 
     /**
@@ -97,6 +94,61 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
         throw new ArgumentOutOfRangeException(index);
     }
 
+    /**
+     * Get an int argument by index, read from the {@code BValue} held in the stack frame.
+     *
+     * @param context current {@code {@link Context}} instance.
+     * @param index   index of the parameter.
+     * @return value of the argument.
+     */
+    public int getIntArgument(Context context, int index) {
+        return ((BValueType) getArgument(context, index)).intValue();
+    }
+
+    /**
+     * Get a long argument by index, read from the {@code BValue} held in the stack frame.
+     *
+     * @param context current {@code {@link Context}} instance.
+     * @param index   index of the parameter.
+     * @return value of the argument.
+     */
+    public long getLongArgument(Context context, int index) {
+        return ((BValueType) getArgument(context, index)).longValue();
+    }
+
+    /**
+     * Get a double argument by index, read from the {@code BValue} held in the stack frame.
+     *
+     * @param context current {@code {@link Context}} instance.
+     * @param index   index of the parameter.
+     * @return value of the argument.
+     */
+    public double getDoubleArgument(Context context, int index) {
+        return ((BValueType) getArgument(context, index)).doubleValue();
+    }
+
+    /**
+     * Get a boolean argument by index, read from the {@code BValue} held in the stack frame.
+     *
+     * @param context current {@code {@link Context}} instance.
+     * @param index   index of the parameter.
+     * @return value of the argument.
+     */
+    public boolean getBooleanArgument(Context context, int index) {
+        return ((BValueType) getArgument(context, index)).booleanValue();
+    }
+
+    /**
+     * Get a string argument by index, as the string value of the {@code BValue} held in the stack frame.
+     *
+     * @param context current {@code {@link Context}} instance.
+     * @param index   index of the parameter.
+     * @return value of the argument.
+     */
+    public String getStringArgument(Context context, int index) {
+        return getArgument(context, index).stringValue();
+    }
+
     /**
      * Where Native Function logic is implemented.
      *
@@ -105,6 +157,26 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      */
     public abstract BValue[] execute(Context context);
 
+    /**
+     * Execute this native function and get the values for return parameters. The array returned by the native is
+     * used as it is when its length matches the return parameter count. Otherwise its values are copied to a new
+     * array of that length, leaving the missing return values as null.
+     *
+     * @param context Ballerina Context
+     * @return Values for the return parameters
+     */
+    public BValue[] invokeNative(Context context) {
+        BValue[] retVals = execute(context);
+        int returnParamCount = returnParamTypes.length;
+        if (retVals.length == returnParamCount) {
+            return retVals;
+        }
+
+        BValue[] returnVals = new BValue[returnParamCount];
+        System.arraycopy(retVals, 0, returnVals, 0, Math.min(retVals.length, returnParamCount));
+        return returnVals;
+    }
+
     /**
      * Execute this native function and set the values for return parameters.
      *
@@ -153,7 +225,7 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      */
     @Override
     public Annotation[] getAnnotations() {
-        return annotations.toArray(new Annotation[annotations.size()]);
+        return annotations;
     }
 
     /**
@@ -162,7 +234,7 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      * @return list of Arguments
      */
     public ParameterDef[] getParameterDefs() {
-        return parameterDefs.toArray(new ParameterDef[parameterDefs.size()]);
+        return parameterDefs;
     }
 
     /**
@@ -172,7 +244,7 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      */
     @Override
     public VariableDef[] getVariableDefs() {
-        return new VariableDef[0];
+        return variableDefs;
     }
 
     @Override
@@ -182,7 +254,7 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
 
     @Override
     public ParameterDef[] getReturnParameters() {
-        return returnParams.toArray(new ParameterDef[returnParams.size()]);
+        return returnParams;
     }
 
     @Override
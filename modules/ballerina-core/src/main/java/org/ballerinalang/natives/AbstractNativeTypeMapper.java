@@ -53,9 +53,11 @@ public abstract class AbstractNativeTypeMapper implements NativeUnit, TypeMapper
     protected boolean isPublic = true;
     protected SymbolName symbolName;
 
-    private List<Annotation> annotations;
-    private List<ParameterDef> parameterDefs;
-    private List<ParameterDef> returnParams;
+    // Natives do not have annotations or parameter definitions, so these are frozen when the native is loaded
+    private final Annotation[] annotations = new Annotation[0];
+    private final ParameterDef[] parameterDefs = new ParameterDef[0];
+    private final ParameterDef[] returnParams = new ParameterDef[0];
+    private final VariableDef[] variableDefs = new VariableDef[0];
     private List<ConstDef> constants;
     private int stackFrameSize;
     
@@ -67,9 +69,6 @@ public abstract class AbstractNativeTypeMapper implements NativeUnit, TypeMapper
     private int tempStackFrameSize;
 
     public AbstractNativeTypeMapper() {
-        parameterDefs = new ArrayList<>();
-        returnParams = new ArrayList<>();
-        annotations = new ArrayList<>();
         constants = new ArrayList<>();
     }
 
@@ -85,11 +84,11 @@ public abstract class AbstractNativeTypeMapper implements NativeUnit, TypeMapper
 
     @Override
     public Annotation[] getAnnotations() {
-        return annotations.toArray(new Annotation[annotations.size()]);
+        return annotations;
     }
 
     public ParameterDef[] getParameterDefs() {
-        return parameterDefs.toArray(new ParameterDef[parameterDefs.size()]);
+        return parameterDefs;
     }
 
     /**
@@ -98,11 +97,11 @@ public abstract class AbstractNativeTypeMapper implements NativeUnit, TypeMapper
      * @return list of all BallerinaTypeMapper scoped variableDcls
      */
     public VariableDef[] getVariableDefs() {
-        return new VariableDef[0];
+        return variableDefs;
     }
 
     public ParameterDef[] getReturnParameters() {
-        return returnParams.toArray(new ParameterDef[returnParams.size()]);
+        return returnParams;
     }
 
     /**
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.natives;
+
+/**
+ * {@code LoggingFunction} is a native function which logs a value at the log level given by its first argument.
+ * <p>
+ * When the log level of an invocation is a literal or a constant, the executor checks whether the level is enabled
+ * before evaluating the other arguments, and skips the invocation if it is not. Building the logged value of a
+ * disabled log statement then costs nothing.
+ *
+ * @since 0.8.2
+ */
+public interface LoggingFunction {
+
+    /**
+     * Check whether a log level is enabled for the logger of this function.
+     *
+     * @param logLevel log level, from 1 for trace to 5 for error.
+     * @return true, if a value logged at the given level is written.
+     */
+    boolean isLogLevelEnabled(int logLevel);
+}
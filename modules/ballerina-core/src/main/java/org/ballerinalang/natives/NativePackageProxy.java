@@ -37,7 +37,7 @@ public class NativePackageProxy extends BLangPackage {
         this.nativePackageSupplier = nativePackageSupplier;
     }
     
-    public BLangPackage load() {
+    public synchronized BLangPackage load() {
         if (nativePackage == null) {
             nativePackage = this.nativePackageSupplier.get();
         }
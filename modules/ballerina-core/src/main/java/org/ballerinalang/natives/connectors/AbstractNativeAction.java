@@ -34,9 +34,6 @@ import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.FlowBuilderException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Represents Native Ballerina Action.
  */
@@ -49,9 +46,11 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
     protected boolean isPublic = true;
     protected SymbolName symbolName;
 
-    private List<Annotation> annotations;
-    private List<ParameterDef> parameterDefs;
-    private List<ParameterDef> returnParams;
+    // Natives do not have annotations or parameter definitions, so these are frozen when the native is loaded
+    private final Annotation[] annotations = new Annotation[0];
+    private final ParameterDef[] parameterDefs = new ParameterDef[0];
+    private final ParameterDef[] returnParams = new ParameterDef[0];
+    private final VariableDef[] variableDefs = new VariableDef[0];
     private int stackFrameSize;
 
     private BType[] returnParamTypes;
@@ -63,9 +62,6 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
     private int tempStackFrameSize;
 
     public AbstractNativeAction() {
-        parameterDefs = new ArrayList<>();
-        returnParams = new ArrayList<>();
-        annotations = new ArrayList<>();
     }
 
     /**
@@ -117,6 +113,18 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
         return false;
     }
 
+    /**
+     * Declare whether this action may be invoked concurrently with the other independent actions of a block.
+     *
+     * Default is false. Override to enable, for actions which neither change state that the following actions
+     * depend on, nor depend on the state changed by the preceding actions.
+     *
+     * @return true, if this action may be invoked concurrently.
+     */
+    public boolean isParallelAction() {
+        return false;
+    }
+
     // Methods in CallableUnit interface
 
     /**
@@ -126,7 +134,7 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
      */
     @Override
     public Annotation[] getAnnotations() {
-        return annotations.toArray(new Annotation[annotations.size()]);
+        return annotations;
     }
 
     /**
@@ -136,7 +144,7 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
      */
     @Override
     public ParameterDef[] getParameterDefs() {
-        return parameterDefs.toArray(new ParameterDef[parameterDefs.size()]);
+        return parameterDefs;
     }
 
     /**
@@ -146,7 +154,7 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
      */
     @Override
     public VariableDef[] getVariableDefs() {
-        return new VariableDef[0];
+        return variableDefs;
     }
 
     @Override
@@ -156,7 +164,7 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
 
     @Override
     public ParameterDef[] getReturnParameters() {
-        return returnParams.toArray(new ParameterDef[returnParams.size()]);
+        return returnParams;
     }
 
     @Override
@@ -41,7 +41,7 @@ import java.util.Map;
 public abstract class AbstractNativeConnector extends BType implements NativeUnit, Connector, BLangSymbol {
     
     // BLangSymbol related attributes
-    private List<ParameterDef> parameterDefs;
+    private final ParameterDef[] parameterDefs = new ParameterDef[0];
     private String[] argNames;
     private SimpleTypeName[] argTypeNames;
     private SimpleTypeName[] returnParamTypeNames;
@@ -52,7 +52,6 @@ public abstract class AbstractNativeConnector extends BType implements NativeUni
     
     public AbstractNativeConnector(SymbolScope enclosingScope) {
         super(enclosingScope);
-        this.parameterDefs = new ArrayList<>();
         this.symbolMap = new HashMap<>();
         this.actions = new ArrayList<NativeUnitProxy>();
     }
@@ -60,7 +59,7 @@ public abstract class AbstractNativeConnector extends BType implements NativeUni
     public abstract boolean init(BValue[] bValueRefs);
 
     public ParameterDef[] getParameterDefs() {
-        return parameterDefs.toArray(new ParameterDef[parameterDefs.size()]);
+        return parameterDefs;
     }
 
 
@@ -22,8 +22,10 @@ import org.ballerinalang.model.nodes.fragments.expressions.InvokeNativeActionNod
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.DefaultBalCallback;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
 import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BallerinaException;
 import org.wso2.carbon.messaging.CarbonMessage;
 
 /**
@@ -39,6 +41,8 @@ public class BalConnectorCallback extends DefaultBalCallback {
 
     private BValue valueRef;
 
+    private BallerinaException actionError;
+
     public BalConnectorCallback(Context context) {
         super(context.getBalCallback());
         this.context = context;
@@ -65,9 +69,35 @@ public class BalConnectorCallback extends DefaultBalCallback {
         //context.getControlStack().setValue(4, valueRef);
         context.getControlStack().setReturnValue(0, valueRef);
         responseArrived = true;
+        resumeExecution(carbonMessage);
+    }
+
+    /**
+     * Notify completion of a non-blocking action which is not backed by a carbon client connector.
+     * Such actions set their return values on the current stack frame before calling this method.
+     *
+     * @param error error occurred while executing the action, or null if the action completed successfully.
+     */
+    public void actionCompleted(BallerinaException error) {
+        actionError = error;
+        responseArrived = true;
+        resumeExecution(null);
+    }
+
+    public BallerinaException getActionError() {
+        return actionError;
+    }
+
+    private void resumeExecution(CarbonMessage carbonMessage) {
         if (isNonBlockingExecutor()) {
-            // spawn a new thread to continue execution.
-            ThreadPoolFactory.getInstance().getExecutor().execute(new ResponseWorkerThread(carbonMessage, this));
+            // spawn a new thread to continue execution, on the bulkhead of the service if it has one.
+            ResponseWorkerThread continuation = new ResponseWorkerThread(carbonMessage, this);
+            Bulkhead bulkhead = context.getBulkhead();
+            if (bulkhead != null) {
+                bulkhead.resume(continuation);
+            } else {
+                ThreadPoolFactory.getInstance().getExecutor().execute(continuation);
+            }
         } else {
             // Release Thread.
             synchronized (context) {
@@ -129,6 +129,7 @@ public class BalProgramExecutor {
                 } else {
                     BLangExecutor executor = new BLangExecutor(runtimeEnv, balContext);
                     new ResourceInvocationExpr(resource, exprs).executeMultiReturn(executor);
+                    balContext.runCompletionTasks();
                 }
             }
         } else if (ModeResolver.getInstance().isNonblockingEnabled()) {
@@ -139,6 +140,7 @@ public class BalProgramExecutor {
             BLangExecutor executor = new BLangExecutor(runtimeEnv, balContext);
             new ResourceInvocationExpr(resource, exprs).executeMultiReturn(executor);
             balContext.getControlStack().popFrame();
+            balContext.runCompletionTasks();
         }
     }
 }
@@ -28,6 +28,9 @@ public class Constants {
     // Intermediate headers added to the ballerina message
     public static final String INTERMEDIATE_HEADERS = "INTERMEDIATE_HEADERS";
 
+    // Header which gives the media type, and the charset, of the content of a message
+    public static final String CONTENT_TYPE_HEADER = "Content-Type";
+
     // Name of the map that holds Resource arguments which are populated from server connector.
     public static final String RESOURCE_ARGS = "RESOURCE_ARGS";
 
@@ -40,4 +43,26 @@ public class Constants {
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "ballerina.debug";
 
+    // Prefix of the system properties which configure the admission control of inbound requests. The limits can be
+    // set for all the listener interfaces, for one listener interface (prefix + interface id + ".") or for one
+    // service (prefix + "service." + package path + "." + service name + ".", or without the package path for services
+    // of the default package).
+    public static final String SYS_PROP_ADMISSION_PREFIX = "ballerina.admission.";
+    public static final String ADMISSION_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+    public static final String ADMISSION_MAX_QUEUED_REQUESTS = "maxQueuedRequests";
+    public static final String ADMISSION_QUEUE_TIMEOUT = "queueTimeout";
+    public static final String ADMISSION_ADAPTIVE_LIMIT = "adaptiveLimit";
+    public static final String ADMISSION_REQUEST_TIMEOUT = "requestTimeout";
+
+    // Name of the system property which enables the concurrent invocation of independent native actions of a block
+    public static final String SYS_PROP_PARALLEL_ACTIONS = "ballerina.parallelActions";
+
+    // Name of the system property which enables the concurrent iteration of foreach statements with independent
+    // iterations
+    public static final String SYS_PROP_PARALLEL_FOREACH = "ballerina.parallelForeach";
+
+    // Name of the system property to hold the interval, in milliseconds, within which repeated service errors with
+    // the same signature are reported only once
+    public static final String SYS_PROP_ERROR_REPORT_INTERVAL = "ballerina.errorReportInterval";
+
 }
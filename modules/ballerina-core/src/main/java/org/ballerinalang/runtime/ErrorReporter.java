@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime;
+
+import org.ballerinalang.bre.CallableUnitInfo;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.model.NodeLocation;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.services.ErrorHandlerUtils;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.Stack;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * {@code ErrorReporter} reports the errors of service requests off the request path. Reports are written to the log
+ * and the console by a single thread, which takes them from a bounded queue. Reports which do not fit in the queue
+ * are dropped and counted.
+ * <p>
+ * The signature of an error is its category, which is the class of the throwable, the top frame of the Ballerina
+ * stack when the error is reported, and the template of the error message. The template replaces the numbers in the
+ * message, which are often request specific content such as ids, with {@code #}. An error is reported with its stack
+ * trace at most once per signature within the report interval. Errors with the same signature within the interval
+ * are only counted, and the stack trace of a suppressed error is not built. The number of suppressed errors is added
+ * to the next report of the signature, or is reported on its own when the interval ends without another report.
+ * About {@value #MAX_SIGNATURES} signatures are kept, and an arbitrary signature is removed to make room for a new
+ * one.
+ * <p>
+ * The report interval is configured in milliseconds with the system property
+ * {@value Constants#SYS_PROP_ERROR_REPORT_INTERVAL}, and is {@value #DEFAULT_REPORT_INTERVAL} milliseconds by default.
+ *
+ * @since 0.8.2
+ */
+public class ErrorReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorReporter.class);
+
+    private static final long DEFAULT_REPORT_INTERVAL = 10000;
+    private static final int MAX_QUEUED_REPORTS = 1000;
+    private static final int MAX_SIGNATURES = 1000;
+    private static final int MAX_TEMPLATE_LENGTH = 200;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final Pattern NUMBERS = Pattern.compile("\\d+");
+
+    private static ErrorReporter instance = new ErrorReporter();
+
+    private static PrintStream outStream = System.err;
+
+    private final long reportInterval;
+    private final ThreadPoolExecutor executor;
+    // Reports the errors suppressed within an interval, when the interval ends without another report
+    private final ScheduledExecutorService timer;
+    private final ConcurrentMap<String, ErrorSignature> signatures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> categoryCounts = new ConcurrentHashMap<>();
+    private final LongAdder droppedCount = new LongAdder();
+
+    private ErrorReporter() {
+        this(TimeUnit.MILLISECONDS.toNanos(
+                Long.getLong(Constants.SYS_PROP_ERROR_REPORT_INTERVAL, DEFAULT_REPORT_INTERVAL)),
+                createExecutor(MAX_QUEUED_REPORTS), createTimer());
+    }
+
+    ErrorReporter(long reportInterval, ThreadPoolExecutor executor, ScheduledExecutorService timer) {
+        this.reportInterval = reportInterval;
+        this.executor = executor;
+        this.timer = timer;
+    }
+
+    static ThreadPoolExecutor createExecutor(int maxQueuedReports) {
+        ThreadFactory threadFactory = new BLangThreadFactory("BLangErrorReporter");
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedReports), task -> {
+                    // The reporter thread should not keep the runtime alive
+                    Thread thread = threadFactory.newThread(task);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static ScheduledThreadPoolExecutor createTimer() {
+        ThreadFactory threadFactory = new BLangThreadFactory("BLangErrorReportTimer");
+        return new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = threadFactory.newThread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ErrorReporter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Report the error of a service request.
+     *
+     * @param balContext context of the request
+     * @param throwable  error of the request
+     * @param errorMsg   error message of the throwable
+     */
+    public void report(Context balContext, Throwable throwable, String errorMsg) {
+        String category = throwable.getClass().getName();
+        categoryCounts.computeIfAbsent(category, key -> new LongAdder()).increment();
+
+        String key = getSignatureKey(balContext, throwable, category, errorMsg);
+        ErrorSignature signature = signatures.get(key);
+        if (signature == null) {
+            if (signatures.size() >= MAX_SIGNATURES) {
+                removeSignature();
+            }
+            signature = signatures.computeIfAbsent(key, k -> new ErrorSignature(errorMsg));
+        }
+
+        long now = System.nanoTime();
+        int suppressedCount = signature.sample(now, reportInterval);
+        if (suppressedCount < 0) {
+            long flushDelay = signature.scheduleFlush(now, reportInterval);
+            if (flushDelay >= 0) {
+                ErrorSignature suppressedSignature = signature;
+                timer.schedule(() -> flush(suppressedSignature), flushDelay, TimeUnit.NANOSECONDS);
+            }
+            return;
+        }
+
+        // The stack trace is built on the request path, since the control stack is unwound after the error is handled
+        String stacktrace = ErrorHandlerUtils.getServiceStackTrace(balContext, throwable);
+        String errorWithTrace = errorMsg + "\n" + stacktrace;
+        if (suppressedCount > 0) {
+            errorWithTrace = errorWithTrace + "\t (" + suppressedCount + " similar errors suppressed)\n";
+        }
+
+        write(errorWithTrace);
+    }
+
+    /**
+     * Report the number of errors of a signature suppressed since its last report, if they have not been reported
+     * with a later error of the signature.
+     *
+     * @param signature signature of the suppressed errors
+     */
+    private void flush(ErrorSignature signature) {
+        int suppressedCount = signature.flush();
+        if (suppressedCount > 0) {
+            write(signature.getMessage() + "\n\t (" + suppressedCount + " similar errors suppressed)\n");
+        }
+    }
+
+    private void write(String report) {
+        try {
+            executor.execute(() -> {
+                log.error(report);
+                outStream.println(report);
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * Remove an arbitrary signature to make room for a new one. A removed signature only loses its rate limit, so
+     * the next error of it is reported with its stack trace.
+     */
+    private void removeSignature() {
+        Iterator<String> keys = signatures.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * @param category class name of the throwable
+     * @return number of errors of the category reported so far, including suppressed and dropped errors.
+     */
+    public long getErrorCount(String category) {
+        LongAdder count = categoryCounts.get(category);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * @return number of reports dropped because the report queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Get the signature key of an error, from its category, the top frame of the Ballerina stack and the template
+     * of its message.
+     *
+     * @param balContext context of the request
+     * @param throwable  error of the request
+     * @param category   class name of the throwable
+     * @param errorMsg   error message of the throwable
+     * @return signature key of the error
+     */
+    static String getSignatureKey(Context balContext, Throwable throwable, String category, String errorMsg) {
+        if (balContext == null && throwable instanceof BallerinaException) {
+            balContext = ((BallerinaException) throwable).getContext();
+        }
+
+        StringBuilder key = new StringBuilder(category);
+        Stack<StackFrame> stack = balContext != null ? balContext.getControlStack().getStack() : null;
+        if (stack != null && !stack.isEmpty()) {
+            CallableUnitInfo frameInfo = stack.peek().getNodeInfo();
+            key.append('@').append(frameInfo.getPackage()).append(':').append(frameInfo.getName());
+            NodeLocation nodeLocation = frameInfo.getNodeLocation();
+            if (nodeLocation != null) {
+                key.append('(').append(nodeLocation.getFileName()).append(':').append(nodeLocation.getLineNumber())
+                        .append(')');
+            }
+        }
+        if (errorMsg != null) {
+            key.append(':').append(getMessageTemplate(errorMsg));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param errorMsg error message
+     * @return the error message with its numbers replaced with {@code #}, and cut to at most
+     * {@value #MAX_TEMPLATE_LENGTH} characters.
+     */
+    static String getMessageTemplate(String errorMsg) {
+        String template = NUMBERS.matcher(errorMsg).replaceAll("#");
+        return template.length() > MAX_TEMPLATE_LENGTH ? template.substring(0, MAX_TEMPLATE_LENGTH) : template;
+    }
+
+    /**
+     * Reporting state of the errors with the same signature.
+     */
+    static class ErrorSignature {
+
+        private final String message;
+        private boolean reported;
+        private long lastReportTime;
+        private int suppressedCount;
+        private boolean flushScheduled;
+
+        ErrorSignature(String message) {
+            this.message = message;
+        }
+
+        /**
+         * @return error message of the first error of this signature
+         */
+        String getMessage() {
+            return message;
+        }
+
+        /**
+         * @param now            current time in nanoseconds
+         * @param reportInterval report interval in nanoseconds
+         * @return number of errors suppressed since the last report if the error is to be reported, or -1 if the
+         * error is suppressed.
+         */
+        synchronized int sample(long now, long reportInterval) {
+            if (reported && now - lastReportTime < reportInterval) {
+                suppressedCount++;
+                return -1;
+            }
+            int count = suppressedCount;
+            reported = true;
+            lastReportTime = now;
+            suppressedCount = 0;
+            return count;
+        }
+
+        /**
+         * Get the delay after which the suppressed errors should be flushed, if a flush is not already scheduled.
+         *
+         * @param now            current time in nanoseconds
+         * @param reportInterval report interval in nanoseconds
+         * @return time in nanoseconds until the end of the report interval, or -1 if a flush is already scheduled
+         * or no error is suppressed.
+         */
+        synchronized long scheduleFlush(long now, long reportInterval) {
+            if (flushScheduled || suppressedCount == 0) {
+                return -1;
+            }
+            flushScheduled = true;
+            return Math.max(0, lastReportTime + reportInterval - now);
+        }
+
+        /**
+         * @return number of errors suppressed since the last report, which are reported by the caller.
+         */
+        synchronized int flush() {
+            flushScheduled = false;
+            int count = suppressedCount;
+            suppressedCount = 0;
+            return count;
+        }
+    }
+}
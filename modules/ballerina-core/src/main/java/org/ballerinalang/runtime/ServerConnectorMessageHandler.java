@@ -22,19 +22,19 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.Resource;
 import org.ballerinalang.model.Service;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.runtime.threadpool.AdmissionController;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.services.DefaultServerConnectorErrorHandler;
 import org.ballerinalang.services.ErrorHandlerUtils;
 import org.ballerinalang.services.dispatchers.DispatcherRegistry;
 import org.ballerinalang.services.dispatchers.ResourceDispatcher;
 import org.ballerinalang.services.dispatchers.ServiceDispatcher;
 import org.ballerinalang.util.exceptions.BallerinaException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.messaging.ServerConnectorErrorHandler;
 
-import java.io.PrintStream;
 import java.util.Optional;
 
 /**
@@ -44,14 +44,24 @@ import java.util.Optional;
  */
 public class ServerConnectorMessageHandler {
 
-    private static final Logger log = LoggerFactory.getLogger(ServerConnectorMessageHandler.class);
-
-    private static PrintStream outStream = System.err;
-
     public static void handleInbound(CarbonMessage cMsg, CarbonCallback callback) {
+        handleInbound(cMsg, callback, null);
+    }
+
+    /**
+     * Dispatch an inbound request to its resource and execute it.
+     *
+     * @param cMsg           inbound request.
+     * @param callback       callback of the server connector.
+     * @param completionTask task to run once the request is completed. Null if there is no such task.
+     */
+    public static void handleInbound(CarbonMessage cMsg, CarbonCallback callback, Runnable completionTask) {
         // Create the Ballerina Context
         Context balContext = new Context(cMsg);
         balContext.setServerConnectorProtocol(cMsg.getProperty("PROTOCOL"));
+        if (completionTask != null) {
+            balContext.addCompletionTask(completionTask);
+        }
         try {
             String protocol = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.PROTOCOL);
             if (protocol == null) {
@@ -72,6 +82,16 @@ public class ServerConnectorMessageHandler {
                 // Finer details of the errors are thrown from the dispatcher itself, Ideally we shouldn't get here.
             }
 
+            // Apply the concurrency limit of the Service
+            String serviceName = service.getSymbolName().getName();
+            AdmissionController admissionController = AdmissionController.getInstance();
+            if (!admissionController.acquireService(service)) {
+                balContext.runCompletionTasks();
+                AdmissionController.reject(cMsg, callback, "too many concurrent requests to Service : " + serviceName);
+                return;
+            }
+            balContext.addCompletionTask(() -> admissionController.releaseService(service));
+
             // Find the Resource Dispatcher
             ResourceDispatcher resourceDispatcher = DispatcherRegistry.getInstance().getResourceDispatcher(protocol);
             if (resourceDispatcher == null) {
@@ -93,6 +113,28 @@ public class ServerConnectorMessageHandler {
                 // Finer details of the errors are thrown from the dispatcher itself, Ideally we shouldn't get here.
             }
 
+            // Execute on the bulkhead of the Service, if it has one
+            Bulkhead bulkhead = ThreadPoolFactory.getInstance().getBulkhead(service);
+            if (bulkhead != null) {
+                // The request keeps its admission slot until the response is completed, so the listener's limit
+                // covers the whole execution on the bulkhead.
+                balContext.setBulkhead(bulkhead);
+                Resource dispatchedResource = resource;
+                boolean accepted = bulkhead.execute(() -> {
+                    try {
+                        BalProgramExecutor.execute(cMsg, callback, dispatchedResource, service, balContext);
+                    } catch (Throwable throwable) {
+                        handleErrorInboundPath(cMsg, callback, balContext, throwable);
+                    }
+                });
+                if (!accepted) {
+                    balContext.runCompletionTasks();
+                    AdmissionController.reject(cMsg, callback, "too many requests queued for Service : " +
+                            serviceName);
+                }
+                return;
+            }
+
             // Delegate the execution to the BalProgram Executor
             BalProgramExecutor.execute(cMsg, callback, resource, service, balContext);
 
@@ -118,10 +160,8 @@ public class ServerConnectorMessageHandler {
     public static void handleErrorInboundPath(CarbonMessage cMsg, CarbonCallback callback, Context balContext,
                                               Throwable throwable) {
         String errorMsg = ErrorHandlerUtils.getErrorMessage(throwable);
-        String stacktrace = ErrorHandlerUtils.getServiceStackTrace(balContext, throwable);
-        String errorWithTrace = errorMsg + "\n" + stacktrace;
-        log.error(errorWithTrace);
-        outStream.println(errorWithTrace);
+        ErrorReporter.getInstance().report(balContext, throwable, errorMsg);
+        balContext.runCompletionTasks();
 
         Object protocol = cMsg.getProperty("PROTOCOL");
         Optional<ServerConnectorErrorHandler> optionalErrorHandler =
@@ -139,10 +179,8 @@ public class ServerConnectorMessageHandler {
 
     public static void handleErrorFromOutbound(Context balContext, Throwable throwable) {
         String errorMsg = ErrorHandlerUtils.getErrorMessage(throwable);
-        String stacktrace = ErrorHandlerUtils.getServiceStackTrace(balContext, throwable);
-        String errorWithTrace = errorMsg + "\n" + stacktrace;
-        log.error(errorWithTrace);
-        outStream.println(errorWithTrace);
+        ErrorReporter.getInstance().report(balContext, throwable, errorMsg);
+        balContext.runCompletionTasks();
 
         Object protocol = balContext.getServerConnectorProtocol();
         Optional<ServerConnectorErrorHandler> optionalErrorHandler =
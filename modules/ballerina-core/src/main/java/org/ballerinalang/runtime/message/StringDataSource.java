@@ -30,6 +30,7 @@ import java.nio.charset.Charset;
  */
 public class StringDataSource extends BallerinaMessageDataSource {
     private String value;
+    private Charset charset;
     private OutputStream outputStream;
 
     /**
@@ -38,7 +39,18 @@ public class StringDataSource extends BallerinaMessageDataSource {
      * @param value String value
      */
     public StringDataSource(String value) {
+        this(value, Charset.defaultCharset());
+    }
+
+    /**
+     * Create a String datasource with a string, which is written out with the given charset.
+     *
+     * @param value   String value
+     * @param charset Charset of the serialized string
+     */
+    public StringDataSource(String value, Charset charset) {
         this.value = value;
+        this.charset = charset;
         this.outputStream = null;
     }
 
@@ -50,6 +62,7 @@ public class StringDataSource extends BallerinaMessageDataSource {
      */
     public StringDataSource(String value, OutputStream outputStream) {
         this.value = value;
+        this.charset = Charset.defaultCharset();
         this.outputStream = outputStream;
     }
 
@@ -64,7 +77,7 @@ public class StringDataSource extends BallerinaMessageDataSource {
     @Override
     public void serializeData() {
         try {
-            this.outputStream.write(this.value.getBytes(Charset.defaultCharset()));
+            this.outputStream.write(this.value.getBytes(charset));
         } catch (IOException e) {
             throw new BallerinaException("Error occurred during writing the string message to the output stream", e);
         }
@@ -83,6 +96,6 @@ public class StringDataSource extends BallerinaMessageDataSource {
     @Override
     public BallerinaMessageDataSource clone() {
         String clonedContent = this.getMessageAsString();
-        return new StringDataSource(clonedContent);
+        return new StringDataSource(clonedContent, charset);
     }
 }
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.services.DefaultServerConnectorErrorHandler;
+import org.ballerinalang.util.exceptions.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.messaging.CarbonCallback;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.ServerConnectorErrorHandler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code AdmissionController} decides whether an inbound request is executed, queued or rejected, so that an overloaded
+ * runtime fails fast instead of queueing requests without a limit.
+ * <p>
+ * Each listener interface has a concurrency limit and a bounded queue of requests waiting for a free slot. Requests
+ * which do not fit in the queue, or which wait longer than the queue timeout, are rejected through the error handler of
+ * their protocol with a {@link ServiceUnavailableException}. If the adaptive limit is enabled, the concurrency limit of
+ * a listener interface follows the observed latency of its requests: it grows while the latency stays close to the
+ * long term latency and shrinks when requests start taking longer. Services can have their own concurrency limits as
+ * well, which are checked once a request is dispatched to a service.
+ * <p>
+ * A request holds its slot until it completes, or at most for the request timeout, so that a request which never
+ * completes, e.g. because the response of an action never arrives, does not hold its slot for ever.
+ * <p>
+ * The limits are configured with the system properties prefixed with {@value Constants#SYS_PROP_ADMISSION_PREFIX}.
+ * By default the blocking executor admits as many concurrent requests as there are worker threads, the non-blocking
+ * executor admits {@value #NON_BLOCKING_REQUESTS_PER_WORKER} concurrent requests per worker thread, a listener
+ * interface queues up to {@value #DEFAULT_MAX_QUEUED_REQUESTS} requests for at most {@value #DEFAULT_QUEUE_TIMEOUT}
+ * milliseconds, and the request timeout is {@value #DEFAULT_REQUEST_TIMEOUT} milliseconds.
+ *
+ * @since 0.8.2
+ */
+public class AdmissionController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+
+    private static final int DEFAULT_MAX_QUEUED_REQUESTS = 10000;
+    private static final long DEFAULT_QUEUE_TIMEOUT = 30000;
+    private static final long DEFAULT_REQUEST_TIMEOUT = 300000;
+    private static final int NON_BLOCKING_REQUESTS_PER_WORKER = 20;
+    private static final String DEFAULT_LISTENER_ID = "default";
+    private static final String SERVICE_PROPERTY_PREFIX = Constants.SYS_PROP_ADMISSION_PREFIX + "service.";
+
+    // Expires queued requests and releases the slots of requests which do not complete within the request timeout.
+    private static final ScheduledThreadPoolExecutor TIMER;
+
+    static {
+        ThreadFactory threadFactory = new BLangThreadFactory("BLangAdmissionTimer");
+        TIMER = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = threadFactory.newThread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private static AdmissionController instance = new AdmissionController(new WorkerPoolRequestHandler());
+
+    private final RequestHandler requestHandler;
+    private final ConcurrentMap<String, ListenerQueue> listenerQueues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> serviceRequestCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> serviceLimits = new ConcurrentHashMap<>();
+
+    AdmissionController(RequestHandler requestHandler) {
+        this.requestHandler = requestHandler;
+    }
+
+    public static AdmissionController getInstance() {
+        return instance;
+    }
+
+    /**
+     * Execute the given inbound request on the worker pool, if the concurrency limit of its listener interface allows.
+     * Otherwise the request is queued, or rejected if the queue is full.
+     *
+     * @param cMsg     inbound request.
+     * @param callback callback of the server connector.
+     */
+    public void submit(CarbonMessage cMsg, CarbonCallback callback) {
+        Object listenerId = cMsg.getProperty(org.wso2.carbon.messaging.Constants.LISTENER_INTERFACE_ID);
+        if (listenerId == null) {
+            listenerId = cMsg.getProperty(org.wso2.carbon.messaging.Constants.PROTOCOL);
+        }
+        String key = listenerId == null ? DEFAULT_LISTENER_ID : listenerId.toString();
+        listenerQueues.computeIfAbsent(key, id -> new ListenerQueue(id, requestHandler)).submit(cMsg, callback);
+    }
+
+    /**
+     * Take a slot of the concurrency limit of a service. Every successful call must be followed by a call to
+     * {@link #releaseService(Service)} once the request is completed.
+     *
+     * @param service service the request is dispatched to.
+     * @return true, if the request may be executed. False, if the service is already at its concurrency limit.
+     */
+    public boolean acquireService(Service service) {
+        String serviceName = getServiceName(service);
+        int limit = serviceLimits.computeIfAbsent(serviceName, name ->
+                Integer.getInteger(SERVICE_PROPERTY_PREFIX + name + "." + Constants.ADMISSION_MAX_CONCURRENT_REQUESTS,
+                        Integer.MAX_VALUE));
+        if (limit == Integer.MAX_VALUE) {
+            return true;
+        }
+        AtomicInteger requestCount = serviceRequestCounts.computeIfAbsent(serviceName, name -> new AtomicInteger());
+        int count;
+        do {
+            count = requestCount.get();
+            if (count >= limit) {
+                return false;
+            }
+        } while (!requestCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Release a slot taken with {@link #acquireService(Service)}.
+     *
+     * @param service service the request was dispatched to.
+     */
+    public void releaseService(Service service) {
+        AtomicInteger requestCount = serviceRequestCounts.get(getServiceName(service));
+        if (requestCount != null) {
+            requestCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reject an inbound request without executing it, using the error handler of its protocol.
+     *
+     * @param cMsg     inbound request.
+     * @param callback callback of the server connector.
+     * @param message  reason for the rejection.
+     */
+    public static void reject(CarbonMessage cMsg, CarbonCallback callback, String message) {
+        if (log.isDebugEnabled()) {
+            log.debug("rejected a request: " + message);
+        }
+        String protocol = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.PROTOCOL);
+        ServerConnectorErrorHandler errorHandler = protocol == null ? DefaultServerConnectorErrorHandler.getInstance() :
+                BallerinaConnectorManager.getInstance().getServerConnectorErrorHandler(protocol)
+                        .orElseGet(DefaultServerConnectorErrorHandler::getInstance);
+        try {
+            errorHandler.handleError(new ServiceUnavailableException(message), cMsg, callback);
+        } catch (Exception e) {
+            log.warn("cannot reject the request using the error handler for : " + protocol + " : " + message);
+        }
+    }
+
+    // Services of different packages may have the same name, so the limits are kept per qualified service name.
+    private static String getServiceName(Service service) {
+        String pkgPath = service.getPackagePath();
+        String name = service.getSymbolName().getName();
+        return pkgPath == null || pkgPath.equals(".") ? name : pkgPath + "." + name;
+    }
+
+    private static String getListenerProperty(String listenerId, String name) {
+        String value = System.getProperty(Constants.SYS_PROP_ADMISSION_PREFIX + listenerId + "." + name);
+        return value != null ? value : System.getProperty(Constants.SYS_PROP_ADMISSION_PREFIX + name);
+    }
+
+    /**
+     * Admission state of a listener interface. All the fields are guarded by the queue itself, while the requests are
+     * dispatched and rejected outside the lock.
+     */
+    private static class ListenerQueue {
+
+        private final String listenerId;
+        private final RequestHandler requestHandler;
+        private final int maxQueuedRequests;
+        private final long queueTimeout;
+        private final long requestTimeout;
+        private final ConcurrencyLimit limit;
+        private final Deque<PendingRequest> pendingRequests = new ArrayDeque<>();
+        private int inFlightRequests;
+        // Scheduled check for the expiry of the request at the head of the queue, or null if the queue is empty.
+        private ScheduledFuture<?> expiryCheck;
+
+        ListenerQueue(String listenerId, RequestHandler requestHandler) {
+            this.listenerId = listenerId;
+            this.requestHandler = requestHandler;
+            String maxQueued = getListenerProperty(listenerId, Constants.ADMISSION_MAX_QUEUED_REQUESTS);
+            this.maxQueuedRequests = maxQueued != null ? Integer.parseInt(maxQueued) : DEFAULT_MAX_QUEUED_REQUESTS;
+            String timeout = getListenerProperty(listenerId, Constants.ADMISSION_QUEUE_TIMEOUT);
+            this.queueTimeout = TimeUnit.MILLISECONDS.toNanos(
+                    timeout != null ? Long.parseLong(timeout) : DEFAULT_QUEUE_TIMEOUT);
+            String requestTimeout = getListenerProperty(listenerId, Constants.ADMISSION_REQUEST_TIMEOUT);
+            this.requestTimeout = requestTimeout != null ? Long.parseLong(requestTimeout) : DEFAULT_REQUEST_TIMEOUT;
+            String maxConcurrent = getListenerProperty(listenerId, Constants.ADMISSION_MAX_CONCURRENT_REQUESTS);
+            int maxLimit;
+            if (maxConcurrent != null) {
+                maxLimit = Integer.parseInt(maxConcurrent);
+            } else if (ModeResolver.getInstance().isNonblockingEnabled()) {
+                // Suspended requests do not hold a worker thread in the non-blocking executor, but they still hold
+                // memory and connections, so their number is limited as well.
+                maxLimit = ThreadPoolFactory.getInstance().getWorkerCount() * NON_BLOCKING_REQUESTS_PER_WORKER;
+            } else {
+                maxLimit = ThreadPoolFactory.getInstance().getWorkerCount();
+            }
+            boolean adaptive = Boolean.parseBoolean(getListenerProperty(listenerId,
+                    Constants.ADMISSION_ADAPTIVE_LIMIT));
+            this.limit = new ConcurrencyLimit(maxLimit, adaptive);
+        }
+
+        void submit(CarbonMessage cMsg, CarbonCallback callback) {
+            long now = System.nanoTime();
+            List<PendingRequest> expiredRequests;
+            boolean admitted = false;
+            boolean queued = false;
+            synchronized (this) {
+                expiredRequests = removeExpiredRequests(now);
+                if (inFlightRequests < limit.get() && pendingRequests.isEmpty()) {
+                    inFlightRequests++;
+                    admitted = true;
+                } else if (pendingRequests.size() < maxQueuedRequests) {
+                    pendingRequests.add(new PendingRequest(cMsg, callback, now));
+                    queued = true;
+                    if (expiryCheck == null) {
+                        scheduleExpiryCheck(queueTimeout);
+                    }
+                }
+            }
+            rejectExpiredRequests(expiredRequests);
+            if (admitted) {
+                dispatch(cMsg, callback);
+            } else if (!queued) {
+                requestHandler.reject(cMsg, callback, "too many requests queued on listener interface : "
+                        + listenerId);
+            }
+        }
+
+        void release(long latency) {
+            List<PendingRequest> expiredRequests;
+            List<PendingRequest> admittedRequests = null;
+            synchronized (this) {
+                limit.update(latency, inFlightRequests);
+                inFlightRequests--;
+                expiredRequests = removeExpiredRequests(System.nanoTime());
+                while (inFlightRequests < limit.get() && !pendingRequests.isEmpty()) {
+                    if (admittedRequests == null) {
+                        admittedRequests = new ArrayList<>();
+                    }
+                    admittedRequests.add(pendingRequests.poll());
+                    inFlightRequests++;
+                }
+            }
+            rejectExpiredRequests(expiredRequests);
+            if (admittedRequests != null) {
+                admittedRequests.forEach(request -> dispatch(request.cMsg, request.callback));
+            }
+        }
+
+        // Queued requests are rejected once they time out, so that they do not hold their place in the queue until the
+        // next request arrives or completes.
+        private void expire() {
+            List<PendingRequest> expiredRequests;
+            synchronized (this) {
+                expiredRequests = removeExpiredRequests(System.nanoTime());
+                if (pendingRequests.isEmpty()) {
+                    expiryCheck = null;
+                } else {
+                    long deadline = pendingRequests.peek().queuedTime + queueTimeout;
+                    scheduleExpiryCheck(Math.max(0, deadline - System.nanoTime()) + 1);
+                }
+            }
+            rejectExpiredRequests(expiredRequests);
+        }
+
+        private void scheduleExpiryCheck(long delay) {
+            expiryCheck = TIMER.schedule(this::expire, delay, TimeUnit.NANOSECONDS);
+        }
+
+        private List<PendingRequest> removeExpiredRequests(long now) {
+            List<PendingRequest> expiredRequests = null;
+            // Requests are queued in arrival order, so the expired ones are at the head of the queue.
+            while (!pendingRequests.isEmpty() && now - pendingRequests.peek().queuedTime > queueTimeout) {
+                if (expiredRequests == null) {
+                    expiredRequests = new ArrayList<>();
+                }
+                expiredRequests.add(pendingRequests.poll());
+            }
+            return expiredRequests;
+        }
+
+        private void rejectExpiredRequests(List<PendingRequest> expiredRequests) {
+            if (expiredRequests == null) {
+                return;
+            }
+            for (PendingRequest request : expiredRequests) {
+                requestHandler.reject(request.cMsg, request.callback,
+                        "request timed out in the queue of listener interface : " + listenerId);
+            }
+        }
+
+        private void dispatch(CarbonMessage cMsg, CarbonCallback callback) {
+            Permit permit = new Permit(this, requestTimeout);
+            try {
+                requestHandler.dispatch(cMsg, callback, permit);
+            } catch (RejectedExecutionException e) {
+                permit.run();
+                requestHandler.reject(cMsg, callback, "cannot execute the request on listener interface : "
+                        + listenerId);
+            }
+        }
+    }
+
+    /**
+     * An inbound request waiting for a free slot of its listener interface.
+     */
+    private static class PendingRequest {
+
+        private final CarbonMessage cMsg;
+        private final CarbonCallback callback;
+        private final long queuedTime;
+
+        PendingRequest(CarbonMessage cMsg, CarbonCallback callback, long queuedTime) {
+            this.cMsg = cMsg;
+            this.callback = callback;
+            this.queuedTime = queuedTime;
+        }
+    }
+
+    /**
+     * A slot of the concurrency limit held by an executing request. The slot is released when the request is completed,
+     * or when the request timeout elapses, and the time it was held for is used as the latency sample of the adaptive
+     * limit.
+     */
+    private static class Permit implements Runnable {
+
+        private final ListenerQueue listenerQueue;
+        private final long admittedTime = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final ScheduledFuture<?> timeout;
+
+        Permit(ListenerQueue listenerQueue, long requestTimeout) {
+            this.listenerQueue = listenerQueue;
+            this.timeout = TIMER.schedule(this::timedOut, requestTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                timeout.cancel(false);
+                listenerQueue.release(System.nanoTime() - admittedTime);
+            }
+        }
+
+        private void timedOut() {
+            if (released.compareAndSet(false, true)) {
+                log.warn("request on listener interface : " + listenerQueue.listenerId + " did not complete within "
+                        + listenerQueue.requestTimeout + " milliseconds, releasing its slot");
+                listenerQueue.release(System.nanoTime() - admittedTime);
+            }
+        }
+    }
+
+    /**
+     * Executes admitted requests and rejects the others.
+     */
+    interface RequestHandler {
+
+        /**
+         * Execute an admitted request.
+         *
+         * @param cMsg           inbound request.
+         * @param callback       callback of the server connector.
+         * @param completionTask task which releases the slot of the request, to run once the request is completed.
+         * @throws RejectedExecutionException if the request can not be executed.
+         */
+        void dispatch(CarbonMessage cMsg, CarbonCallback callback, Runnable completionTask);
+
+        /**
+         * Reject a request without executing it.
+         *
+         * @param cMsg     inbound request.
+         * @param callback callback of the server connector.
+         * @param message  reason for the rejection.
+         */
+        void reject(CarbonMessage cMsg, CarbonCallback callback, String message);
+    }
+
+    /**
+     * Executes admitted requests on the shared worker pool, and rejects requests through the error handler of their
+     * protocol.
+     */
+    private static class WorkerPoolRequestHandler implements RequestHandler {
+
+        @Override
+        public void dispatch(CarbonMessage cMsg, CarbonCallback callback, Runnable completionTask) {
+            ThreadPoolFactory.getInstance().getExecutor().execute(new RequestWorkerThread(cMsg, callback,
+                    completionTask));
+        }
+
+        @Override
+        public void reject(CarbonMessage cMsg, CarbonCallback callback, String message) {
+            AdmissionController.reject(cMsg, callback, message);
+        }
+    }
+
+    /**
+     * Concurrency limit of a listener interface. A fixed limit stays at its maximum. An adaptive limit compares the
+     * short term average latency with the long term average latency: the limit grows while requests are not slower
+     * than usual, and shrinks in proportion to the latency increase when they are. Not thread safe.
+     */
+    private static class ConcurrencyLimit {
+
+        private static final int INITIAL_ADAPTIVE_LIMIT = 100;
+        private static final int MIN_ADAPTIVE_LIMIT = 4;
+        private static final double LATENCY_TOLERANCE = 1.5;
+        private static final double SHORT_TERM_WEIGHT = 0.1;
+        private static final double LONG_TERM_WEIGHT = 1.0 / 600;
+        private static final double SMOOTHING = 0.2;
+
+        private final int maxLimit;
+        private final int minLimit;
+        private final boolean adaptive;
+        private double limit;
+        private double shortTermLatency;
+        private double longTermLatency;
+
+        ConcurrencyLimit(int maxLimit, boolean adaptive) {
+            this.maxLimit = maxLimit;
+            this.minLimit = Math.min(MIN_ADAPTIVE_LIMIT, maxLimit);
+            this.adaptive = adaptive;
+            this.limit = adaptive ? Math.min(INITIAL_ADAPTIVE_LIMIT, maxLimit) : maxLimit;
+        }
+
+        int get() {
+            return (int) limit;
+        }
+
+        void update(long latency, int inFlightRequests) {
+            if (!adaptive) {
+                return;
+            }
+            if (longTermLatency == 0) {
+                shortTermLatency = latency;
+                longTermLatency = latency;
+            } else {
+                shortTermLatency += (latency - shortTermLatency) * SHORT_TERM_WEIGHT;
+                longTermLatency += (latency - longTermLatency) * LONG_TERM_WEIGHT;
+                if (longTermLatency > 2 * shortTermLatency) {
+                    // Let the long term latency recover quickly once a latency spike is over.
+                    longTermLatency *= 0.95;
+                }
+            }
+            if (inFlightRequests < limit / 2) {
+                // The limit was not reached, so the latency says nothing about a higher limit.
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, LATENCY_TOLERANCE * longTermLatency / shortTermLatency));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code Bulkhead} is a dedicated executor of a service, with its own number of threads and a bounded queue. Requests
+ * to a service with a bulkhead do not use the shared worker pool, so a slow service can not starve the other services
+ * of threads.
+ * <p>
+ * A request holds the admission slot of its listener until its response is completed. Non-blocking executions
+ * resume on the bulkhead after their actions complete, so the bulkhead bounds them as well.
+ * <p>
+ * Idle threads of a bulkhead are released after a minute.
+ *
+ * @since 0.8.2
+ */
+public class Bulkhead {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final String name;
+    private final int poolSize;
+    private final int queueSize;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder queueTime = new LongAdder();
+
+    public Bulkhead(String name, int poolSize, int queueSize) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.queueSize = queueSize;
+        BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue,
+                new BLangThreadFactory("BLangBulkhead-" + name));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Execute a task on this bulkhead.
+     *
+     * @param task task to execute.
+     * @return true, if the task is executed or queued. False, if the threads and the queue are full.
+     */
+    public boolean execute(Runnable task) {
+        long submittedTime = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueTime.add(System.nanoTime() - submittedTime);
+                try {
+                    task.run();
+                } finally {
+                    completedCount.increment();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Resume a non-blocking execution of this bulkhead's service after an action completed. A continuation is
+     * never dropped: if the threads and the queue are full, or the bulkhead is shut down, it is resumed on the shared
+     * worker pool instead.
+     *
+     * @param continuation task which continues the execution.
+     */
+    public void resume(Runnable continuation) {
+        try {
+            executor.execute(continuation);
+        } catch (RejectedExecutionException e) {
+            ThreadPoolFactory.getInstance().getExecutor().execute(continuation);
+        }
+    }
+
+    /**
+     * Stop accepting tasks. Already submitted tasks are still executed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return number of threads which are executing a task.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return number of tasks waiting for a thread.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return total time the completed and running tasks have waited for a thread, in milliseconds.
+     */
+    public long getQueueTime() {
+        return TimeUnit.NANOSECONDS.toMillis(queueTime.sum());
+    }
+}
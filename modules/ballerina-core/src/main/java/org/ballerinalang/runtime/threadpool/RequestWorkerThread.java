@@ -27,11 +27,18 @@ import org.wso2.carbon.messaging.CarbonMessage;
  */
 public class RequestWorkerThread extends WorkerThread {
 
+    private Runnable completionTask;
+
     public RequestWorkerThread(CarbonMessage cMsg, CarbonCallback callback) {
         super(cMsg, callback);
     }
 
+    public RequestWorkerThread(CarbonMessage cMsg, CarbonCallback callback, Runnable completionTask) {
+        super(cMsg, callback);
+        this.completionTask = completionTask;
+    }
+
     public void run() {
-        ServerConnectorMessageHandler.handleInbound(cMsg, callback);
+        ServerConnectorMessageHandler.handleInbound(cMsg, callback, completionTask);
     }
 }
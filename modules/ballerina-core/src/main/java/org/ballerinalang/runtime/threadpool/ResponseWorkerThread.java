@@ -44,6 +44,9 @@ public class ResponseWorkerThread extends WorkerThread {
         try {
             BException exception = null;
             try {
+                if (connectorCallback.getActionError() != null) {
+                    throw connectorCallback.getActionError();
+                }
                 connectorCallback.getActionNode().getCallableUnit().validate(connectorCallback);
             } catch (BallerinaException e) {
                 // Preserve original exception.
@@ -56,12 +59,15 @@ public class ResponseWorkerThread extends WorkerThread {
                 exception = new BException(e.getMessage());
             }
 
-            if (exception != null) {
-                // Pass this to catch statement.
-                executor.handleBException(exception);
-                executor.continueExecution();
-            } else {
-                executor.continueExecution(connectorCallback.getCurrentNode().next());
+            // Wait until the thread which invoked the action has left the executor
+            synchronized (executor) {
+                if (exception != null) {
+                    // Pass this to catch statement.
+                    executor.handleBException(exception);
+                    executor.continueExecution();
+                } else {
+                    executor.continueExecution(connectorCallback.getCurrentNode().next());
+                }
             }
         } catch (Throwable unhandled) {
             // Root level Error handler. we have to notify server connector.
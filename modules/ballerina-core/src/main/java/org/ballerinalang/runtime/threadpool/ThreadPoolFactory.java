@@ -18,6 +18,11 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.model.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -28,6 +33,8 @@ import java.util.concurrent.Executors;
  */
 public class ThreadPoolFactory {
 
+    private static final int WORKER_COUNT = 500;
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
     //TODO: Make the thread count configurable.
@@ -35,7 +42,10 @@ public class ThreadPoolFactory {
     // based on the environment and runtime status (CPU Usage, memory, etc).
     // A configuration parameter which is user configurable is also required.
     // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private ExecutorService executorService =  Executors.newFixedThreadPool(WORKER_COUNT,
+            new BLangThreadFactory("BLangWorker"));
+
+    private final Map<Service, Bulkhead> bulkheads = new ConcurrentHashMap<>();
 
     private ThreadPoolFactory(){};
 
@@ -47,4 +57,45 @@ public class ThreadPoolFactory {
         return executorService;
     }
 
+    public int getWorkerCount() {
+        return WORKER_COUNT;
+    }
+
+    /**
+     * Register the dedicated executor of a service.
+     *
+     * @param service  service which uses the bulkhead.
+     * @param bulkhead bulkhead of the service.
+     */
+    public void addBulkhead(Service service, Bulkhead bulkhead) {
+        Bulkhead previous = bulkheads.put(service, bulkhead);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * @param service service to look up.
+     * @return the bulkhead of the service, or null if the service uses the shared worker pool.
+     */
+    public Bulkhead getBulkhead(Service service) {
+        return bulkheads.get(service);
+    }
+
+    /**
+     * Remove and shutdown the bulkhead of a service, if it has one.
+     *
+     * @param service service which is undeployed.
+     */
+    public void removeBulkhead(Service service) {
+        Bulkhead bulkhead = bulkheads.remove(service);
+        if (bulkhead != null) {
+            bulkhead.shutdown();
+        }
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return bulkheads.values();
+    }
+
 }
@@ -105,7 +105,9 @@ public class ErrorHandlerUtils {
         StringBuilder sb = new StringBuilder();
         Stack<StackFrame> stack = controlStack.getStack();
 
-        if (throwable instanceof StackOverflowError) {
+        // A stack overflow in a function invocation is rethrown as a ballerina exception caused by it
+        if (throwable instanceof StackOverflowError
+                || (throwable != null && throwable.getCause() instanceof StackOverflowError)) {
             populateStackOverflowTrace(sb, stack, stackStartIndex);
         } else {
             for (int i = stack.size() - 1; i >= stackStartIndex; i--) {
@@ -19,8 +19,7 @@
 package org.ballerinalang.services;
 
 import org.ballerinalang.runtime.ServerConnectorMessageHandler;
-import org.ballerinalang.runtime.threadpool.RequestWorkerThread;
-import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.AdmissionController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonCallback;
@@ -44,7 +43,7 @@ public class MessageProcessor implements CarbonMessageProcessor {
             if (log.isDebugEnabled()) {
                 log.debug("ballerina received a request message");
             }
-            ThreadPoolFactory.getInstance().getExecutor().execute(new RequestWorkerThread(cMsg, carbonCallback));
+            AdmissionController.getInstance().submit(cMsg, carbonCallback);
         } else {
             ServerConnectorMessageHandler.handleOutbound(cMsg, carbonCallback);
         }
@@ -83,4 +83,9 @@ public class Constants {
     public static final String WEBSOCKET_SESSION = "WEBSOCKET_SESSION";
 
     public static final String ANNOTATION_SOURCE_KEY_INTERFACE = "interface";
+
+    /* Bulkhead annotation, e.g. @Bulkhead (poolSize = "20", queueSize = "100") */
+    public static final String ANNOTATION_NAME_BULKHEAD = "Bulkhead";
+    public static final String ANNOTATION_BULKHEAD_KEY_POOL_SIZE = "poolSize";
+    public static final String ANNOTATION_BULKHEAD_KEY_QUEUE_SIZE = "queueSize";
 }
@@ -34,6 +34,7 @@ import org.wso2.carbon.messaging.CarbonMessage;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Resource level dispatchers handler for HTTP protocol.
@@ -42,14 +43,21 @@ public class HTTPResourceDispatcher implements ResourceDispatcher {
 
     private static final Logger log = LoggerFactory.getLogger(HTTPResourceDispatcher.class);
 
+    private static final Map<String, URITemplate> URI_TEMPLATES = new ConcurrentHashMap<>();
+
     @Override
     public Resource findResource(Service service, CarbonMessage cMsg, CarbonCallback callback, Context balContext)
             throws BallerinaException {
 
         String method = (String) cMsg.getProperty(Constants.HTTP_METHOD);
         String subPath = (String) cMsg.getProperty(Constants.SUB_PATH);
+        //to enable dispatchers with query params products/{productId}?regID={regID}
+        //rawQueryStr is the encoded value of query params
+        String rawQueryStr = (String) cMsg.getProperty(Constants.RAW_QUERY_STR);
+        String requestPath = rawQueryStr != null ? subPath + "?" + rawQueryStr : subPath;
 
         try {
+            Map<String, String> resourceArgumentValues = new HashMap<>();
             for (Resource resource : service.getResources()) {
                 Annotation subPathAnnotation = resource.getAnnotation(Constants.PROTOCOL_HTTP,
                         Constants.ANNOTATION_NAME_PATH);
@@ -63,24 +71,17 @@ public class HTTPResourceDispatcher implements ResourceDispatcher {
                     subPathAnnotationVal = Constants.DEFAULT_SUB_PATH;
                 }
 
-                Map<String, String> resourceArgumentValues = new HashMap<>();
-                //to enable dispatchers with query params products/{productId}?regID={regID}
-                //queryStr is the encoded value of query params
-                String rawQueryStr = cMsg.getProperty(Constants.RAW_QUERY_STR) != null
-                                  ? "?" + cMsg.getProperty(Constants.RAW_QUERY_STR)
-                                  : "";
-                if ((matches(subPathAnnotationVal, (subPath + rawQueryStr), resourceArgumentValues) ||
+                if ((matches(subPathAnnotationVal, requestPath, resourceArgumentValues) ||
                         Constants.DEFAULT_SUB_PATH.equals(subPathAnnotationVal))
                         && (resource.getAnnotation(Constants.PROTOCOL_HTTP, method) != null)) {
 
-                    if (cMsg.getProperty(Constants.QUERY_STR) != null) {
-                        QueryParamProcessor.processQueryParams
-                                ((String) cMsg.getProperty(Constants.QUERY_STR))
-                                .forEach((resourceArgumentValues::put));
-                    }
-                    cMsg.setProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS, resourceArgumentValues);
+                    // Query parameters are decoded only when the resource looks them up.
+                    cMsg.setProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS, rawQueryStr != null
+                            ? QueryParamProcessor.withQueryParams(resourceArgumentValues, rawQueryStr)
+                            : resourceArgumentValues);
                     return resource;
                 }
+                resourceArgumentValues.clear();
             }
         } catch (Throwable e) {
             throw new BallerinaException(e.getMessage(), balContext);
@@ -92,9 +93,13 @@ public class HTTPResourceDispatcher implements ResourceDispatcher {
 
     public static boolean matches(String uriTemplate, String reqPath,
                                   Map<String, String> variables) throws URITemplateException {
-        URITemplate template = new URITemplate(uriTemplate);
+        // Parsed templates do not keep any state while matching, so they are shared between requests.
+        URITemplate template = URI_TEMPLATES.get(uriTemplate);
+        if (template == null) {
+            template = new URITemplate(uriTemplate);
+            URI_TEMPLATES.putIfAbsent(uriTemplate, template);
+        }
         return template.matches(reqPath, variables);
-
     }
 
     @Override
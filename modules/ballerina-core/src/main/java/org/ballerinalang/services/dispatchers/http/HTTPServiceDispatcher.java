@@ -28,7 +28,6 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 
-import java.net.URI;
 import java.util.Map;
 
 /**
@@ -51,15 +50,16 @@ public class HTTPServiceDispatcher implements ServiceDispatcher {
                 throw new BallerinaException("No services found for interface : " + interfaceId);
             }
             String uriStr = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.TO);
-            //replace multiple slashes from single slash if exist in request path to enable
-            // dispatchers when request path contains multiple slashes
-            URI requestUri = URI.create(uriStr.replaceAll("//+", Constants.DEFAULT_BASE_PATH));
-            if (requestUri == null) {
+            if (uriStr == null) {
                 throw new BallerinaException("uri not found in the message or found an invalid URI.");
             }
+            // Multiple slashes in the request path are collapsed, to enable dispatching such requests
+            int pathEnd = URIUtil.getPathEnd(uriStr);
+            String path = URIUtil.getPath(uriStr, pathEnd);
+            String rawQuery = URIUtil.getRawQuery(uriStr, pathEnd);
 
-            String basePath = URIUtil.getFirstPathSegment(requestUri.getPath());
-            String subPath = URIUtil.getSubPath(requestUri.getPath());
+            String basePath = URIUtil.getFirstPathSegment(path);
+            String subPath = URIUtil.getSubPath(path);
 
             // Most of the time we will find service from here
             Service service = servicesOnInterface.get(Constants.DEFAULT_BASE_PATH + basePath);
@@ -76,9 +76,9 @@ public class HTTPServiceDispatcher implements ServiceDispatcher {
 
             cMsg.setProperty(Constants.BASE_PATH, basePath);
             cMsg.setProperty(Constants.SUB_PATH, subPath);
-            cMsg.setProperty(Constants.QUERY_STR, requestUri.getQuery());
+            cMsg.setProperty(Constants.QUERY_STR, rawQuery != null ? URIUtil.decode(rawQuery) : null);
             //store query params comes with request as it is
-            cMsg.setProperty(Constants.RAW_QUERY_STR, requestUri.getRawQuery());
+            cMsg.setProperty(Constants.RAW_QUERY_STR, rawQuery);
 
             return service;
         } catch (Throwable e) {
@@ -23,6 +23,8 @@ import org.ballerinalang.model.Annotation;
 import org.ballerinalang.model.Service;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,6 +85,7 @@ public class HTTPServicesRegistry {
         }
         String listenerInterface = Constants.DEFAULT_INTERFACE;
         String basePath = service.getSymbolName().getName();
+        Bulkhead bulkhead = null;
         for (Annotation annotation : service.getAnnotations()) {
             if (annotation.getName().equals(Constants.ANNOTATION_NAME_SOURCE)) {
                 String sourceInterfaceVal = annotation
@@ -93,6 +96,8 @@ public class HTTPServicesRegistry {
             } else if (annotation.getName().equals(
                     Constants.PROTOCOL_HTTP + ":" + Constants.ANNOTATION_NAME_BASE_PATH)) {
                 basePath = annotation.getValue();
+            } else if (annotation.getName().equals(Constants.ANNOTATION_NAME_BULKHEAD)) {
+                bulkhead = createBulkhead(service, annotation);
             }
         }
 
@@ -120,6 +125,9 @@ public class HTTPServicesRegistry {
         }
 
         servicesOnInterface.put(basePath, service);
+        if (bulkhead != null) {
+            ThreadPoolFactory.getInstance().addBulkhead(service, bulkhead);
+        }
 
         logger.info("Service deployed : " +
                          (service.getSymbolName().getPkgPath() != null ?
@@ -155,6 +163,7 @@ public class HTTPServicesRegistry {
             basePath = Constants.DEFAULT_BASE_PATH.concat(basePath);
         }
 
+        ThreadPoolFactory.getInstance().removeBulkhead(service);
         Map<String, Service> servicesOnInterface = servicesMap.get(listenerInterface);
         if (servicesOnInterface != null) {
             servicesOnInterface.remove(basePath);
@@ -174,6 +183,34 @@ public class HTTPServicesRegistry {
         }
     }
 
+    /**
+     * Create the dedicated executor declared with the bulkhead annotation of a service.
+     *
+     * @param service    service with the annotation.
+     * @param annotation bulkhead annotation.
+     * @return bulkhead of the service.
+     */
+    private Bulkhead createBulkhead(Service service, Annotation annotation) {
+        String poolSize = annotation.getValueOfElementPair(new SymbolName(Constants.ANNOTATION_BULKHEAD_KEY_POOL_SIZE));
+        String queueSize = annotation.getValueOfElementPair(
+                new SymbolName(Constants.ANNOTATION_BULKHEAD_KEY_QUEUE_SIZE));
+        if (poolSize == null) {
+            throw new BallerinaException("pool size not defined in the bulkhead of service : " +
+                    service.getSymbolName().getName());
+        }
+        try {
+            int threads = Integer.parseInt(poolSize);
+            int queueCapacity = queueSize != null ? Integer.parseInt(queueSize) : 0;
+            if (threads < 1 || queueCapacity < 0) {
+                throw new NumberFormatException();
+            }
+            return new Bulkhead(service.getSymbolName().getName(), threads, queueCapacity);
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("invalid pool size or queue size in the bulkhead of service : " +
+                    service.getSymbolName().getName());
+        }
+    }
+
     /**
      * Indicate the service exists already.
      * @param service requested service to check.
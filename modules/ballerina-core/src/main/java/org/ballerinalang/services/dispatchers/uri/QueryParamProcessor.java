@@ -18,10 +18,15 @@
 
 package org.ballerinalang.services.dispatchers.uri;
 
+import org.ballerinalang.util.exceptions.BallerinaException;
+
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Query parameter related operations.
@@ -32,16 +37,125 @@ public class QueryParamProcessor {
 
     public static Map<String, String> processQueryParams(String queryStr) throws UnsupportedEncodingException {
         Map<String, String> queryParams = new HashMap<>();
-        String[] entries = queryStr.split("&");
-        for (String entry : entries) {
-            int index = entry.indexOf('=');
-            if (index != -1) {
-                String name = entry.substring(0, index);
-                String value = URLDecoder.decode(entry.substring(index + 1),
-                        ENCODING);
+        int length = queryStr.length();
+        int start = 0;
+        while (start < length) {
+            int end = queryStr.indexOf('&', start);
+            if (end == -1) {
+                end = length;
+            }
+            int index = queryStr.indexOf('=', start);
+            if (index != -1 && index < end) {
+                String name = decodeName(queryStr.substring(start, index));
+                String value = URLDecoder.decode(queryStr.substring(index + 1, end), ENCODING);
                 queryParams.put(name, value);
             }
+            start = end + 1;
         }
         return queryParams;
     }
+
+    /**
+     * Get the decoded value of a query parameter, without decoding the other parameters of the query.
+     *
+     * @param queryStr raw query string.
+     * @param name     name of the parameter.
+     * @return value of the last occurrence of the parameter, or null if the query does not have the parameter.
+     * @throws UnsupportedEncodingException if the encoding is not supported.
+     */
+    public static String getQueryParam(String queryStr, String name) throws UnsupportedEncodingException {
+        String value = null;
+        int length = queryStr.length();
+        int start = 0;
+        while (start < length) {
+            int end = queryStr.indexOf('&', start);
+            if (end == -1) {
+                end = length;
+            }
+            int index = queryStr.indexOf('=', start);
+            if (index != -1 && index < end && isName(queryStr, start, index, name)) {
+                value = URLDecoder.decode(queryStr.substring(index + 1, end), ENCODING);
+            }
+            start = end + 1;
+        }
+        return value;
+    }
+
+    /**
+     * Combine the variables of a resource with the query parameters of the request, which are decoded when they
+     * are first looked up. Query parameters take precedence over variables of the same name.
+     *
+     * @param variables variables extracted from the request URI.
+     * @param queryStr  raw query string.
+     * @return resource argument values.
+     */
+    public static Map<String, String> withQueryParams(Map<String, String> variables, String queryStr) {
+        return new QueryParamMap(variables, queryStr);
+    }
+
+    private static boolean isName(String queryStr, int start, int end, String name)
+            throws UnsupportedEncodingException {
+        for (int i = start; i < end; i++) {
+            char ch = queryStr.charAt(i);
+            if (ch == '%' || ch == '+') {
+                return name.equals(decodeName(queryStr.substring(start, end)));
+            }
+        }
+        return end - start == name.length() && queryStr.regionMatches(start, name, 0, name.length());
+    }
+
+    private static String decodeName(String name) throws UnsupportedEncodingException {
+        if (name.indexOf('%') == -1 && name.indexOf('+') == -1) {
+            return name;
+        }
+        return URLDecoder.decode(name, ENCODING);
+    }
+
+    private static class QueryParamMap extends AbstractMap<String, String> {
+
+        private final Map<String, String> variables;
+        private final String queryStr;
+        private final Map<String, String> queryParams = new HashMap<>();
+
+        QueryParamMap(Map<String, String> variables, String queryStr) {
+            this.variables = variables;
+            this.queryStr = queryStr;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            String name = (String) key;
+            String value;
+            if (queryParams.containsKey(name)) {
+                value = queryParams.get(name);
+            } else {
+                try {
+                    value = getQueryParam(queryStr, name);
+                } catch (UnsupportedEncodingException e) {
+                    throw new BallerinaException("cannot decode the query parameter: " + e.getMessage());
+                }
+                queryParams.put(name, value);
+            }
+            return value != null ? value : variables.get(name);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null || variables.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Map<String, String> values = new HashMap<>(variables);
+            try {
+                values.putAll(processQueryParams(queryStr));
+            } catch (UnsupportedEncodingException e) {
+                throw new BallerinaException("cannot decode the query parameters: " + e.getMessage());
+            }
+            return Collections.unmodifiableMap(values).entrySet();
+        }
+    }
 }
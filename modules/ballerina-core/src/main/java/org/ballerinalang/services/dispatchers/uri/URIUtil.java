@@ -18,6 +18,8 @@
 
 package org.ballerinalang.services.dispatchers.uri;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Utilities related to URI processing.
@@ -27,27 +29,143 @@ public class URIUtil {
     public static final String URI_PATH_DELIMITER = "/";
 
     public static String getFirstPathSegment(String path) {
-        if (!path.startsWith(URI_PATH_DELIMITER)) {
-            path = URI_PATH_DELIMITER.concat(path);
+        int start = path.startsWith(URI_PATH_DELIMITER) ? 1 : 0;
+        if (start == path.length()) {
+            return URI_PATH_DELIMITER;
         }
+        int end = path.indexOf('/', start);
+        return path.substring(start, end == -1 ? path.length() : end);
+    }
 
-        String[] pathSegs = path.split(URI_PATH_DELIMITER);
-        if (pathSegs.length > 1) {
-            return pathSegs[1];
+    public static String getSubPath(String path) {
+        int start = path.startsWith(URI_PATH_DELIMITER) ? 1 : 0;
+        int index = path.indexOf('/', start);
+        if (index != -1) {
+            return path.substring(index);
         }
         return URI_PATH_DELIMITER;
     }
 
-    public static   String getSubPath(String path) {
-        if (path.startsWith(URI_PATH_DELIMITER)) {
-            path = path.replaceFirst(URI_PATH_DELIMITER, "");
+    /**
+     * Get the index at which the path of a request target ends, which is the index of the query or fragment
+     * delimiter, or the length of the request target.
+     *
+     * @param requestTarget request target.
+     * @return end index of the path.
+     */
+    public static int getPathEnd(String requestTarget) {
+        int length = requestTarget.length();
+        for (int i = 0; i < length; i++) {
+            char ch = requestTarget.charAt(i);
+            if (ch == '?' || ch == '#') {
+                return i;
+            }
         }
+        return length;
+    }
 
-        int index = path.indexOf(URI_PATH_DELIMITER);
-        if (index != -1) {
-            return path.substring(index, path.length());
+    /**
+     * Get the path of a request target, with consecutive slashes collapsed and percent-encoded octets decoded. The
+     * request target itself is returned when it consists of a path which needs neither.
+     *
+     * @param requestTarget request target in origin or absolute form.
+     * @param pathEnd       end index of the path, as returned by {@link #getPathEnd(String)}.
+     * @return decoded path.
+     */
+    public static String getPath(String requestTarget, int pathEnd) {
+        int start = 0;
+        if (!requestTarget.startsWith(URI_PATH_DELIMITER)) {
+            int authorityStart = requestTarget.indexOf("://");
+            if (authorityStart != -1 && authorityStart < pathEnd) {
+                start = requestTarget.indexOf('/', authorityStart + 3);
+                if (start == -1 || start > pathEnd) {
+                    return "";
+                }
+            }
+        }
+
+        boolean collapse = false;
+        boolean decode = false;
+        for (int i = start; i < pathEnd; i++) {
+            char ch = requestTarget.charAt(i);
+            if (ch == '%') {
+                decode = true;
+            } else if (ch == '/' && i + 1 < pathEnd && requestTarget.charAt(i + 1) == '/') {
+                collapse = true;
+            }
         }
-        return URI_PATH_DELIMITER;
 
+        String path = requestTarget.substring(start, pathEnd);
+        if (collapse) {
+            // Collapse consecutive slashes, so that services can be dispatched when the request path has them.
+            StringBuilder builder = new StringBuilder(path.length());
+            for (int i = 0; i < path.length(); i++) {
+                char ch = path.charAt(i);
+                if (ch != '/' || builder.length() == 0 || builder.charAt(builder.length() - 1) != '/') {
+                    builder.append(ch);
+                }
+            }
+            path = builder.toString();
+        }
+        return decode ? decode(path) : path;
+    }
+
+    /**
+     * Get the undecoded query of a request target.
+     *
+     * @param requestTarget request target.
+     * @param pathEnd       end index of the path, as returned by {@link #getPathEnd(String)}.
+     * @return raw query, or null if the request target does not have a query.
+     */
+    public static String getRawQuery(String requestTarget, int pathEnd) {
+        if (pathEnd == requestTarget.length() || requestTarget.charAt(pathEnd) != '?') {
+            return null;
+        }
+        int fragmentStart = requestTarget.indexOf('#', pathEnd);
+        return requestTarget.substring(pathEnd + 1, fragmentStart == -1 ? requestTarget.length() : fragmentStart);
+    }
+
+    /**
+     * Decode the percent-encoded UTF-8 octets of a URI component. Unlike form decoding, '+' is not decoded.
+     *
+     * @param value URI component.
+     * @return decoded value, which is the given value itself if it does not have encoded octets.
+     */
+    public static String decode(String value) {
+        int index = value.indexOf('%');
+        if (index == -1) {
+            return value;
+        }
+        ByteArrayOutputStream octets = new ByteArrayOutputStream(value.length());
+        byte[] prefix = value.substring(0, index).getBytes(StandardCharsets.UTF_8);
+        octets.write(prefix, 0, prefix.length);
+        int length = value.length();
+        while (index < length) {
+            char ch = value.charAt(index);
+            if (ch == '%') {
+                if (index + 2 >= length) {
+                    throw new IllegalArgumentException("Malformed escape pair at index " + index + ": " + value);
+                }
+                int high = Character.digit(value.charAt(index + 1), 16);
+                int low = Character.digit(value.charAt(index + 2), 16);
+                if (high == -1 || low == -1) {
+                    throw new IllegalArgumentException("Malformed escape pair at index " + index + ": " + value);
+                }
+                octets.write((high << 4) + low);
+                index += 3;
+            } else if (ch < 0x80) {
+                octets.write(ch);
+                index++;
+            } else {
+                int end = index + 1;
+                while (end < length && value.charAt(end) != '%' && value.charAt(end) >= 0x80) {
+                    end++;
+                }
+                byte[] bytes = value.substring(index, end).getBytes(StandardCharsets.UTF_8);
+                octets.write(bytes, 0, bytes.length);
+                index = end;
+            }
+        }
+        return new String(octets.toByteArray(), StandardCharsets.UTF_8);
     }
 }
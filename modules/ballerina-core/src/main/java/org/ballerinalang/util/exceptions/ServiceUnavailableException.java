@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.exceptions;
+
+/**
+ * Class to represent requests which are rejected without being executed, because the runtime is overloaded.
+ * Server connector error handlers report these with a protocol specific status, such as 503 for HTTP.
+ *
+ * @since 0.8.2
+ */
+public class ServiceUnavailableException extends BallerinaException {
+
+    /**
+     * Constructs a new {@link ServiceUnavailableException} with the specified detail message.
+     *
+     * @param message Error Message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1018,10 +1018,20 @@ public class BLangAntlr4Listener implements BallerinaListener {
 
     @Override
     public void enterIterateStatement(BallerinaParser.IterateStatementContext ctx) {
+        if (ctx.exception != null) {
+            return;
+        }
+
+        modelBuilder.startForeachStmt(getCurrentLocation(ctx));
     }
 
     @Override
     public void exitIterateStatement(BallerinaParser.IterateStatementContext ctx) {
+        if (ctx.exception != null) {
+            return;
+        }
+
+        modelBuilder.createForeachStmt(getCurrentLocation(ctx), ctx.Identifier().getText());
     }
 
     @Override
@@ -18,39 +18,113 @@
 package org.ballerinalang.util.program;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BallerinaFile;
 import org.ballerinalang.model.builder.BLangModelBuilder;
+import org.ballerinalang.model.builder.ModelBuilderEvents;
+import org.ballerinalang.model.builder.RecordingModelBuilder;
 import org.ballerinalang.util.exceptions.ParserException;
 import org.ballerinalang.util.parser.BallerinaLexer;
 import org.ballerinalang.util.parser.BallerinaParser;
 import org.ballerinalang.util.parser.BallerinaParserErrorStrategy;
 import org.ballerinalang.util.parser.antlr4.BLangAntlr4Listener;
+import org.ballerinalang.util.repository.ProgramImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.Supplier;
 
 /**
  *
  */
 public class BLangFiles {
 
+    private static final Logger log = LoggerFactory.getLogger(BLangFiles.class);
+
+    /**
+     * Load a source file, replaying its entry of the given program image instead of parsing it, if the entry was
+     * recorded from the same source.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param inputStream    content of the source file
+     * @param packageBuilder builder of the package of the source file
+     * @param programImage   program image of the repository of the package, or null
+     * @return model of the source file
+     */
     public static BallerinaFile loadFile(String sourceFileName,
                                          Path packagePath,
                                          InputStream inputStream,
-                                         BLangPackage.PackageBuilder packageBuilder) {
+                                         BLangPackage.PackageBuilder packageBuilder,
+                                         ProgramImage programImage) {
+        ProgramImage.Entry imageEntry = programImage == null ? null :
+                programImage.getEntry(packagePath, sourceFileName);
+        if (imageEntry == null) {
+            return loadFile(sourceFileName, packagePath, inputStream, packageBuilder);
+        }
 
-        Path sourceFilePath;
-        if (packagePath == null || packagePath.toString().equals(".")) {
-            sourceFilePath = Paths.get(sourceFileName);
-        } else {
-            sourceFilePath = packagePath.resolve(sourceFileName);
+        byte[] source = readSource(sourceFileName, packagePath, inputStream);
+        if (!imageEntry.matches(source)) {
+            // The source was changed after the image was created.
+            return loadFile(sourceFileName, packagePath, new ByteArrayInputStream(source), packageBuilder);
         }
+        BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
+        try {
+            ModelBuilderEvents.replay(imageEntry.getEvents(), bLangModelBuilder);
+            return bLangModelBuilder.build();
+        } catch (RuntimeException e) {
+            // The parse starts with a new model builder, as in the fallback from SLL to LL prediction. Parsing
+            // reports the errors of the source itself, if there are any.
+            log.warn("error replaying the program image entry of '" +
+                    getSourceFilePath(sourceFileName, packagePath) + "', parsing the source: " + e.getMessage());
+            return loadFile(sourceFileName, packagePath, new ByteArrayInputStream(source), packageBuilder);
+        }
+    }
+
+    /**
+     * Parse a source file, recording the parsed model as {@link ModelBuilderEvents} for a program image.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param source         content of the source file
+     * @param packageBuilder builder of the package of the source file
+     * @return image entry of the source file
+     */
+    public static ProgramImage.Entry recordFile(String sourceFileName,
+                                                Path packagePath,
+                                                byte[] source,
+                                                BLangPackage.PackageBuilder packageBuilder) {
+        RecordingModelBuilder recordingModelBuilder = parse(sourceFileName, packagePath,
+                new ByteArrayInputStream(source), () -> new RecordingModelBuilder(packageBuilder, sourceFileName));
+        recordingModelBuilder.build();
+        return new ProgramImage.Entry(ProgramImage.getChecksum(source), recordingModelBuilder.getEvents());
+    }
+
+    public static BallerinaFile loadFile(String sourceFileName,
+                                         Path packagePath,
+                                         InputStream inputStream,
+                                         BLangPackage.PackageBuilder packageBuilder) {
+        BLangModelBuilder bLangModelBuilder = parse(sourceFileName, packagePath, inputStream,
+                () -> new BLangModelBuilder(packageBuilder, sourceFileName));
+        return bLangModelBuilder.build();
+    }
 
+    private static <T extends BLangModelBuilder> T parse(String sourceFileName,
+                                                         Path packagePath,
+                                                         InputStream inputStream,
+                                                         Supplier<T> modelBuilderSupplier) {
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        long startTime = System.nanoTime();
         try {
             ANTLRInputStream antlrInputStream = new ANTLRInputStream(inputStream);
 
@@ -61,14 +135,31 @@ public class BLangFiles {
             BallerinaLexer ballerinaLexer = new BallerinaLexer(antlrInputStream);
             CommonTokenStream ballerinaToken = new CommonTokenStream(ballerinaLexer);
 
-            BallerinaParser ballerinaParser = new BallerinaParser(ballerinaToken);
-            ballerinaParser.setErrorHandler(new BallerinaParserErrorStrategy());
+            // Parse with the faster SLL prediction first, which bails out on the first syntax error. SLL fails only
+            // on invalid input, or on input which needs the full parser context to predict, so in both cases the
+            // file is parsed again with full LL prediction, which also reports the syntax errors.
+            T bLangModelBuilder = modelBuilderSupplier.get();
+            BallerinaParser ballerinaParser = createParser(ballerinaToken, bLangModelBuilder, sourceFilePath);
+            ballerinaParser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            ballerinaParser.removeErrorListeners();
+            ballerinaParser.setErrorHandler(new BailErrorStrategy());
+            try {
+                ballerinaParser.compilationUnit();
+                ParserMetrics.getInstance().sllParsed(sourceFilePath, System.nanoTime() - startTime);
+                return bLangModelBuilder;
+            } catch (ParseCancellationException e) {
+                // The model built so far may be incomplete, so the LL parse starts with a new model builder. Errors
+                // of the model builder are not caused by the prediction mode, so they are not caught here.
+            }
 
-            BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
-            BLangAntlr4Listener antlr4Listener = new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath);
-            ballerinaParser.addParseListener(antlr4Listener);
+            ballerinaToken.seek(0);
+            bLangModelBuilder = modelBuilderSupplier.get();
+            ballerinaParser = createParser(ballerinaToken, bLangModelBuilder, sourceFilePath);
+            ballerinaParser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            ballerinaParser.setErrorHandler(new BallerinaParserErrorStrategy());
             ballerinaParser.compilationUnit();
-            return bLangModelBuilder.build();
+            ParserMetrics.getInstance().llParsed(sourceFilePath, System.nanoTime() - startTime);
+            return bLangModelBuilder;
 
         } catch (IOException e) {
             throw new IllegalStateException("error in reading source file '" +
@@ -78,4 +169,37 @@ public class BLangFiles {
             throw new ParserException(e.getMessage(), e);
         }
     }
+
+    private static BallerinaParser createParser(CommonTokenStream ballerinaToken,
+                                                BLangModelBuilder bLangModelBuilder,
+                                                Path sourceFilePath) {
+        // All the parsers share the DFA cache of the generated parser, so the predictions learned while parsing a
+        // file are reused for the other files
+        BallerinaParser ballerinaParser = new BallerinaParser(ballerinaToken);
+        BLangAntlr4Listener antlr4Listener = new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath);
+        ballerinaParser.addParseListener(antlr4Listener);
+        return ballerinaParser;
+    }
+
+    private static Path getSourceFilePath(String sourceFileName, Path packagePath) {
+        if (packagePath == null || packagePath.toString().equals(".")) {
+            return Paths.get(sourceFileName);
+        }
+        return packagePath.resolve(sourceFileName);
+    }
+
+    private static byte[] readSource(String sourceFileName, Path packagePath, InputStream inputStream) {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("error in reading source file '" +
+                    getSourceFilePath(sourceFileName, packagePath) + "': " + e.getMessage());
+        }
+    }
 }
@@ -48,6 +48,9 @@ import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.concurrent.CountDownLatch;
 
 /**
  * This class contains helper methods to invoke Ballerina functions.
@@ -151,9 +154,17 @@ public class BLangFunctions {
             StackFrame stackFrame = new StackFrame(argValues, new BValue[0], cacheValues, functionInfo);
             bContext.getControlStack().pushFrame(stackFrame);
 
-            // Invoke main function
+            // Invoke main function. The function completes on another thread if it invokes a non-blocking action.
+            CountDownLatch completion = new CountDownLatch(1);
+            bContext.addCompletionTask(completion::countDown);
             BLangNonBlockingExecutor nonBlockingExecutor = new BLangNonBlockingExecutor(runtimeEnv, bContext);
             nonBlockingExecutor.execute(funcIExpr);
+            try {
+                completion.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BallerinaException("interrupted while waiting for function '" + functionName + "'");
+            }
             int length = funcIExpr.getCallableUnit().getReturnParameters().length;
             BValue[] result = new BValue[length];
             for (int i = 0; i < length; i++) {
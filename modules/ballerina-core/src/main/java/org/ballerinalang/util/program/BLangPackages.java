@@ -15,65 +15,133 @@
 *  specific language governing permissions and limitations
 *  under the License.
 */
-
 package org.ballerinalang.util.program;
 
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BLangProgram;
 import org.ballerinalang.model.BallerinaFile;
+import org.ballerinalang.model.GlobalScope;
 import org.ballerinalang.model.ImportPackage;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.natives.NativePackageProxy;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.repository.PackageRepository;
+import org.ballerinalang.util.repository.ProgramImage;
+import org.ballerinalang.util.semantics.SemanticAnalyzer;
 
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.function.Supplier;
 
 /**
  * This class contains a set of static methods to operate on {@code BLangPackage} objects. This class contains methods
  * to load packages or files from the given package repository.
+ * <p>
+ * A package is loaded in two phases. First the package and all the packages it imports are parsed concurrently on the
+ * common fork-join pool, each source file in its own task. Then the import graph is linked on the calling thread, in
+ * the same depth-first order as the packages are imported, so that the errors are reported in a deterministic order.
+ * <p>
+ * Built-in packages are parsed and analyzed once per runtime, in a program of their own, and the analyzed packages are
+ * shared by all the programs which import them. Built-in packages do not depend on the program which imports them, as
+ * their enclosing scope is the global scope. Constants of built-in packages are not supported, since they would be
+ * stored in the static memory of the program which analyzed them.
  *
  * @since 0.8.0
  */
 public class BLangPackages {
 
+    // Analyzed built-in packages, by the proxies of the packages in the global scope
+    private static final Map<NativePackageProxy, BLangPackage> builtinPackages = new ConcurrentHashMap<>();
+
     public static BLangPackage loadPackage(Path packagePath,
                                            PackageRepository packageRepo,
                                            BLangProgram bLangProgram) {
-        return loadPackage(packagePath, packageRepo, bLangProgram, new LinkedHashSet<>());
+        return loadPackage(packagePath, packageRepo, bLangProgram, false);
     }
 
-    private static BLangPackage loadPackage(Path packagePath,
-                                            PackageRepository packageRepo,
-                                            BLangProgram bLangProgram,
-                                            LinkedHashSet<SymbolName> currentDepPath) {
-
-        // Load package details (input streams of source files) from the given package repository
-        PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
-        if (pkgSource.getSourceFileStreamMap().isEmpty()) {
-            throw new RuntimeException("no bal files in the package: " + packagePath.toString());
-        }
+    /**
+     * Load a package and the packages it imports into a program.
+     *
+     * @param packagePath           path of the package
+     * @param packageRepo           repository of the package
+     * @param bLangProgram          program to load the package into
+     * @param shareBuiltinPackages  true, if the imported built-in packages are the analyzed packages shared by all the
+     *                              programs. False, if they are parsed for this program and analyzed with it
+     * @return loaded package
+     */
+    public static BLangPackage loadPackage(Path packagePath,
+                                           PackageRepository packageRepo,
+                                           BLangProgram bLangProgram,
+                                           boolean shareBuiltinPackages) {
+        PackageLoader packageLoader = new PackageLoader(bLangProgram, shareBuiltinPackages);
+        return packageLoader.load(packageLoader.parsePackage(packagePath, packageRepo));
+    }
 
-        String pkgPathStr = getPackagePathFromPath(packagePath);
-        BLangPackage.PackageBuilder packageBuilder =
-                new BLangPackage.PackageBuilder(pkgPathStr, pkgSource.getPackageRepository(), bLangProgram);
+    public static BLangPackage loadFile(Path filePath, PackageRepository packageRepo, BLangProgram bLangProgram) {
+        return loadFile(filePath, packageRepo, bLangProgram, false);
+    }
 
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+    /**
+     * Load a source file and the packages it imports into a program.
+     *
+     * @param filePath              path of the source file
+     * @param packageRepo           repository of the source file
+     * @param bLangProgram          program to load the source file into
+     * @param shareBuiltinPackages  true, if the imported built-in packages are the analyzed packages shared by all the
+     *                              programs. False, if they are parsed for this program and analyzed with it
+     * @return loaded package of the source file
+     */
+    public static BLangPackage loadFile(Path filePath,
+                                        PackageRepository packageRepo,
+                                        BLangProgram bLangProgram,
+                                        boolean shareBuiltinPackages) {
+        PackageLoader packageLoader = new PackageLoader(bLangProgram, shareBuiltinPackages);
+        return packageLoader.load(packageLoader.parseFile(filePath, packageRepo));
     }
 
-    public static BLangPackage loadFile(Path filePath, PackageRepository packageRepo, BLangProgram bLangProgram) {
-        PackageRepository.PackageSource pkgSource = packageRepo.loadFile(filePath);
-        BLangPackage.PackageBuilder packageBuilder =
-                new BLangPackage.PackageBuilder(".", pkgSource.getPackageRepository(), bLangProgram);
+    /**
+     * Get the analyzed form of a built-in package, loading and analyzing it with the built-in packages it imports if
+     * it is not loaded yet. Loading is serialized, so each built-in package is parsed once per runtime. The lock is
+     * only taken on the linking threads, never while parsing, so the parsing tasks of a loading thread can not wait
+     * for it.
+     *
+     * @param packageProxy proxy of the built-in package in the global scope
+     * @param packagePath  path of the built-in package
+     * @return analyzed built-in package
+     */
+    private static synchronized BLangPackage getBuiltinPackage(NativePackageProxy packageProxy, Path packagePath) {
+        BLangPackage builtinPackage = builtinPackages.get(packageProxy);
+        if (builtinPackage != null) {
+            return builtinPackage;
+        }
+
+        BLangProgram builtinProgram = new BLangProgram(GlobalScope.getInstance(),
+                BLangProgram.Category.LIBRARY_PROGRAM);
+        PackageLoader packageLoader = new PackageLoader(builtinProgram, true, true);
+        builtinPackage = packageLoader.load(packageLoader.parseNativePackage(packageProxy, packagePath));
+        builtinProgram.addLibraryPackage(builtinPackage);
+        builtinProgram.define(new SymbolName(builtinPackage.getPackagePath()), builtinPackage);
+        builtinProgram.accept(new SemanticAnalyzer(builtinProgram));
 
-        LinkedHashSet<SymbolName> currentDepPath = new LinkedHashSet<>();
-        // Resolve dependent packages of this package
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+        // The built-in packages imported by the package are analyzed with it
+        for (Map.Entry<NativePackageProxy, CompletableFuture<BLangPackage>> entry :
+                packageLoader.nativePackages.entrySet()) {
+            builtinPackages.put(entry.getKey(), entry.getValue().join());
+        }
+        builtinPackages.put(packageProxy, builtinPackage);
+        return builtinPackage;
     }
 
     public static Path getPathFromPackagePath(String packagePath) {
@@ -100,34 +168,6 @@ public class BLangPackages {
         return strBuilder.toString();
     }
 
-    private static BLangPackage loadPackageInternal(PackageRepository.PackageSource pkgSource,
-                                                    BLangPackage.PackageBuilder packageBuilder,
-                                                    BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
-
-        Path packagePath = pkgSource.getPackagePath();
-        String pkgPathStr = getPackagePathFromPath(packagePath);
-        packageBuilder.setBallerinaFileList(pkgSource.getSourceFileStreamMap().entrySet()
-                .stream()
-                .map(entry -> BLangFiles.loadFile(entry.getKey(), packagePath, entry.getValue(), packageBuilder))
-                .peek(bFile -> validatePackagePathInFile(pkgPathStr, packagePath, bFile))
-                .collect(Collectors.toList()));
-
-        BLangPackage bLangPackage = packageBuilder.build();
-        // Check for a dependency cycle
-        if (currentDepPath.contains(bLangPackage.getSymbolName())) {
-            throw new BallerinaException("dependency cycle detected: " +
-                    generateDepCycleString(currentDepPath, bLangPackage));
-        }
-        // Mark the node in the current path
-        currentDepPath.add(bLangPackage.getSymbolName());
-        // Resolve dependent packages of this package
-        BLangPackage result = resolveDependencies(bLangPackage, bLangProgram, currentDepPath);
-        // Remove the node marking from the current path
-        currentDepPath.remove(bLangPackage.getSymbolName());
-        return result;
-    }
-
     private static void validatePackagePathInFile(String pkgPathStr, Path packagePath, BallerinaFile bFile) {
         if (!pkgPathStr.equals(bFile.getPackagePath())) {
             String actualPkgPath = (bFile.getPackagePath() != null) ? bFile.getPackagePath() : "";
@@ -139,50 +179,6 @@ public class BLangPackages {
         }
     }
 
-    private static BLangPackage resolveDependencies(BLangPackage parentPackage, BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
-        for (ImportPackage importPackage : parentPackage.getImportPackages()) {
-
-            // Check whether this package is already resolved.
-            BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
-            Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
-
-            if (dependentPkg != null && dependentPkg instanceof NativePackageProxy) {
-                dependentPkg = ((NativePackageProxy) dependentPkg).load();
-                PackageRepository.PackageSource pkgSource =
-                        dependentPkg.getPackageRepository().loadPackage(packagePath);
-
-                BLangPackage.PackageBuilder packageBuilder = new BLangPackage.PackageBuilder(dependentPkg);
-                dependentPkg = loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
-
-            } else if (dependentPkg == null) {
-
-                // Remove redundant stuff using the Paths and Files API
-                // This builder or loader should throw an error if the package cannot be found.
-                // 1) If the parent package is loaded from the program repository (current directory), then follow this
-                //    search order:
-                //      i) Search the program repository
-                //      ii) Search the system repository
-                //      iii) Search the personal/user repository
-                // 2) If the parent is loaded from the system directory, then all the children should be
-                //    available in the system repository.  DO NOT Search other repositories.
-                // 3) If the parent is loaded from the personal/user repository, then use following search order:
-                //      i) Search the system repository
-                //      ii) Search the personal/user repository
-                // 4) None of the above applies if the package name starts with 'ballerina'
-                dependentPkg = loadPackage(packagePath, parentPackage.getPackageRepository(),
-                        bLangProgram, currentDepPath);
-
-            }
-
-            // Define package in the program scope
-            bLangProgram.define(new SymbolName(dependentPkg.getPackagePath()), dependentPkg);
-            parentPackage.addDependentPackage(dependentPkg);
-        }
-
-        return parentPackage;
-    }
-
     private static String generateDepCycleString(LinkedHashSet<SymbolName> currentPath, BLangPackage targetPack) {
         StringBuilder builder = new StringBuilder();
         Iterator<SymbolName> itr = currentPath.iterator();
@@ -200,4 +196,196 @@ public class BLangPackages {
         return builder.toString();
     }
 
+    /**
+     * {@code PackageLoader} loads a package and the packages it imports into a program.
+     * <p>
+     * While parsing, the program is only read. Import packages are parsed as soon as the package importing them is
+     * parsed, so the import graph is resolved while its leaves are being parsed. Each package of a repository is
+     * parsed once, even if it is imported by many packages. Packages are defined in the program only when linking.
+     * <p>
+     * If the built-in packages are shared, they are not parsed, and the analyzed built-in packages are linked instead.
+     * The loader of the built-in packages themselves parses only the built-in packages which are not analyzed yet.
+     */
+    private static class PackageLoader {
+
+        private final BLangProgram bLangProgram;
+        private final boolean shareBuiltinPackages;
+        private final boolean loadingBuiltinPackages;
+        private final Map<PackageRepository, Map<String, CompletableFuture<BLangPackage>>> packages =
+                new ConcurrentHashMap<>();
+        private final Map<NativePackageProxy, CompletableFuture<BLangPackage>> nativePackages =
+                new ConcurrentHashMap<>();
+
+        // The loading thread is a party until it starts linking, and each package being parsed is a party
+        private final Phaser parsing = new Phaser(1);
+
+        PackageLoader(BLangProgram bLangProgram, boolean shareBuiltinPackages) {
+            this(bLangProgram, shareBuiltinPackages, false);
+        }
+
+        PackageLoader(BLangProgram bLangProgram, boolean shareBuiltinPackages, boolean loadingBuiltinPackages) {
+            this.bLangProgram = bLangProgram;
+            this.shareBuiltinPackages = shareBuiltinPackages;
+            this.loadingBuiltinPackages = loadingBuiltinPackages;
+        }
+
+        CompletableFuture<BLangPackage> parsePackage(Path packagePath, PackageRepository packageRepo) {
+            return parse(() -> {
+                // Load package details (input streams of source files) from the given package repository
+                PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
+                if (pkgSource.getSourceFileStreamMap().isEmpty()) {
+                    throw new RuntimeException("no bal files in the package: " + packagePath.toString());
+                }
+
+                String pkgPathStr = getPackagePathFromPath(packagePath);
+                return new PackageSourceBuilder(pkgSource,
+                        new BLangPackage.PackageBuilder(pkgPathStr, pkgSource.getPackageRepository(), bLangProgram));
+            });
+        }
+
+        CompletableFuture<BLangPackage> parseFile(Path filePath, PackageRepository packageRepo) {
+            return parse(() -> {
+                PackageRepository.PackageSource pkgSource = packageRepo.loadFile(filePath);
+                return new PackageSourceBuilder(pkgSource,
+                        new BLangPackage.PackageBuilder(".", pkgSource.getPackageRepository(), bLangProgram));
+            });
+        }
+
+        CompletableFuture<BLangPackage> parseNativePackage(NativePackageProxy packageProxy, Path packagePath) {
+            return parse(() -> {
+                BLangPackage nativePackage = packageProxy.load();
+                PackageRepository.PackageSource pkgSource =
+                        nativePackage.getPackageRepository().loadPackage(packagePath);
+                return new PackageSourceBuilder(pkgSource, new BLangPackage.PackageBuilder(nativePackage));
+            });
+        }
+
+        private CompletableFuture<BLangPackage> parse(Supplier<PackageSourceBuilder> sourceBuilderSupplier) {
+            parsing.register();
+            CompletableFuture<BLangPackage> bLangPackage = CompletableFuture
+                    .supplyAsync(sourceBuilderSupplier, ForkJoinPool.commonPool())
+                    .thenCompose(PackageSourceBuilder::build);
+            bLangPackage.thenAccept(this::parseImportPackages)
+                    .whenComplete((result, throwable) -> parsing.arriveAndDeregister());
+            return bLangPackage;
+        }
+
+        private void parseImportPackages(BLangPackage parentPackage) {
+            for (ImportPackage importPackage : parentPackage.getImportPackages()) {
+                BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
+                Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
+
+                if (dependentPkg != null && dependentPkg instanceof NativePackageProxy) {
+                    // Shared built-in packages are parsed only by the loader of the built-in packages, while holding
+                    // the loading lock, and only if they are not analyzed yet
+                    if (shareBuiltinPackages &&
+                            (!loadingBuiltinPackages || builtinPackages.containsKey(dependentPkg))) {
+                        continue;
+                    }
+                    nativePackages.computeIfAbsent((NativePackageProxy) dependentPkg,
+                            packageProxy -> parseNativePackage(packageProxy, packagePath));
+
+                } else if (dependentPkg == null) {
+                    // The import packages are looked up in the repository of the parent package
+                    packages.computeIfAbsent(parentPackage.getPackageRepository(), repo -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(packagePath.toString(),
+                                    pkgPath -> parsePackage(packagePath, parentPackage.getPackageRepository()));
+                }
+            }
+        }
+
+        BLangPackage load(CompletableFuture<BLangPackage> bLangPackage) {
+            // Wait until the package and all the packages it imports are parsed
+            parsing.arriveAndAwaitAdvance();
+            return link(bLangPackage, new LinkedHashSet<>());
+        }
+
+        private BLangPackage link(CompletableFuture<BLangPackage> pkgFuture, LinkedHashSet<SymbolName> currentDepPath) {
+            BLangPackage bLangPackage = join(pkgFuture);
+            // Check for a dependency cycle
+            if (currentDepPath.contains(bLangPackage.getSymbolName())) {
+                throw new BallerinaException("dependency cycle detected: " +
+                        generateDepCycleString(currentDepPath, bLangPackage));
+            }
+            // Mark the node in the current path
+            currentDepPath.add(bLangPackage.getSymbolName());
+            // Resolve dependent packages of this package
+            for (ImportPackage importPackage : bLangPackage.getImportPackages()) {
+
+                // Check whether this package is already resolved.
+                BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
+                Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
+
+                if (dependentPkg != null && dependentPkg instanceof NativePackageProxy) {
+                    CompletableFuture<BLangPackage> nativePackage = nativePackages.get(dependentPkg);
+                    dependentPkg = nativePackage != null ? link(nativePackage, currentDepPath) :
+                            getBuiltinPackage((NativePackageProxy) dependentPkg, packagePath);
+
+                } else if (dependentPkg == null) {
+                    dependentPkg = link(packages.get(bLangPackage.getPackageRepository())
+                            .get(packagePath.toString()), currentDepPath);
+                }
+
+                // Define package in the program scope
+                bLangProgram.define(new SymbolName(dependentPkg.getPackagePath()), dependentPkg);
+                bLangPackage.addDependentPackage(dependentPkg);
+            }
+            // Remove the node marking from the current path
+            currentDepPath.remove(bLangPackage.getSymbolName());
+            return bLangPackage;
+        }
+
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                // Rethrow the error of the failed task as it is, so that the error message is not changed
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * {@code PackageSourceBuilder} builds a package from its source files, parsing each file concurrently.
+         */
+        private static class PackageSourceBuilder {
+
+            private final PackageRepository.PackageSource pkgSource;
+            private final BLangPackage.PackageBuilder packageBuilder;
+
+            PackageSourceBuilder(PackageRepository.PackageSource pkgSource,
+                                 BLangPackage.PackageBuilder packageBuilder) {
+                this.pkgSource = pkgSource;
+                this.packageBuilder = packageBuilder;
+            }
+
+            CompletableFuture<BLangPackage> build() {
+                Path packagePath = pkgSource.getPackagePath();
+                ProgramImage programImage = pkgSource.getPackageRepository().getProgramImage();
+
+                List<CompletableFuture<BallerinaFile>> bFiles = new ArrayList<>();
+                for (Map.Entry<String, InputStream> entry : pkgSource.getSourceFileStreamMap().entrySet()) {
+                    bFiles.add(CompletableFuture.supplyAsync(() -> BLangFiles.loadFile(entry.getKey(), packagePath,
+                            entry.getValue(), packageBuilder, programImage), ForkJoinPool.commonPool()));
+                }
+
+                return CompletableFuture.allOf(bFiles.toArray(new CompletableFuture[bFiles.size()]))
+                        .handle((result, throwable) -> {
+                            // The files are added in the order of the source file map, and the error of the first
+                            // failed file is reported, as when the files are parsed one after the other
+                            String pkgPathStr = getPackagePathFromPath(packagePath);
+                            for (CompletableFuture<BallerinaFile> bFile : bFiles) {
+                                BallerinaFile ballerinaFile = join(bFile);
+                                validatePackagePathInFile(pkgPathStr, packagePath, ballerinaFile);
+                                packageBuilder.addBallerinaFile(ballerinaFile);
+                            }
+                            return packageBuilder.build();
+                        });
+            }
+        }
+    }
 }
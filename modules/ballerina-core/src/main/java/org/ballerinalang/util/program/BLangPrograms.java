@@ -36,11 +36,22 @@ import java.nio.file.Path;
 public class BLangPrograms {
     public static final String BSOURCE_FILE_EXT = ".bal";
 
-    public static GlobalScope populateGlobalScope() {
+    private static boolean globalScopePopulated = false;
+
+    /**
+     * Populate the global scope with the built-in types and the native constructs. The global scope is populated once
+     * per runtime, so that the programs loaded into the runtime share the built-in packages.
+     *
+     * @return global scope
+     */
+    public static synchronized GlobalScope populateGlobalScope() {
         // Get the global scope
         GlobalScope globalScope = GlobalScope.getInstance();
-        BTypes.loadBuiltInTypes(globalScope);
-        BuiltInNativeConstructLoader.loadConstructs(globalScope);
+        if (!globalScopePopulated) {
+            BTypes.loadBuiltInTypes(globalScope);
+            BuiltInNativeConstructLoader.loadConstructs(globalScope);
+            globalScopePopulated = true;
+        }
         return globalScope;
     }
 
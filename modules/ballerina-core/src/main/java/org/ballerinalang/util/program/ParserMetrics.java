@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.program;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code ParserMetrics} collects the number of source files parsed and the time spent in parsing them. A file is
+ * parsed with SLL prediction first, and only the files which SLL can not parse are parsed again with LL prediction.
+ * <p>
+ * The parse time of each file is logged at debug level.
+ *
+ * @since 0.8.2
+ */
+public class ParserMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ParserMetrics.class);
+
+    private static final ParserMetrics instance = new ParserMetrics();
+
+    private final LongAdder sllParseCount = new LongAdder();
+    private final LongAdder llParseCount = new LongAdder();
+    private final LongAdder parseTime = new LongAdder();
+
+    private ParserMetrics() {
+    }
+
+    public static ParserMetrics getInstance() {
+        return instance;
+    }
+
+    void sllParsed(Path sourceFilePath, long time) {
+        sllParseCount.increment();
+        parsed(sourceFilePath, time, "SLL");
+    }
+
+    void llParsed(Path sourceFilePath, long time) {
+        llParseCount.increment();
+        parsed(sourceFilePath, time, "LL");
+    }
+
+    private void parsed(Path sourceFilePath, long time, String predictionMode) {
+        parseTime.add(time);
+        if (log.isDebugEnabled()) {
+            log.debug("parsed " + sourceFilePath + " with " + predictionMode + " prediction in " +
+                    TimeUnit.NANOSECONDS.toMicros(time) + " us");
+        }
+    }
+
+    /**
+     * @return number of files parsed with SLL prediction.
+     */
+    public long getSllParseCount() {
+        return sllParseCount.sum();
+    }
+
+    /**
+     * @return number of files which SLL prediction could not parse, and were parsed again with LL prediction.
+     */
+    public long getLlParseCount() {
+        return llParseCount.sum();
+    }
+
+    /**
+     * @return total time spent in parsing files, in milliseconds.
+     */
+    public long getParseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(parseTime.sum());
+    }
+}
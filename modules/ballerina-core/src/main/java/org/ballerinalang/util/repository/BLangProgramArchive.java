@@ -50,12 +50,14 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
     public static final String BAL_VERSION_TEXT = "ballerina-version: 0.8.0";
     public static final String MAIN_PACKAGE_LINE_PREFIX = "main-function";
     public static final String SERVICE_PACKAGE_PREFIX = "services";
+    public static final String PROGRAM_IMAGE_FILE_PATH = "/" + BAL_INF_DIR_NAME + "/" + ProgramImage.PROGRAM_IMAGE;
 
     private Path archivePath;
     private Map<String, List<Path>> packageFilesMap;
     private FileSystem zipFS;
     private String[] entryPoints;
     private BLangProgram.Category programCategory;
+    private ProgramImage programImage;
 
     public BLangProgramArchive(Path archivePath) {
         this.archivePath = archivePath;
@@ -110,6 +112,11 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
         return new PackageSource(Paths.get("."), fileStreamMap, this);
     }
 
+    @Override
+    public ProgramImage getProgramImage() {
+        return programImage;
+    }
+
     @Override
     public void close() throws Exception {
         if (zipFS != null) {
@@ -140,6 +147,12 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
                     return FileVisitResult.CONTINUE;
                 }
 
+                if (filePath.toString().equals(PROGRAM_IMAGE_FILE_PATH)) {
+                    // An image of a different version is ignored, and the sources are parsed instead.
+                    programImage = ProgramImage.read(Files.readAllBytes(filePath));
+                    return FileVisitResult.CONTINUE;
+                }
+
                 if (filePath.getFileName().toString().endsWith(BLangPrograms.BSOURCE_FILE_EXT)) {
                     filePathList.add(filePath);
                 }
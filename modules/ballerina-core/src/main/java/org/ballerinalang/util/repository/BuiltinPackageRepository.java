@@ -25,12 +25,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -41,14 +43,21 @@ import java.util.zip.ZipInputStream;
  */
 public class BuiltinPackageRepository extends PackageRepository {
 
+    /**
+     * Name of the index of the built-in package sources, generated at build time. Each line of the index is the path
+     * of a source file, relative to the directory of the built-in packages and separated by '/'.
+     */
+    public static final String PACKAGE_INDEX = "packages.index";
+
     private Class<?> nativePackageProvider;
     private static final String BASE_DIR = "META-INF" + File.separator + "natives" + File.separator;
+    private static final String PACKAGE_INDEX_PATH = "META-INF/natives/" + PACKAGE_INDEX;
     private static final String BAL_FILE_EXT = ".bal";
     private static final String NATIVE_BAL_FILE = "natives.bal";
     private static final String FALSE = "false";
-    private boolean skipNatives = true;
+    private volatile Boolean skipNatives;
 
-    private String packageDirPath;
+    private Map<String, List<String>> packageIndex;
 
     public BuiltinPackageRepository(Class providerClass) {
         this.nativePackageProvider = providerClass;
@@ -59,16 +68,11 @@ public class BuiltinPackageRepository extends PackageRepository {
      */
     @Override
     public PackageSource loadPackage(Path packageDirPath) {
-        if (FALSE.equals(System.getProperty("skipNatives"))) {
-            skipNatives = false;
-        }
-        
-        this.packageDirPath = packageDirPath.toString();
         Map<String, InputStream> sourceFileStreamMap = new HashMap<String, InputStream>();
         ClassLoader classLoader = nativePackageProvider.getClassLoader();
 
         // Get the names of the source files in the package
-        List<String> fileNames = getFileNames(classLoader);
+        List<String> fileNames = getFileNames(packageDirPath.toString());
 
         // Read all resources as input streams and create the package source 
         for (String fileName : fileNames) {
@@ -79,29 +83,94 @@ public class BuiltinPackageRepository extends PackageRepository {
         return new PackageSource(packageDirPath, sourceFileStreamMap, this);
     }
 
+    /**
+     * Check whether the native function declarations (natives.bal files) are skipped. The system property is read
+     * when the first package is loaded, as it is set after the repository is created, when validating the natives.
+     *
+     * @return true, if the natives.bal files are skipped
+     */
+    private boolean isSkipNatives() {
+        if (skipNatives == null) {
+            skipNatives = !FALSE.equals(System.getProperty("skipNatives"));
+        }
+        return skipNatives;
+    }
+
     /**
      * Get all the file names listed under the package.
      *
-     * @param classLoader Class loader of the package provider class
+     * @param packageDirPath Path of the package directory
      * @return
      */
-    private List<String> getFileNames(ClassLoader classLoader) {
+    private List<String> getFileNames(String packageDirPath) {
+        List<String> fileNames = getPackageIndex().get(packageDirPath.replace(File.separatorChar, '/'));
+        if (fileNames != null) {
+            if (!isSkipNatives()) {
+                return fileNames;
+            }
+            return fileNames.stream()
+                    .filter(fileName -> !fileName.endsWith(NATIVE_BAL_FILE))
+                    .collect(Collectors.toList());
+        }
+
+        // Packages that are not in the index, or built without an index, are found by scanning the code source
         URL repoUrl = nativePackageProvider.getProtectionDomain().getCodeSource().getLocation();
         String pkgRelPath = BASE_DIR + packageDirPath;
         if (isJar(repoUrl)) {
-            return getPackageNamesFromJar(repoUrl, pkgRelPath);
+            return getPackageNamesFromJar(repoUrl, pkgRelPath, packageDirPath);
         } else {
-            return getPackageNamesFromClassPath(pkgRelPath);
+            return getPackageNamesFromClassPath(pkgRelPath, packageDirPath);
+        }
+    }
+
+    /**
+     * Get the source files of the built-in packages, from the index generated at build time. The index is read once,
+     * from the code source of the package provider class, as every natives jar on the class path has an index of the
+     * same name.
+     *
+     * @return source file names by package directory path, which is empty if there is no index
+     */
+    private synchronized Map<String, List<String>> getPackageIndex() {
+        if (packageIndex != null) {
+            return packageIndex;
+        }
+
+        packageIndex = new HashMap<>();
+        URL repoUrl = nativePackageProvider.getProtectionDomain().getCodeSource().getLocation();
+        InputStream indexStream;
+        try {
+            URL indexUrl = isJar(repoUrl) ? new URL("jar:" + repoUrl + "!/" + PACKAGE_INDEX_PATH)
+                    : new URL(repoUrl, PACKAGE_INDEX_PATH);
+            indexStream = indexUrl.openStream();
+        } catch (IOException e) {
+            // No index in the code source
+            return packageIndex;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexStream, StandardCharsets.UTF_8))) {
+            String filePath;
+            while ((filePath = reader.readLine()) != null) {
+                int separatorIndex = filePath.lastIndexOf('/');
+                if (separatorIndex < 0) {
+                    continue;
+                }
+                packageIndex.computeIfAbsent(filePath.substring(0, separatorIndex), pkgPath -> new ArrayList<>())
+                        .add(filePath.substring(separatorIndex + 1));
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("error while reading the built-in package index: " + e.getMessage());
         }
+        return packageIndex;
     }
 
     /**
      * Get package names from the class path.
      *
-     * @param pkgRelPath Relative path of the from the class path
+     * @param pkgRelPath     Relative path of the from the class path
+     * @param packageDirPath Path of the package directory
      * @return List of source files in the package
      */
-    private List<String> getPackageNamesFromClassPath(String pkgRelPath) {
+    private List<String> getPackageNamesFromClassPath(String pkgRelPath, String packageDirPath) {
         List<String> fileNames = new ArrayList<String>();
         BufferedReader reader = null;
         try {
@@ -111,7 +180,7 @@ public class BuiltinPackageRepository extends PackageRepository {
                 reader = new BufferedReader(new InputStreamReader(fileNamesStream));
                 String fileName;
                 while ((fileName = reader.readLine()) != null) {
-                    if (skipNatives && fileName.endsWith(NATIVE_BAL_FILE)) {
+                    if (isSkipNatives() && fileName.endsWith(NATIVE_BAL_FILE)) {
                         continue;
                     }
                     fileNames.add(fileName);
@@ -134,11 +203,12 @@ public class BuiltinPackageRepository extends PackageRepository {
     /**
      * Get package names from the jar.
      *
-     * @param repoUrl    URL of the repo source (url of the jar)
-     * @param pkgRelPath Relative path of the from root of the jar
+     * @param repoUrl        URL of the repo source (url of the jar)
+     * @param pkgRelPath     Relative path of the from root of the jar
+     * @param packageDirPath Path of the package directory
      * @return List of source files in the package
      */
-    private List<String> getPackageNamesFromJar(URL repoUrl, String pkgRelPath) {
+    private List<String> getPackageNamesFromJar(URL repoUrl, String pkgRelPath, String packageDirPath) {
         List<String> fileNames = new ArrayList<String>();
         ZipInputStream jarInputStream = null;
         ZipEntry fileNameEntry;
@@ -147,7 +217,7 @@ public class BuiltinPackageRepository extends PackageRepository {
             while ((fileNameEntry = jarInputStream.getNextEntry()) != null) {
                 String filePath = fileNameEntry.getName();
                 if (filePath.startsWith(pkgRelPath) && filePath.endsWith(BAL_FILE_EXT)) {
-                    if (skipNatives && filePath.endsWith(NATIVE_BAL_FILE)) {
+                    if (isSkipNatives() && filePath.endsWith(NATIVE_BAL_FILE)) {
                         continue;
                     }
                     // get only the file name 
@@ -41,6 +41,15 @@ public abstract class PackageRepository {
 
     public abstract PackageSource loadFile(Path filePath);
 
+    /**
+     * Get the precompiled image of the source files of this repository.
+     *
+     * @return program image, or null if this repository does not have one
+     */
+    public ProgramImage getProgramImage() {
+        return null;
+    }
+
     protected PackageSource loadPackageFromDirectory(Path packageDirPath, Path baseDirPath) {
         Map<String, InputStream> fileStreamMap;
         try {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.repository;
+
+import org.ballerinalang.model.builder.ModelBuilderEvents;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@code ProgramImage} holds the parsed form of the source files of a program archive, so that loading the archive
+ * does not need to lex and parse the sources again. Each source file is stored as the {@link ModelBuilderEvents}
+ * recorded while parsing it, together with the checksum of its source.
+ * <p>
+ * The image starts with a magic number, the format version and the signature of the model builder, and ends with a
+ * checksum of its content. An image which does not match the running version, or which is corrupted, is ignored. A
+ * source file whose checksum does not match the image entry is parsed from the source.
+ *
+ * @since 0.8.2
+ */
+public class ProgramImage {
+
+    public static final String PROGRAM_IMAGE = "program.image";
+
+    private static final int MAGIC = 0x42494D47;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Entry> entries;
+
+    private ProgramImage(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Get the image entry of a source file.
+     *
+     * @param packagePath path of the package of the source file
+     * @param fileName    name of the source file
+     * @return image entry, or null if the image does not have the source file
+     */
+    public Entry getEntry(Path packagePath, String fileName) {
+        return entries.get(getKey(packagePath, fileName));
+    }
+
+    /**
+     * Get the key of a source file, which is independent of the file separator of the platform.
+     *
+     * @param packagePath path of the package of the source file
+     * @param fileName    name of the source file
+     * @return key of the source file
+     */
+    public static String getKey(Path packagePath, String fileName) {
+        String pkgPath = packagePath.toString().replace('\\', '/');
+        return pkgPath.isEmpty() || pkgPath.equals(".") ? fileName : pkgPath + "/" + fileName;
+    }
+
+    /**
+     * Read a program image.
+     *
+     * @param image content of the image
+     * @return program image, or null if the image was written by a different version or is corrupted
+     */
+    public static ProgramImage read(byte[] image) {
+        if (image.length < Long.BYTES) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(image, 0, image.length - Long.BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(image);
+        if (buffer.getLong(image.length - Long.BYTES) != crc.getValue()) {
+            return null;
+        }
+        buffer.limit(image.length - Long.BYTES);
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION ||
+                    buffer.getLong() != ModelBuilderEvents.getSignature()) {
+                return null;
+            }
+            int entryCount = buffer.getInt();
+            Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+            for (int i = 0; i < entryCount; i++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                long sourceChecksum = buffer.getLong();
+                byte[] events = new byte[buffer.getInt()];
+                buffer.get(events);
+                entries.put(new String(key, StandardCharsets.UTF_8), new Entry(sourceChecksum, events));
+            }
+            return new ProgramImage(entries);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write a program image.
+     *
+     * @param entries image entries by the keys of their source files
+     * @return content of the image
+     * @throws IOException if writing the image fails
+     */
+    public static byte[] write(Map<String, Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(ModelBuilderEvents.getSignature());
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+            byte[] key = mapEntry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeLong(mapEntry.getValue().sourceChecksum);
+            out.writeInt(mapEntry.getValue().events.length);
+            out.write(mapEntry.getValue().events);
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Get the checksum of the content of a source file.
+     *
+     * @param source content of the source file
+     * @return checksum
+     */
+    public static long getChecksum(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return crc.getValue();
+    }
+
+    /**
+     * The recorded model builder events of a source file.
+     */
+    public static class Entry {
+
+        private final long sourceChecksum;
+        private final byte[] events;
+
+        public Entry(long sourceChecksum, byte[] events) {
+            this.sourceChecksum = sourceChecksum;
+            this.events = events;
+        }
+
+        /**
+         * @param source content of the source file
+         * @return true, if the entry was recorded from the given source
+         */
+        public boolean matches(byte[] source) {
+            return sourceChecksum == getChecksum(source);
+        }
+
+        public byte[] getEvents() {
+            return events;
+        }
+    }
+}
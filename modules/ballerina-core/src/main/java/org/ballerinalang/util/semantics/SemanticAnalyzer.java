@@ -93,6 +93,7 @@ import org.ballerinalang.model.statements.AssignStmt;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.statements.BreakStmt;
 import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.ForeachStmt;
 import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.statements.FunctionInvocationStmt;
 import org.ballerinalang.model.statements.IfElseStmt;
@@ -123,6 +124,7 @@ import org.ballerinalang.model.types.TypeVertex;
 import org.ballerinalang.model.util.LangModelUtils;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
+import org.ballerinalang.natives.LoggingFunction;
 import org.ballerinalang.natives.NativeUnitProxy;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
@@ -535,13 +537,7 @@ public class SemanticAnalyzer implements NodeVisitor {
 
     @Override
     public void visit(StructDef structDef) {
-        for (VariableDef field : structDef.getFields()) {
-            MemoryLocation location = new StructVarLocation(++structMemAddrOffset);
-            field.setMemoryLocation(location);
-        }
-
-        structDef.setStructMemorySize(structMemAddrOffset + 1);
-        structMemAddrOffset = -1;
+        // Memory locations of the fields are set along with their types, before the functions are analyzed.
     }
 
     @Override
@@ -778,6 +774,47 @@ public class SemanticAnalyzer implements NodeVisitor {
         whileStmtCount--;
     }
 
+    @Override
+    public void visit(ForeachStmt foreachStmt) {
+        Expression collection = foreachStmt.getCollection();
+        visitSingleValueExpr(collection);
+
+        // Arrays are iterated by element, maps by key and datatables by row
+        BType collectionType = collection.getType();
+        BType elementType;
+        if (collectionType instanceof BArrayType) {
+            elementType = ((BArrayType) collectionType).getElementType();
+        } else if (collectionType instanceof BMapType) {
+            elementType = BTypes.typeString;
+        } else if (collectionType == BTypes.typeDatatable) {
+            elementType = BTypes.typeDatatable;
+        } else {
+            BLangExceptionHelper.throwSemanticError(foreachStmt, SemanticErrors.INCOMPATIBLE_TYPES_ITERABLE_EXPECTED,
+                    collectionType);
+            return;
+        }
+
+        VariableDef loopVarDef = foreachStmt.getLoopVarRef().getVariableDef();
+        BType loopVarType = BTypes.resolveType(loopVarDef.getTypeName(), currentScope, loopVarDef.getNodeLocation());
+        loopVarDef.setType(loopVarType);
+        if (loopVarType != elementType) {
+            BLangExceptionHelper.throwSemanticError(foreachStmt, SemanticErrors.INCOMPATIBLE_TYPES, elementType,
+                    loopVarType);
+        }
+
+        // The loop variable is defined in the body, but must not hide a variable of the enclosing blocks
+        BLangSymbol varSymbol = currentScope.resolve(new SymbolName(loopVarDef.getName()));
+        if (varSymbol != null && varSymbol.getSymbolScope().getScopeName() == currentScope.getScopeName()) {
+            BLangExceptionHelper.throwSemanticError(loopVarDef, SemanticErrors.REDECLARED_SYMBOL,
+                    loopVarDef.getName());
+        }
+        setMemoryLocation(loopVarDef);
+
+        whileStmtCount++;
+        foreachStmt.getBody().accept(this);
+        whileStmtCount--;
+    }
+
     @Override
     public void visit(BreakStmt breakStmt) {
 
@@ -1379,6 +1416,7 @@ public class SemanticAnalyzer implements NodeVisitor {
     @Override
     public void visit(StructFieldAccessExpr structFieldAccessExpr) {
         visitStructField(structFieldAccessExpr, currentScope);
+        resolveFieldOffsets(structFieldAccessExpr);
     }
 
     @Override
@@ -1942,6 +1980,13 @@ public class SemanticAnalyzer implements NodeVisitor {
 
         // Link the function with the function invocation expression
         funcIExpr.setCallableUnit(function);
+
+        // The log level of a log invocation can be checked before the logged value is evaluated, if evaluating the
+        // level has no side effects.
+        if (function instanceof LoggingFunction && exprs.length > 0 && (exprs[0] instanceof BasicLiteral ||
+                exprs[0] instanceof VariableRefExpr) && exprs[0].getType() == BTypes.typeInt) {
+            funcIExpr.setLogInvocation(true);
+        }
     }
 
     private void linkAction(ActionInvocationExpr actionIExpr) {
@@ -2104,6 +2149,45 @@ public class SemanticAnalyzer implements NodeVisitor {
         }
     }
 
+    /**
+     * Flatten the fields accessed by a struct field access chain into the offsets of the fields, so that the
+     * executors can follow the chain in a loop.
+     * eg: in dpt.employee[2].name the chain is the offset of 'employee', an array index step and the offset of 'name'.
+     *
+     * @param structFieldAccessExpr Root of the struct field access chain
+     */
+    private void resolveFieldOffsets(StructFieldAccessExpr structFieldAccessExpr) {
+        int stepCount = 0;
+        for (StructFieldAccessExpr fieldExpr = structFieldAccessExpr.getFieldExpr(); fieldExpr != null;
+             fieldExpr = fieldExpr.getFieldExpr()) {
+            stepCount += fieldExpr.getVarRef() instanceof ArrayMapAccessExpr ? 2 : 1;
+        }
+
+        int[] fieldOffsets = new int[stepCount];
+        Expression[] indexExprs = new Expression[stepCount];
+        int step = 0;
+        for (StructFieldAccessExpr fieldExpr = structFieldAccessExpr.getFieldExpr(); fieldExpr != null;
+             fieldExpr = fieldExpr.getFieldExpr()) {
+            ReferenceExpr varRefExpr = fieldExpr.getVarRef();
+            if (varRefExpr instanceof ArrayMapAccessExpr) {
+                ArrayMapAccessExpr arrayMapAccessExpr = (ArrayMapAccessExpr) varRefExpr;
+                VariableRefExpr fieldVarRefExpr = (VariableRefExpr) arrayMapAccessExpr.getRExpr();
+                fieldOffsets[step++] = getStructMemAddrOffset(fieldVarRefExpr);
+                indexExprs[step] = arrayMapAccessExpr.getIndexExpr();
+                fieldOffsets[step++] = fieldVarRefExpr.getType() instanceof BMapType ?
+                        StructFieldAccessExpr.MAP_INDEX : StructFieldAccessExpr.ARRAY_INDEX;
+            } else {
+                fieldOffsets[step++] = getStructMemAddrOffset((VariableRefExpr) varRefExpr);
+            }
+        }
+
+        structFieldAccessExpr.setFieldOffsets(fieldOffsets, indexExprs);
+    }
+
+    private int getStructMemAddrOffset(VariableRefExpr fieldVarRefExpr) {
+        return ((StructVarLocation) fieldVarRefExpr.getVariableDef().getMemoryLocation()).getStructMemAddrOffset();
+    }
+
     private void linkTypeMapper(TypeCastExpression typeCastExpression, BType sourceType, BType targetType) {
         TypeEdge newEdge = null;
         TypeMapper typeMapper;
@@ -2487,7 +2571,15 @@ public class SemanticAnalyzer implements NodeVisitor {
                 BType fieldType = BTypes.resolveType(variableDef.getTypeName(), currentScope,
                         variableDef.getNodeLocation());
                 variableDef.setType(fieldType);
+
+                // Struct field access chains in any file of the package need the offsets of the fields
+                MemoryLocation location = new StructVarLocation(++structMemAddrOffset);
+                variableDef.setMemoryLocation(location);
             }
+
+            structDef.setStructMemorySize(structMemAddrOffset + 1);
+            structDef.resolveFieldLayout();
+            structMemAddrOffset = -1;
         }
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre;
+
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.BallerinaFunction;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.statements.ForeachStmt;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test the concurrent iteration of foreach statements over arrays, in the blocking executor.
+ */
+public class ParallelForeachTest {
+
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        ParallelForeach.setEnabled(true);
+    }
+
+    @Test(description = "Test iterating an array of at least the minimum size in chunks")
+    public void testChunkedForeach() {
+        bLangProgram = BTestUtils.parseBalFile("lang/statements/foreach-parallel.bal");
+        int size = ParallelForeach.MIN_PARALLEL_ITERATIONS * 4 + 1;
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testForeachCells", new BValue[]{new BInteger(size)});
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), size * (size - 1));
+        Assert.assertEquals(getForeachStmt().getParallel(), Boolean.TRUE);
+    }
+
+    @Test(description = "Test iterating an array smaller than the minimum size in order")
+    public void testSmallArrayForeach() {
+        bLangProgram = BTestUtils.parseBalFile("lang/statements/foreach-parallel.bal");
+        int size = ParallelForeach.MIN_PARALLEL_ITERATIONS - 1;
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testForeachCells", new BValue[]{new BInteger(size)});
+
+        // The body is not analyzed for arrays which are iterated in order
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), size * (size - 1));
+        Assert.assertNull(getForeachStmt().getParallel());
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ParallelForeach.setEnabled(Boolean.getBoolean(Constants.SYS_PROP_PARALLEL_FOREACH));
+    }
+
+    private ForeachStmt getForeachStmt() {
+        for (Function function : bLangProgram.getLibraryPackages()[0].getFunctions()) {
+            if (function.getName().equals("testForeachCells")) {
+                for (Statement stmt : ((BallerinaFunction) function).getCallableUnitBody().getStatements()) {
+                    if (stmt instanceof ForeachStmt) {
+                        return (ForeachStmt) stmt;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("no foreach statement in function 'testForeachCells'");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.core.nativeimpl.functions;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test the return values of a native function invoked through {@link AbstractNativeFunction#invokeNative(Context)}.
+ */
+public class NativeFunctionReturnTest {
+
+    @Test(description = "Test using the returned array as it is when it has a value for every return parameter")
+    public void testInvokeNativeWithAllReturnValues() {
+        BValue[] retVals = {new BInteger(7), new BString("seven")};
+        TestNativeFunction function = new TestNativeFunction(retVals);
+
+        BValue[] returns = function.invokeNative(new Context());
+        Assert.assertSame(returns, retVals);
+    }
+
+    @Test(description = "Test padding the return values when the native returns fewer values than its return types")
+    public void testInvokeNativeWithFewerReturnValues() {
+        TestNativeFunction function = new TestNativeFunction(new BValue[] {new BInteger(7)});
+
+        BValue[] returns = function.invokeNative(new Context());
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 7);
+        Assert.assertNull(returns[1]);
+    }
+
+    @Test(description = "Test padding the return values when the native returns no value")
+    public void testInvokeNativeWithVoidReturn() {
+        TestNativeFunction function = new TestNativeFunction(AbstractNativeFunction.VOID_RETURN);
+
+        BValue[] returns = function.invokeNative(new Context());
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertNull(returns[0]);
+        Assert.assertNull(returns[1]);
+    }
+
+    /**
+     * Native function returning the given values, declared with an int and a string return type.
+     */
+    private static class TestNativeFunction extends AbstractNativeFunction {
+
+        private final BValue[] retVals;
+
+        TestNativeFunction(BValue[] retVals) {
+            this.retVals = retVals;
+            setReturnParamTypes(new BType[] {BTypes.typeInt, BTypes.typeString});
+        }
+
+        @Override
+        public BValue[] execute(Context context) {
+            return retVals;
+        }
+    }
+}
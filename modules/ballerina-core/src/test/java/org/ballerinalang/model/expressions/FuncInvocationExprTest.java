@@ -68,6 +68,33 @@ public class FuncInvocationExprTest {
 
     }
 
+    @Test(description = "Test deep recursive function invocation in tail position")
+    public void testFuncInvocationExprTailRecursive() {
+        BValue[] args = {new BInteger(100000), new BInteger(0)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "count", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertSame(returns[0].getClass(), BInteger.class);
+
+        int actual = ((BInteger) returns[0]).intValue();
+        int expected = 100000;
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(description = "Test a type mapper returning the values of a function invocation")
+    public void testTypeMapperWithTailCall() {
+        BValue[] args = {new BInteger(42)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testTypeMapperTailCall", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertSame(returns[0].getClass(), BInteger.class);
+
+        // The call in the type mapper is made by the type cast, not by the invocation of the enclosing function
+        int actual = ((BInteger) returns[0]).intValue();
+        int expected = 42;
+        Assert.assertEquals(actual, expected);
+    }
+
     @Test(description = "Test local function invocation expression advanced")
     public void testFuncInvocationExprAdvanced() {
         BValue[] args = {new BInteger(100), new BInteger(5), new BInteger(1)};
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.statements;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.SemanticException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test the iteration of arrays and maps with the foreach statement.
+ *
+ * @since 0.8.2
+ */
+public class ForeachStmtTest {
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("lang/statements/foreach-stmt.bal");
+    }
+
+    @Test(description = "Test foreach over the elements of an array")
+    public void testArrayForeach() {
+        BValue[] args = {createArray(1, 2, 3, 4)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testArrayForeach", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+    }
+
+    @Test(description = "Test foreach over the keys of a map")
+    public void testMapForeach() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testMapForeach", new BValue[0]);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 60);
+    }
+
+    @Test(description = "Test break statement inside a foreach")
+    public void testForeachBreak() {
+        BValue[] args = {createArray(1, 2, 3, 4), new BInteger(2)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testForeachBreak", args);
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+    }
+
+    @Test(description = "Test foreach nested in a foreach over the same array")
+    public void testNestedForeach() {
+        BValue[] args = {createArray(1, 2, 3)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testNestedForeach", args);
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 36);
+    }
+
+    @Test(description = "Test foreach statements in the non-blocking executor")
+    public void testForeachNonBlocking() {
+        boolean nonBlockingEnabled = ModeResolver.getInstance().isNonblockingEnabled();
+        ModeResolver.getInstance().setNonblockingEnabled(true);
+        try {
+            BValue[] returns = BLangFunctions.invoke(bLangProgram, "testArrayForeach",
+                    new BValue[]{createArray(1, 2, 3, 4)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+
+            returns = BLangFunctions.invoke(bLangProgram, "testMapForeach", new BValue[0]);
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 60);
+
+            returns = BLangFunctions.invoke(bLangProgram, "testForeachBreak",
+                    new BValue[]{createArray(1, 2, 3, 4), new BInteger(2)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+
+            returns = BLangFunctions.invoke(bLangProgram, "testNestedForeach", new BValue[]{createArray(1, 2, 3)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 36);
+        } finally {
+            ModeResolver.getInstance().setNonblockingEnabled(nonBlockingEnabled);
+        }
+    }
+
+    @Test(description = "Test foreach over a value which is not iterable",
+            expectedExceptions = {SemanticException.class},
+            expectedExceptionsMessageRegExp = "foreach-stmt-incompatible-types.bal:4: incompatible types: " +
+                    "expected an array, a map or a datatable, found 'int'")
+    public void testForeachOverInt() {
+        BTestUtils.parseBalFile("lang/statements/foreach-stmt-incompatible-types.bal");
+    }
+
+    private static BArray<BInteger> createArray(int... values) {
+        BArray<BInteger> array = new BArray<>(BInteger.class);
+        for (int i = 0; i < values.length; i++) {
+            array.add(i, new BInteger(values[i]));
+        }
+        return array;
+    }
+}
@@ -100,6 +100,19 @@ public class StructTest {
      *  Negative tests
      */
     
+    @Test(description = "Test assigning and reading through chains of struct fields, array elements and map values")
+    public void testMixedAccessChain() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testMixedAccessChain");
+
+        // Struct, array, struct and map value
+        Assert.assertEquals(returns[0].stringValue(), "San Jose");
+        // Struct, array, struct, struct and array element, with a chain as the index
+        Assert.assertEquals(returns[1].stringValue(), "Rose");
+        // The values are assigned to the structs and arrays referenced by the chain, not to copies of them
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 2);
+        Assert.assertEquals(returns[3].stringValue(), "Rose");
+    }
+
     @Test(description = "Test accessing an field of a noninitialized struct",
             expectedExceptions = {BallerinaException.class},
             expectedExceptionsMessageRegExp = "field 'employees\\[0\\]' is null")
@@ -27,6 +27,9 @@ import org.testng.annotations.Test;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class contains methods to test the arrays implementation in Ballerina.
@@ -119,4 +122,44 @@ public class BArrayValueTest {
         Assert.assertEquals(arrayValue.get(199).floatValue(), new Float(6.9), "Invalid value returned.");
 
     }
+
+    @Test(description = "Test concurrent writes to a shared array")
+    public void testConcurrentWritesToSharedArray() throws InterruptedException {
+        int threads = 4;
+        int valuesPerThread = 1000;
+        BArray<BInteger> arrayValue = new BArray<>(BInteger.class);
+        arrayValue.share();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            executor.execute(() -> {
+                for (int j = 0; j < valuesPerThread; j++) {
+                    // Interleave the indexes of the threads, so that they grow the buckets of the array together
+                    int index = j * threads + offset;
+                    arrayValue.add(index, new BInteger(index));
+                    arrayValue.get(index);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Writes did not complete");
+
+        Assert.assertEquals(arrayValue.size(), threads * valuesPerThread, "Invalid arrays size.");
+        for (int i = 0; i < threads * valuesPerThread; i++) {
+            Assert.assertNotNull(arrayValue.get(i), "Value lost at index " + i);
+            Assert.assertEquals(arrayValue.get(i).intValue(), i, "Invalid value returned.");
+        }
+    }
+
+    @Test(description = "Test a map added to a shared array is shared")
+    public void testValueAddedToSharedArrayIsShared() {
+        BArray<BMap> arrayValue = new BArray<>(BMap.class);
+        arrayValue.share();
+        BMap<BString, BValue> mapValue = new BMap<>();
+        arrayValue.add(0, mapValue);
+
+        Assert.assertTrue(arrayValue.isShared());
+        Assert.assertTrue(mapValue.isShared(), "Map added to a shared array is not shared");
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test accessing the content of messages which are received in several chunks.
+ */
+public class BMessageValueTest {
+
+    private static final String PAYLOAD = "Hello, caf\u00e9 and cr\u00e8me br\u00fbl\u00e9e";
+
+    @Test
+    public void testCloneUnreadMessage() throws IOException {
+        byte[] content = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        BMessage message = new BMessage(createMessage(content, "text/plain; charset=UTF-8"));
+        BMessage clonedMessage = message.clone();
+
+        // Both messages can be read in full, and reading one does not consume the content of the other
+        Assert.assertEquals(readContent(clonedMessage.value()), content);
+        Assert.assertEquals(readContent(message.value()), content);
+        Assert.assertNotSame(clonedMessage.value(), message.value());
+    }
+
+    @Test
+    public void testClonedMessageIsIndependent() {
+        byte[] content = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        BMessage message = new BMessage(createMessage(content, "text/plain; charset=UTF-8"));
+        BMessage clonedMessage = message.clone();
+
+        clonedMessage.setMessageDataSource("changed payload");
+        Assert.assertEquals(clonedMessage.stringValue(), "changed payload");
+        Assert.assertEquals(message.stringValue(), PAYLOAD);
+    }
+
+    @Test
+    public void testForwardAfterStringValue() throws IOException {
+        byte[] content = PAYLOAD.getBytes(StandardCharsets.ISO_8859_1);
+        BMessage message = new BMessage(createMessage(content, "text/plain; charset=ISO-8859-1"));
+
+        Assert.assertEquals(message.stringValue(), PAYLOAD);
+        Assert.assertEquals(message.stringValue(), PAYLOAD);
+        // The content is still unread, so the message is sent out as it was received
+        Assert.assertFalse(message.isAlreadyRead());
+        Assert.assertNull(message.value().getMessageDataSource());
+        Assert.assertEquals(readContent(message.value()), content);
+    }
+
+    @Test
+    public void testGetMessageDataSource() {
+        byte[] content = PAYLOAD.getBytes(StandardCharsets.ISO_8859_1);
+        BMessage message = new BMessage(createMessage(content, "text/plain; charset=ISO-8859-1"));
+
+        BallerinaMessageDataSource messageDataSource = message.getMessageDataSource();
+        Assert.assertEquals(messageDataSource.getMessageAsString(), PAYLOAD);
+        Assert.assertTrue(message.isAlreadyRead());
+        Assert.assertSame(message.getMessageDataSource(), messageDataSource);
+
+        // The built payload is written out with the charset of the message
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        messageDataSource.setOutputStream(outputStream);
+        messageDataSource.serializeData();
+        Assert.assertEquals(outputStream.toByteArray(), content);
+    }
+
+    private static CarbonMessage createMessage(byte[] content, String contentType) {
+        CarbonMessage message = new DefaultCarbonMessage();
+        message.setHeader(Constants.CONTENT_TYPE_HEADER, contentType);
+        // Deliver the content in three chunks, splitting it in the middle of characters
+        int chunkSize = content.length / 3 + 1;
+        for (int offset = 0; offset < content.length; offset += chunkSize) {
+            message.addMessageBody(ByteBuffer.wrap(content, offset, Math.min(chunkSize, content.length - offset)));
+        }
+        message.setEndOfMsgAdded(true);
+        return message;
+    }
+
+    private static byte[] readContent(CarbonMessage message) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = message.getInputStream()) {
+            byte[] buffer = new byte[4];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
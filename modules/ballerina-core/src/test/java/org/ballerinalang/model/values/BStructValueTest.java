@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.StructDef;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test the storage of the fields of a struct value.
+ */
+public class BStructValueTest {
+
+    private static final int INT_FIELD = 0;
+    private static final int LONG_FIELD = 1;
+    private static final int FLOAT_FIELD = 2;
+    private static final int DOUBLE_FIELD = 3;
+    private static final int BOOLEAN_FIELD = 4;
+    private static final int STRING_FIELD = 5;
+    private static final int MAP_FIELD = 6;
+
+    private BLangProgram bLangProgram;
+    private StructDef structDef;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("lang/structs/struct-value-types.bal");
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testDefaultValues");
+        structDef = ((BStruct) returns[0]).value();
+    }
+
+    @Test(description = "Test the default values of the fields of a struct")
+    public void testDefaultValues() {
+        BStruct struct = new BStruct(structDef);
+
+        Assert.assertEquals(((BInteger) struct.getValue(INT_FIELD)).intValue(), 0);
+        Assert.assertEquals(((BLong) struct.getValue(LONG_FIELD)).longValue(), 0L);
+        Assert.assertEquals(((BFloat) struct.getValue(FLOAT_FIELD)).floatValue(), 0f);
+        Assert.assertEquals(((BDouble) struct.getValue(DOUBLE_FIELD)).doubleValue(), 0d);
+        Assert.assertFalse(((BBoolean) struct.getValue(BOOLEAN_FIELD)).booleanValue());
+        Assert.assertEquals(struct.getValue(STRING_FIELD).stringValue(), "");
+
+        // Each struct gets a map of its own, as maps are mutable
+        BValue mapValue = struct.getValue(MAP_FIELD);
+        Assert.assertTrue(mapValue instanceof BMap);
+        Assert.assertNotSame(new BStruct(structDef).getValue(MAP_FIELD), mapValue);
+    }
+
+    @Test(description = "Test setting and getting the values of the value type fields of a struct")
+    public void testValueTypeRoundTrip() {
+        BStruct struct = new BStruct(structDef);
+
+        struct.setValue(INT_FIELD, new BInteger(Integer.MIN_VALUE));
+        struct.setValue(LONG_FIELD, new BLong(Long.MIN_VALUE));
+        struct.setValue(FLOAT_FIELD, new BFloat(-1.5f));
+        struct.setValue(DOUBLE_FIELD, new BDouble(-Double.MAX_VALUE));
+        struct.setValue(BOOLEAN_FIELD, new BBoolean(true));
+
+        Assert.assertEquals(((BInteger) struct.getValue(INT_FIELD)).intValue(), Integer.MIN_VALUE);
+        Assert.assertEquals(((BLong) struct.getValue(LONG_FIELD)).longValue(), Long.MIN_VALUE);
+        Assert.assertEquals(((BFloat) struct.getValue(FLOAT_FIELD)).floatValue(), -1.5f);
+        Assert.assertEquals(((BDouble) struct.getValue(DOUBLE_FIELD)).doubleValue(), -Double.MAX_VALUE);
+        Assert.assertTrue(((BBoolean) struct.getValue(BOOLEAN_FIELD)).booleanValue());
+
+        struct.setValue(FLOAT_FIELD, new BFloat(Float.NaN));
+        struct.setValue(DOUBLE_FIELD, new BDouble(Double.NaN));
+        struct.setValue(BOOLEAN_FIELD, new BBoolean(false));
+
+        Assert.assertTrue(Float.isNaN(((BFloat) struct.getValue(FLOAT_FIELD)).floatValue()));
+        Assert.assertTrue(Double.isNaN(((BDouble) struct.getValue(DOUBLE_FIELD)).doubleValue()));
+        Assert.assertFalse(((BBoolean) struct.getValue(BOOLEAN_FIELD)).booleanValue());
+    }
+
+    @Test(description = "Test assigning and reading the value type fields of a struct in Ballerina")
+    public void testValueTypeFields() {
+        BValue[] args = {new BInteger(-42), new BLong(-9223372036854775807L), new BFloat(-0.25f),
+                new BDouble(-1.0e300), new BBoolean(true)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testValueTypeFields", args);
+
+        Assert.assertEquals(returns.length, 5);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), -42);
+        Assert.assertEquals(((BLong) returns[1]).longValue(), -9223372036854775807L);
+        Assert.assertEquals(((BFloat) returns[2]).floatValue(), -0.25f);
+        Assert.assertEquals(((BDouble) returns[3]).doubleValue(), -1.0e300);
+        Assert.assertTrue(((BBoolean) returns[4]).booleanValue());
+    }
+
+    @Test(description = "Test accessing a field of a non-initialized struct",
+            expectedExceptions = {BallerinaException.class},
+            expectedExceptionsMessageRegExp = "cannot access a field of a non-initialized struct")
+    public void testNonInitializedStruct() {
+        new BStruct().getValue(INT_FIELD);
+    }
+}
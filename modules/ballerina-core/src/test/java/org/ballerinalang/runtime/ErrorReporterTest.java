@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime;
+
+import org.ballerinalang.bre.CallableUnitInfo;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.model.NodeLocation;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test rate limiting and dropping the error reports of {@link ErrorReporter}.
+ */
+public class ErrorReporterTest {
+
+    private static final long REPORT_INTERVAL = 10;
+
+    @Test(description = "Test reporting an error at most once per report interval")
+    public void testSample() {
+        ErrorReporter.ErrorSignature signature = new ErrorReporter.ErrorSignature("error");
+        Assert.assertEquals(signature.sample(0, REPORT_INTERVAL), 0);
+
+        // Suppressed within the interval
+        Assert.assertEquals(signature.sample(5, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.sample(9, REPORT_INTERVAL), -1);
+
+        // Reported in the next interval with the number of suppressed errors
+        Assert.assertEquals(signature.sample(10, REPORT_INTERVAL), 2);
+        Assert.assertEquals(signature.sample(12, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.sample(25, REPORT_INTERVAL), 1);
+        Assert.assertEquals(signature.sample(40, REPORT_INTERVAL), 0);
+    }
+
+    @Test(description = "Test flushing the errors suppressed within a report interval")
+    public void testFlush() {
+        ErrorReporter.ErrorSignature signature = new ErrorReporter.ErrorSignature("error");
+        Assert.assertEquals(signature.sample(0, REPORT_INTERVAL), 0);
+        Assert.assertEquals(signature.scheduleFlush(0, REPORT_INTERVAL), -1, "Flush scheduled without an error");
+
+        // The flush of a suppressed error is scheduled once, at the end of the interval
+        Assert.assertEquals(signature.sample(4, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.scheduleFlush(4, REPORT_INTERVAL), 6);
+        Assert.assertEquals(signature.sample(6, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.scheduleFlush(6, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.flush(), 2);
+
+        // The flushed errors are not added to the next report
+        Assert.assertEquals(signature.sample(11, REPORT_INTERVAL), 0);
+        Assert.assertEquals(signature.sample(12, REPORT_INTERVAL), -1);
+        Assert.assertEquals(signature.scheduleFlush(12, REPORT_INTERVAL), 9);
+
+        // Errors reported with a later error are not flushed again
+        Assert.assertEquals(signature.sample(21, REPORT_INTERVAL), 1);
+        Assert.assertEquals(signature.flush(), 0);
+    }
+
+    @Test(description = "Test the message template of an error signature")
+    public void testMessageTemplate() {
+        Assert.assertEquals(ErrorReporter.getMessageTemplate("customer 12 not found in 3 stores"),
+                "customer # not found in # stores");
+        Assert.assertEquals(ErrorReporter.getMessageTemplate("customer not found"), "customer not found");
+        Assert.assertEquals(ErrorReporter.getMessageTemplate(new String(new char[300]).replace('\0', 'x')).length(),
+                200);
+    }
+
+    @Test(description = "Test the error signature of the category, the top Ballerina frame and the message template")
+    public void testErrorSignature() throws InterruptedException {
+        ThreadPoolExecutor executor = ErrorReporter.createExecutor(10);
+        ScheduledThreadPoolExecutor timer = ErrorReporter.createTimer();
+        ErrorReporter errorReporter = new ErrorReporter(TimeUnit.HOURS.toNanos(1), executor, timer);
+        Context context = new Context();
+        pushFrame(context, "getCustomer", 5);
+
+        // Error messages with request specific numbers have the same signature
+        errorReporter.report(context, new BallerinaException("customer 1 not found"), "customer 1 not found");
+        errorReporter.report(context, new BallerinaException("customer 2 not found"), "customer 2 not found");
+
+        // Errors of another category, with another message or from another function have their own signatures
+        errorReporter.report(context, new IllegalStateException("customer 3"), "customer 3");
+        errorReporter.report(context, new BallerinaException("customer 4 is inactive"), "customer 4 is inactive");
+        pushFrame(context, "getOrder", 10);
+        errorReporter.report(context, new BallerinaException("order 1 not found"), "order 1 not found");
+
+        timer.shutdownNow();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(executor.getCompletedTaskCount(), 4);
+        Assert.assertEquals(errorReporter.getErrorCount(BallerinaException.class.getName()), 4);
+        Assert.assertEquals(errorReporter.getErrorCount(IllegalStateException.class.getName()), 1);
+        Assert.assertEquals(errorReporter.getDroppedCount(), 0);
+    }
+
+    @Test(description = "Test reporting the errors suppressed within a report interval at the end of the interval")
+    public void testSuppressedErrorsReported() throws InterruptedException {
+        ThreadPoolExecutor executor = ErrorReporter.createExecutor(10);
+        ScheduledThreadPoolExecutor timer = ErrorReporter.createTimer();
+        ErrorReporter errorReporter = new ErrorReporter(TimeUnit.MILLISECONDS.toNanos(500), executor, timer);
+        Context context = new Context();
+        pushFrame(context, "getCustomer", 5);
+
+        for (int i = 0; i < 3; i++) {
+            errorReporter.report(context, new BallerinaException("customer not found"), "customer not found");
+        }
+
+        // The delayed flush is run before the timer terminates
+        timer.shutdown();
+        Assert.assertTrue(timer.awaitTermination(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // The first error, and the two suppressed errors together
+        Assert.assertEquals(executor.getCompletedTaskCount(), 2);
+    }
+
+    @Test(description = "Test dropping the reports which do not fit in the report queue")
+    public void testDroppedReports() throws InterruptedException {
+        ThreadPoolExecutor executor = ErrorReporter.createExecutor(1);
+        ScheduledThreadPoolExecutor timer = ErrorReporter.createTimer();
+        ErrorReporter errorReporter = new ErrorReporter(TimeUnit.HOURS.toNanos(1), executor, timer);
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            // Keep the reporter thread busy and fill the report queue
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException ignore) {
+                }
+            });
+            executor.execute(() -> { });
+
+            errorReporter.report(new Context(), new BallerinaException("dropped"), "dropped");
+            Assert.assertEquals(errorReporter.getDroppedCount(), 1);
+            Assert.assertEquals(errorReporter.getErrorCount(BallerinaException.class.getName()), 1);
+        } finally {
+            latch.countDown();
+            timer.shutdownNow();
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void pushFrame(Context context, String functionName, int lineNumber) {
+        CallableUnitInfo functionInfo = new CallableUnitInfo(functionName, "errors.test",
+                new NodeLocation("errors.bal", lineNumber));
+        context.getControlStack().pushFrame(new StackFrame(new BValue[0], new BValue[0], functionInfo));
+    }
+}
@@ -83,8 +83,11 @@ public class RuntimeErrorsTest {
         } catch (Throwable e) {
             ex = e;
         } finally {
-            Assert.assertTrue(ex instanceof StackOverflowError, "Expected a " + StackOverflowError.class.getName() +
+            // The stack overflow fails the invocation, instead of the thread executing it
+            Assert.assertTrue(ex instanceof BallerinaException, "Expected a " + BallerinaException.class.getName() +
                 ", but found: " + ex + ".");
+            Assert.assertEquals(ex.getMessage(), "stack overflow in function 'infiniteRecurse'");
+            Assert.assertTrue(ex.getCause() instanceof StackOverflowError);
             
             // Check the stack trace
             String stackTrace = ErrorHandlerUtils.getServiceStackTrace(bContext, ex);
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.runtime.Constants;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonCallback;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Test the admission control of inbound requests.
+ */
+public class AdmissionControllerTest {
+
+    private final List<String> properties = new ArrayList<>();
+
+    @Test
+    public void testRequestsAreQueuedAndRejected() {
+        setListenerProperty("queueAndReject", Constants.ADMISSION_MAX_CONCURRENT_REQUESTS, "1");
+        setListenerProperty("queueAndReject", Constants.ADMISSION_MAX_QUEUED_REQUESTS, "1");
+        RecordingRequestHandler handler = new RecordingRequestHandler();
+        AdmissionController controller = new AdmissionController(handler);
+
+        CarbonMessage first = createRequest("queueAndReject");
+        CarbonMessage second = createRequest("queueAndReject");
+        CarbonMessage third = createRequest("queueAndReject");
+        controller.submit(first, null);
+        controller.submit(second, null);
+        controller.submit(third, null);
+        Assert.assertEquals(handler.dispatched, Collections.singletonList(first));
+        Assert.assertEquals(handler.rejected, Collections.singletonList(third));
+        Assert.assertTrue(handler.rejectionMessages.get(0).contains("too many requests queued"));
+
+        // Completing the first request admits the queued one
+        handler.completionTasks.get(0).run();
+        Assert.assertEquals(handler.dispatched.size(), 2);
+        Assert.assertSame(handler.dispatched.get(1), second);
+
+        // Running a completion task again does not release another slot
+        handler.completionTasks.get(0).run();
+        controller.submit(createRequest("queueAndReject"), null);
+        Assert.assertEquals(handler.dispatched.size(), 2);
+    }
+
+    @Test
+    public void testQueuedRequestExpiresWithoutFurtherTraffic() {
+        setListenerProperty("queueExpiry", Constants.ADMISSION_MAX_CONCURRENT_REQUESTS, "1");
+        setListenerProperty("queueExpiry", Constants.ADMISSION_QUEUE_TIMEOUT, "100");
+        RecordingRequestHandler handler = new RecordingRequestHandler();
+        AdmissionController controller = new AdmissionController(handler);
+
+        controller.submit(createRequest("queueExpiry"), null);
+        CarbonMessage queued = createRequest("queueExpiry");
+        controller.submit(queued, null);
+        Assert.assertTrue(handler.rejected.isEmpty());
+
+        // No request arrives or completes, yet the queued request is rejected once its queue timeout elapses
+        waitFor(() -> !handler.rejected.isEmpty());
+        Assert.assertEquals(handler.rejected, Collections.singletonList(queued));
+        Assert.assertTrue(handler.rejectionMessages.get(0).contains("timed out in the queue"));
+        Assert.assertEquals(handler.dispatched.size(), 1);
+    }
+
+    @Test
+    public void testSlotIsReleasedOnRequestTimeout() {
+        setListenerProperty("requestTimeout", Constants.ADMISSION_MAX_CONCURRENT_REQUESTS, "1");
+        setListenerProperty("requestTimeout", Constants.ADMISSION_REQUEST_TIMEOUT, "100");
+        RecordingRequestHandler handler = new RecordingRequestHandler();
+        AdmissionController controller = new AdmissionController(handler);
+
+        // The first request never completes
+        controller.submit(createRequest("requestTimeout"), null);
+        CarbonMessage queued = createRequest("requestTimeout");
+        controller.submit(queued, null);
+        Assert.assertEquals(handler.dispatched.size(), 1);
+
+        waitFor(() -> handler.dispatched.size() == 2);
+        Assert.assertSame(handler.dispatched.get(1), queued);
+        Assert.assertTrue(handler.rejected.isEmpty());
+    }
+
+    @Test
+    public void testRejectedDispatchReleasesSlot() {
+        setListenerProperty("rejectedDispatch", Constants.ADMISSION_MAX_CONCURRENT_REQUESTS, "1");
+        RecordingRequestHandler handler = new RecordingRequestHandler();
+        handler.rejectDispatch = true;
+        AdmissionController controller = new AdmissionController(handler);
+
+        controller.submit(createRequest("rejectedDispatch"), null);
+        Assert.assertEquals(handler.rejected.size(), 1);
+
+        handler.rejectDispatch = false;
+        controller.submit(createRequest("rejectedDispatch"), null);
+        Assert.assertEquals(handler.dispatched.size(), 1);
+    }
+
+    @Test
+    public void testNonBlockingExecutorLimitsConcurrentRequests() {
+        boolean nonBlockingEnabled = ModeResolver.getInstance().isNonblockingEnabled();
+        ModeResolver.getInstance().setNonblockingEnabled(true);
+        try {
+            RecordingRequestHandler handler = new RecordingRequestHandler();
+            AdmissionController controller = new AdmissionController(handler);
+            int limit = ThreadPoolFactory.getInstance().getWorkerCount() * 20;
+            for (int i = 0; i <= limit; i++) {
+                controller.submit(createRequest("nonBlocking"), null);
+            }
+            Assert.assertEquals(handler.dispatched.size(), limit);
+            handler.completionTasks.forEach(Runnable::run);
+        } finally {
+            ModeResolver.getInstance().setNonblockingEnabled(nonBlockingEnabled);
+        }
+    }
+
+    @Test
+    public void testServiceLimitsArePerPackage() {
+        setProperty(Constants.SYS_PROP_ADMISSION_PREFIX + "service.org.foo.EchoService."
+                + Constants.ADMISSION_MAX_CONCURRENT_REQUESTS, "1");
+        AdmissionController controller = new AdmissionController(new RecordingRequestHandler());
+        Service fooService = createService("org.foo", "EchoService");
+        Service barService = createService("org.bar", "EchoService");
+
+        Assert.assertTrue(controller.acquireService(fooService));
+        Assert.assertFalse(controller.acquireService(fooService));
+        // A service with the same name in another package has no limit
+        Assert.assertTrue(controller.acquireService(barService));
+        Assert.assertTrue(controller.acquireService(barService));
+
+        controller.releaseService(fooService);
+        Assert.assertTrue(controller.acquireService(fooService));
+    }
+
+    @AfterMethod
+    public void clearProperties() {
+        properties.forEach(System::clearProperty);
+        properties.clear();
+    }
+
+    private void setListenerProperty(String listenerId, String name, String value) {
+        setProperty(Constants.SYS_PROP_ADMISSION_PREFIX + listenerId + "." + name, value);
+    }
+
+    private void setProperty(String name, String value) {
+        System.setProperty(name, value);
+        properties.add(name);
+    }
+
+    private static CarbonMessage createRequest(String listenerId) {
+        CarbonMessage cMsg = new DefaultCarbonMessage();
+        cMsg.setProperty(org.wso2.carbon.messaging.Constants.LISTENER_INTERFACE_ID, listenerId);
+        return cMsg;
+    }
+
+    private static Service createService(String pkgPath, String name) {
+        Service.ServiceBuilder serviceBuilder = new Service.ServiceBuilder(null);
+        serviceBuilder.setPkgPath(pkgPath);
+        serviceBuilder.setName(name);
+        return serviceBuilder.buildService();
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        Assert.assertTrue(condition.getAsBoolean(), "condition was not met in time");
+    }
+
+    /**
+     * Request handler which records the requests instead of executing them.
+     */
+    private static class RecordingRequestHandler implements AdmissionController.RequestHandler {
+
+        private final List<CarbonMessage> dispatched = new CopyOnWriteArrayList<>();
+        private final List<Runnable> completionTasks = new CopyOnWriteArrayList<>();
+        private final List<CarbonMessage> rejected = new CopyOnWriteArrayList<>();
+        private final List<String> rejectionMessages = new CopyOnWriteArrayList<>();
+        private volatile boolean rejectDispatch;
+
+        @Override
+        public void dispatch(CarbonMessage cMsg, CarbonCallback callback, Runnable completionTask) {
+            if (rejectDispatch) {
+                throw new RejectedExecutionException("worker pool is shut down");
+            }
+            dispatched.add(cMsg);
+            completionTasks.add(completionTask);
+        }
+
+        @Override
+        public void reject(CarbonMessage cMsg, CarbonCallback callback, String message) {
+            rejected.add(cMsg);
+            rejectionMessages.add(message);
+        }
+    }
+}
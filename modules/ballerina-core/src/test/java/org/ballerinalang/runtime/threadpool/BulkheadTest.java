@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.nonblocking.BLangNonBlockingExecutor;
+import org.ballerinalang.model.LinkedNode;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.model.nodes.fragments.expressions.InvokeNativeActionNode;
+import org.ballerinalang.model.values.BException;
+import org.ballerinalang.natives.connectors.BalConnectorCallback;
+import org.ballerinalang.runtime.ServerConnectorMessageHandler;
+import org.ballerinalang.services.dispatchers.DispatcherRegistry;
+import org.ballerinalang.services.dispatchers.ResourceDispatcher;
+import org.ballerinalang.services.dispatchers.ServiceDispatcher;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonCallback;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test the per service bulkhead executors.
+ */
+public class BulkheadTest {
+
+    private static final String PROTOCOL = "bulkheadTest";
+
+    @Test
+    public void testRejectsWhenThreadsAndQueueAreFull() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("full", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Assert.assertTrue(bulkhead.execute(() -> await(release)));
+            Assert.assertTrue(bulkhead.execute(() -> { }));
+            Assert.assertFalse(bulkhead.execute(() -> { }));
+            Assert.assertEquals(bulkhead.getRejectedCount(), 1);
+            Assert.assertEquals(bulkhead.getQueuedCount(), 1);
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    public void testRequestHoldsAdmissionSlotUntilCompletion() throws InterruptedException {
+        Service service = createService("holdSlot");
+        Bulkhead bulkhead = new Bulkhead("holdSlot", 1, 1);
+        ThreadPoolFactory.getInstance().addBulkhead(service, bulkhead);
+        registerDispatchers(service);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<String> completionThread = new AtomicReference<>();
+        try {
+            // Keep the only thread of the bulkhead busy, so that the request waits in the queue
+            Assert.assertTrue(bulkhead.execute(() -> await(release)));
+
+            CarbonMessage cMsg = new DefaultCarbonMessage();
+            cMsg.setProperty(org.wso2.carbon.messaging.Constants.PROTOCOL, PROTOCOL);
+            ServerConnectorMessageHandler.handleInbound(cMsg, new NoOpCallback(), () -> {
+                completionThread.set(Thread.currentThread().getName());
+                completed.countDown();
+            });
+            Assert.assertEquals(completed.getCount(), 1, "admission slot released while the request is queued");
+
+            // The resource can not be executed without a program, so the request completes through the error path
+            release.countDown();
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(completionThread.get().startsWith("BLangBulkhead-holdSlot"));
+        } finally {
+            release.countDown();
+            DispatcherRegistry.getInstance().unregisterServiceDispatcher(PROTOCOL);
+            DispatcherRegistry.getInstance().unregisterResourceDispatcher(PROTOCOL);
+            ThreadPoolFactory.getInstance().removeBulkhead(service);
+        }
+    }
+
+    @Test
+    public void testContinuationResumesOnBulkhead() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("resume", 1, 1);
+        try {
+            RecordingExecutor executor = resumeFailedAction(bulkhead);
+            Assert.assertTrue(executor.resumed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(executor.thread.startsWith("BLangBulkhead-resume"));
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    public void testContinuationOfFullBulkheadResumesOnWorkerPool() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("resumeFull", 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Assert.assertTrue(bulkhead.execute(() -> await(release)));
+            RecordingExecutor executor = resumeFailedAction(bulkhead);
+            Assert.assertTrue(executor.resumed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(executor.thread.startsWith("BLangWorker"));
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    private static RecordingExecutor resumeFailedAction(Bulkhead bulkhead) {
+        Context context = new Context();
+        context.setBulkhead(bulkhead);
+        RecordingExecutor executor = new RecordingExecutor(context);
+        context.setExecutor(executor);
+        BalConnectorCallback callback = new BalConnectorCallback(context, new InvokeNativeActionNode(null));
+        callback.actionCompleted(new BallerinaException("action failed"));
+        return executor;
+    }
+
+    private static void registerDispatchers(Service service) {
+        DispatcherRegistry.getInstance().registerServiceDispatcher(new ServiceDispatcher() {
+            @Override
+            public Service findService(CarbonMessage cMsg, CarbonCallback callback, Context balContext) {
+                return service;
+            }
+
+            @Override
+            public String getProtocol() {
+                return PROTOCOL;
+            }
+
+            @Override
+            public void serviceRegistered(Service service) {
+            }
+
+            @Override
+            public void serviceUnregistered(Service service) {
+            }
+        });
+        Resource.ResourceBuilder resourceBuilder = new Resource.ResourceBuilder(null);
+        resourceBuilder.setName("resource");
+        Resource resource = resourceBuilder.buildResource();
+        DispatcherRegistry.getInstance().registerResourceDispatcher(new ResourceDispatcher() {
+            @Override
+            public Resource findResource(Service service, CarbonMessage cMsg, CarbonCallback callback,
+                                         Context balContext) {
+                return resource;
+            }
+
+            @Override
+            public String getProtocol() {
+                return PROTOCOL;
+            }
+        });
+    }
+
+    private static Service createService(String name) {
+        Service.ServiceBuilder serviceBuilder = new Service.ServiceBuilder(null);
+        serviceBuilder.setPkgPath(".");
+        serviceBuilder.setName(name);
+        return serviceBuilder.buildService();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Non-blocking executor which records the thread it is resumed on.
+     */
+    private static class RecordingExecutor extends BLangNonBlockingExecutor {
+
+        private final CountDownLatch resumed = new CountDownLatch(1);
+        private volatile String thread;
+
+        RecordingExecutor(Context context) {
+            super(null, context);
+        }
+
+        @Override
+        public void handleBException(BException bException) {
+        }
+
+        @Override
+        public void continueExecution(LinkedNode linkedNode) {
+            resumed();
+        }
+
+        @Override
+        public void continueExecution() {
+            resumed();
+        }
+
+        private void resumed() {
+            thread = Thread.currentThread().getName();
+            resumed.countDown();
+        }
+    }
+
+    private static class NoOpCallback implements CarbonCallback {
+        @Override
+        public void done(CarbonMessage cMsg) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.service;
+
+import org.ballerinalang.core.EnvironmentInitializer;
+import org.ballerinalang.core.utils.MessageUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.runtime.BalCallback;
+import org.ballerinalang.runtime.ServerConnectorMessageHandler;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test services which declare a dedicated executor with the Bulkhead annotation.
+ */
+public class BulkheadServiceTest {
+
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = EnvironmentInitializer.setup("lang/service/bulkheadService.bal");
+    }
+
+    @Test
+    public void testBulkheadAnnotation() {
+        Bulkhead bulkhead = getBulkhead("pooled");
+        Assert.assertNotNull(bulkhead);
+        Assert.assertEquals(bulkhead.getPoolSize(), 2);
+        Assert.assertEquals(bulkhead.getQueueSize(), 5);
+    }
+
+    @Test
+    public void testDefaultQueueSize() {
+        Bulkhead bulkhead = getBulkhead("unqueued");
+        Assert.assertNotNull(bulkhead);
+        Assert.assertEquals(bulkhead.getPoolSize(), 3);
+        Assert.assertEquals(bulkhead.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testServiceWithoutBulkhead() {
+        Assert.assertNull(getBulkhead("shared"));
+    }
+
+    @Test
+    public void testRequestExecutesOnBulkhead() throws InterruptedException {
+        long completedCount = getBulkhead("pooled").getCompletedCount();
+        RecordingCallback callback = new RecordingCallback();
+        ServerConnectorMessageHandler.handleInbound(MessageUtils.generateHTTPMessage("/pooled/message", "GET"),
+                callback);
+        Assert.assertTrue(callback.replied.await(10, TimeUnit.SECONDS), "response was not sent");
+        Assert.assertNotNull(callback.response);
+        Assert.assertTrue(callback.thread.startsWith("BLangBulkhead-pooled"));
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (getBulkhead("pooled").getCompletedCount() == completedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(getBulkhead("pooled").getCompletedCount(), completedCount + 1);
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "invalid pool size or queue size in the bulkhead of service : invalid")
+    public void testZeroPoolSize() {
+        EnvironmentInitializer.setup("lang/service/bulkheadZeroPoolSize.bal");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "invalid pool size or queue size in the bulkhead of service : invalid")
+    public void testNegativeQueueSize() {
+        EnvironmentInitializer.setup("lang/service/bulkheadNegativeQueueSize.bal");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "invalid pool size or queue size in the bulkhead of service : invalid")
+    public void testNonNumericPoolSize() {
+        EnvironmentInitializer.setup("lang/service/bulkheadNonNumericPoolSize.bal");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "pool size not defined in the bulkhead of service : invalid")
+    public void testMissingPoolSize() {
+        EnvironmentInitializer.setup("lang/service/bulkheadMissingPoolSize.bal");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        EnvironmentInitializer.cleanup(bLangProgram);
+    }
+
+    private static Bulkhead getBulkhead(String serviceName) {
+        for (Bulkhead bulkhead : ThreadPoolFactory.getInstance().getBulkheads()) {
+            if (bulkhead.getName().equals(serviceName)) {
+                return bulkhead;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Callback which records the response of a request and the thread it is sent on.
+     */
+    private static class RecordingCallback implements BalCallback {
+
+        private final CountDownLatch replied = new CountDownLatch(1);
+        private volatile CarbonMessage response;
+        private volatile String thread;
+
+        @Override
+        public void done(CarbonMessage carbonMessage) {
+            response = carbonMessage;
+            thread = Thread.currentThread().getName();
+            replied.countDown();
+        }
+    }
+}
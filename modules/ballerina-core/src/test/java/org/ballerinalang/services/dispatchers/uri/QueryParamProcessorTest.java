@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test decoding the query parameters of inbound HTTP requests.
+ */
+public class QueryParamProcessorTest {
+
+    @Test
+    public void testEmptyQuery() throws UnsupportedEncodingException {
+        Assert.assertTrue(QueryParamProcessor.processQueryParams("").isEmpty());
+        Assert.assertNull(QueryParamProcessor.getQueryParam("", "name"));
+    }
+
+    @Test
+    public void testEmptyParams() throws UnsupportedEncodingException {
+        Map<String, String> params = QueryParamProcessor.processQueryParams("&name=ballerina&&flag&empty=&");
+        Assert.assertEquals(params.size(), 2);
+        Assert.assertEquals(params.get("name"), "ballerina");
+        Assert.assertEquals(params.get("empty"), "");
+        // A parameter without a value is ignored
+        Assert.assertFalse(params.containsKey("flag"));
+        Assert.assertEquals(QueryParamProcessor.getQueryParam("name=ballerina&", "name"), "ballerina");
+        Assert.assertNull(QueryParamProcessor.getQueryParam("name=ballerina&flag", "flag"));
+    }
+
+    @Test
+    public void testEncodedParams() throws UnsupportedEncodingException {
+        String query = "name=John%20Doe&city=New+York&symbols=%26%3D%2B&first+name=John&caf%C3%A9=au+lait";
+        Map<String, String> params = QueryParamProcessor.processQueryParams(query);
+        Assert.assertEquals(params.get("name"), "John Doe");
+        Assert.assertEquals(params.get("city"), "New York");
+        Assert.assertEquals(params.get("symbols"), "&=+");
+        Assert.assertEquals(params.get("first name"), "John");
+        Assert.assertEquals(params.get("caf\u00e9"), "au lait");
+
+        Assert.assertEquals(QueryParamProcessor.getQueryParam(query, "city"), "New York");
+        Assert.assertEquals(QueryParamProcessor.getQueryParam(query, "first name"), "John");
+        Assert.assertEquals(QueryParamProcessor.getQueryParam(query, "caf\u00e9"), "au lait");
+        Assert.assertNull(QueryParamProcessor.getQueryParam(query, "first+name"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTruncatedEscape() throws UnsupportedEncodingException {
+        QueryParamProcessor.processQueryParams("name=ballerina&value=%2");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidEscape() throws UnsupportedEncodingException {
+        QueryParamProcessor.getQueryParam("value=%zz", "value");
+    }
+
+    @Test
+    public void testMalformedParamIsDecodedOnlyWhenLookedUp() throws UnsupportedEncodingException {
+        Assert.assertEquals(QueryParamProcessor.getQueryParam("value=%zz&name=ballerina", "name"), "ballerina");
+    }
+
+    @Test
+    public void testDuplicateParams() throws UnsupportedEncodingException {
+        // The last occurrence of a parameter wins
+        String query = "name=first&other=value&name=second";
+        Assert.assertEquals(QueryParamProcessor.processQueryParams(query).get("name"), "second");
+        Assert.assertEquals(QueryParamProcessor.getQueryParam(query, "name"), "second");
+        Assert.assertEquals(QueryParamProcessor.withQueryParams(new HashMap<>(), query).get("name"), "second");
+    }
+
+    @Test
+    public void testWithQueryParams() {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("id", "10");
+        variables.put("name", "variable");
+        Map<String, String> arguments = QueryParamProcessor.withQueryParams(variables, "name=query+param&page=2");
+
+        // Query parameters take precedence over variables of the same name
+        Assert.assertEquals(arguments.get("name"), "query param");
+        Assert.assertEquals(arguments.get("id"), "10");
+        Assert.assertEquals(arguments.get("page"), "2");
+        Assert.assertNull(arguments.get("missing"));
+        Assert.assertTrue(arguments.containsKey("id"));
+        Assert.assertFalse(arguments.containsKey("missing"));
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("id", "10");
+        expected.put("name", "query param");
+        expected.put("page", "2");
+        Assert.assertEquals(new HashMap<>(arguments), expected);
+    }
+}
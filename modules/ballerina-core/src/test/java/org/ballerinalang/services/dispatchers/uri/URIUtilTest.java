@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test parsing the request targets of inbound HTTP requests.
+ */
+public class URIUtilTest {
+
+    @Test
+    public void testOriginFormTarget() {
+        String target = "/hello/world?name=ballerina#top";
+        int pathEnd = URIUtil.getPathEnd(target);
+        // A path which needs neither collapsing nor decoding is not copied
+        Assert.assertSame(URIUtil.getPath("/hello/world", URIUtil.getPathEnd("/hello/world")), "/hello/world");
+        Assert.assertEquals(URIUtil.getPath(target, pathEnd), "/hello/world");
+        Assert.assertEquals(URIUtil.getRawQuery(target, pathEnd), "name=ballerina");
+    }
+
+    @Test
+    public void testCollapseSlashes() {
+        String target = "//hello///world//?path=/a//b";
+        int pathEnd = URIUtil.getPathEnd(target);
+        Assert.assertEquals(URIUtil.getPath(target, pathEnd), "/hello/world/");
+        // Slashes are collapsed in the path only
+        Assert.assertEquals(URIUtil.getRawQuery(target, pathEnd), "path=/a//b");
+    }
+
+    @Test
+    public void testAbsoluteFormTarget() {
+        String target = "http://localhost:9090/hello//world?name=ballerina#top";
+        int pathEnd = URIUtil.getPathEnd(target);
+        Assert.assertEquals(URIUtil.getPath(target, pathEnd), "/hello/world");
+        Assert.assertEquals(URIUtil.getRawQuery(target, pathEnd), "name=ballerina");
+
+        target = "http://localhost:9090?name=ballerina";
+        pathEnd = URIUtil.getPathEnd(target);
+        Assert.assertEquals(URIUtil.getPath(target, pathEnd), "");
+        Assert.assertEquals(URIUtil.getRawQuery(target, pathEnd), "name=ballerina");
+
+        Assert.assertEquals(URIUtil.getPath("http://localhost:9090", URIUtil.getPathEnd("http://localhost:9090")), "");
+    }
+
+    @Test
+    public void testEmptyQuery() {
+        Assert.assertEquals(URIUtil.getRawQuery("/hello?", URIUtil.getPathEnd("/hello?")), "");
+        Assert.assertEquals(URIUtil.getRawQuery("/hello?#top", URIUtil.getPathEnd("/hello?#top")), "");
+        Assert.assertNull(URIUtil.getRawQuery("/hello", URIUtil.getPathEnd("/hello")));
+        Assert.assertNull(URIUtil.getRawQuery("/hello#a?b", URIUtil.getPathEnd("/hello#a?b")));
+    }
+
+    @Test
+    public void testPercentEncodedPath() {
+        String target = "/hello%20world/caf%C3%A9/a+b?q=%20";
+        int pathEnd = URIUtil.getPathEnd(target);
+        // '+' is only decoded in form encoded query parameters
+        Assert.assertEquals(URIUtil.getPath(target, pathEnd), "/hello world/caf\u00e9/a+b");
+        Assert.assertEquals(URIUtil.getRawQuery(target, pathEnd), "q=%20");
+        Assert.assertEquals(URIUtil.decode("%2F%2f"), "//");
+        Assert.assertEquals(URIUtil.decode("caf\u00e9%20"), "caf\u00e9 ");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Malformed escape pair at index 6: /hello%2")
+    public void testTruncatedEscape() {
+        URIUtil.getPath("/hello%2", URIUtil.getPathEnd("/hello%2"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Malformed escape pair at index 6: /hello%zz/world")
+    public void testInvalidEscape() {
+        URIUtil.decode("/hello%zz/world");
+    }
+
+    @Test
+    public void testPathWithoutLeadingSlash() {
+        Assert.assertEquals(URIUtil.getPath("hello/world?a=b", URIUtil.getPathEnd("hello/world?a=b")),
+                "hello/world");
+        Assert.assertEquals(URIUtil.getFirstPathSegment("hello/world"), "hello");
+        Assert.assertEquals(URIUtil.getSubPath("hello/world"), "/world");
+        Assert.assertEquals(URIUtil.getFirstPathSegment("hello"), "hello");
+        Assert.assertEquals(URIUtil.getSubPath("hello"), "/");
+    }
+
+    @Test
+    public void testPathSegments() {
+        Assert.assertEquals(URIUtil.getFirstPathSegment("/hello/world/again"), "hello");
+        Assert.assertEquals(URIUtil.getSubPath("/hello/world/again"), "/world/again");
+        Assert.assertEquals(URIUtil.getFirstPathSegment("/"), "/");
+        Assert.assertEquals(URIUtil.getSubPath("/"), "/");
+        Assert.assertEquals(URIUtil.getSubPath("/hello"), "/");
+    }
+}
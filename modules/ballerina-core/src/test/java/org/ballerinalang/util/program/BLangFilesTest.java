@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BallerinaFile;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.util.exceptions.ParserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+/**
+ * Test parsing source files with SLL prediction and the fallback to LL prediction.
+ */
+public class BLangFilesTest {
+
+    @Test
+    public void testFileNeedingLLPredictionIsParsed() {
+        long llParseCount = ParserMetrics.getInstance().getLlParseCount();
+        BallerinaFile bFile = loadFile("ll-prediction.bal");
+        Assert.assertEquals(ParserMetrics.getInstance().getLlParseCount(), llParseCount + 1);
+        Assert.assertEquals(bFile.getFunctions().length, 1);
+        Assert.assertEquals(bFile.getFunctions()[0].getCallableUnitBody().getStatements().length, 4);
+    }
+
+    @Test(expectedExceptions = ParserException.class,
+            expectedExceptionsMessageRegExp = "syntax-error.bal:3:4: missing ';' before 'return'")
+    public void testSyntaxErrorIsReportedByLLParse() {
+        loadFile("syntax-error.bal");
+    }
+
+    @Test(expectedExceptions = RuntimeException.class,
+            expectedExceptionsMessageRegExp = "null values are not yet supported in Ballerina in null-literal.bal:2")
+    public void testModelBuilderErrorIsReportedAsItIs() {
+        // Only syntax errors make the SLL parse fall back to LL, other errors are thrown from the SLL parse
+        loadFile("null-literal.bal");
+    }
+
+    private static BallerinaFile loadFile(String fileName) {
+        InputStream inputStream = BLangFilesTest.class.getClassLoader()
+                .getResourceAsStream("lang/parser/" + fileName);
+        return BLangFiles.loadFile(fileName, Paths.get("."), inputStream,
+                new BLangPackage.PackageBuilder(new BLangPackage(GlobalScope.getInstance())));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test loading packages with their imports.
+ */
+public class BLangPackagesTest {
+
+    private Path programDirPath;
+
+    @BeforeClass
+    public void setup() {
+        programDirPath = Paths.get(BLangPackagesTest.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath()).resolve("programloader");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "dependency cycle detected: cycle.a->cycle.b->cycle.a")
+    public void testImportCycleIsReported() {
+        new BLangProgramLoader().loadLibrary(programDirPath, Paths.get("cycle", "a"));
+    }
+
+    @Test
+    public void testPackageImportedByTwoPackagesIsLoadedOnce() {
+        BLangProgram bLangProgram = new BLangProgramLoader().loadLibrary(programDirPath,
+                Paths.get("diamond", "app"));
+
+        BLangPackage appPackage = bLangProgram.getLibraryPackages()[0];
+        BLangPackage[] imports = appPackage.getDependentPackages();
+        Assert.assertEquals(imports.length, 2);
+        BLangPackage leftBase = imports[0].getDependentPackages()[0];
+        BLangPackage rightBase = imports[1].getDependentPackages()[0];
+        Assert.assertEquals(leftBase.getPackagePath(), "diamond.base");
+        Assert.assertSame(leftBase, rightBase);
+        Assert.assertSame(bLangProgram.resolve(new SymbolName("diamond.base")), leftBase);
+
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "sum");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 23);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.NativePackageProxy;
+import org.ballerinalang.util.repository.BuiltinPackageRepository;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test sharing the analyzed built-in packages by the programs which import them.
+ */
+public class BuiltinPackagesTest {
+
+    private static final String HTTP_PACKAGE = "builtintest.net.http";
+    private static final String MESSAGES_PACKAGE = "builtintest.lang.messages";
+
+    private Path programDirPath;
+
+    @BeforeClass
+    public void setup() {
+        programDirPath = Paths.get(BuiltinPackagesTest.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath()).resolve("programloader");
+
+        // Define the built-in packages the same way as the generated native construct loaders do
+        GlobalScope globalScope = BLangPrograms.populateGlobalScope();
+        defineBuiltinPackage(globalScope, MESSAGES_PACKAGE);
+        defineBuiltinPackage(globalScope, HTTP_PACKAGE);
+    }
+
+    @Test(description = "Test sharing a built-in package by two programs")
+    public void testBuiltinPackageSharedByPrograms() {
+        BLangProgram bLangProgram = loadProgram("app");
+        BLangProgram otherProgram = loadProgram("app");
+
+        SymbolName httpPackage = new SymbolName(HTTP_PACKAGE);
+        Assert.assertFalse(bLangProgram.resolve(httpPackage) instanceof NativePackageProxy);
+        Assert.assertSame(otherProgram.resolve(httpPackage), bLangProgram.resolve(httpPackage));
+
+        BValue[] args = {new BString("Ballerina")};
+        BValue[] returns = BLangFunctions.invoke(otherProgram, "respond", args);
+        Assert.assertEquals(returns[0].stringValue(), "Hello, Ballerina!");
+    }
+
+    @Test(description = "Test sharing a built-in package which is loaded as an import of another built-in package")
+    public void testBuiltinImportSharedByPrograms() {
+        BLangProgram appProgram = loadProgram("app");
+        BLangProgram greeterProgram = loadProgram("greeter");
+
+        BLangPackage httpPackage = (BLangPackage) appProgram.resolve(new SymbolName(HTTP_PACKAGE));
+        BLangPackage messagesPackage = httpPackage.getDependentPackages()[0];
+        Assert.assertEquals(messagesPackage.getPackagePath(), MESSAGES_PACKAGE);
+        Assert.assertSame(appProgram.resolve(new SymbolName(MESSAGES_PACKAGE)), messagesPackage);
+        Assert.assertSame(greeterProgram.resolve(new SymbolName(MESSAGES_PACKAGE)), messagesPackage);
+
+        BValue[] args = {new BString("Ballerina")};
+        BValue[] returns = BLangFunctions.invoke(greeterProgram, "greet", args);
+        Assert.assertEquals(returns[0].stringValue(), "Hello, Ballerina");
+    }
+
+    private BLangProgram loadProgram(String packageName) {
+        return new BLangProgramLoader().loadLibrary(programDirPath, Paths.get("builtin", packageName));
+    }
+
+    private static void defineBuiltinPackage(GlobalScope globalScope, String packagePath) {
+        SymbolName symbolName = new SymbolName(packagePath);
+        if (globalScope.resolve(symbolName) != null) {
+            return;
+        }
+
+        globalScope.define(symbolName, new NativePackageProxy(() -> {
+            BLangPackage builtinPackage = new BLangPackage(globalScope);
+            builtinPackage.setPackagePath(packagePath);
+            builtinPackage.setPackageRepository(new BuiltinPackageRepository(BuiltinPackagesTest.class));
+            return builtinPackage;
+        }, globalScope));
+    }
+}
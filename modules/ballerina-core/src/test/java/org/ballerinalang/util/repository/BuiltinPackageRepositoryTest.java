@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.repository;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Test finding the source files of built-in packages, from the package index and by scanning the code source.
+ */
+public class BuiltinPackageRepositoryTest {
+
+    @Test(description = "Test loading a package listed in the index of the provider's code source")
+    public void testLoadIndexedPackage() throws IOException {
+        BuiltinPackageRepository repository = new BuiltinPackageRepository(BuiltinPackageRepositoryTest.class);
+        PackageRepository.PackageSource packageSource = repository.loadPackage(Paths.get("repotest", "indexed"));
+        Map<String, InputStream> sourceFiles = packageSource.getSourceFileStreamMap();
+
+        // Only the files in the index are loaded, so the index is read from the code source of the provider
+        Assert.assertEquals(sourceFiles.keySet(), Collections.singleton("listed.bal"));
+        closeAll(sourceFiles);
+    }
+
+    @Test(description = "Test loading a package which is not in the index, by scanning the code source")
+    public void testLoadPackageMissingFromIndex() throws IOException {
+        BuiltinPackageRepository repository = new BuiltinPackageRepository(BuiltinPackageRepositoryTest.class);
+        PackageRepository.PackageSource packageSource = repository.loadPackage(Paths.get("repotest", "unindexed"));
+        Map<String, InputStream> sourceFiles = packageSource.getSourceFileStreamMap();
+
+        Assert.assertEquals(sourceFiles.keySet(), Collections.singleton("scanned.bal"));
+        Assert.assertNotNull(sourceFiles.get("scanned.bal"));
+        closeAll(sourceFiles);
+    }
+
+    private void closeAll(Map<String, InputStream> sourceFiles) throws IOException {
+        for (InputStream sourceStream : sourceFiles.values()) {
+            sourceStream.close();
+        }
+    }
+}
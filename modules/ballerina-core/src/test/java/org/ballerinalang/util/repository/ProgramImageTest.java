@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.repository;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BallerinaFile;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.model.ImportPackage;
+import org.ballerinalang.model.ParameterDef;
+import org.ballerinalang.model.StructDef;
+import org.ballerinalang.model.builder.ModelBuilderEvents;
+import org.ballerinalang.model.builder.RecordingModelBuilder;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.util.program.BLangFiles;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Test writing a program image and loading source files from it.
+ */
+public class ProgramImageTest {
+
+    private static final String FILE_NAME = "image-sample.bal";
+    private static final Path PACKAGE_PATH = Paths.get("samples", "programimage");
+
+    private byte[] source;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        source = readResource("samples/programimage/" + FILE_NAME);
+    }
+
+    @Test
+    public void testReplayedModelMatchesParsedModel() throws IOException {
+        ProgramImage.Entry recorded = BLangFiles.recordFile(FILE_NAME, PACKAGE_PATH, source, createPackageBuilder());
+        ProgramImage image = ProgramImage.read(ProgramImage.write(
+                Collections.singletonMap(ProgramImage.getKey(PACKAGE_PATH, FILE_NAME), recorded)));
+        Assert.assertNotNull(image);
+        ProgramImage.Entry entry = image.getEntry(PACKAGE_PATH, FILE_NAME);
+        Assert.assertNotNull(entry);
+        Assert.assertTrue(entry.matches(source));
+        Assert.assertEquals(entry.getEvents(), recorded.getEvents());
+
+        // Replaying the image makes the same model builder calls as parsing the source
+        RecordingModelBuilder replayed = new RecordingModelBuilder(createPackageBuilder(), FILE_NAME);
+        ModelBuilderEvents.replay(entry.getEvents(), replayed);
+        replayed.build();
+        Assert.assertEquals(replayed.getEvents(), recorded.getEvents());
+
+        BallerinaFile parsedFile = BLangFiles.loadFile(FILE_NAME, PACKAGE_PATH, new ByteArrayInputStream(source),
+                createPackageBuilder());
+        BallerinaFile loadedFile = BLangFiles.loadFile(FILE_NAME, PACKAGE_PATH, new ByteArrayInputStream(source),
+                createPackageBuilder(), image);
+        assertSameModel(loadedFile, parsedFile);
+    }
+
+    @Test(description = "Test that a new model builder method is not left out of program images")
+    public void testRecordingModelBuilderIsComplete() {
+        // Program images are not written while a model builder method is not recorded
+        Assert.assertTrue(RecordingModelBuilder.isComplete(),
+                "A public method of BLangModelBuilder is not recorded by RecordingModelBuilder");
+    }
+
+    @Test
+    public void testFailedReplayIsParsedFromSource() throws IOException {
+        ProgramImage.Entry recorded = BLangFiles.recordFile(FILE_NAME, PACKAGE_PATH, source, createPackageBuilder());
+        // An event the model builder does not know makes the replay fail after the model is built
+        byte[] events = Arrays.copyOf(recorded.getEvents(), recorded.getEvents().length + 1);
+        events[events.length - 1] = (byte) 0xFF;
+        ProgramImage image = ProgramImage.read(ProgramImage.write(Collections.singletonMap(
+                ProgramImage.getKey(PACKAGE_PATH, FILE_NAME),
+                new ProgramImage.Entry(ProgramImage.getChecksum(source), events))));
+        Assert.assertNotNull(image);
+
+        BallerinaFile parsedFile = BLangFiles.loadFile(FILE_NAME, PACKAGE_PATH, new ByteArrayInputStream(source),
+                createPackageBuilder());
+        BallerinaFile loadedFile = BLangFiles.loadFile(FILE_NAME, PACKAGE_PATH, new ByteArrayInputStream(source),
+                createPackageBuilder(), image);
+        assertSameModel(loadedFile, parsedFile);
+    }
+
+    @Test
+    public void testImageOfDifferentVersionIsIgnored() throws IOException {
+        ProgramImage.Entry recorded = BLangFiles.recordFile(FILE_NAME, PACKAGE_PATH, source, createPackageBuilder());
+        Map<String, ProgramImage.Entry> entries =
+                Collections.singletonMap(ProgramImage.getKey(PACKAGE_PATH, FILE_NAME), recorded);
+        byte[] image = ProgramImage.write(entries);
+        Assert.assertNotNull(ProgramImage.read(image));
+
+        // Change the signature and recompute the checksum of the image
+        byte[] otherImage = Arrays.copyOf(image, image.length);
+        otherImage[2 * Integer.BYTES] ^= 1;
+        CRC32 crc = new CRC32();
+        crc.update(otherImage, 0, otherImage.length - Long.BYTES);
+        ByteBuffer.wrap(otherImage).putLong(otherImage.length - Long.BYTES, crc.getValue());
+        Assert.assertNull(ProgramImage.read(otherImage));
+
+        // A corrupted image is ignored as well
+        byte[] corruptedImage = Arrays.copyOf(image, image.length);
+        corruptedImage[corruptedImage.length / 2] ^= 1;
+        Assert.assertNull(ProgramImage.read(corruptedImage));
+    }
+
+    private static void assertSameModel(BallerinaFile actual, BallerinaFile expected) {
+        Assert.assertEquals(actual.getPackagePath(), expected.getPackagePath());
+        Assert.assertEquals(getImportPaths(actual), getImportPaths(expected));
+        Assert.assertEquals(actual.getConstants().length, expected.getConstants().length);
+        Assert.assertEquals(actual.getStructDefs().length, expected.getStructDefs().length);
+        for (int i = 0; i < expected.getStructDefs().length; i++) {
+            StructDef actualStruct = actual.getStructDefs()[i];
+            StructDef expectedStruct = expected.getStructDefs()[i];
+            Assert.assertEquals(actualStruct.getName(), expectedStruct.getName());
+            Assert.assertEquals(actualStruct.getNodeLocation(), expectedStruct.getNodeLocation());
+        }
+
+        Assert.assertEquals(actual.getFunctions().length, expected.getFunctions().length);
+        for (int i = 0; i < expected.getFunctions().length; i++) {
+            Function actualFunction = actual.getFunctions()[i];
+            Function expectedFunction = expected.getFunctions()[i];
+            Assert.assertEquals(actualFunction.getName(), expectedFunction.getName());
+            Assert.assertEquals(actualFunction.getNodeLocation(), expectedFunction.getNodeLocation());
+            Assert.assertEquals(getNames(actualFunction.getParameterDefs()),
+                    getNames(expectedFunction.getParameterDefs()));
+            Assert.assertEquals(actualFunction.getReturnParameters().length,
+                    expectedFunction.getReturnParameters().length);
+            Statement[] actualStmts = actualFunction.getCallableUnitBody().getStatements();
+            Statement[] expectedStmts = expectedFunction.getCallableUnitBody().getStatements();
+            Assert.assertEquals(actualStmts.length, expectedStmts.length);
+            for (int j = 0; j < expectedStmts.length; j++) {
+                Assert.assertEquals(actualStmts[j].getClass(), expectedStmts[j].getClass());
+                Assert.assertEquals(actualStmts[j].getNodeLocation(), expectedStmts[j].getNodeLocation());
+            }
+        }
+    }
+
+    private static String[] getImportPaths(BallerinaFile bFile) {
+        return Arrays.stream(bFile.getImportPackages()).map(ImportPackage::getPath).toArray(String[]::new);
+    }
+
+    private static String[] getNames(ParameterDef[] parameterDefs) {
+        return Arrays.stream(parameterDefs).map(ParameterDef::getName).toArray(String[]::new);
+    }
+
+    private static BLangPackage.PackageBuilder createPackageBuilder() {
+        return new BLangPackage.PackageBuilder(new BLangPackage(GlobalScope.getInstance()));
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = ProgramImageTest.class.getClassLoader().getResourceAsStream(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
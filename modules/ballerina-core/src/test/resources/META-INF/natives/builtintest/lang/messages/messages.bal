@@ -0,0 +1,5 @@
+package builtintest.lang.messages;
+
+function greeting(string name) (string) {
+    return "Hello, " + name;
+}
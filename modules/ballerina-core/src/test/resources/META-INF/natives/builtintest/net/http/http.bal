@@ -0,0 +1,7 @@
+package builtintest.net.http;
+
+import builtintest.lang.messages;
+
+function respond(string name) (string) {
+    return messages:greeting(name) + "!";
+}
@@ -0,0 +1,5 @@
+package repotest.indexed;
+
+function listed() (int) {
+    return 1;
+}
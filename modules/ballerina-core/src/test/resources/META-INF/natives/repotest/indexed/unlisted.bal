@@ -0,0 +1,5 @@
+package repotest.indexed;
+
+function unlisted() (int) {
+    return 2;
+}
@@ -0,0 +1,5 @@
+package repotest.unindexed;
+
+function scanned() (int) {
+    return 3;
+}
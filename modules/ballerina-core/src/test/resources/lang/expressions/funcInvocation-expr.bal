@@ -28,3 +28,33 @@ function sum (int a) (int) {
    return a;
 }
 
+
+function count (int a, int total) (int) {
+    if (a == 0) {
+        return total;
+    }
+    return count(a - 1, total + 1);
+}
+
+struct Count {
+    int amount;
+}
+
+struct Total {
+    int amount;
+}
+
+typemapper countToTotal(Count c)(Total) {
+    return toTotal(c.amount);
+}
+
+function toTotal(int amount) (Total) {
+    Total t = {amount:amount};
+    return t;
+}
+
+function testTypeMapperTailCall(int amount) (int) {
+    Count c = {amount:amount};
+    Total t = (Total)c;
+    return t.amount;
+}
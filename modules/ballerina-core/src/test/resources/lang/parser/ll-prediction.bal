@@ -0,0 +1,8 @@
+import ballerina.lang.strings;
+
+function getDetails(string name) (map) {
+    map details = {"name":name, "alias":name};
+    // After the map literal above, SLL prediction fails on a package qualified function call in a map literal
+    details = {"name":name, "length":strings:length(name)};
+    return details;
+}
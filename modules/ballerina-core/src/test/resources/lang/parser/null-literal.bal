@@ -0,0 +1,4 @@
+function getName() (string) {
+    string name = null;
+    return name;
+}
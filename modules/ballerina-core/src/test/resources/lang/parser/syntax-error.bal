@@ -0,0 +1,4 @@
+function getLength(string name) (int) {
+    int length = 10
+    return length;
+}
@@ -0,0 +1,10 @@
+@http:BasePath ("/invalid")
+@Bulkhead (poolSize = "many")
+service invalid {
+
+    @http:GET
+    @http:Path ("/message")
+    resource echo (message m) {
+        reply m;
+    }
+}
@@ -0,0 +1,31 @@
+@http:BasePath ("/pooled")
+@Bulkhead (poolSize = "2", queueSize = "5")
+service pooled {
+
+    @http:GET
+    @http:Path ("/message")
+    resource echo (message m) {
+        reply m;
+    }
+}
+
+@http:BasePath ("/unqueued")
+@Bulkhead (poolSize = "3")
+service unqueued {
+
+    @http:GET
+    @http:Path ("/message")
+    resource echo (message m) {
+        reply m;
+    }
+}
+
+@http:BasePath ("/shared")
+service shared {
+
+    @http:GET
+    @http:Path ("/message")
+    resource echo (message m) {
+        reply m;
+    }
+}
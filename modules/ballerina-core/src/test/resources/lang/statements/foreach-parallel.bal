@@ -0,0 +1,25 @@
+struct Cell {
+    int value;
+    int doubled;
+}
+
+function testForeachCells(int size)(int) {
+    Cell[] cells = [];
+    int i;
+    while (i < size) {
+        Cell newCell = {value:i, doubled:0};
+        cells[i] = newCell;
+        i = i + 1;
+    }
+    iterate (Cell cell : cells) {
+        cell.doubled = cell.value * 2;
+    }
+    int sum;
+    i = 0;
+    while (i < size) {
+        Cell doubledCell = cells[i];
+        sum = sum + doubledCell.doubled;
+        i = i + 1;
+    }
+    return sum;
+}
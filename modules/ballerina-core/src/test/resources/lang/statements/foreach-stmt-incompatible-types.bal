@@ -0,0 +1,8 @@
+function testForeachOverInt()(int) {
+    int count = 5;
+    int sum;
+    iterate (int value : count) {
+        sum = sum + value;
+    }
+    return sum;
+}
@@ -0,0 +1,42 @@
+function testArrayForeach(int[] values)(int) {
+    int sum;
+    iterate (int value : values) {
+        sum = sum + value;
+    }
+    return sum;
+}
+
+function testMapForeach()(int) {
+    map testMap = {};
+    testMap["first"] = 10;
+    testMap["second"] = 20;
+    testMap["third"] = 30;
+    int sum;
+    iterate (string key : testMap) {
+        int value;
+        value = (int)testMap[key];
+        sum = sum + value;
+    }
+    return sum;
+}
+
+function testForeachBreak(int[] values, int limit)(int) {
+    int count;
+    iterate (int value : values) {
+        if (value > limit) {
+            break;
+        }
+        count = count + 1;
+    }
+    return count;
+}
+
+function testNestedForeach(int[] values)(int) {
+    int sum;
+    iterate (int x : values) {
+        iterate (int y : values) {
+            sum = sum + x * y;
+        }
+    }
+    return sum;
+}
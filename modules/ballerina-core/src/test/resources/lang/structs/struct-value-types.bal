@@ -0,0 +1,24 @@
+struct Values {
+    int intValue;
+    long longValue;
+    float floatValue;
+    double doubleValue;
+    boolean booleanValue;
+    string stringValue;
+    map mapValue;
+}
+
+function testDefaultValues() (Values) {
+    Values values = {};
+    return values;
+}
+
+function testValueTypeFields(int i, long l, float f, double d, boolean b) (int, long, float, double, boolean) {
+    Values values = {};
+    values.intValue = i;
+    values.longValue = l;
+    values.floatValue = f;
+    values.doubleValue = d;
+    values.booleanValue = b;
+    return values.intValue, values.longValue, values.floatValue, values.doubleValue, values.booleanValue;
+}
@@ -105,3 +105,20 @@ function testStructExpressionAsIndex() (string) {
 
     return dpt.employees[0].family.children[dpt.employees[0].family.noOfChildren - 1];
 }
+
+function testMixedAccessChain() (string, string, int, string) {
+    map address = {"country":"USA"};
+    string[] children = ["Emma"];
+    Family fmly = {children:children};
+    Person emp = {name:"Jack", adrs:address, age:25, family:fmly};
+    Person[] emps = [emp];
+    Department dpt = {dptName:"HR", employees:emps};
+
+    dpt.employees[0].adrs["city"] = "San Jose";
+    dpt.employees[0].family.children[1] = "Rose";
+    dpt.employees[0].family.noOfChildren = 2;
+
+    string city = dpt.employees[0].adrs["city"];
+    string child = dpt.employees[0].family.children[dpt.employees[0].family.noOfChildren - 1];
+    return city, child, emp.family.noOfChildren, children[1];
+}
@@ -0,0 +1,7 @@
+package builtin.app;
+
+import builtintest.net.http;
+
+function respond(string name) (string) {
+    return http:respond(name);
+}
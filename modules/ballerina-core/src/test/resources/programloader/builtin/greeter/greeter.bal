@@ -0,0 +1,7 @@
+package builtin.greeter;
+
+import builtintest.lang.messages;
+
+function greet(string name) (string) {
+    return messages:greeting(name);
+}
@@ -0,0 +1,7 @@
+package cycle.a;
+
+import cycle.b;
+
+function valueA() (int) {
+    return b:valueB();
+}
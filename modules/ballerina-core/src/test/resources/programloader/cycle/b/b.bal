@@ -0,0 +1,7 @@
+package cycle.b;
+
+import cycle.a;
+
+function valueB() (int) {
+    return a:valueA();
+}
@@ -0,0 +1,8 @@
+package diamond.app;
+
+import diamond.left;
+import diamond.right;
+
+function sum() (int) {
+    return left:value() + right:value();
+}
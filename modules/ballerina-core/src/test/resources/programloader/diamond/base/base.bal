@@ -0,0 +1,5 @@
+package diamond.base;
+
+function value() (int) {
+    return 10;
+}
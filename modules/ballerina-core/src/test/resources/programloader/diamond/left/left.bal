@@ -0,0 +1,7 @@
+package diamond.left;
+
+import diamond.base;
+
+function value() (int) {
+    return base:value() + 1;
+}
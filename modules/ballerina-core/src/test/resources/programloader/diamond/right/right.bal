@@ -0,0 +1,7 @@
+package diamond.right;
+
+import diamond.base;
+
+function value() (int) {
+    return base:value() + 2;
+}
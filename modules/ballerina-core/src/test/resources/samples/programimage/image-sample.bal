@@ -0,0 +1,37 @@
+package samples.programimage;
+
+import ballerina.lang.system;
+
+const int threshold = 10;
+
+struct Person {
+    string name;
+    int age;
+}
+
+function sum(int a, int b, int c) (int, string) {
+    int total = a + b;
+    int i = 0;
+    while (i < c) {
+        total = total + i;
+        i = i + 1;
+    }
+    if (total > threshold) {
+        return total, "large";
+    } else {
+        return total, "small";
+    }
+}
+
+function describe(Person p) (string) {
+    map labels = {"name":p.name, "age":p.age};
+    int[] counts = [1, 2, 3];
+    string label;
+    try {
+        label = (string) labels["name"];
+    } catch (exception e) {
+        label = "unknown";
+    }
+    system:println(label);
+    return label + ":" + counts[0];
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.data.sql;
+
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.values.BLong;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code CachedDataIterator} iterates over the materialized rows of a cached select result. Each data table gets its
+ * own iterator, while the rows are shared between all of them.
+ *
+ * @since 0.8.2
+ */
+public class CachedDataIterator implements DataIterator {
+
+    private SQLResultCache.CachedResult result;
+    private int cursor = -1;
+
+    public CachedDataIterator(SQLResultCache.CachedResult result) {
+        this.result = result;
+    }
+
+    /**
+     * Read all the rows of the given result set into a compact form which can be cached. Results with LOB or binary
+     * columns are not cached, since the string value a live result set returns for them depends on the driver and
+     * cannot be reproduced from the materialized value.
+     *
+     * @param rs      result set positioned before the first row.
+     * @param maxRows maximum number of rows to read.
+     * @return rows, or null if the result set has a LOB or binary column or more than the maximum number of rows.
+     * @throws SQLException if reading the result set fails.
+     */
+    public static Object[][] readRows(ResultSet rs, int maxRows) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            if (!isCacheableType(metaData.getColumnType(i))) {
+                return null;
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            if (rows.size() == maxRows) {
+                return null;
+            }
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Object value = rs.getObject(i + 1);
+                row[i] = value instanceof Array ? ((Array) value).getArray() : value;
+            }
+            rows.add(row);
+        }
+        return rows.toArray(new Object[rows.size()][]);
+    }
+
+    private static boolean isCacheableType(int sqlType) {
+        switch (sqlType) {
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+        case Types.CLOB:
+        case Types.NCLOB:
+        case Types.SQLXML:
+            return false;
+        default:
+            return true;
+        }
+    }
+
+    @Override
+    public boolean next() {
+        if (cursor + 1 >= result.getRows().length) {
+            cursor = result.getRows().length;
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the rows are owned by the cache.
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = getValue(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String getString(String columnName) {
+        return getString(getColumnIndex(columnName));
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+
+    @Override
+    public long getLong(String columnName) {
+        return getLong(getColumnIndex(columnName));
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return value == null ? 0 : Integer.parseInt(value.toString());
+    }
+
+    @Override
+    public int getInt(String columnName) {
+        return getInt(getColumnIndex(columnName));
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
+        }
+        return value == null ? 0 : Float.parseFloat(value.toString());
+    }
+
+    @Override
+    public float getFloat(String columnName) {
+        return getFloat(getColumnIndex(columnName));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return value == null ? 0 : Double.parseDouble(value.toString());
+    }
+
+    @Override
+    public double getDouble(String columnName) {
+        return getDouble(getColumnIndex(columnName));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    @Override
+    public boolean getBoolean(String columnName) {
+        return getBoolean(getColumnIndex(columnName));
+    }
+
+    @Override
+    public String getObjectAsString(int columnIndex) {
+        Object value = getValue(columnIndex);
+        if (value == null) {
+            return null;
+        } else if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        }
+        return String.valueOf(value);
+    }
+
+    @Override
+    public String getObjectAsString(String columnName) {
+        return getObjectAsString(getColumnIndex(columnName));
+    }
+
+    @Override
+    public BValue get(int columnIndex, String type) {
+        Object value = getValue(columnIndex);
+        // LOB and binary columns are never cached, see readRows
+        switch (type) {
+        case "date":
+        case "time":
+        case "timestamp":
+            return new BLong(((Date) value).getTime());
+        }
+        return null;
+    }
+
+    @Override
+    public BValue get(String columnName, String type) {
+        return get(getColumnIndex(columnName), type);
+    }
+
+    @Override
+    public Map<String, Object> getArray(int columnIndex) {
+        Map<String, Object> resultMap = new HashMap<>();
+        Object value = getValue(columnIndex);
+        if (value != null) {
+            Object[] objArray = (Object[]) value;
+            for (int i = 0; i < objArray.length; i++) {
+                resultMap.put(String.valueOf(i), objArray[i]);
+            }
+        }
+        return resultMap;
+    }
+
+    @Override
+    public Map<String, Object> getArray(String columnName) {
+        return getArray(getColumnIndex(columnName));
+    }
+
+    private Object getValue(int columnIndex) {
+        Object[][] rows = result.getRows();
+        if (cursor < 0 || cursor >= rows.length) {
+            throw new BallerinaException("invalid cursor position: no current row in the datatable");
+        }
+        Object[] row = rows[cursor];
+        if (columnIndex < 1 || columnIndex > row.length) {
+            throw new BallerinaException("invalid column index: " + columnIndex);
+        }
+        return row[columnIndex - 1];
+    }
+
+    private int getColumnIndex(String columnName) {
+        int index = result.getColumnIndex(columnName);
+        if (index < 0) {
+            throw new BallerinaException("invalid column name: " + columnName);
+        }
+        return index;
+    }
+}
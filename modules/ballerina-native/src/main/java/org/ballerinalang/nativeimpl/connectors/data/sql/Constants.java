@@ -24,6 +24,8 @@ package org.ballerinalang.nativeimpl.connectors.data.sql;
  */
 public final class Constants {
 
+    public static final String TRANSACTION_CONNECTIONS = "sql.transaction.connections";
+
     /**
      * Constants for HikariCP pool configurations.
      */
@@ -54,6 +56,19 @@ public final class Constants {
         public static final String DATASOURCE = "dataSource.";
     }
 
+    /**
+     * Constants for the query result cache configurations.
+     */
+    public static final class ResultCacheProperties {
+
+        public static final String MAX_ENTRIES = "resultCacheMaxEntries";
+        public static final String MAX_ROWS = "resultCacheMaxRows";
+        public static final String TIME_TO_LIVE = "resultCacheTimeToLive";
+
+        public static final int DEFAULT_MAX_ROWS = 1000;
+        public static final long DEFAULT_TIME_TO_LIVE = 60000;
+    }
+
     /**
      * Constants for SQL DataTypes.
      */
@@ -19,6 +19,7 @@ package org.ballerinalang.nativeimpl.connectors.data.sql;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.SymbolScope;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BBoolean;
@@ -29,14 +30,24 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaConnector;
+import org.ballerinalang.nativeimpl.connectors.data.sql.client.SQLConnectorUtils;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.IdentityHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Native SQL Connector.
@@ -56,7 +67,14 @@ public class SQLConnector extends AbstractNativeConnector {
     static final String CONNECTOR_PACKAGE = "ballerina.data.sql";
     public static final String CONNECTOR_NAME = "ClientConnector";
 
+    private static final Logger log = LoggerFactory.getLogger(SQLConnector.class);
+
+    private static final long SQL_WORKER_KEEP_ALIVE = 60000;
+    private static final int SQL_WORKER_QUEUE_SIZE = 1000;
+
     private HikariDataSource hikariDataSource;
+    private ExecutorService sqlExecutor;
+    private SQLResultCache resultCache;
     private String databaseName;
 
     public String getDatabaseName() {
@@ -68,9 +86,13 @@ public class SQLConnector extends AbstractNativeConnector {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public boolean init(BValue[] bValueRefs) {
-        BMap options = (BMap) bValueRefs[0];
+        // Option parsing removes the keys it consumes, so work on a copy and leave the caller's map intact
+        BMap<BString, BValue> options = copyOptions((BMap<BString, BValue>) bValueRefs[0]);
+        buildResultCache(options);
         buildDataSource(options);
+        buildExecutor();
         try (Connection con = getSQLConnection()) {
             databaseName = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
         } catch (SQLException e) {
@@ -94,6 +116,223 @@ public class SQLConnector extends AbstractNativeConnector {
         }
     }
 
+    /**
+     * Get a connection to execute a statement in the given context. If a transaction is in progress on this connector
+     * in the context, the connection pinned to the transaction is returned.
+     *
+     * @param context current context.
+     * @return database connection.
+     */
+    public Connection getSQLConnection(Context context) {
+        Connection conn = getTransactionConnection(context);
+        if (conn != null) {
+            return conn;
+        }
+        return getSQLConnection();
+    }
+
+    /**
+     * Check whether the given connection is pinned to a transaction of this connector in the given context.
+     * Such connections must not be released when a statement completes.
+     *
+     * @param context current context.
+     * @param conn    connection to check.
+     * @return true, if the connection is pinned to a transaction.
+     */
+    public boolean isTransactionConnection(Context context, Connection conn) {
+        return conn != null && conn == getTransactionConnection(context);
+    }
+
+    /**
+     * Start a transaction on this connector. A connection is checked out from the pool and pinned to the context
+     * until the transaction is committed or rolled back. Pinned connections which are still open when the execution
+     * of the context completes are rolled back and released.
+     *
+     * @param context current context.
+     */
+    public void beginTransaction(Context context) {
+        Map<SQLConnector, Connection> txConnections = getTransactionConnections(context);
+        if (txConnections.containsKey(this)) {
+            throw new BallerinaException("transaction already started on " + SQLConnector.CONNECTOR_NAME);
+        }
+        Connection conn = getSQLConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            SQLConnectorUtils.cleanupConnection(null, null, conn);
+            throw new BallerinaException("begin transaction failed: " + e.getMessage(), e);
+        }
+        txConnections.put(this, conn);
+        // The actions of the transaction share its connection, so they are not invoked concurrently
+        context.setSequentialActions(true);
+    }
+
+    /**
+     * End the transaction started on this connector and release the pinned connection.
+     *
+     * @param context current context.
+     * @param commit  true to commit the transaction, false to roll it back.
+     */
+    public void endTransaction(Context context, boolean commit) {
+        Map<SQLConnector, Connection> txConnections = getTransactionConnections(context);
+        Connection conn = txConnections.remove(this);
+        if (conn == null) {
+            throw new BallerinaException("no transaction started on " + SQLConnector.CONNECTOR_NAME);
+        }
+        if (txConnections.isEmpty()) {
+            context.setSequentialActions(false);
+        }
+        try {
+            if (commit) {
+                conn.commit();
+                if (resultCache != null) {
+                    resultCache.invalidateAll();
+                }
+            } else {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            throw new BallerinaException((commit ? "commit" : "rollback") + " transaction failed: " + e.getMessage(),
+                    e);
+        } finally {
+            SQLConnectorUtils.cleanupConnection(null, null, conn);
+        }
+    }
+
+    /**
+     * Check whether a transaction is in progress on this connector in the given context.
+     *
+     * @param context current context.
+     * @return true, if a transaction is in progress.
+     */
+    public boolean isInTransaction(Context context) {
+        return getTransactionConnection(context) != null;
+    }
+
+    /**
+     * Get the query result cache of this connector.
+     *
+     * @return result cache, or null if result caching is not enabled in the connector options.
+     */
+    public SQLResultCache getResultCache() {
+        return resultCache;
+    }
+
+    private Connection getTransactionConnection(Context context) {
+        @SuppressWarnings("unchecked")
+        Map<SQLConnector, Connection> txConnections =
+                (Map<SQLConnector, Connection>) context.getProperty(Constants.TRANSACTION_CONNECTIONS);
+        if (txConnections == null) {
+            return null;
+        }
+        return txConnections.get(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<SQLConnector, Connection> getTransactionConnections(Context context) {
+        Map<SQLConnector, Connection> txConnections =
+                (Map<SQLConnector, Connection>) context.getProperty(Constants.TRANSACTION_CONNECTIONS);
+        if (txConnections == null) {
+            // Connectors are types, hence equal by name. Transactions are tracked per connector instance.
+            txConnections = new IdentityHashMap<>();
+            context.setProperty(Constants.TRANSACTION_CONNECTIONS, txConnections);
+            context.addCompletionTask(() -> releaseTransactions(context));
+        }
+        return txConnections;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void releaseTransactions(Context context) {
+        Map<SQLConnector, Connection> txConnections =
+                (Map<SQLConnector, Connection>) context.getProperties().remove(Constants.TRANSACTION_CONNECTIONS);
+        if (txConnections == null) {
+            return;
+        }
+        for (Connection conn : txConnections.values()) {
+            log.warn("rolling back uncommitted transaction of " + SQLConnector.CONNECTOR_NAME);
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                log.error("rollback of uncommitted transaction failed: " + e.getMessage(), e);
+            } finally {
+                SQLConnectorUtils.cleanupConnection(null, null, conn);
+            }
+        }
+    }
+
+    /**
+     * Get the executor used to run the actions of this connector in the non-blocking mode. The executor has one thread
+     * per connection in the pool, so the database concurrency of the connector is bounded by the pool size. Up to
+     * {@value #SQL_WORKER_QUEUE_SIZE} actions wait for a thread; further actions are rejected.
+     *
+     * @return executor of the connector.
+     */
+    public ExecutorService getSQLExecutor() {
+        return sqlExecutor;
+    }
+
+    private void buildExecutor() {
+        int poolSize = hikariDataSource.getMaximumPoolSize();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, SQL_WORKER_KEEP_ALIVE,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(SQL_WORKER_QUEUE_SIZE),
+                new BLangThreadFactory("BLangSQLWorker"));
+        // Idle connectors should not hold on to their worker threads.
+        executor.allowCoreThreadTimeOut(true);
+        sqlExecutor = executor;
+    }
+
+    /**
+     * Close the connector. The executor stops accepting actions, the actions already submitted complete, and the
+     * connections of the pool are closed.
+     */
+    public void close() {
+        if (sqlExecutor != null) {
+            sqlExecutor.shutdown();
+        }
+        if (hikariDataSource != null) {
+            hikariDataSource.close();
+        }
+    }
+
+    private static BMap<BString, BValue> copyOptions(BMap<BString, BValue> options) {
+        BMap<BString, BValue> copy = new BMap<>();
+        for (BString key : options.keySet()) {
+            copy.put(key, options.get(key));
+        }
+        return copy;
+    }
+
+    private void buildResultCache(BMap options) {
+        BString key = new BString(Constants.ResultCacheProperties.MAX_ENTRIES);
+        BValue value = options.get(key);
+        if (value == null) {
+            return;
+        }
+        options.remove(key);
+        try {
+            int maxEntries = Integer.parseInt(value.stringValue());
+            int maxRows = Constants.ResultCacheProperties.DEFAULT_MAX_ROWS;
+            long timeToLive = Constants.ResultCacheProperties.DEFAULT_TIME_TO_LIVE;
+            key = new BString(Constants.ResultCacheProperties.MAX_ROWS);
+            value = options.get(key);
+            if (value != null) {
+                maxRows = Integer.parseInt(value.stringValue());
+                options.remove(key);
+            }
+            key = new BString(Constants.ResultCacheProperties.TIME_TO_LIVE);
+            value = options.get(key);
+            if (value != null) {
+                timeToLive = Long.parseLong(value.stringValue());
+                options.remove(key);
+            }
+            if (maxEntries > 0) {
+                resultCache = new SQLResultCache(maxEntries, maxRows, timeToLive);
+            }
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("error in sql connector result cache configuration: " + e.getMessage());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void buildDataSource(BMap options) {
         try {
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.data.sql;
+
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BDataTable;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code SQLResultCache} is a size bounded LRU cache of materialized select results of a SQL connector. Entries
+ * expire after a fixed time to live and are invalidated when a statement executed through the same connector writes
+ * to one of the tables the cached query reads from.
+ *
+ * @since 0.8.2
+ */
+public class SQLResultCache {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("[\\w.$\"`\\[\\]]+|,|\\(|\\)");
+    private static final Pattern QUOTE_PATTERN = Pattern.compile("[\"`\\[\\]]");
+
+    private static final Set<String> TABLE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "FROM", "JOIN", "INTO", "UPDATE", "TABLE"));
+
+    private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "WHERE", "GROUP", "ORDER", "HAVING", "LIMIT", "UNION", "JOIN", "INNER", "LEFT", "RIGHT", "FULL",
+            "OUTER", "CROSS", "NATURAL", "ON", "USING", "SET", "VALUES", "FETCH", "OFFSET", "FOR"));
+
+    private final int maxRows;
+    private final long timeToLive;
+    private final Map<String, CachedResult> entries;
+
+    // Incremented on every invalidation. A result read before an invalidation must not be cached after it.
+    private long version;
+
+    public SQLResultCache(int maxEntries, int maxRows, long timeToLive) {
+        this.maxRows = maxRows;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Build the cache key of a query. The key consists of the query text and the type, value and direction of each
+     * bound parameter.
+     *
+     * @param query      query text.
+     * @param parameters query parameters.
+     * @return cache key.
+     */
+    public static String getCacheKey(String query, BArray parameters) {
+        StringBuilder key = new StringBuilder(query);
+        int paramCount = parameters.size();
+        for (int index = 0; index < paramCount; index++) {
+            BStruct paramValue = (BStruct) parameters.get(index);
+            key.append('\u0000');
+            for (int i = 0; i < 3; i++) {
+                BValue value = paramValue.getValue(i);
+                key.append(value == null ? null : value.stringValue()).append('\u0001');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Extract the names of the tables referred in a SQL statement. Names are upper cased and stripped of quotes and
+     * schema qualifiers, so the result can only be used for conservative matching.
+     *
+     * @param query SQL statement.
+     * @return referred table names, which is empty if no table could be identified.
+     */
+    public static Set<String> getTableNames(String query) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(query);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        Set<String> tables = new HashSet<>();
+        int size = tokens.size();
+        for (int i = 0; i < size; i++) {
+            String keyword = tokens.get(i).toUpperCase(Locale.ENGLISH);
+            if (!TABLE_KEYWORDS.contains(keyword)) {
+                continue;
+            }
+            int next = i + 1;
+            while (next < size && isName(tokens.get(next))) {
+                tables.add(getTableName(tokens.get(next)));
+                if (!"FROM".equals(keyword)) {
+                    break;
+                }
+                // A FROM clause may list several tables, each with an optional alias.
+                next++;
+                while (next < size && !",".equals(tokens.get(next)) && isName(tokens.get(next))
+                        && !CLAUSE_KEYWORDS.contains(tokens.get(next).toUpperCase(Locale.ENGLISH))) {
+                    next++;
+                }
+                if (next >= size || !",".equals(tokens.get(next))) {
+                    break;
+                }
+                next++;
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Get the cached result of a query.
+     *
+     * @param key cache key of the query.
+     * @return cached result, or null if the query is not cached or the cached result has expired.
+     */
+    public synchronized CachedResult get(String key) {
+        CachedResult result = entries.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (result.expiryTime < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return result;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Cache the result of a query, unless the cache was invalidated after the result was read.
+     *
+     * @param key     cache key of the query.
+     * @param result  materialized result.
+     * @param version cache version observed before the query was executed.
+     */
+    public synchronized void put(String key, CachedResult result, long version) {
+        if (this.version != version) {
+            return;
+        }
+        result.expiryTime = System.currentTimeMillis() + timeToLive;
+        entries.put(key, result);
+    }
+
+    /**
+     * Invalidate the cached results of queries which read from any of the given tables.
+     *
+     * @param tables names of the written tables, as returned by {@link #getTableNames(String)}. All entries are
+     *               invalidated if the set is empty.
+     */
+    public synchronized void invalidate(Set<String> tables) {
+        version++;
+        if (tables.isEmpty()) {
+            entries.clear();
+            return;
+        }
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (!Collections.disjoint(iterator.next().tables, tables)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidate(Collections.emptySet());
+    }
+
+    private static boolean isName(String token) {
+        return !",".equals(token) && !"(".equals(token) && !")".equals(token);
+    }
+
+    private static String getTableName(String token) {
+        String name = token.substring(token.lastIndexOf('.') + 1);
+        return QUOTE_PATTERN.matcher(name).replaceAll("").toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Materialized rows of a select query, shared by all data tables returned for the query.
+     */
+    public static class CachedResult {
+
+        private final List<BDataTable.ColumnDefinition> columnDefs;
+        private final Map<String, Integer> columnIndexes;
+        private final Object[][] rows;
+        private final Set<String> tables;
+        private long expiryTime;
+
+        public CachedResult(List<BDataTable.ColumnDefinition> columnDefs, Object[][] rows, Set<String> tables) {
+            this.columnDefs = columnDefs;
+            this.rows = rows;
+            this.tables = tables;
+            this.columnIndexes = new HashMap<>();
+            for (int i = 0; i < columnDefs.size(); i++) {
+                columnIndexes.putIfAbsent(columnDefs.get(i).getName().toUpperCase(Locale.ENGLISH), i + 1);
+            }
+        }
+
+        public List<BDataTable.ColumnDefinition> getColumnDefs() {
+            return columnDefs;
+        }
+
+        Object[][] getRows() {
+            return rows;
+        }
+
+        int getColumnIndex(String columnName) {
+            Integer index = columnIndexes.get(columnName.toUpperCase(Locale.ENGLISH));
+            return index == null ? -1 : index;
+        }
+    }
+}
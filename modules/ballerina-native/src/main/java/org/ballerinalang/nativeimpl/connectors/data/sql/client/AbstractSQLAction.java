@@ -20,15 +20,19 @@ package org.ballerinalang.nativeimpl.connectors.data.sql.client;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BDataTable;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.connectors.data.sql.CachedDataIterator;
 import org.ballerinalang.nativeimpl.connectors.data.sql.Constants;
 import org.ballerinalang.nativeimpl.connectors.data.sql.SQLConnector;
 import org.ballerinalang.nativeimpl.connectors.data.sql.SQLDataIterator;
+import org.ballerinalang.nativeimpl.connectors.data.sql.SQLResultCache;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.ballerinalang.natives.connectors.BalConnectorCallback;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.math.BigDecimal;
@@ -48,6 +52,8 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * {@code AbstractSQLAction} is the base class for all SQL Connector Action.
@@ -56,21 +62,61 @@ import java.util.Locale;
  */
 public abstract class AbstractSQLAction extends AbstractNativeAction {
 
+    /**
+     * Execute the action on the executor of the connector, so that the request thread is released while the JDBC
+     * call is in progress. Execution is resumed through the connector callback once the action completes.
+     *
+     * @param context           Ballerina context.
+     * @param connectorCallback Callback instance to notify completion of the action invocation.
+     */
+    @Override
+    public void execute(Context context, BalConnectorCallback connectorCallback) {
+        BConnector bConnector = (BConnector) getArgument(context, 0);
+        SQLConnector connector = (SQLConnector) bConnector.value();
+        try {
+            connector.getSQLExecutor().execute(() -> {
+                BallerinaException error = null;
+                try {
+                    execute(context);
+                } catch (BallerinaException e) {
+                    error = e;
+                } catch (Throwable e) {
+                    // Errors are reported as well, the request would otherwise never be resumed
+                    error = new BallerinaException(e.getMessage(), e);
+                }
+                connectorCallback.actionCompleted(error);
+            });
+        } catch (RejectedExecutionException e) {
+            connectorCallback.actionCompleted(new BallerinaException("too many pending actions on " +
+                    SQLConnector.CONNECTOR_NAME + ", or the connector is closed"));
+        }
+    }
+
+    @Override
+    public boolean isNonBlockingAction() {
+        return true;
+    }
 
     protected void executeQuery(Context context, SQLConnector connector, String query, BArray parameters) {
+        SQLResultCache resultCache = connector.getResultCache();
+        // Queries in a transaction may see uncommitted data, hence they are never served from or added to the cache.
+        if (resultCache != null && !connector.isInTransaction(context)
+                && executeCachedQuery(context, connector, resultCache, query, parameters)) {
+            return;
+        }
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            conn = connector.getSQLConnection();
+            conn = connector.getSQLConnection(context);
             stmt = getPreparedStatement(conn, connector, query);
             createProcessedStatement(stmt, parameters);
             rs = stmt.executeQuery();
-            BDataTable dataTable = new BDataTable(new SQLDataIterator(conn, stmt, rs), new HashMap<>(),
-                    getColumnDefinitions(rs));
+            SQLDataIterator dataIterator = new SQLDataIterator(releasable(context, connector, conn), stmt, rs);
+            BDataTable dataTable = new BDataTable(dataIterator, new HashMap<>(), getColumnDefinitions(rs));
             context.getControlStack().setReturnValue(0, dataTable);
         } catch (SQLException e) {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, stmt, releasable(context, connector, conn));
             throw new BallerinaException("execute query failed: " + e.getMessage(), e);
         }
     }
@@ -80,7 +126,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            conn = connector.getSQLConnection();
+            conn = connector.getSQLConnection(context);
             stmt = conn.prepareStatement(query);
             createProcessedStatement(stmt, parameters);
             int count = stmt.executeUpdate();
@@ -89,7 +135,8 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         } catch (SQLException e) {
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
         } finally {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, stmt, releasable(context, connector, conn));
+            invalidateResultCache(connector, query);
         }
     }
 
@@ -99,7 +146,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            conn = connector.getSQLConnection();
+            conn = connector.getSQLConnection(context);
             int keyColumnCount = 0;
             if (keyColumns != null) {
                 keyColumnCount = keyColumns.size();
@@ -128,7 +175,8 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         } catch (SQLException e) {
             throw new BallerinaException("execute update with generated keys failed: " + e.getMessage(), e);
         } finally {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, stmt, releasable(context, connector, conn));
+            invalidateResultCache(connector, query);
         }
     }
 
@@ -136,26 +184,82 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         Connection conn = null;
         CallableStatement stmt = null;
         ResultSet rs = null;
+        // A stored procedure may write to any table.
+        if (connector.getResultCache() != null) {
+            connector.getResultCache().invalidateAll();
+        }
         try {
-            conn = connector.getSQLConnection();
+            conn = connector.getSQLConnection(context);
             stmt = getPreparedCall(conn, connector, query);
             createProcessedStatement(stmt, parameters);
             boolean hasResult = stmt.execute();
             setOutParameters(stmt, parameters);
             if (hasResult) {
                 rs = stmt.getResultSet();
-                BDataTable datatable = new BDataTable(new SQLDataIterator(conn, stmt, rs), new HashMap<>(),
-                        getColumnDefinitions(rs));
+                SQLDataIterator dataIterator = new SQLDataIterator(releasable(context, connector, conn), stmt, rs);
+                BDataTable datatable = new BDataTable(dataIterator, new HashMap<>(), getColumnDefinitions(rs));
                 context.getControlStack().setReturnValue(0, datatable);
             } else {
-                SQLConnectorUtils.cleanupConnection(null, stmt, conn);
+                SQLConnectorUtils.cleanupConnection(null, stmt, releasable(context, connector, conn));
             }
         } catch (SQLException e) {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, stmt, releasable(context, connector, conn));
             throw new BallerinaException("execute stored procedure failed: " + e.getMessage(), e);
         }
     }
 
+    // Returns false if the result of the query can not be cached, in which case it has to be executed uncached.
+    private boolean executeCachedQuery(Context context, SQLConnector connector, SQLResultCache resultCache,
+            String query, BArray parameters) {
+        Set<String> tables = SQLResultCache.getTableNames(query);
+        if (tables.isEmpty()) {
+            return false;
+        }
+        String key = SQLResultCache.getCacheKey(query, parameters);
+        SQLResultCache.CachedResult result = resultCache.get(key);
+        if (result == null) {
+            long version = resultCache.getVersion();
+            Connection conn = null;
+            PreparedStatement stmt = null;
+            ResultSet rs = null;
+            try {
+                conn = connector.getSQLConnection();
+                stmt = conn.prepareStatement(query);
+                createProcessedStatement(stmt, parameters);
+                rs = stmt.executeQuery();
+                ArrayList<BDataTable.ColumnDefinition> columnDefs = getColumnDefinitions(rs);
+                Object[][] rows = CachedDataIterator.readRows(rs, resultCache.getMaxRows());
+                if (rows == null) {
+                    return false;
+                }
+                result = new SQLResultCache.CachedResult(columnDefs, rows, tables);
+                resultCache.put(key, result, version);
+            } catch (SQLException e) {
+                throw new BallerinaException("execute query failed: " + e.getMessage(), e);
+            } finally {
+                SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            }
+        }
+        BDataTable dataTable = new BDataTable(new CachedDataIterator(result), new HashMap<>(), result.getColumnDefs());
+        context.getControlStack().setReturnValue(0, dataTable);
+        return true;
+    }
+
+    private void invalidateResultCache(SQLConnector connector, String query) {
+        SQLResultCache resultCache = connector.getResultCache();
+        if (resultCache != null) {
+            resultCache.invalidate(SQLResultCache.getTableNames(query));
+        }
+    }
+
+    // Connections pinned to a transaction are released when the transaction ends, not when the statement completes.
+    private Connection releasable(Context context, SQLConnector connector, Connection conn) {
+        if (connector.isTransactionConnection(context, conn)) {
+            return null;
+        }
+        return conn;
+    }
+
     private PreparedStatement getPreparedStatement(Connection conn, SQLConnector connector, String query)
             throws SQLException {
         PreparedStatement stmt;
@@ -59,4 +59,10 @@ public class Select extends AbstractSQLAction {
         executeQuery(context, (SQLConnector) connector, query, parameters);
         return null;
     }
+
+    @Override
+    public boolean isParallelAction() {
+        // A query does not change the state of the database
+        return true;
+    }
 }
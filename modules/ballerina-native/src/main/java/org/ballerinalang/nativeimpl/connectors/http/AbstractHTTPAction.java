@@ -20,22 +20,27 @@ package org.ballerinalang.nativeimpl.connectors.http;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.Connector;
+import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BException;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.ballerinalang.natives.connectors.BalConnectorCallback;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.messaging.DefaultCarbonMessage;
 import org.wso2.carbon.messaging.Headers;
+import org.wso2.carbon.messaging.MessageUtil;
 import org.wso2.carbon.messaging.exceptions.ClientConnectorException;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.ballerinalang.runtime.Constants.BALLERINA_VERSION;
 
@@ -67,33 +72,12 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
             cMsg.setEndOfMsgAdded(true);
         }
 
-        String uri = null;
         try {
-            uri = ((ClientConnector) connector).getServiceUri() + path;
-
-            URL url = new URL(uri);
-            String host = url.getHost();
-            int port = 80;
-            if (url.getPort() != -1) {
-                port = url.getPort();
-            } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
-                port = 443;
-            }
-
-            cMsg.setProperty(Constants.HOST, host);
-            cMsg.setProperty(Constants.PORT, port);
-            String toPath = url.getPath();
-            String query = url.getQuery();
-            if (query != null) {
-                toPath = toPath + "?" + query;
-            }
-            cMsg.setProperty(Constants.TO, toPath);
-
-            cMsg.setProperty(Constants.PROTOCOL, url.getProtocol());
-            if (port != 80) {
-                cMsg.getHeaders().set(Constants.HOST, host + ":" + port);
+            ClientConnector clientConnector = (ClientConnector) connector;
+            if (clientConnector.isServiceUriParsed()) {
+                setEndpointProperties(clientConnector, path, cMsg);
             } else {
-                cMsg.getHeaders().set(Constants.HOST, host);
+                setEndpointProperties(new URL(clientConnector.getServiceUri() + path), cMsg);
             }
 
             //Set User-Agent Header
@@ -117,6 +101,45 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
     }
 
+    private void setEndpointProperties(ClientConnector connector, String path, CarbonMessage cMsg) {
+        // Same as parsing the full request URI, as the service URI has neither a query nor a fragment.
+        int refIndex = path.indexOf('#');
+        if (refIndex != -1) {
+            path = path.substring(0, refIndex);
+        }
+        cMsg.setProperty(Constants.HOST, connector.getHost());
+        cMsg.setProperty(Constants.PORT, connector.getPort());
+        cMsg.setProperty(Constants.TO, connector.getBasePath() + path);
+        cMsg.setProperty(Constants.PROTOCOL, connector.getProtocol());
+        cMsg.getHeaders().set(Constants.HOST, connector.getHostHeader());
+    }
+
+    private void setEndpointProperties(URL url, CarbonMessage cMsg) {
+        String host = url.getHost();
+        int port = 80;
+        if (url.getPort() != -1) {
+            port = url.getPort();
+        } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
+            port = 443;
+        }
+
+        cMsg.setProperty(Constants.HOST, host);
+        cMsg.setProperty(Constants.PORT, port);
+        String toPath = url.getPath();
+        String query = url.getQuery();
+        if (query != null) {
+            toPath = toPath + "?" + query;
+        }
+        cMsg.setProperty(Constants.TO, toPath);
+
+        cMsg.setProperty(Constants.PROTOCOL, url.getProtocol());
+        if (port != 80) {
+            cMsg.getHeaders().set(Constants.HOST, host + ":" + port);
+        } else {
+            cMsg.getHeaders().set(Constants.HOST, host);
+        }
+    }
+
     protected BValue executeAction(Context context, CarbonMessage message) {
 
         try {
@@ -128,7 +151,7 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
                 throw new BallerinaException("Http client connector is not available");
             }
 
-            clientConnector.send(message, balConnectorCallback);
+            send(clientConnector, getClientConnector(context), message, balConnectorCallback);
 
             // Wait till Response comes
             long startTime = System.currentTimeMillis();
@@ -144,6 +167,9 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
                     }
                 }
             }
+            if (balConnectorCallback.getActionError() != null) {
+                throw balConnectorCallback.getActionError();
+            }
             handleTransportException(balConnectorCallback.getValueRef());
             return balConnectorCallback.getValueRef();
         } catch (ClientConnectorException e) {
@@ -163,7 +189,122 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         if (clientConnector == null) {
             throw new BallerinaException("Http client connector is not available");
         }
-        clientConnector.send(message, balConnectorCallback);
+        send(clientConnector, getClientConnector(context), message, balConnectorCallback);
+    }
+
+    private ClientConnector getClientConnector(Context context) {
+        // First argument of all the HTTP actions is the connector.
+        return (ClientConnector) ((BConnector) getArgument(context, 0)).value();
+    }
+
+    void send(org.wso2.carbon.messaging.ClientConnector clientConnector, ClientConnector connector,
+              CarbonMessage message, BalConnectorCallback balConnectorCallback)
+            throws ClientConnectorException {
+        if (!CoalescedRequest.isCoalescable(message)) {
+            sendThroughCache(clientConnector, connector, message, balConnectorCallback,
+                    balConnectorCallback.isNonBlockingExecutor());
+            return;
+        }
+        CoalescedRequest coalescedRequest = new CoalescedRequest(connector.getInFlightRequests(), message,
+                balConnectorCallback);
+        CoalescedRequest inFlightRequest = connector.getInFlightRequests()
+                .putIfAbsent(coalescedRequest.getKey(), coalescedRequest);
+        if (inFlightRequest != null) {
+            if (inFlightRequest.join(balConnectorCallback)) {
+                return;
+            }
+            // The response of the in-flight request arrived in the meantime.
+            sendThroughCache(clientConnector, connector, message, balConnectorCallback,
+                    balConnectorCallback.isNonBlockingExecutor());
+            return;
+        }
+        try {
+            sendThroughCache(clientConnector, connector, message, coalescedRequest,
+                    balConnectorCallback.isNonBlockingExecutor());
+        } catch (ClientConnectorException | RuntimeException e) {
+            coalescedRequest.sendFailed("Failed to send the message to an endpoint. " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private void sendThroughCache(org.wso2.carbon.messaging.ClientConnector clientConnector,
+                                  ClientConnector connector, CarbonMessage message, CarbonCallback callback,
+                                  boolean nonBlocking) throws ClientConnectorException {
+        HttpResponseCache responseCache = HttpResponseCache.getInstance();
+        if (responseCache == null) {
+            sendToEndpoint(clientConnector, connector, message, callback);
+            return;
+        }
+        if (!HttpResponseCache.isCacheableRequest(message)) {
+            if (!isSafeMethod(message.getProperty(Constants.HTTP_METHOD))) {
+                responseCache.invalidate(message);
+            }
+            sendToEndpoint(clientConnector, connector, message, callback);
+            return;
+        }
+
+        String key = HttpResponseCache.getCacheKey(message);
+        HttpResponseCache.CachedResponse cached =
+                HttpResponseCache.isReloadRequest(message) ? null : responseCache.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.isFresh(now)) {
+            respond(callback, nonBlocking, cached.toCarbonMessage(now));
+            return;
+        }
+        if (cached != null && cached.isUsableWhileRevalidating(now)) {
+            respond(callback, nonBlocking, cached.toCarbonMessage(now));
+            if (cached.startRevalidation()) {
+                try {
+                    sendToEndpoint(clientConnector, connector, createRevalidationRequest(message, cached),
+                            new CachingCallback(responseCache, message, cached, null));
+                } catch (ClientConnectorException | RuntimeException e) {
+                    cached.revalidationCompleted();
+                    logger.debug("Failed to revalidate a cached response", e);
+                }
+            }
+            return;
+        }
+        if (cached != null && cached.hasValidators()) {
+            message = createRevalidationRequest(message, cached);
+        } else {
+            cached = null;
+        }
+        sendToEndpoint(clientConnector, connector, message, new CachingCallback(responseCache, message, cached,
+                callback));
+    }
+
+    private void sendToEndpoint(org.wso2.carbon.messaging.ClientConnector clientConnector, ClientConnector connector,
+                                CarbonMessage message, CarbonCallback callback) throws ClientConnectorException {
+        EndpointCallback endpointCallback = new EndpointCallback(connector, callback);
+        try {
+            clientConnector.send(message, endpointCallback);
+        } catch (ClientConnectorException | RuntimeException e) {
+            endpointCallback.release();
+            throw e;
+        }
+    }
+
+    private static boolean isSafeMethod(Object method) {
+        return Constants.HTTP_METHOD_GET.equals(method) || Constants.HTTP_METHOD_HEAD.equals(method)
+                || Constants.HTTP_METHOD_OPTIONS.equals(method);
+    }
+
+    private static CarbonMessage createRevalidationRequest(CarbonMessage message,
+                                                           HttpResponseCache.CachedResponse cached) {
+        // The program may reuse its request message, so the validators are added to a copy of it.
+        CarbonMessage request = MessageUtil.cloneCarbonMessageWithOutData(message);
+        request.setEndOfMsgAdded(true);
+        cached.addValidators(request);
+        return request;
+    }
+
+    private static void respond(CarbonCallback callback, boolean nonBlocking, CarbonMessage response) {
+        if (nonBlocking) {
+            // Hand over the response the same way as a transport does, after the current thread is released.
+            ThreadPoolFactory.getInstance().getExecutor().execute(() -> callback.done(response));
+        } else {
+            callback.done(response);
+        }
     }
 
     @Override
@@ -196,4 +337,121 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         }
     }
 
+    /**
+     * Callback which keeps track of the in-flight requests of a connector before handing over the response. A request
+     * stops counting as in-flight when sending it fails, or when the transport calls back with its response or with
+     * the error which ended it, such as a connection or socket timeout.
+     */
+    private static class EndpointCallback implements CarbonCallback {
+
+        private ClientConnector connector;
+        private CarbonCallback parentCallback;
+        private AtomicBoolean released = new AtomicBoolean();
+
+        EndpointCallback(ClientConnector connector, CarbonCallback parentCallback) {
+            this.connector = connector;
+            this.parentCallback = parentCallback;
+            connector.requestStarted();
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                connector.requestCompleted();
+            }
+        }
+
+        @Override
+        public void done(CarbonMessage carbonMessage) {
+            release();
+            parentCallback.done(carbonMessage);
+        }
+    }
+
+    /**
+     * Callback which stores cacheable responses in the response cache before handing them over. The body of a
+     * response is read by the {@link ResponseBodyReader}, since the transport thread delivers the body after this
+     * callback returns.
+     */
+    private static class CachingCallback implements CarbonCallback {
+
+        private HttpResponseCache responseCache;
+        private String key;
+        private boolean headRequest;
+        // Cached response revalidated by the request, or null if the request is not conditional.
+        private HttpResponseCache.CachedResponse revalidated;
+        // Null for background revalidations, whose responses are only stored.
+        private CarbonCallback parentCallback;
+        private long requestTime = System.currentTimeMillis();
+
+        CachingCallback(HttpResponseCache responseCache, CarbonMessage request,
+                        HttpResponseCache.CachedResponse revalidated, CarbonCallback parentCallback) {
+            this.responseCache = responseCache;
+            this.key = HttpResponseCache.getCacheKey(request);
+            this.headRequest = Constants.HTTP_METHOD_HEAD.equals(request.getProperty(Constants.HTTP_METHOD));
+            this.revalidated = revalidated;
+            this.parentCallback = parentCallback;
+        }
+
+        @Override
+        public void done(CarbonMessage response) {
+            long responseTime = System.currentTimeMillis();
+            if (revalidated != null) {
+                revalidated.revalidationCompleted();
+                if (response.getMessagingException() == null && HttpResponseCache.getStatusCode(response) == 304) {
+                    HttpResponseCache.CachedResponse refreshed =
+                            revalidated.refresh(response, requestTime, responseTime);
+                    if (refreshed != null) {
+                        responseCache.put(key, refreshed);
+                        handOver(refreshed.toCarbonMessage(responseTime));
+                    } else {
+                        responseCache.remove(key);
+                        handOver(revalidated.toCarbonMessage(responseTime));
+                    }
+                    return;
+                }
+                if (response.getMessagingException() == null) {
+                    responseCache.remove(key);
+                }
+            }
+
+            HttpResponseCache.CachedResponse cached =
+                    HttpResponseCache.CachedResponse.create(response, requestTime, responseTime);
+            if (cached == null) {
+                handOver(response);
+                return;
+            }
+            if (headRequest) {
+                cached.setBody(new byte[0]);
+                responseCache.put(key, cached);
+                handOver(response);
+                return;
+            }
+            int contentLength = ResponseBodyReader.getContentLength(response);
+            if (contentLength < 0 || contentLength > responseCache.getMaxEntrySize()) {
+                handOver(response);
+                return;
+            }
+            ResponseBodyReader.read(response, body -> {
+                cached.setBody(body);
+                responseCache.put(key, cached);
+                handOver(cached.toCarbonMessage(System.currentTimeMillis()));
+            }, e -> fail("Failed to read the response from the endpoint. " + e.getMessage()));
+        }
+
+        private void handOver(CarbonMessage response) {
+            if (parentCallback != null) {
+                parentCallback.done(response);
+            }
+        }
+
+        private void fail(String message) {
+            if (parentCallback instanceof CoalescedRequest) {
+                ((CoalescedRequest) parentCallback).failed(message);
+            } else if (parentCallback instanceof BalConnectorCallback) {
+                CoalescedRequest.fail((BalConnectorCallback) parentCallback, message);
+            } else {
+                logger.debug(message);
+            }
+        }
+    }
 }
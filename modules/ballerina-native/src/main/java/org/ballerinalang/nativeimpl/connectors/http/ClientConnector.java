@@ -25,6 +25,13 @@ import org.ballerinalang.natives.annotations.BallerinaConnector;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
 import org.osgi.service.component.annotations.Component;
 
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Native HTTP Connector.
  */
@@ -51,14 +58,51 @@ public class ClientConnector extends AbstractNativeConnector {
 
     private String serviceUri;
 
+    // Parts of the service URI, parsed once when the connector is initialized.
+    private boolean serviceUriParsed;
+    private String protocol;
+    private String host;
+    private int port;
+    private String basePath;
+    private String hostHeader;
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+
+    private final ConcurrentMap<String, CoalescedRequest> inFlightRequests = new ConcurrentHashMap<>();
+
     @Override
     public boolean init(BValue[] bValueRefs) {
         if (bValueRefs != null && bValueRefs.length == 1) {
             serviceUri = bValueRefs[0].stringValue();
+            parseServiceUri();
         }
         return true;
     }
 
+    private void parseServiceUri() {
+        try {
+            URL url = new URL(serviceUri);
+            // Request paths can not simply be appended to a service URI with a query or a fragment.
+            if (url.getQuery() != null || url.getRef() != null) {
+                return;
+            }
+            protocol = url.getProtocol();
+            host = url.getHost();
+            port = 80;
+            if (url.getPort() != -1) {
+                port = url.getPort();
+            } else if (protocol.equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
+                port = 443;
+            }
+            basePath = url.getPath();
+            hostHeader = port != 80 ? host + ":" + port : host;
+            serviceUriParsed = true;
+        } catch (MalformedURLException e) {
+            // Invalid service URIs are reported when a request is sent through the connector.
+        }
+    }
+
     //TODO Fix Issue#320
     @Override
     public ClientConnector getInstance() {
@@ -69,6 +113,67 @@ public class ClientConnector extends AbstractNativeConnector {
         return serviceUri;
     }
 
+    /**
+     * Check whether the service URI was parsed at initialization. If not, the full request URI has to be parsed for
+     * each request.
+     *
+     * @return true, if the parts of the service URI are available.
+     */
+    public boolean isServiceUriParsed() {
+        return serviceUriParsed;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    public String getHostHeader() {
+        return hostHeader;
+    }
+
+    /**
+     * Get the number of requests sent through this connector for which a response has not arrived yet.
+     *
+     * @return number of in-flight requests.
+     */
+    public int getActiveRequestCount() {
+        return activeRequests.get();
+    }
+
+    /**
+     * Get the total number of requests sent through this connector.
+     *
+     * @return number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    void requestStarted() {
+        requestCount.increment();
+        activeRequests.incrementAndGet();
+    }
+
+    void requestCompleted() {
+        activeRequests.decrementAndGet();
+    }
+
+    ConcurrentMap<String, CoalescedRequest> getInFlightRequests() {
+        return inFlightRequests;
+    }
+
     public boolean equals(Object obj) {
         return super.equals(obj);
     }
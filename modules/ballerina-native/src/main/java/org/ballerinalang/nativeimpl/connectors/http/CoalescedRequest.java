@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.ballerinalang.model.values.BException;
+import org.ballerinalang.natives.connectors.BalConnectorCallback;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.messaging.CarbonCallback;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.MessageUtil;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * {@code CoalescedRequest} is an in-flight GET or HEAD request of a client connector, which identical concurrent
+ * requests join instead of sending their own request to the endpoint. Requests are identical when they have the same
+ * method, target URI and content negotiation and credential headers.
+ * <p>
+ * Once the response arrives, every joined request gets its own copy of it. Coalescing is disabled unless the
+ * {@value Constants#HTTP_COALESCE_REQUESTS} system property is set to true.
+ *
+ * @since 0.8.2
+ */
+class CoalescedRequest implements CarbonCallback {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescedRequest.class);
+
+    private static volatile boolean enabled = Boolean.getBoolean(Constants.HTTP_COALESCE_REQUESTS);
+
+    private static final String[] KEY_HEADERS = {"Accept", "Accept-Encoding", "Accept-Language",
+            Constants.AUTHORIZATION_HEADER, "Cookie"};
+
+    private final ConcurrentMap<String, CoalescedRequest> inFlightRequests;
+    private final String key;
+    private final boolean headRequest;
+    private final BalConnectorCallback callback;
+    private final List<BalConnectorCallback> joinedCallbacks = new ArrayList<>();
+    private boolean completed;
+
+    CoalescedRequest(ConcurrentMap<String, CoalescedRequest> inFlightRequests, CarbonMessage request,
+                     BalConnectorCallback callback) {
+        this.inFlightRequests = inFlightRequests;
+        this.key = getKey(request);
+        this.headRequest = Constants.HTTP_METHOD_HEAD.equals(request.getProperty(Constants.HTTP_METHOD));
+        this.callback = callback;
+    }
+
+    /**
+     * Check whether a prepared request may share its response with identical concurrent requests.
+     *
+     * @param request request message.
+     * @return true, if coalescing is enabled and the request is a GET or a HEAD request.
+     */
+    static boolean isCoalescable(CarbonMessage request) {
+        if (!enabled) {
+            return false;
+        }
+        Object method = request.getProperty(Constants.HTTP_METHOD);
+        return Constants.HTTP_METHOD_GET.equals(method) || Constants.HTTP_METHOD_HEAD.equals(method);
+    }
+
+    /**
+     * Enable or disable coalescing, overriding the {@value Constants#HTTP_COALESCE_REQUESTS} system property.
+     *
+     * @param enabled true, to coalesce identical concurrent requests.
+     */
+    static void setEnabled(boolean enabled) {
+        CoalescedRequest.enabled = enabled;
+    }
+
+    private static String getKey(CarbonMessage request) {
+        StringBuilder key = new StringBuilder(HttpResponseCache.getCacheKey(request));
+        for (String headerName : KEY_HEADERS) {
+            key.append('\u0000').append(request.getHeader(headerName));
+        }
+        return key.toString();
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Join this request, to receive a copy of its response.
+     *
+     * @param joinedCallback callback of the joining request.
+     * @return true, if joined. False if the response of this request has already arrived.
+     */
+    synchronized boolean join(BalConnectorCallback joinedCallback) {
+        if (completed) {
+            return false;
+        }
+        joinedCallbacks.add(joinedCallback);
+        return true;
+    }
+
+    private synchronized List<BalConnectorCallback> complete() {
+        inFlightRequests.remove(key, this);
+        completed = true;
+        return joinedCallbacks;
+    }
+
+    /**
+     * Notify the joined requests that this request could not be sent. The sender of this request gets the error
+     * from the send call itself.
+     *
+     * @param message error message.
+     */
+    void sendFailed(String message) {
+        for (BalConnectorCallback joinedCallback : complete()) {
+            completeRequest(joinedCallback, c -> fail(c, message));
+        }
+    }
+
+    /**
+     * Notify this request and the joined requests that the response could not be received.
+     *
+     * @param message error message.
+     */
+    void failed(String message) {
+        completeAll(complete(), c -> fail(c, message));
+    }
+
+    /**
+     * Complete a request with an HTTP client error.
+     *
+     * @param callback callback of the request.
+     * @param message  error message.
+     */
+    static void fail(BalConnectorCallback callback, String message) {
+        BException exception = new BException(message, Constants.HTTP_CLIENT_EXCEPTION_CATEGORY);
+        callback.actionCompleted(new BallerinaException(message, exception));
+    }
+
+    @Override
+    public void done(CarbonMessage response) {
+        List<BalConnectorCallback> joined = complete();
+        if (joined.isEmpty()) {
+            callback.done(response);
+            return;
+        }
+        if (response.getMessagingException() != null) {
+            // Error responses do not have a body, so they can be shared as they are.
+            completeAll(joined, c -> c.done(response));
+            return;
+        }
+        if (!hasBody(response)) {
+            completeAll(joined, c -> c.done(copy(response, new byte[0])));
+            return;
+        }
+        // The transport delivers the body after this method returns, so the joined requests are completed by the
+        // reader thread once the whole body has arrived.
+        ResponseBodyReader.read(response, body -> completeAll(joined, c -> c.done(copy(response, body))),
+                e -> failed("Failed to read the response from the endpoint. " + e.getMessage()));
+    }
+
+    private boolean hasBody(CarbonMessage response) {
+        int statusCode = HttpResponseCache.getStatusCode(response);
+        return !headRequest && statusCode != 204 && statusCode != 304;
+    }
+
+    private void completeAll(List<BalConnectorCallback> joined, Consumer<BalConnectorCallback> completion) {
+        completeRequest(callback, completion);
+        for (BalConnectorCallback joinedCallback : joined) {
+            completeRequest(joinedCallback, completion);
+        }
+    }
+
+    private static void completeRequest(BalConnectorCallback callback, Consumer<BalConnectorCallback> completion) {
+        // An error while completing one request must not leave the other requests waiting.
+        try {
+            completion.accept(callback);
+        } catch (RuntimeException e) {
+            logger.error("failed to complete a coalesced request", e);
+        }
+    }
+
+    private static CarbonMessage copy(CarbonMessage response, byte[] body) {
+        CarbonMessage copy = MessageUtil.cloneCarbonMessageWithOutData(response);
+        if (body.length > 0) {
+            copy.addMessageBody(ByteBuffer.wrap(body));
+        }
+        copy.setEndOfMsgAdded(true);
+        return copy;
+    }
+}
@@ -45,6 +45,26 @@ public class Constants {
     public static final String USER_AGENT_HEADER = "User-Agent";
     public static final String REQUEST_URL = "REQUEST_URL";
 
+    /* Response cache */
+    public static final String HTTP_CACHE_MAX_SIZE = "http.client.cache.maxSize";
+    public static final String HTTP_CACHE_MAX_ENTRY_SIZE = "http.client.cache.maxEntrySize";
+    public static final String HTTP_COALESCE_REQUESTS = "http.client.coalesceRequests";
+    public static final String AGE_HEADER = "Age";
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    public static final String DATE_HEADER = "Date";
+    public static final String ETAG_HEADER = "ETag";
+    public static final String EXPIRES_HEADER = "Expires";
+    public static final String IF_MATCH_HEADER = "If-Match";
+    public static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String IF_RANGE_HEADER = "If-Range";
+    public static final String IF_UNMODIFIED_SINCE_HEADER = "If-Unmodified-Since";
+    public static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    public static final String PRAGMA_HEADER = "Pragma";
+    public static final String RANGE_HEADER = "Range";
+    public static final String VARY_HEADER = "Vary";
+
 
     public static final String HTTP_METHOD_GET = "GET";
     public static final String HTTP_METHOD_POST = "POST";
@@ -119,4 +119,10 @@ public class Get extends AbstractHTTPAction {
 
         return cMsg;
     }
+
+    @Override
+    public boolean isParallelAction() {
+        // A GET request does not change the state of the resource
+        return true;
+    }
 }
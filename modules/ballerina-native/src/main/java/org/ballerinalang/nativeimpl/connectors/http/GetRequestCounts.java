@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.Connector;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BConnector;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BLong;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAction;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * {@code GetRequestCounts} returns the utilization counters of an HTTP client connector.
+ *
+ * @since 0.8.2
+ */
+@BallerinaAction(
+        packageName = "ballerina.net.http",
+        actionName = "getRequestCounts",
+        connectorName = ClientConnector.CONNECTOR_NAME,
+        args = {
+                @Argument(name = "c", type = TypeEnum.CONNECTOR)
+        },
+        returnType = {@ReturnType(type = TypeEnum.INT), @ReturnType(type = TypeEnum.LONG)})
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Returns the number of in-flight requests and the total number of requests of the connector") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "c",
+        value = "A connector object") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "int",
+        value = "The number of requests for which a response has not arrived yet") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "long",
+        value = "The total number of requests sent through the connector") })
+@Component(
+        name = "action.net.http.getRequestCounts",
+        immediate = true,
+        service = AbstractNativeAction.class)
+public class GetRequestCounts extends AbstractNativeAction {
+
+    @Override
+    public BValue execute(Context context) {
+        Connector connector = ((BConnector) getArgument(context, 0)).value();
+        if (!(connector instanceof ClientConnector)) {
+            throw new BallerinaException("Need to use a HTTPConnector as the first argument", context);
+        }
+        ClientConnector clientConnector = (ClientConnector) connector;
+        context.getControlStack().setReturnValue(0, new BInteger(clientConnector.getActiveRequestCount()));
+        context.getControlStack().setReturnValue(1, new BLong(clientConnector.getRequestCount()));
+        return null;
+    }
+}
@@ -121,4 +121,10 @@ public class Head extends AbstractHTTPAction {
         cMsg.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_HEAD);
         return cMsg;
     }
+
+    @Override
+    public boolean isParallelAction() {
+        // A HEAD request does not change the state of the resource
+        return true;
+    }
 }
@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.Header;
+import org.wso2.carbon.messaging.MessageUtil;
+
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code HttpResponseCache} is a byte size bounded LRU cache of responses to GET and HEAD requests sent through HTTP
+ * client connectors, following the caching rules of RFC 7234. Responses are stored only when they carry an explicit
+ * freshness lifetime or a validator, and stale responses are revalidated with conditional requests.
+ * <p>
+ * The cache is shared by all the client connectors of the runtime, and is disabled unless the
+ * {@value Constants#HTTP_CACHE_MAX_SIZE} system property is set to a positive number of bytes. Since the cache is
+ * shared, responses marked as private are never stored.
+ *
+ * @since 0.8.2
+ */
+public class HttpResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    private static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private static final Set<Integer> CACHEABLE_STATUS_CODES = new HashSet<>(Arrays.asList(
+            200, 203, 300, 301, 404, 410));
+
+    private static final HttpResponseCache INSTANCE = createInstance();
+
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    HttpResponseCache(long maxSize, long maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = Math.min(maxSize, maxEntrySize);
+    }
+
+    /**
+     * Get the response cache of the runtime.
+     *
+     * @return response cache, or null if response caching is disabled.
+     */
+    public static HttpResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static HttpResponseCache createInstance() {
+        long maxSize = getSizeProperty(Constants.HTTP_CACHE_MAX_SIZE, 0);
+        if (maxSize <= 0) {
+            return null;
+        }
+        return new HttpResponseCache(maxSize,
+                getSizeProperty(Constants.HTTP_CACHE_MAX_ENTRY_SIZE, DEFAULT_MAX_ENTRY_SIZE));
+    }
+
+    private static long getSizeProperty(String name, long defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("invalid value '" + value + "' for " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Build the cache key of a prepared request. The key consists of the method and the target URI.
+     *
+     * @param request request message, with the endpoint properties set.
+     * @return cache key.
+     */
+    public static String getCacheKey(CarbonMessage request) {
+        return getCacheKey((String) request.getProperty(Constants.HTTP_METHOD), request);
+    }
+
+    private static String getCacheKey(String method, CarbonMessage request) {
+        return method + ' ' + request.getProperty(Constants.PROTOCOL) + "://" + request.getProperty(Constants.HOST)
+                + ':' + request.getProperty(Constants.PORT) + request.getProperty(Constants.TO);
+    }
+
+    /**
+     * Check whether the response of a request may be served from or stored in the cache. Requests carrying
+     * credentials or their own preconditions are always forwarded as they are.
+     *
+     * @param request request message.
+     * @return true, if the request is a GET or a HEAD request which can be cached.
+     */
+    public static boolean isCacheableRequest(CarbonMessage request) {
+        Object method = request.getProperty(Constants.HTTP_METHOD);
+        if (!Constants.HTTP_METHOD_GET.equals(method) && !Constants.HTTP_METHOD_HEAD.equals(method)) {
+            return false;
+        }
+        if (request.getHeader(Constants.AUTHORIZATION_HEADER) != null
+                || request.getHeader(Constants.RANGE_HEADER) != null
+                || request.getHeader(Constants.IF_MATCH_HEADER) != null
+                || request.getHeader(Constants.IF_NONE_MATCH_HEADER) != null
+                || request.getHeader(Constants.IF_MODIFIED_SINCE_HEADER) != null
+                || request.getHeader(Constants.IF_UNMODIFIED_SINCE_HEADER) != null
+                || request.getHeader(Constants.IF_RANGE_HEADER) != null) {
+            return false;
+        }
+        return !getCacheControl(request).containsKey("no-store");
+    }
+
+    /**
+     * Check whether a cacheable request must be forwarded to the origin server even if a fresh response is cached.
+     *
+     * @param request request message.
+     * @return true, if the request asks for an end-to-end reload.
+     */
+    public static boolean isReloadRequest(CarbonMessage request) {
+        if (getCacheControl(request).containsKey("no-cache")) {
+            return true;
+        }
+        String pragma = request.getHeader(Constants.PRAGMA_HEADER);
+        return pragma != null && pragma.toLowerCase(Locale.ENGLISH).contains("no-cache");
+    }
+
+    /**
+     * Get the cached response of a request.
+     *
+     * @param key cache key of the request.
+     * @return cached response which may be stale, or null if no response is cached.
+     */
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store a response, evicting the least recently used responses until the cache fits within its maximum size.
+     *
+     * @param key      cache key of the request.
+     * @param response response to store.
+     */
+    public synchronized void put(String key, CachedResponse response) {
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += response.getSize();
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Remove the cached GET and HEAD responses of the target URI of a request. Used when a request with an unsafe
+     * method is sent to the URI.
+     *
+     * @param request request message, with the endpoint properties set.
+     */
+    public synchronized void invalidate(CarbonMessage request) {
+        remove(getCacheKey(Constants.HTTP_METHOD_GET, request));
+        remove(getCacheKey(Constants.HTTP_METHOD_HEAD, request));
+    }
+
+    synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.getSize();
+        }
+    }
+
+    static int getStatusCode(CarbonMessage response) {
+        try {
+            return Integer.parseInt(String.valueOf(response.getProperty(Constants.HTTP_STATUS_CODE)));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parse the Cache-Control directives of a message. Directive names are lower cased and directives without an
+     * argument are mapped to an empty string.
+     *
+     * @param message request or response message.
+     * @return cache control directives.
+     */
+    static Map<String, String> getCacheControl(CarbonMessage message) {
+        List<String> values = message.getHeaders().getAllBy(Constants.CACHE_CONTROL_HEADER);
+        if (values == null || values.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                int index = directive.indexOf('=');
+                String name = (index == -1 ? directive : directive.substring(0, index)).trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String argument = index == -1 ? "" : directive.substring(index + 1).trim();
+                if (argument.length() > 1 && argument.startsWith("\"") && argument.endsWith("\"")) {
+                    argument = argument.substring(1, argument.length() - 1);
+                }
+                directives.put(name.toLowerCase(Locale.ENGLISH), argument);
+            }
+        }
+        return directives;
+    }
+
+    private static long getSeconds(Map<String, String> directives, String name) {
+        String value = directives.get(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // An invalid delta-seconds value makes the response stale.
+            return 0;
+        }
+    }
+
+    private static long getDate(CarbonMessage message, String headerName) {
+        String value = message.getHeader(headerName);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A stored response, along with the information required to calculate its freshness.
+     */
+    public static class CachedResponse {
+
+        private final CarbonMessage template;
+        private final long responseTime;
+        private final long initialAge;
+        private final long freshnessLifetime;
+        private final long staleWhileRevalidate;
+        private final String etag;
+        private final String lastModified;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+        private byte[] body;
+
+        private CachedResponse(CarbonMessage template, long responseTime, long initialAge, long freshnessLifetime,
+                               long staleWhileRevalidate) {
+            this.template = template;
+            this.responseTime = responseTime;
+            this.initialAge = initialAge;
+            this.freshnessLifetime = freshnessLifetime;
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            this.etag = template.getHeader(Constants.ETAG_HEADER);
+            this.lastModified = template.getHeader(Constants.LAST_MODIFIED_HEADER);
+        }
+
+        /**
+         * Create a cache entry for a response, without its body.
+         *
+         * @param response     response message.
+         * @param requestTime  time at which the request was sent.
+         * @param responseTime time at which the response was received.
+         * @return cache entry, or null if the response can not be stored.
+         */
+        static CachedResponse create(CarbonMessage response, long requestTime, long responseTime) {
+            if (response.getMessagingException() != null) {
+                return null;
+            }
+            if (!CACHEABLE_STATUS_CODES.contains(getStatusCode(response))
+                    || response.getHeader(Constants.VARY_HEADER) != null) {
+                return null;
+            }
+            return fromTemplate(MessageUtil.cloneCarbonMessageWithOutData(response), requestTime, responseTime);
+        }
+
+        private static CachedResponse fromTemplate(CarbonMessage template, long requestTime, long responseTime) {
+            Map<String, String> directives = getCacheControl(template);
+            if (directives.containsKey("no-store") || directives.containsKey("private")) {
+                return null;
+            }
+
+            long lifetime = getSeconds(directives, "s-maxage");
+            if (lifetime == -1) {
+                lifetime = getSeconds(directives, "max-age");
+            }
+            long date = getDate(template, Constants.DATE_HEADER);
+            if (lifetime != -1) {
+                lifetime *= 1000;
+            } else if (template.getHeader(Constants.EXPIRES_HEADER) != null) {
+                long expires = getDate(template, Constants.EXPIRES_HEADER);
+                lifetime = Math.max(0, expires - (date == -1 ? responseTime : date));
+            }
+            if (directives.containsKey("no-cache")) {
+                lifetime = 0;
+            }
+            boolean hasValidators = template.getHeader(Constants.ETAG_HEADER) != null
+                    || template.getHeader(Constants.LAST_MODIFIED_HEADER) != null;
+            if (lifetime <= 0 && !hasValidators) {
+                // Storing the response would not save a request.
+                return null;
+            }
+
+            long apparentAge = date == -1 ? 0 : Math.max(0, responseTime - date);
+            long ageValue = getAge(template);
+            long correctedAge = Math.max(0, ageValue) * 1000 + (responseTime - requestTime);
+            long staleWhileRevalidate = 0;
+            if (!directives.containsKey("must-revalidate") && !directives.containsKey("proxy-revalidate")) {
+                staleWhileRevalidate = Math.max(0, getSeconds(directives, "stale-while-revalidate")) * 1000;
+            }
+            return new CachedResponse(template, responseTime, Math.max(apparentAge, correctedAge),
+                    Math.max(0, lifetime), staleWhileRevalidate);
+        }
+
+        private static long getAge(CarbonMessage message) {
+            String value = message.getHeader(Constants.AGE_HEADER);
+            if (value == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        /**
+         * Create the entry which replaces this entry after a successful revalidation. The headers of the not
+         * modified response replace the stored headers, while the stored body is kept.
+         *
+         * @param notModified  not modified response.
+         * @param requestTime  time at which the conditional request was sent.
+         * @param responseTime time at which the response was received.
+         * @return updated entry, or null if the updated response can not be stored.
+         */
+        CachedResponse refresh(CarbonMessage notModified, long requestTime, long responseTime) {
+            CarbonMessage updated = MessageUtil.cloneCarbonMessageWithOutData(template);
+            for (Header header : notModified.getHeaders().getAll()) {
+                if (!Constants.HTTP_CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+                    updated.getHeaders().set(header.getName(), header.getValue());
+                }
+            }
+            CachedResponse refreshed = fromTemplate(updated, requestTime, responseTime);
+            if (refreshed != null) {
+                refreshed.setBody(body);
+            }
+            return refreshed;
+        }
+
+        void setBody(byte[] body) {
+            this.body = body;
+        }
+
+        long getSize() {
+            return body.length;
+        }
+
+        private long getCurrentAge(long now) {
+            return initialAge + (now - responseTime);
+        }
+
+        public boolean isFresh(long now) {
+            return getCurrentAge(now) < freshnessLifetime;
+        }
+
+        /**
+         * Check whether this stale response may be served while it is revalidated in the background.
+         *
+         * @param now current time.
+         * @return true, if the response is within its stale-while-revalidate window.
+         */
+        public boolean isUsableWhileRevalidating(long now) {
+            return getCurrentAge(now) < freshnessLifetime + staleWhileRevalidate;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        /**
+         * Add the validators of this response to a conditional request.
+         *
+         * @param request request to revalidate this response with.
+         */
+        public void addValidators(CarbonMessage request) {
+            if (etag != null) {
+                request.getHeaders().set(Constants.IF_NONE_MATCH_HEADER, etag);
+            }
+            if (lastModified != null) {
+                request.getHeaders().set(Constants.IF_MODIFIED_SINCE_HEADER, lastModified);
+            }
+        }
+
+        boolean startRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        void revalidationCompleted() {
+            revalidating.set(false);
+        }
+
+        /**
+         * Create a new response message from this entry. Each caller gets its own message, so the stored response is
+         * never consumed or modified by a program.
+         *
+         * @param now current time.
+         * @return response message.
+         */
+        public CarbonMessage toCarbonMessage(long now) {
+            CarbonMessage response = MessageUtil.cloneCarbonMessageWithOutData(template);
+            response.getHeaders().set(Constants.AGE_HEADER, String.valueOf(getCurrentAge(now) / 1000));
+            if (body.length > 0) {
+                response.addMessageBody(ByteBuffer.wrap(body));
+            }
+            response.setEndOfMsgAdded(true);
+            return response;
+        }
+    }
+}
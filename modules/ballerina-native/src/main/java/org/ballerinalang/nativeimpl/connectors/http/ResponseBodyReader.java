@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@code ResponseBodyReader} buffers the bodies of client responses which are cached or shared between requests.
+ * <p>
+ * The transport delivers the body of a response after the response callback returns, so the body can not be read on
+ * the callback thread. Reads block until the body arrives, so they run on threads of their own instead of the worker
+ * threads which execute Ballerina programs. Each read completes once the transport delivers its body, so a bounded
+ * number of threads is enough.
+ *
+ * @since 0.8.2
+ */
+final class ResponseBodyReader {
+
+    private static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        ThreadFactory threadFactory = new BLangThreadFactory("BLangHttpResponseReader");
+        EXECUTOR = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = threadFactory.newThread(task);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private ResponseBodyReader() {
+    }
+
+    /**
+     * Read the whole body of a response and hand it over to a consumer. A body is never handed over in part. If
+     * reading fails, or the body does not have the length given by the Content-Length header, the error consumer gets
+     * the error instead.
+     *
+     * @param response      response message.
+     * @param bodyConsumer  consumer of the body, which is called on a reader thread.
+     * @param errorConsumer consumer of the read error, which is called on a reader thread.
+     */
+    static void read(CarbonMessage response, Consumer<byte[]> bodyConsumer, Consumer<IOException> errorConsumer) {
+        EXECUTOR.execute(() -> {
+            byte[] body;
+            try {
+                body = readBody(response);
+            } catch (IOException e) {
+                errorConsumer.accept(e);
+                return;
+            }
+            bodyConsumer.accept(body);
+        });
+    }
+
+    /**
+     * Get the length of the body of a response from its Content-Length header.
+     *
+     * @param response response message.
+     * @return the content length, or -1 if the header is missing or invalid.
+     */
+    static int getContentLength(CarbonMessage response) {
+        String contentLength = response.getHeader(Constants.HTTP_CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static byte[] readBody(CarbonMessage response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = response.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        int contentLength = getContentLength(response);
+        if (contentLength >= 0 && outputStream.size() != contentLength) {
+            throw new IOException("received " + outputStream.size() + " bytes of a response body of " +
+                    contentLength + " bytes");
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.maps;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Native function to atomically add a delta to an int value of the map.
+ * ballerina.model.maps:increment(map, string, int)
+ */
+@BallerinaFunction(
+        packageName = "ballerina.lang.maps",
+        functionName = "increment",
+        args = {@Argument(name = "m", type = TypeEnum.MAP),
+                @Argument(name = "key", type = TypeEnum.STRING),
+                @Argument(name = "delta", type = TypeEnum.INT)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Adds the given delta to the int value of the specified key. A missing value is treated as 0. " +
+                "Increments of a map held by a service level variable are atomic") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "m",
+        value = "The map object") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "key",
+        value = "The key of the value to increment") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "delta",
+        value = "The value to add") })
+public class Increment extends AbstractNativeFunction {
+
+    public BValue[] execute(Context ctx) {
+        BMap map = (BMap) getArgument(ctx, 0);
+        BString key = (BString) getArgument(ctx, 1);
+        int delta = ((BInteger) getArgument(ctx, 2)).intValue();
+        map.increment(key, delta);
+        return VOID_RETURN;
+    }
+}
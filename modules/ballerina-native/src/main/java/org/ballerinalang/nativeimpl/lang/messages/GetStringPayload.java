@@ -30,10 +30,14 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.message.StringDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.Charset;
+
 /**
  * Native function to get payload as String..
  * ballerina.model.messages:getStringPayload
@@ -63,9 +67,10 @@ public class GetStringPayload extends AbstractNativeFunction {
             if (msg.isAlreadyRead()) {
                 result = new BString(msg.getMessageDataSource().getMessageAsString());
             } else {
-                String payload = MessageUtils.getStringFromInputStream(msg.value().getInputStream());
+                Charset charset = MessageUtils.getCharset(msg.getHeader(Constants.CONTENT_TYPE_HEADER));
+                String payload = MessageUtils.getStringFromInputStream(msg.value().getInputStream(), charset);
                 result = new BString(payload);
-                msg.setMessageDataSource(payload);
+                msg.setMessageDataSource(new StringDataSource(payload, charset));
                 msg.setAlreadyRead(true);
             }
             if (log.isDebugEnabled()) {
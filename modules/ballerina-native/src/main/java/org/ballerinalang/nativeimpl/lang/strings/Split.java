@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.strings;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Native function ballerina.model.strings:split.
+ *
+ * @since 0.8.2
+ */
+@BallerinaFunction(
+        packageName = "ballerina.lang.strings",
+        functionName = "split",
+        args = {@Argument(name = "mainString", type = TypeEnum.STRING),
+                @Argument(name = "regex", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.ARRAY, elementType = TypeEnum.STRING)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Splits the string around the matches of the regular expression") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "mainString",
+        value = "The original string argument") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "regex",
+        value = "The regular expression to split the string around") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "string[]",
+        value = "The strings between the matches, without trailing empty strings") })
+public class Split extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String mainString = getArgument(context, 0).stringValue();
+        String regex = getArgument(context, 1).stringValue();
+
+        String[] parts = PatternCache.REGEX.get(regex).split(mainString);
+        BArray<BString> partArray = new BArray<>(BString.class);
+        for (int i = 0; i < parts.length; i++) {
+            partArray.add(i, new BString(parts[i]));
+        }
+        return getBValues(partArray);
+    }
+}
@@ -22,14 +22,13 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.TimeZone;
+import java.time.Instant;
 
 /**
  * Native function ballerina.lang.system:getDateFormat.
@@ -48,11 +47,7 @@ public class DateFormat extends AbstractNativeFunction {
     @Override public BValue[] execute(Context context) {
 
         String format = getArgument(context, 0).stringValue();
-        final Date date = new Date();
-        final TimeZone timeZone = TimeZone.getTimeZone("GMT");
-        final SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-        dateFormat.setTimeZone(timeZone);
-        final String amzDate = dateFormat.format(date);
+        final String amzDate = PatternCache.DATE_TIME_FORMAT.get(format).format(Instant.now());
 
         return getBValues(new BString(amzDate));
     }
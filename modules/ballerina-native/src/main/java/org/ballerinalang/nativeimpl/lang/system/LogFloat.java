@@ -20,9 +20,9 @@ package org.ballerinalang.nativeimpl.lang.system;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.LoggingFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -59,13 +59,18 @@ import org.slf4j.LoggerFactory;
         value = "Log level: 1 - Trace, 2 - Debug, 3 - Info, 4 - Warn, 5 - Error") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "f",
         value = "Float value to be logged") })
-public class LogFloat extends AbstractNativeFunction {
+public class LogFloat extends AbstractNativeFunction implements LoggingFunction {
 
     private static final Logger logger = LoggerFactory.getLogger(LogFloat.class);
 
     public BValue[] execute(Context ctx) {
         // TODO : Improve this with trace log.
-        LogUtil.log(logger, ((BInteger) getArgument(ctx, 0)).intValue(), getArgument(ctx, 1).stringValue());
+        LogUtil.log(logger, getIntArgument(ctx, 0), getArgument(ctx, 1));
         return VOID_RETURN;
     }
+
+    @Override
+    public boolean isLogLevelEnabled(int logLevel) {
+        return LogUtil.isEnabled(logger, logLevel);
+    }
 }
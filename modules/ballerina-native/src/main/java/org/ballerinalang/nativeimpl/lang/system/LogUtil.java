@@ -18,6 +18,7 @@
 
 package org.ballerinalang.nativeimpl.lang.system;
 
+import org.ballerinalang.model.values.BValue;
 import org.slf4j.Logger;
 
 /**
@@ -25,51 +26,78 @@ import org.slf4j.Logger;
  */
 public class LogUtil {
 
+    private static int enabledLogLevel = 0;
+
     /**
-     * Log given value in specified log level using provided logger instance.
+     * Check whether a log level is enabled for a logger.
      *
      * @param logger   Log instance
      * @param logLevel log level whether debug, info etc
-     * @param value    String value that need to log
+     * @return true, if values logged at the given level are written
      */
-    public static void log(Logger logger, int logLevel, String value) {
+    public static boolean isEnabled(Logger logger, int logLevel) {
+        if (enabledLogLevel > 0) {
+            return logLevel >= enabledLogLevel && logLevel <= 5;
+        }
+
         switch (logLevel) {
         case 1:
-            logTrace(logger, value);
-            break;
+            return logger.isTraceEnabled();
         case 2:
-            logDebug(logger, value);
-            break;
+            return logger.isDebugEnabled();
         case 3:
-            logInfo(logger, value);
-            break;
+            return logger.isInfoEnabled();
         case 4:
-            logWarn(logger, value);
-            break;
+            return logger.isWarnEnabled();
         case 5:
-            logError(logger, value);
-            break;
+            return logger.isErrorEnabled();
         default:
+            return false;
         }
     }
 
-    private static void logTrace(Logger logger, String s) {
-        logger.trace("[TRACE] " + s);
-    }
-
-    private static void logDebug(Logger logger, String s) {
-        logger.debug("[DEBUG] " + s);
-    }
-
-    private static void logInfo(Logger logger, String s) {
-        logger.info("[INFO] " + s);
+    /**
+     * Enable the given log level and the levels above it, instead of the levels enabled for the loggers. A level of
+     * zero restores the levels of the loggers.
+     *
+     * @param logLevel lowest log level to be enabled
+     */
+    public static void setEnabledLogLevel(int logLevel) {
+        // Testing purpose only.
+        enabledLogLevel = logLevel;
     }
 
-    private static void logWarn(Logger logger, String s) {
-        logger.warn("[WARN] " + s);
-    }
+    /**
+     * Log given value in specified log level using provided logger instance. The string value is only created if
+     * the level is enabled.
+     *
+     * @param logger   Log instance
+     * @param logLevel log level whether debug, info etc
+     * @param value    value that need to log
+     */
+    public static void log(Logger logger, int logLevel, BValue value) {
+        if (!isEnabled(logger, logLevel)) {
+            return;
+        }
 
-    private static void logError(Logger logger, String s) {
-        logger.error("[ERROR] " + s);
+        String s = value.stringValue();
+        switch (logLevel) {
+        case 1:
+            logger.trace("[TRACE] {}", s);
+            break;
+        case 2:
+            logger.debug("[DEBUG] {}", s);
+            break;
+        case 3:
+            logger.info("[INFO] {}", s);
+            break;
+        case 4:
+            logger.warn("[WARN] {}", s);
+            break;
+        case 5:
+            logger.error("[ERROR] {}", s);
+            break;
+        default:
+        }
     }
 }
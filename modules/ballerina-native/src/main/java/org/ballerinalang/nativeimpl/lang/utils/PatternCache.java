@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.utils;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * {@code PatternCache} is a bounded cache of compiled patterns, keyed by the pattern string. The cached values are
+ * immutable, so they are shared by all the invocations of the native functions which use the same pattern.
+ * <p>
+ * A cache holds about {@value #MAX_ENTRIES} patterns. When it is full, an arbitrary pattern is evicted to make room
+ * for a new one, so that natives invoked with request specific patterns can not grow the cache without a limit, while
+ * the other patterns stay cached.
+ *
+ * @param <T> type of the compiled pattern
+ * @since 0.8.2
+ */
+public class PatternCache<T> {
+
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * Compiled regular expressions.
+     */
+    public static final PatternCache<Pattern> REGEX = new PatternCache<>(Pattern::compile);
+
+    /**
+     * Date time formatters, which format in the GMT zone, so that the zone name 'z' is formatted as GMT.
+     */
+    public static final PatternCache<DateTimeFormatter> DATE_TIME_FORMAT =
+            new PatternCache<>(pattern -> DateTimeFormatter.ofPattern(pattern).withZone(ZoneId.of("GMT")));
+
+    private final Function<String, T> compiler;
+    private final int maxEntries;
+    private final ConcurrentMap<String, T> patterns = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private PatternCache(Function<String, T> compiler) {
+        this(compiler, MAX_ENTRIES);
+    }
+
+    PatternCache(Function<String, T> compiler, int maxEntries) {
+        this.compiler = compiler;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the compiled form of a pattern, compiling it if it is not in the cache.
+     *
+     * @param pattern pattern string
+     * @return compiled pattern
+     */
+    public T get(String pattern) {
+        T compiled = patterns.get(pattern);
+        if (compiled != null) {
+            hitCount.increment();
+            return compiled;
+        }
+
+        missCount.increment();
+        // An invalid pattern fails here, and is not cached
+        compiled = compiler.apply(pattern);
+        if (patterns.size() >= maxEntries) {
+            evict();
+        }
+        patterns.put(pattern, compiled);
+        return compiled;
+    }
+
+    /**
+     * Evict an arbitrary pattern. Concurrent misses are not coordinated, so the number of cached patterns can be
+     * off the limit by a few.
+     */
+    private void evict() {
+        Iterator<String> keys = patterns.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * @return number of lookups which found the pattern in the cache.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return number of lookups which compiled the pattern.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return number of patterns evicted to make room for new patterns.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return number of patterns in the cache.
+     */
+    public int size() {
+        return patterns.size();
+    }
+}
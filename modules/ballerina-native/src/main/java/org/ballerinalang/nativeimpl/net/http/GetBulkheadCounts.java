@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.net.http;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BLong;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code GetBulkheadCounts} returns the utilization counters of the bulkhead of a service.
+ *
+ * @since 0.8.2
+ */
+@BallerinaFunction(
+        packageName = "ballerina.net.http",
+        functionName = "getBulkheadCounts",
+        args = {@Argument(name = "serviceName", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.INT), @ReturnType(type = TypeEnum.INT),
+                @ReturnType(type = TypeEnum.LONG), @ReturnType(type = TypeEnum.LONG),
+                @ReturnType(type = TypeEnum.LONG)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Returns the utilization counters of the bulkhead of a service") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "serviceName",
+        value = "Name of a service with a Bulkhead annotation") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "int",
+        value = "The number of requests being executed on the bulkhead") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "int",
+        value = "The number of requests waiting in the queue of the bulkhead") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "long",
+        value = "The total number of requests completed on the bulkhead") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "long",
+        value = "The total number of requests rejected because the bulkhead was full") })
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "long",
+        value = "The total time requests have waited in the queue, in milliseconds") })
+public class GetBulkheadCounts extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String serviceName = getStringArgument(context, 0);
+        for (Bulkhead bulkhead : ThreadPoolFactory.getInstance().getBulkheads()) {
+            if (bulkhead.getName().equals(serviceName)) {
+                return getBValues(new BInteger(bulkhead.getActiveCount()), new BInteger(bulkhead.getQueuedCount()),
+                        new BLong(bulkhead.getCompletedCount()), new BLong(bulkhead.getRejectedCount()),
+                        new BLong(bulkhead.getQueueTime()));
+            }
+        }
+        throw new BallerinaException("no bulkhead defined for service : " + serviceName);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre;
+
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.BallerinaFunction;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.statements.BlockStmt;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.nativeimpl.util.SQLDBUtils;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the concurrent invocation of the independent native actions of a block.
+ */
+public class ParallelActionsTest {
+
+    private static final String DB_NAME = "TEST_PARALLEL_ACTIONS";
+
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("samples/parallelActionsTest.bal");
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/SQLConnectorDataFile.sql");
+        ParallelActions.setEnabled(true);
+    }
+
+    @Test(description = "Test selects which get values of their own")
+    public void testIndependentActions() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testIndependentSelects");
+        Assert.assertEquals(returns[0].stringValue(), "Peter Stuart");
+
+        // The two selects are a group, which ends at the return statement
+        int[] groups = getBody("testIndependentSelects").getParallelActionGroups();
+        Assert.assertEquals(groups[4], 6);
+    }
+
+    @Test(description = "Test selects which get the same parameter array")
+    public void testDependentActions() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testDependentSelects");
+        Assert.assertEquals(returns[0].stringValue(), "Peter Stuart");
+
+        int[] groups = getBody("testDependentSelects").getParallelActionGroups();
+        Assert.assertEquals(groups.length, 0);
+    }
+
+    @Test(description = "Test a group with a failing select",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "execute query failed: .*MISSINGCUSTOMERS.*")
+    public void testFailingAction() {
+        BLangFunctions.invoke(bLangProgram, "testFailingSelect");
+    }
+
+    @Test(description = "Test that the actions are invoked in order when the analysis is disabled")
+    public void testDisabled() {
+        ParallelActions.setEnabled(false);
+        try {
+            BValue[] returns = BLangFunctions.invoke(bLangProgram, "testSequentialSelects");
+            Assert.assertEquals(returns[0].stringValue(), "Peter Stuart");
+            Assert.assertNull(getBody("testSequentialSelects").getParallelActionGroups());
+        } finally {
+            ParallelActions.setEnabled(true);
+        }
+    }
+
+    @Test(description = "Test that all the actions of a group complete before the first error is rethrown")
+    public void testJoinWaitsForAllActions() {
+        CountDownLatch secondFailed = new CountDownLatch(1);
+        CompletableFuture<BValue[]> first = ParallelActions.invoke(() -> {
+            await(secondFailed);
+            throw new BallerinaException("first action failed");
+        });
+        CompletableFuture<BValue[]> second = ParallelActions.invoke(() -> {
+            secondFailed.countDown();
+            throw new BallerinaException("second action failed");
+        });
+        CompletableFuture<BValue[]> third = ParallelActions.invoke(() -> {
+            await(secondFailed);
+            sleep(100);
+            return new BValue[]{new BString("third")};
+        });
+
+        List<CompletableFuture<BValue[]>> results = Arrays.asList(first, second, third);
+        try {
+            ParallelActions.joinAll(results);
+            Assert.fail("Expected the error of the first action");
+        } catch (BallerinaException e) {
+            // The error of the first statement is rethrown, though the second action failed before it
+            Assert.assertEquals(e.getMessage(), "first action failed");
+        }
+        Assert.assertTrue(third.isDone());
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ParallelActions.setEnabled(Boolean.getBoolean(Constants.SYS_PROP_PARALLEL_ACTIONS));
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+    }
+
+    private BlockStmt getBody(String functionName) {
+        for (Function function : bLangProgram.getLibraryPackages()[0].getFunctions()) {
+            if (function.getName().equals(functionName)) {
+                return ((BallerinaFunction) function).getCallableUnitBody();
+            }
+        }
+        throw new IllegalArgumentException("function '" + functionName + "' is not defined");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.nativeimpl.util.SQLDBUtils;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+/**
+ * Test SQL Connector actions in non-blocking mode, where they run on the executor of the connector and resume the
+ * execution through the connector callback.
+ */
+public class SQLConnectorNonBlockingTest {
+
+    private static final String DB_NAME = "TEST_NON_BLOCKING_SQL_CONNECTOR";
+
+    private BLangProgram bLangProgram;
+    private boolean isNonBlockingEnabled;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("samples/sqlConnectorNonBlockingTest.bal");
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/SQLConnectorDataFile.sql");
+        isNonBlockingEnabled = ModeResolver.getInstance().isNonblockingEnabled();
+        ModeResolver.getInstance().setNonblockingEnabled(true);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        ModeResolver.getInstance().setNonblockingEnabled(isNonBlockingEnabled);
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+    }
+
+    @Test(description = "Test select, update and close actions in non-blocking mode", invocationCount = 20)
+    public void testSelectUpdateAndClose() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testSelectUpdateAndClose");
+        Assert.assertEquals(returns[0].stringValue(), "Peter");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+    }
+
+    @Test(description = "Test failing an action invoked after the connector is closed in non-blocking mode",
+            invocationCount = 20)
+    public void testUpdateAfterClose() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testUpdateAfterClose");
+        Assert.assertEquals(returns[0].stringValue(),
+                "too many pending actions on ClientConnector, or the connector is closed");
+    }
+}
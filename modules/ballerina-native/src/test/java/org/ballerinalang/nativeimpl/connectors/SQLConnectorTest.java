@@ -23,6 +23,7 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.util.BTestUtils;
 import org.ballerinalang.nativeimpl.util.SQLDBUtils;
+import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 import org.testng.Assert;
 import org.testng.annotations.AfterSuite;
@@ -146,6 +147,41 @@ public class SQLConnectorTest {
         Assert.assertEquals(retValue.stringValue(), expected);
     }
 
+    @Test
+    public void testTransactionCommit() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testTransactionCommit");
+        BInteger retValue = (BInteger) returns[0];
+        Assert.assertEquals(retValue.intValue(), 2);
+    }
+
+    @Test
+    public void testTransactionRollback() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testTransactionRollback");
+        BInteger retValue = (BInteger) returns[0];
+        Assert.assertEquals(retValue.intValue(), 0);
+    }
+
+    @Test
+    public void testResultCacheInvalidation() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testResultCacheInvalidation");
+        Assert.assertEquals(returns[0].stringValue(), "Anne");
+        Assert.assertEquals(returns[1].stringValue(), "Emma");
+    }
+
+    @Test
+    public void testResultCacheBlobColumn() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testResultCacheBlobColumn");
+        Assert.assertEquals(returns[0].stringValue(), "d3NvMiBiYWxsZXJpbmEgYmxvYiB0ZXN0Lg==");
+        Assert.assertEquals(returns[1].stringValue(), "d3NvMiBiYWxsZXJpbmEgYmxvYiB0ZXN0Lg==");
+        // The connector must not remove the options it consumes from the caller's map
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 5);
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = ".*error in get connection.*")
+    public void testCloseConnector() {
+        BLangFunctions.invoke(bLangProgram, "testCloseConnector");
+    }
 
     @AfterSuite
     public void cleanup() {
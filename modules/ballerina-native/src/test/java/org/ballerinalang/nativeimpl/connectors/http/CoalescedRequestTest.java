@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.connectors.BalConnectorCallback;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonCallback;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test coalescing of identical concurrent requests sent through an HTTP client connector.
+ */
+public class CoalescedRequestTest {
+
+    private static final byte[] BODY = "coalesced response".getBytes(StandardCharsets.UTF_8);
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @BeforeClass
+    public void setup() {
+        CoalescedRequest.setEnabled(true);
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsMakeOneBackendCall() throws Exception {
+        List<CarbonCallback> backendCalls = new CopyOnWriteArrayList<>();
+        org.wso2.carbon.messaging.ClientConnector transport = createTransport(backendCalls);
+        ClientConnector connector = createConnector();
+        Get get = new Get();
+
+        List<BalConnectorCallback> callbacks = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            callbacks.add(createCallback());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<?>> sends = new ArrayList<>();
+            for (BalConnectorCallback callback : callbacks) {
+                sends.add(executor.submit(() -> {
+                    start.await();
+                    get.send(transport, connector, createRequest(get, connector, "/hello"), callback);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(backendCalls.size(), 1);
+        Assert.assertEquals(connector.getActiveRequestCount(), 1);
+
+        backendCalls.get(0).done(createResponse());
+        List<CarbonMessage> responses = new ArrayList<>();
+        for (BalConnectorCallback callback : callbacks) {
+            waitForResponse(callback);
+            CarbonMessage response = ((BMessage) callback.getValueRef()).value();
+            // Every request gets its own copy of the response
+            Assert.assertFalse(responses.contains(response));
+            Assert.assertEquals(readBody(response), BODY);
+            responses.add(response);
+        }
+        Assert.assertEquals(connector.getActiveRequestCount(), 0);
+
+        // Once the response has arrived, an identical request goes to the endpoint again
+        get.send(transport, connector, createRequest(get, connector, "/hello"), createCallback());
+        Assert.assertEquals(backendCalls.size(), 2);
+    }
+
+    @Test
+    public void testDifferentRequestsAreNotCoalesced() throws Exception {
+        List<CarbonCallback> backendCalls = new CopyOnWriteArrayList<>();
+        org.wso2.carbon.messaging.ClientConnector transport = createTransport(backendCalls);
+        ClientConnector connector = createConnector();
+        Get get = new Get();
+
+        get.send(transport, connector, createRequest(get, connector, "/first"), createCallback());
+        get.send(transport, connector, createRequest(get, connector, "/second"), createCallback());
+        Assert.assertEquals(backendCalls.size(), 2);
+    }
+
+    @Test
+    public void testTruncatedResponseFailsJoinedRequests() throws Exception {
+        List<CarbonCallback> backendCalls = new CopyOnWriteArrayList<>();
+        org.wso2.carbon.messaging.ClientConnector transport = createTransport(backendCalls);
+        ClientConnector connector = createConnector();
+        Get get = new Get();
+
+        BalConnectorCallback callback = createCallback();
+        BalConnectorCallback joinedCallback = createCallback();
+        get.send(transport, connector, createRequest(get, connector, "/truncated"), callback);
+        get.send(transport, connector, createRequest(get, connector, "/truncated"), joinedCallback);
+        Assert.assertEquals(backendCalls.size(), 1);
+
+        CarbonMessage response = createResponse();
+        response.setHeader(Constants.HTTP_CONTENT_LENGTH, String.valueOf(BODY.length + 10));
+        backendCalls.get(0).done(response);
+        for (BalConnectorCallback requestCallback : new BalConnectorCallback[]{callback, joinedCallback}) {
+            waitForResponse(requestCallback);
+            Assert.assertNull(requestCallback.getValueRef());
+            Assert.assertNotNull(requestCallback.getActionError());
+            Assert.assertTrue(requestCallback.getActionError().getMessage()
+                    .startsWith("Failed to read the response from the endpoint."));
+        }
+    }
+
+    @Test
+    public void testFailingRequestDoesNotBlockJoinedRequests() throws Exception {
+        List<CarbonCallback> backendCalls = new CopyOnWriteArrayList<>();
+        org.wso2.carbon.messaging.ClientConnector transport = createTransport(backendCalls);
+        ClientConnector connector = createConnector();
+        Get get = new Get();
+
+        Context context = new Context();
+        context.getControlStack().pushFrame(new StackFrame(new BValue[0], new BValue[1]));
+        BalConnectorCallback failingCallback = new BalConnectorCallback(context) {
+            @Override
+            public void done(CarbonMessage carbonMessage) {
+                throw new IllegalStateException("request can not be completed");
+            }
+        };
+        BalConnectorCallback joinedCallback = createCallback();
+        get.send(transport, connector, createRequest(get, connector, "/failing"), failingCallback);
+        get.send(transport, connector, createRequest(get, connector, "/failing"), joinedCallback);
+        Assert.assertEquals(backendCalls.size(), 1);
+
+        backendCalls.get(0).done(createResponse());
+        waitForResponse(joinedCallback);
+        Assert.assertEquals(readBody(((BMessage) joinedCallback.getValueRef()).value()), BODY);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        CoalescedRequest.setEnabled(Boolean.getBoolean(Constants.HTTP_COALESCE_REQUESTS));
+    }
+
+    private static org.wso2.carbon.messaging.ClientConnector createTransport(List<CarbonCallback> backendCalls) {
+        return (org.wso2.carbon.messaging.ClientConnector) Proxy.newProxyInstance(
+                CoalescedRequestTest.class.getClassLoader(),
+                new Class<?>[]{org.wso2.carbon.messaging.ClientConnector.class}, (proxy, method, args) -> {
+                    if ("send".equals(method.getName())) {
+                        backendCalls.add((CarbonCallback) args[1]);
+                        return true;
+                    } else if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    } else if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    return null;
+                });
+    }
+
+    private static ClientConnector createConnector() {
+        ClientConnector connector = new ClientConnector(null);
+        connector.init(new BValue[]{new BString("http://localhost:9090/base")});
+        return connector;
+    }
+
+    private static CarbonMessage createRequest(Get get, ClientConnector connector, String path) {
+        CarbonMessage request = new DefaultCarbonMessage();
+        get.prepareRequest(connector, path, request);
+        request.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_GET);
+        return request;
+    }
+
+    private static BalConnectorCallback createCallback() {
+        Context context = new Context();
+        context.getControlStack().pushFrame(new StackFrame(new BValue[0], new BValue[1]));
+        return new BalConnectorCallback(context);
+    }
+
+    private static CarbonMessage createResponse() {
+        CarbonMessage response = new DefaultCarbonMessage();
+        response.setProperty(Constants.HTTP_STATUS_CODE, 200);
+        response.addMessageBody(ByteBuffer.wrap(BODY));
+        response.setEndOfMsgAdded(true);
+        return response;
+    }
+
+    private static void waitForResponse(BalConnectorCallback callback) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!callback.isResponseArrived() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(callback.isResponseArrived(), "response was not handed over");
+    }
+
+    private static byte[] readBody(CarbonMessage message) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = message.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test the freshness and storage rules of the HTTP client response cache.
+ */
+public class HttpResponseCacheTest {
+
+    private static final byte[] BODY = "cached response".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testCacheMiss() {
+        HttpResponseCache cache = new HttpResponseCache(1024, 1024);
+        String key = HttpResponseCache.getCacheKey(createRequest("/hello"));
+        Assert.assertNull(cache.get(key));
+
+        // Without a freshness lifetime or a validator, storing a response would not save a request
+        long now = System.currentTimeMillis();
+        Assert.assertNull(HttpResponseCache.CachedResponse.create(createResponse(null), now, now));
+    }
+
+    @Test
+    public void testCacheHit() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(1024, 1024);
+        String key = HttpResponseCache.getCacheKey(createRequest("/hello"));
+        long now = System.currentTimeMillis();
+        HttpResponseCache.CachedResponse cached =
+                HttpResponseCache.CachedResponse.create(createResponse("max-age=60"), now, now);
+        Assert.assertNotNull(cached);
+        cached.setBody(BODY);
+        cache.put(key, cached);
+
+        HttpResponseCache.CachedResponse hit = cache.get(key);
+        Assert.assertSame(hit, cached);
+        Assert.assertTrue(hit.isFresh(now));
+        Assert.assertNull(cache.get(HttpResponseCache.getCacheKey(createRequest("/other"))));
+
+        // Each hit gets its own copy of the stored response
+        CarbonMessage first = hit.toCarbonMessage(now);
+        CarbonMessage second = hit.toCarbonMessage(now);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(readBody(first), BODY);
+        Assert.assertEquals(readBody(second), BODY);
+    }
+
+    @Test
+    public void testCacheExpiry() {
+        long now = System.currentTimeMillis();
+        HttpResponseCache.CachedResponse cached =
+                HttpResponseCache.CachedResponse.create(createResponse("max-age=60"), now, now);
+        Assert.assertTrue(cached.isFresh(now + 59000));
+        Assert.assertFalse(cached.isFresh(now + 60000));
+        Assert.assertFalse(cached.isUsableWhileRevalidating(now + 60000));
+
+        HttpResponseCache.CachedResponse revalidatable = HttpResponseCache.CachedResponse.create(
+                createResponse("max-age=60, stale-while-revalidate=30"), now, now);
+        Assert.assertTrue(revalidatable.isUsableWhileRevalidating(now + 89000));
+        Assert.assertFalse(revalidatable.isUsableWhileRevalidating(now + 90000));
+    }
+
+    @Test
+    public void testEvictionAndInvalidation() {
+        HttpResponseCache cache = new HttpResponseCache(BODY.length * 2, BODY.length);
+        long now = System.currentTimeMillis();
+        String[] paths = {"/first", "/second", "/third"};
+        for (String path : paths) {
+            HttpResponseCache.CachedResponse cached =
+                    HttpResponseCache.CachedResponse.create(createResponse("max-age=60"), now, now);
+            cached.setBody(BODY);
+            cache.put(HttpResponseCache.getCacheKey(createRequest(path)), cached);
+        }
+        // The least recently used response does not fit in the cache any more
+        Assert.assertNull(cache.get(HttpResponseCache.getCacheKey(createRequest("/first"))));
+        Assert.assertNotNull(cache.get(HttpResponseCache.getCacheKey(createRequest("/second"))));
+
+        CarbonMessage update = createRequest("/second");
+        update.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_POST);
+        cache.invalidate(update);
+        Assert.assertNull(cache.get(HttpResponseCache.getCacheKey(createRequest("/second"))));
+        Assert.assertNotNull(cache.get(HttpResponseCache.getCacheKey(createRequest("/third"))));
+    }
+
+    private static CarbonMessage createRequest(String path) {
+        CarbonMessage request = new DefaultCarbonMessage();
+        request.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_GET);
+        request.setProperty(Constants.PROTOCOL, "http");
+        request.setProperty(Constants.HOST, "localhost");
+        request.setProperty(Constants.PORT, 9090);
+        request.setProperty(Constants.TO, path);
+        return request;
+    }
+
+    private static CarbonMessage createResponse(String cacheControl) {
+        CarbonMessage response = new DefaultCarbonMessage();
+        response.setProperty(Constants.HTTP_STATUS_CODE, 200);
+        if (cacheControl != null) {
+            response.setHeader(Constants.CACHE_CONTROL_HEADER, cacheControl);
+        }
+        return response;
+    }
+
+    private static byte[] readBody(CarbonMessage message) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = message.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.http;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test reading the bodies of client responses which are cached or shared between requests.
+ */
+public class ResponseBodyReaderTest {
+
+    private static final byte[] BODY = "response body".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testReadBody() throws Exception {
+        AtomicReference<byte[]> body = new AtomicReference<>();
+        AtomicReference<IOException> error = new AtomicReference<>();
+        read(createResponse(BODY.length), body, error);
+        Assert.assertNull(error.get());
+        Assert.assertEquals(body.get(), BODY);
+    }
+
+    @Test
+    public void testBodyWithoutContentLength() throws Exception {
+        AtomicReference<byte[]> body = new AtomicReference<>();
+        AtomicReference<IOException> error = new AtomicReference<>();
+        read(createResponse(-1), body, error);
+        Assert.assertNull(error.get());
+        Assert.assertEquals(body.get(), BODY);
+    }
+
+    @Test
+    public void testTruncatedBodyIsNotHandedOver() throws Exception {
+        AtomicReference<byte[]> body = new AtomicReference<>();
+        AtomicReference<IOException> error = new AtomicReference<>();
+        read(createResponse(BODY.length + 10), body, error);
+        Assert.assertNull(body.get());
+        Assert.assertNotNull(error.get());
+        Assert.assertEquals(error.get().getMessage(), "received " + BODY.length + " bytes of a response body of " +
+                (BODY.length + 10) + " bytes");
+    }
+
+    private static void read(CarbonMessage response, AtomicReference<byte[]> body,
+                             AtomicReference<IOException> error) throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(1);
+        ResponseBodyReader.read(response, readBody -> {
+            body.set(readBody);
+            completed.countDown();
+        }, readError -> {
+            error.set(readError);
+            completed.countDown();
+        });
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS), "body was not read");
+    }
+
+    private static CarbonMessage createResponse(int contentLength) {
+        CarbonMessage response = new DefaultCarbonMessage();
+        response.setProperty(Constants.HTTP_STATUS_CODE, 200);
+        if (contentLength >= 0) {
+            response.setHeader(Constants.HTTP_CONTENT_LENGTH, String.valueOf(contentLength));
+        }
+        response.addMessageBody(ByteBuffer.wrap(BODY));
+        response.setEndOfMsgAdded(true);
+        return response;
+    }
+}
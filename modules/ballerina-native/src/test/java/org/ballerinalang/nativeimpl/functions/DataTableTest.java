@@ -291,6 +291,15 @@ public class DataTableTest {
         Assert.assertEquals(((BLong) returns[2]).longValue(), timestamp);
     }
 
+    @Test(description = "Check iterating the rows of a datatable with foreach.")
+    public void testForeachRows() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testForeachRows");
+
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        Assert.assertEquals(returns[1].stringValue(), "HelloHello");
+    }
+
     @AfterSuite
     public void cleanup() {
         SQLDBUtils.deleteDirectory(new File(SQLDBUtils.DB_DIRECTORY));
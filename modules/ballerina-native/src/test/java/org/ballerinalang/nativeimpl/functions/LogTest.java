@@ -0,0 +1,82 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.nativeimpl.functions;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.lang.system.LogUtil;
+import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test skipping the logged value of ballerina.lang.system:log invocations with a disabled log level.
+ */
+public class LogTest {
+
+    private static final String FUNCTION_NAME = "testLogArgumentEvaluation";
+
+    private BLangProgram bLangProgram;
+    private boolean isNonBlockingEnabled;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("samples/logTest.bal");
+        // Only the blocking executor checks the log level before evaluating the logged value
+        isNonBlockingEnabled = ModeResolver.getInstance().isNonblockingEnabled();
+        ModeResolver.getInstance().setNonblockingEnabled(false);
+        // Enable the WARN and ERROR levels
+        LogUtil.setEnabledLogLevel(4);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        LogUtil.setEnabledLogLevel(0);
+        ModeResolver.getInstance().setNonblockingEnabled(isNonBlockingEnabled);
+    }
+
+    @Test(description = "Test not evaluating the logged value when the log level is disabled")
+    public void testDisabledLogLevel() {
+        BValue[] args = {new BInteger(3)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, FUNCTION_NAME, args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+    }
+
+    @Test(description = "Test logging the value when the log level is enabled")
+    public void testEnabledLogLevel() {
+        BValue[] args = {new BInteger(4)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, FUNCTION_NAME, args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+
+        args = new BValue[] {new BInteger(5)};
+        returns = BLangFunctions.invoke(bLangProgram, FUNCTION_NAME, args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+    }
+
+    @Test(description = "Test not evaluating the logged value for an unknown log level")
+    public void testUnknownLogLevel() {
+        BValue[] args = {new BInteger(6)};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, FUNCTION_NAME, args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+    }
+}
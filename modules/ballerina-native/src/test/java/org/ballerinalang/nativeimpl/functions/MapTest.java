@@ -32,6 +32,9 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test Cases for ballerina.model.map.
@@ -84,6 +87,35 @@ public class MapTest {
         Assert.assertFalse(dataSet.keySet().contains("country"), "Element still exits");
     }
 
+    @Test
+    public void testIncrement() {
+        BMap<BString, BValue> map = new BMap<>();
+        map.put(new BString("count"), new BInteger(5));
+        BValue[] args = {map, new BString("count"), new BInteger(3)};
+        BLangFunctions.invoke(bLangProgram, "testIncrement", args);
+        Assert.assertEquals(((BInteger) map.get(new BString("count"))).intValue(), 8);
+    }
+
+    @Test
+    public void testIncrementSharedMap() throws InterruptedException {
+        BMap<BString, BValue> map = new BMap<>();
+        map.put(new BString("count"), new BInteger(10));
+        map.share();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    map.increment(new BString("count"), 1);
+                    map.increment(new BString("missing"), 2);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(((BInteger) map.get(new BString("count"))).intValue(), 4010);
+        Assert.assertEquals(((BInteger) map.get(new BString("missing"))).intValue(), 8000);
+    }
+
     @Test
     public void testDefinition() {
         BValue[] returnVals = BLangFunctions.invoke(bLangProgram, "testDefinition");
@@ -19,12 +19,16 @@ package org.ballerinalang.nativeimpl.functions;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Service;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BLong;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.connectors.http.Constants;
 import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.runtime.threadpool.Bulkhead;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 import org.testng.Assert;
@@ -33,6 +37,9 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.messaging.DefaultCarbonMessage;
 import org.wso2.carbon.messaging.Headers;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Test cases for ballerina.net.http native functions.
  */
@@ -166,5 +173,60 @@ public class NetHttpTest {
         Assert.assertEquals(reasonPhrase, hello);
     }
 
+    @Test
+    public void testGetBulkheadCounts() throws InterruptedException {
+        Service.ServiceBuilder serviceBuilder = new Service.ServiceBuilder(null);
+        serviceBuilder.setPkgPath(".");
+        serviceBuilder.setName("countedService");
+        Service service = serviceBuilder.buildService();
+        Bulkhead bulkhead = new Bulkhead("countedService", 1, 1);
+        ThreadPoolFactory.getInstance().addBulkhead(service, bulkhead);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Keep the only thread busy, queue one request and reject another
+            Assert.assertTrue(bulkhead.execute(() -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(bulkhead.execute(() -> { }));
+            Assert.assertFalse(bulkhead.execute(() -> { }));
+
+            BValue[] returnVals = BLangFunctions.invoke(bLangProgram, "testGetBulkheadCounts",
+                    new BValue[]{new BString("countedService")});
+            Assert.assertEquals(returnVals.length, 5);
+            Assert.assertEquals(((BInteger) returnVals[0]).intValue(), 1);
+            Assert.assertEquals(((BInteger) returnVals[1]).intValue(), 1);
+            Assert.assertEquals(((BLong) returnVals[2]).longValue(), 0);
+            Assert.assertEquals(((BLong) returnVals[3]).longValue(), 1);
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (bulkhead.getCompletedCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            returnVals = BLangFunctions.invoke(bLangProgram, "testGetBulkheadCounts",
+                    new BValue[]{new BString("countedService")});
+            Assert.assertEquals(((BInteger) returnVals[1]).intValue(), 0);
+            Assert.assertEquals(((BLong) returnVals[2]).longValue(), 2);
+            Assert.assertEquals(((BLong) returnVals[3]).longValue(), 1);
+            Assert.assertTrue(((BLong) returnVals[4]).longValue() >= 0);
+        } finally {
+            release.countDown();
+            ThreadPoolFactory.getInstance().removeBulkhead(service);
+        }
+    }
+
+    @Test(expectedExceptions = { BallerinaException.class },
+          expectedExceptionsMessageRegExp = "no bulkhead defined for service : unknownService")
+    public void testGetBulkheadCountsOfUnknownService() {
+        BLangFunctions.invoke(bLangProgram, "testGetBulkheadCounts", new BValue[]{new BString("unknownService")});
+    }
+
 
 }
@@ -19,6 +19,7 @@ package org.ballerinalang.nativeimpl.functions;
 
 import org.ballerinalang.bre.SymScope;
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BArray;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BDouble;
 import org.ballerinalang.model.values.BFloat;
@@ -226,6 +227,30 @@ public class StringTest {
         Assert.assertEquals(returns[0].stringValue(), expected);
     }
 
+    @Test
+    public void testMatches() {
+        BValue[] args = {new BString("WSO2-2017"), new BString("[A-Z]+[0-9]-[0-9]{4}")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "matches", args);
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+
+        args = new BValue[]{new BString("WSO2-2017 release"), new BString("[A-Z]+[0-9]-[0-9]{4}")};
+        returns = BLangFunctions.invoke(bLangProgram, "matches", args);
+        Assert.assertFalse(((BBoolean) returns[0]).booleanValue());
+    }
+
+    @Test
+    public void testSplit() {
+        BValue[] args = {new BString("a, b,c"), new BString(",\\s*")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "split", args);
+
+        Assert.assertTrue(returns[0] instanceof BArray);
+        BArray parts = (BArray) returns[0];
+        Assert.assertEquals(parts.size(), 3);
+        Assert.assertEquals(parts.get(0).stringValue(), "a");
+        Assert.assertEquals(parts.get(1).stringValue(), "b");
+        Assert.assertEquals(parts.get(2).stringValue(), "c");
+    }
+
     @Test
     public void testStringValueOf() {
         BValue[] args = {new BString("This is a String")};
@@ -308,5 +333,4 @@ public class StringTest {
         BValue[] args = {new BXML("<test>name<test>")};
         BLangFunctions.invoke(bLangProgram, "xmlValueOf", args);
     }
-
 }
@@ -210,6 +210,18 @@ public class SystemTest {
         Assert.assertTrue(bValues[0] != null);
     }
 
+    @Test(description = "Test formatting the zone name and a quoted letter")
+    public void testDateFormatWithZone() {
+        BValue[] args = {new BString("z")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testDateFormat", args);
+        Assert.assertEquals(returns[0].stringValue(), "GMT");
+
+        args = new BValue[] {new BString("yyyy-MM-dd'T'HH:mm:ss z")};
+        returns = BLangFunctions.invoke(bLangProgram, "testDateFormat", args);
+        Assert.assertTrue(returns[0].stringValue().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2} GMT"),
+                "Unexpected date: " + returns[0].stringValue());
+    }
+
     @Test(description = "Test new line character in string")
     public void testNewlineCharacter() {
         java.io.ByteArrayOutputStream out = null;
@@ -0,0 +1,79 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.nativeimpl.lang.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Test caching and evicting the compiled patterns of {@link PatternCache}.
+ */
+public class PatternCacheTest {
+
+    @Test(description = "Test compiling a pattern once, and reusing it for later lookups")
+    public void testHitsAndMisses() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        Pattern pattern = cache.get("[a-z]+");
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 0);
+
+        Assert.assertSame(cache.get("[a-z]+"), pattern);
+        Assert.assertSame(cache.get("[a-z]+"), pattern);
+        cache.get("[0-9]+");
+        Assert.assertEquals(cache.getHitCount(), 2);
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test(description = "Test an invalid pattern is not cached", expectedExceptions = PatternSyntaxException.class)
+    public void testInvalidPattern() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        try {
+            cache.get("[a-z");
+        } finally {
+            Assert.assertEquals(cache.size(), 0);
+        }
+    }
+
+    @Test(description = "Test evicting one pattern at a time when the cache is full")
+    public void testEviction() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        for (int i = 0; i < 4; i++) {
+            cache.get("pattern" + i);
+        }
+        Assert.assertEquals(cache.size(), 4);
+        Assert.assertEquals(cache.getEvictionCount(), 0);
+
+        // Each new pattern evicts a single pattern, instead of clearing the cache
+        cache.get("pattern4");
+        Assert.assertEquals(cache.size(), 4);
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+        cache.get("pattern5");
+        Assert.assertEquals(cache.size(), 4);
+        Assert.assertEquals(cache.getEvictionCount(), 2);
+
+        // A new pattern is cached after the eviction
+        long hitCount = cache.getHitCount();
+        cache.get("pattern5");
+        Assert.assertEquals(cache.getHitCount(), hitCount + 1);
+        Assert.assertEquals(cache.getMissCount(), 6);
+    }
+}
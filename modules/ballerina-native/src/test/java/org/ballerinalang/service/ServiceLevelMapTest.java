@@ -0,0 +1,78 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.service;
+
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.testutils.EnvironmentInitializer;
+import org.ballerinalang.testutils.MessageUtils;
+import org.ballerinalang.testutils.Services;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for a service level map updated by concurrent requests to the service.
+ */
+public class ServiceLevelMapTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    private BLangProgram application;
+
+    @BeforeClass()
+    public void setup() {
+        application = EnvironmentInitializer.setup("lang/service/serviceLevelMap.bal");
+    }
+
+    @Test(description = "Test concurrent increments of an entry of a service level map")
+    public void testConcurrentIncrements() throws InterruptedException {
+        AtomicInteger responses = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                    CarbonMessage response = Services.invoke(MessageUtils.generateHTTPMessage("/counter/hit", "GET"));
+                    if (response != null) {
+                        responses.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Requests did not complete");
+        Assert.assertEquals(responses.get(), THREADS * REQUESTS_PER_THREAD, "Response message not found");
+
+        CarbonMessage response = Services.invoke(MessageUtils.generateHTTPMessage("/counter/count", "GET"));
+        Assert.assertNotNull(response, "Response message not found");
+        Assert.assertEquals(response.getMessageDataSource().getMessageAsString(),
+                String.valueOf(THREADS * REQUESTS_PER_THREAD), "Increments of the service level map were lost");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        EnvironmentInitializer.cleanup(application);
+    }
+}
@@ -11,6 +11,14 @@ CREATE TABLE IF NOT EXISTS Customers(
 insert into Customers (firstName,lastName,registrationID,creditLimit,country)
   values ('Peter', 'Stuart', 1, 5000.75, 'USA');
 /
+CREATE TABLE IF NOT EXISTS BlobData(
+  row_id    INTEGER NOT NULL,
+  blob_data BLOB(1024),
+  PRIMARY KEY (row_id)
+);
+/
+insert into BlobData (row_id, blob_data) values (1, X'77736F322062616C6C6572696E6120626C6F6220746573742E');
+/
 CREATE PROCEDURE InsertPersonData(IN p_RegID INTEGER, IN p_PersonName VARCHAR(50))
   MODIFIES SQL DATA
   BEGIN ATOMIC
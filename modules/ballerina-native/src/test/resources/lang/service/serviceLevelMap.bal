@@ -0,0 +1,26 @@
+import ballerina.lang.maps;
+import ballerina.lang.messages;
+
+@http:BasePath ("/counter")
+service counter {
+
+    map counts = {};
+
+    @http:GET
+    @http:Path ("/hit")
+    resource hit (message m) {
+        maps:increment(counts, "hits", 1);
+        message response = {};
+        reply response;
+    }
+
+    @http:GET
+    @http:Path ("/count")
+    resource count (message m) {
+        int hits;
+        message response = {};
+        hits = counts["hits"];
+        messages:setStringPayload(response, "" + hits);
+        reply response;
+    }
+}
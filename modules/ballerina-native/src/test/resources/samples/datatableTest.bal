@@ -263,4 +263,19 @@ function testDateTime(string time, string date, string timestamp) (long time1, l
     }
     datatables:close(dt);
     return;
-}
\ No newline at end of file
+}
+function testForeachRows() (int count, string strings) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_DATA_TABLE_DB",
+                         "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters = [];
+    datatable df = sql:ClientConnector.select(testDB, "SELECT string_type from DataTable
+                UNION ALL SELECT string_type from DataTable", parameters);
+    strings = "";
+    iterate (datatable row : df) {
+        count = count + 1;
+        strings = strings + datatables:getString(row, 1);
+    }
+    datatables:close(df);
+    return;
+}
@@ -0,0 +1,12 @@
+import ballerina.lang.system;
+
+function testLogArgumentEvaluation(int level) (int) {
+    int[] calls = [0];
+    system:log(level, countCall(calls));
+    return calls[0];
+}
+
+function countCall(int[] calls) (string) {
+    calls[0] = calls[0] + 1;
+    return "logged value";
+}
@@ -15,6 +15,10 @@ function testRemove(map data, string key){
     maps:remove(data, key);
 }
 
+function testIncrement(map data, string key, int delta){
+    maps:increment(data, key, delta);
+}
+
 function testDefinition()(boolean, string){
     map dataMap;
     boolean success;
@@ -28,3 +28,13 @@ function testSetReasonPhrase(message m, string reasonPhrase){
     http:setReasonPhrase(m, reasonPhrase);
 }
 
+
+function testGetBulkheadCounts(string serviceName)(int, int, long, long, long){
+    int active;
+    int queued;
+    long completed;
+    long rejected;
+    long queueTime;
+    active, queued, completed, rejected, queueTime = http:getBulkheadCounts(serviceName);
+    return active, queued, completed, rejected, queueTime;
+}
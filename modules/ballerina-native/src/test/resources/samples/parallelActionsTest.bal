@@ -0,0 +1,62 @@
+import ballerina.lang.datatables;
+import ballerina.data.sql;
+
+function testIndependentSelects() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_PARALLEL_ACTIONS",
+        "username":"SA", "password":"", "maximumPoolSize":2};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] firstNameParameters = [];
+    sql:Parameter[] lastNameParameters = [];
+    datatable firstNames = sql:ClientConnector.select(testDB,
+        "SELECT FirstName from Customers where registrationID = 1", firstNameParameters);
+    datatable lastNames = sql:ClientConnector.select(testDB,
+        "SELECT LastName from Customers where registrationID = 1", lastNameParameters);
+    return getFirstValue(firstNames) + " " + getFirstValue(lastNames);
+}
+
+function testDependentSelects() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_PARALLEL_ACTIONS",
+        "username":"SA", "password":"", "maximumPoolSize":2};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters = [];
+    datatable firstNames = sql:ClientConnector.select(testDB,
+        "SELECT FirstName from Customers where registrationID = 1", parameters);
+    datatable lastNames = sql:ClientConnector.select(testDB,
+        "SELECT LastName from Customers where registrationID = 1", parameters);
+    return getFirstValue(firstNames) + " " + getFirstValue(lastNames);
+}
+
+function testFailingSelect() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_PARALLEL_ACTIONS",
+        "username":"SA", "password":"", "maximumPoolSize":2};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] firstNameParameters = [];
+    sql:Parameter[] missingParameters = [];
+    datatable firstNames = sql:ClientConnector.select(testDB,
+        "SELECT FirstName from Customers where registrationID = 1", firstNameParameters);
+    datatable missing = sql:ClientConnector.select(testDB,
+        "SELECT FirstName from MissingCustomers", missingParameters);
+    return getFirstValue(firstNames);
+}
+
+function testSequentialSelects() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_PARALLEL_ACTIONS",
+        "username":"SA", "password":"", "maximumPoolSize":2};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] firstNameParameters = [];
+    sql:Parameter[] lastNameParameters = [];
+    datatable firstNames = sql:ClientConnector.select(testDB,
+        "SELECT FirstName from Customers where registrationID = 1", firstNameParameters);
+    datatable lastNames = sql:ClientConnector.select(testDB,
+        "SELECT LastName from Customers where registrationID = 1", lastNameParameters);
+    return getFirstValue(firstNames) + " " + getFirstValue(lastNames);
+}
+
+function getFirstValue(datatable dt) (string) {
+    string value;
+    while (datatables:next(dt)) {
+        value = datatables:getString(dt, 1);
+    }
+    datatables:close(dt);
+    return value;
+}
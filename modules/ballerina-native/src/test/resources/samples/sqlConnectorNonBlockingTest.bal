@@ -0,0 +1,39 @@
+import ballerina.lang.datatables;
+import ballerina.lang.exceptions;
+import ballerina.data.sql;
+
+function testSelectUpdateAndClose() (string, int) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_NON_BLOCKING_SQL_CONNECTOR",
+        "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    string firstName;
+    datatable dt = sql:ClientConnector.select(testDB, "SELECT FirstName from Customers where registrationID = 1",
+        parameters);
+    while (datatables:next(dt)) {
+        firstName = datatables:getString(dt, 1);
+    }
+    datatables:close(dt);
+
+    int updateCount = sql:ClientConnector.update(testDB, "Update Customers set country = 'UK' where registrationID = 1",
+        parameters);
+    sql:ClientConnector.close(testDB);
+    return firstName, updateCount;
+}
+
+function testUpdateAfterClose() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_NON_BLOCKING_SQL_CONNECTOR",
+        "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    sql:ClientConnector.close(testDB);
+    try {
+        int updateCount = sql:ClientConnector.update(testDB,
+            "Update Customers set country = 'USA' where registrationID = 1", parameters);
+    } catch (exception e) {
+        return exceptions:getMessage(e);
+    }
+    return "updated";
+}
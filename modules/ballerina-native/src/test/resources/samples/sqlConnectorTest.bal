@@ -1,5 +1,6 @@
 import ballerina.lang.datatables;
 import ballerina.data.sql;
+import ballerina.lang.maps;
 
 function testInsertTableData() (int) {
     map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
@@ -199,3 +200,114 @@ function testInOutQueryParameters() (string) {
     return para2.value;
 }
 
+
+function testTransactionCommit() (int) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    sql:ClientConnector.beginTransaction(testDB);
+    sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+        values ('James', 'Clerk', 200, 5000.75, 'USA')", parameters);
+    sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+        values ('James', 'Clerk', 200, 5000.75, 'USA')", parameters);
+    sql:ClientConnector.commitTransaction(testDB);
+
+    int count;
+    datatable dt = sql:ClientConnector.select(testDB, "Select COUNT(*) from Customers where registrationID = 200",
+        parameters);
+    while (datatables:next(dt)) {
+        count = datatables:getInt(dt, 1);
+    }
+    datatables:close(dt);
+    return count;
+}
+
+function testTransactionRollback() (int) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    sql:ClientConnector.beginTransaction(testDB);
+    sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+        values ('James', 'Clerk', 210, 5000.75, 'USA')", parameters);
+    sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+        values ('James', 'Clerk', 210, 5000.75, 'USA')", parameters);
+    sql:ClientConnector.rollbackTransaction(testDB);
+
+    int count;
+    datatable dt = sql:ClientConnector.select(testDB, "Select COUNT(*) from Customers where registrationID = 210",
+        parameters);
+    while (datatables:next(dt)) {
+        count = datatables:getInt(dt, 1);
+    }
+    datatables:close(dt);
+    return count;
+}
+
+function testResultCacheInvalidation() (string, string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1, "resultCacheMaxEntries":10};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+        values ('Anne', 'Clerk', 220, 5000.75, 'USA')", parameters);
+
+    string beforeUpdate;
+    sql:Parameter para1 = {sqlType:"integer", value:"220", direction:0};
+    parameters = [para1];
+    datatable dt = sql:ClientConnector.select(testDB, "SELECT FirstName from Customers where registrationID = ?",
+        parameters);
+    while (datatables:next(dt)) {
+        beforeUpdate = datatables:getString(dt, "FirstName");
+    }
+    datatables:close(dt);
+
+    sql:ClientConnector.update(testDB, "Update Customers set firstName = 'Emma' where registrationID = ?",
+        parameters);
+
+    string afterUpdate;
+    dt = sql:ClientConnector.select(testDB, "SELECT FirstName from Customers where registrationID = ?", parameters);
+    while (datatables:next(dt)) {
+        afterUpdate = datatables:getString(dt, "FirstName");
+    }
+    datatables:close(dt);
+    return beforeUpdate, afterUpdate;
+}
+
+function testResultCacheBlobColumn() (string, string, int) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1, "resultCacheMaxEntries":10};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    string firstRead;
+    datatable dt = sql:ClientConnector.select(testDB, "SELECT blob_data from BlobData where row_id = 1", parameters);
+    while (datatables:next(dt)) {
+        firstRead = datatables:getString(dt, "blob_data", "blob");
+    }
+    datatables:close(dt);
+
+    string secondRead;
+    dt = sql:ClientConnector.select(testDB, "SELECT blob_data from BlobData where row_id = 1", parameters);
+    while (datatables:next(dt)) {
+        secondRead = datatables:getString(dt, "blob_data", "blob");
+    }
+    datatables:close(dt);
+    return firstRead, secondRead, maps:length(propertiesMap);
+}
+
+function testCloseConnector() (int) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+
+    sql:ClientConnector.close(testDB);
+    int count = sql:ClientConnector.update(testDB, "Insert into Customers (firstName,lastName,registrationID,
+        creditLimit,country) values ('James', 'Clerk', 230, 5000.75, 'USA')", parameters);
+    return count;
+}
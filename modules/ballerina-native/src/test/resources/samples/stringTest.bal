@@ -36,6 +36,14 @@ function replaceFirst(string s, string source, string target) (string) {
     return strings:replaceFirst(s, source, target);
 }
 
+function matches(string s, string regex) (boolean) {
+    return strings:matches(s, regex);
+}
+
+function split(string s, string regex) (string[]) {
+    return strings:split(s, regex);
+}
+
 function subString(string s, int from, int to) (string) {
     return strings:subString(s, from, to);
 }
@@ -81,6 +81,10 @@ function testDateFunction()(string) {
 
 }
 
+function testDateFormat(string format)(string) {
+    return system:getDateFormat(format);
+}
+
 function printNewline() {
     system:print("hello\n");
 }